@@ -0,0 +1,18 @@
+package org.zalando.riptide.benchmarks;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public final class Account {
+
+    static final String JSON = "{\"id\":\"1234567890\",\"revision\":\"42\",\"name\":\"Jane Doe\"}";
+
+    private String id;
+    private String revision;
+    private String name;
+
+}
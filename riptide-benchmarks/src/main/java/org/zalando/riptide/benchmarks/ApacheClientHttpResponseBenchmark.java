@@ -0,0 +1,126 @@
+package org.zalando.riptide.benchmarks;
+
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpMethod.GET;
+import static org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory.Mode.STREAMING;
+
+/**
+ * Compares eagerly copying all response headers into {@link HttpHeaders}, as the response of the
+ * {@link ApacheClientHttpRequestFactory} used to do, against its lazy {@link ClientHttpResponse#getHeaders() headers},
+ * for a response with 30 headers that is routed by status only or by status and content type. Requests are sent to a
+ * stub {@link HttpClient} that answers every request with the same response.
+ *
+ * <pre>{@code java -jar riptide-benchmarks/target/benchmarks.jar ApacheClientHttpResponseBenchmark -prof gc}</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApacheClientHttpResponseBenchmark {
+
+    private final URI uri = URI.create("https://api.example.com/accounts/42");
+
+    private final ClassicHttpResponse response = new BasicClassicHttpResponse(200, "OK");
+
+    private final ClientHttpRequestFactory factory = new ApacheClientHttpRequestFactory(stub(response), STREAMING);
+
+    @Setup
+    public void setUp() {
+        response.addHeader("Content-Type", "application/json");
+        response.addHeader("Content-Length", "1024");
+        response.addHeader("Date", "Mon, 01 Jan 2024 00:00:00 GMT");
+        response.addHeader("Cache-Control", "private, max-age=0");
+        response.addHeader("Vary", "Accept-Encoding");
+        response.addHeader("X-Flow-ID", "JAh6xH4OQhCJ9PutIV_RYw");
+
+        for (int i = 0; i < 24; i++) {
+            response.addHeader("X-Cdn-Header-" + i, "value-" + i);
+        }
+    }
+
+    /**
+     * A client that answers every request with the given response. Every other method is unsupported.
+     */
+    private static HttpClient stub(final ClassicHttpResponse response) {
+        return (HttpClient) Proxy.newProxyInstance(
+                HttpClient.class.getClassLoader(),
+                new Class<?>[]{HttpClient.class},
+                (proxy, method, arguments) -> {
+                    if (method.getName().equals("executeOpen")) {
+                        return response;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @Benchmark
+    public HttpStatusCode eagerStatusOnly() throws IOException {
+        try (final ClientHttpResponse unit = execute()) {
+            eagerCopy();
+            return unit.getStatusCode();
+        }
+    }
+
+    @Benchmark
+    public HttpStatusCode lazyStatusOnly() throws IOException {
+        try (final ClientHttpResponse unit = execute()) {
+            return unit.getStatusCode();
+        }
+    }
+
+    @Benchmark
+    public MediaType eagerContentType() throws IOException {
+        try (final ClientHttpResponse unit = execute()) {
+            unit.getStatusCode();
+            return eagerCopy().getContentType();
+        }
+    }
+
+    @Benchmark
+    public MediaType lazyContentType() throws IOException {
+        try (final ClientHttpResponse unit = execute()) {
+            unit.getStatusCode();
+            return unit.getHeaders().getContentType();
+        }
+    }
+
+    private ClientHttpResponse execute() throws IOException {
+        return factory.createRequest(uri, GET).execute();
+    }
+
+    private HttpHeaders eagerCopy() {
+        final HttpHeaders headers = new HttpHeaders();
+        for (final Header header : response.getHeaders()) {
+            headers.add(header.getName(), header.getValue());
+        }
+        return headers;
+    }
+
+}
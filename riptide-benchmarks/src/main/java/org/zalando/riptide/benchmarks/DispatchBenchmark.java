@@ -0,0 +1,149 @@
+package org.zalando.riptide.benchmarks;
+
+import dev.failsafe.CircuitBreaker;
+import dev.failsafe.RetryPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.OriginalStackTracePlugin;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.failsafe.FailsafePlugin;
+import org.zalando.riptide.micrometer.MicrometerPlugin;
+import org.zalando.riptide.opentelemetry.OpenTelemetryPlugin;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.PassRoute.pass;
+
+/**
+ * Measures the overhead of a whole request, i.e. {@code Requester}, plugins, serialization and dispatch, against an
+ * {@link InMemoryRequestFactory in-memory request factory}, once without any plugin, once per bundled plugin and
+ * once with all of them stacked.
+ *
+ * <pre>{@code java -jar riptide-benchmarks/target/benchmarks.jar DispatchBenchmark -prof gc}</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatchBenchmark {
+
+    /**
+     * A plugin that changes nothing, since an empty list of plugins would fall back to the default plugins.
+     */
+    private static final Plugin NONE = new Plugin() {
+    };
+
+    @Param({"none", "original-stack-trace", "micrometer", "opentelemetry", "failsafe", "all"})
+    public String plugins;
+
+    private final Account account = new Account("1234567890", "42", "Jane Doe");
+
+    private OpenTelemetrySdk telemetry;
+
+    private Http http;
+
+    @Setup
+    public void setUp() {
+        telemetry = OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder().build())
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+
+        http = Http.builder()
+                .requestFactory(new InMemoryRequestFactory(APPLICATION_JSON, Account.JSON))
+                .baseUrl("https://api.example.com")
+                .plugins(plugins())
+                .build();
+    }
+
+    private List<Plugin> plugins() {
+        switch (plugins) {
+            case "none":
+                return List.of(NONE);
+            case "original-stack-trace":
+                return List.of(new OriginalStackTracePlugin());
+            case "micrometer":
+                return List.of(micrometer());
+            case "opentelemetry":
+                return List.of(openTelemetry());
+            case "failsafe":
+                return List.of(failsafe());
+            case "all":
+                return List.of(micrometer(), openTelemetry(), failsafe(), new OriginalStackTracePlugin());
+            default:
+                throw new IllegalArgumentException("Unknown plugins: " + plugins);
+        }
+    }
+
+    private Plugin micrometer() {
+        return new MicrometerPlugin(new SimpleMeterRegistry());
+    }
+
+    private Plugin openTelemetry() {
+        return new OpenTelemetryPlugin(telemetry);
+    }
+
+    private Plugin failsafe() {
+        return new FailsafePlugin()
+                .withPolicy(RetryPolicy.<ClientHttpResponse>builder().withMaxRetries(2).build())
+                .withPolicy(CircuitBreaker.<ClientHttpResponse>ofDefaults());
+    }
+
+    @TearDown
+    public void tearDown() {
+        telemetry.close();
+    }
+
+    @Benchmark
+    public ClientHttpResponse get() {
+        return http.get("/accounts/{id}", account.getId())
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+    }
+
+    @Benchmark
+    public ClientHttpResponse getJson(final Blackhole blackhole) {
+        return http.get("/accounts/{id}", account.getId())
+                .accept(APPLICATION_JSON)
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(Account.class, blackhole::consume))
+                .join();
+    }
+
+    @Benchmark
+    public ClientHttpResponse post() {
+        return http.post("/accounts")
+                .contentType(APPLICATION_JSON)
+                .body(account)
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+    }
+
+}
@@ -0,0 +1,123 @@
+package org.zalando.riptide.benchmarks;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A {@link ClientHttpRequestFactory} that never touches the network. Every request is answered with the same
+ * {@code 200 OK} response, which makes the overhead of everything on top of the actual I/O measurable.
+ */
+final class InMemoryRequestFactory implements ClientHttpRequestFactory {
+
+    private final MediaType contentType;
+    private final byte[] body;
+
+    InMemoryRequestFactory(final MediaType contentType, final String body) {
+        this.contentType = contentType;
+        this.body = body.getBytes(UTF_8);
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(final URI uri, final HttpMethod method) {
+        return new Request(uri, method);
+    }
+
+    private final class Request implements ClientHttpRequest {
+
+        private final URI uri;
+        private final HttpMethod method;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final Map<String, Object> attributes = new LinkedHashMap<>();
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        private Request(final URI uri, final HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return output;
+        }
+
+        @Override
+        public ClientHttpResponse execute() {
+            return new Response();
+        }
+
+    }
+
+    private final class Response implements ClientHttpResponse {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final InputStream input = new ByteArrayInputStream(body);
+
+        private Response() {
+            headers.setContentType(contentType);
+            headers.setContentLength(body.length);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return input;
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+
+    }
+
+}
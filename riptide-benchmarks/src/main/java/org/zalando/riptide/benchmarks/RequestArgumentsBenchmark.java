@@ -0,0 +1,134 @@
+package org.zalando.riptide.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+import org.zalando.riptide.Route;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.PassRoute.pass;
+
+/**
+ * Measures how {@code Requester} accumulates and freezes the {@link RequestArguments request arguments} of a typical
+ * request with five headers and three query parameters, once as is and once with a plugin that modifies the frozen
+ * arguments, against an {@link InMemoryRequestFactory in-memory request factory}. As a baseline, the same arguments
+ * are built through the persistent {@link RequestArguments#create()} chain that {@code Requester} used before.
+ *
+ * <pre>{@code java -jar riptide-benchmarks/target/benchmarks.jar RequestArgumentsBenchmark -prof gc}</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestArgumentsBenchmark {
+
+    /**
+     * A plugin that changes nothing, since an empty list of plugins would fall back to the default plugins.
+     */
+    private static final Plugin NONE = new Plugin() {
+    };
+
+    /**
+     * A plugin that adds a header and thereby derives new arguments from the frozen ones.
+     */
+    private static final Plugin IDEMPOTENCY_KEY = new Plugin() {
+        @Override
+        public RequestExecution aroundAsync(final RequestExecution execution) {
+            return arguments -> execution.execute(arguments.withHeader("Idempotency-Key", "f81d4fae"));
+        }
+    };
+
+    private final URI baseUrl = URI.create("https://api.example.com");
+
+    private final Route route = pass();
+
+    private Http http;
+
+    private Http modifying;
+
+    @Setup
+    public void setUp() {
+        http = http(NONE);
+        modifying = http(IDEMPOTENCY_KEY);
+    }
+
+    private static Http http(final Plugin plugin) {
+        return Http.builder()
+                .requestFactory(new InMemoryRequestFactory(APPLICATION_JSON, Account.JSON))
+                .baseUrl("https://api.example.com")
+                .plugin(plugin)
+                .build();
+    }
+
+    @Benchmark
+    public RequestArguments persistent() {
+        return RequestArguments.create()
+                .withMethod(HttpMethod.GET)
+                .withBaseUrl(baseUrl)
+                .withUriTemplate("/users/{id}/orders")
+                .replaceUriVariables(List.of("123"))
+                .withQueryParam("limit", "20")
+                .withQueryParam("offset", "40")
+                .withQueryParam("sort", "-created")
+                .withHeader("Accept", "application/json")
+                .withHeader("Accept-Language", "de-DE")
+                .withHeader("X-Flow-ID", "JAh6xH4OQhCJ9PutIV_RYw")
+                .withHeader("User-Agent", "riptide")
+                .withHeader("Authorization", "Bearer token")
+                .withRoute(route);
+    }
+
+    @Benchmark
+    public RequestArguments persistentWithPluginModification() {
+        return persistent()
+                .withHeader("Idempotency-Key", "f81d4fae");
+    }
+
+    @Benchmark
+    public ClientHttpResponse request() {
+        return request(http);
+    }
+
+    @Benchmark
+    public ClientHttpResponse requestWithPluginModification() {
+        return request(modifying);
+    }
+
+    private static ClientHttpResponse request(final Http http) {
+        return http.get("/users/{id}/orders", "123")
+                .queryParam("limit", "20")
+                .queryParam("offset", "40")
+                .queryParam("sort", "-created")
+                .header("Accept", "application/json")
+                .header("Accept-Language", "de-DE")
+                .header("X-Flow-ID", "JAh6xH4OQhCJ9PutIV_RYw")
+                .header("User-Agent", "riptide")
+                .header("Authorization", "Bearer token")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+    }
+
+}
@@ -0,0 +1,80 @@
+package org.zalando.riptide.cache;
+
+import lombok.AllArgsConstructor;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Parsed {@code Cache-Control} directives, see
+ * <a href="https://www.rfc-editor.org/rfc/rfc9111#section-5.2">RFC 9111, Section 5.2</a>.
+ */
+@AllArgsConstructor(access = PRIVATE)
+final class CacheDirectives {
+
+    private final Map<String, String> directives;
+
+    static CacheDirectives parse(final Collection<String> values) {
+        final Map<String, String> directives = new HashMap<>();
+
+        for (final String value : values) {
+            for (final String directive : value.split(",")) {
+                final String trimmed = directive.trim();
+
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+
+                final int index = trimmed.indexOf('=');
+
+                if (index == -1) {
+                    directives.putIfAbsent(normalize(trimmed), "");
+                } else {
+                    directives.putIfAbsent(
+                            normalize(trimmed.substring(0, index)),
+                            unquote(trimmed.substring(index + 1).trim()));
+                }
+            }
+        }
+
+        return new CacheDirectives(directives);
+    }
+
+    boolean has(final String name) {
+        return directives.containsKey(name);
+    }
+
+    /**
+     * Delta seconds of the given directive. Invalid values are treated as zero, i.e. as stale rather than fresh.
+     */
+    OptionalLong getSeconds(final String name) {
+        final String value = directives.get(name);
+
+        if (value == null) {
+            return OptionalLong.empty();
+        }
+
+        try {
+            return OptionalLong.of(Math.max(0, Long.parseLong(value)));
+        } catch (final NumberFormatException e) {
+            return OptionalLong.of(0);
+        }
+    }
+
+    private static String normalize(final String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String unquote(final String value) {
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,83 @@
+package org.zalando.riptide.cache;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+
+import java.util.function.ToDoubleFunction;
+
+import static com.google.common.collect.ImmutableList.copyOf;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class CacheMetrics implements MeterBinder {
+
+    private final CacheStore store;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    public CacheMetrics(final CacheStore store) {
+        this(store, "http.client.cache", ImmutableList.of());
+    }
+
+    public CacheMetrics withMetricName(final String metricName) {
+        return new CacheMetrics(store, metricName, defaultTags);
+    }
+
+    public CacheMetrics withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(copyOf(defaultTags));
+    }
+
+    public CacheMetrics withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new CacheMetrics(store, metricName, copyOf(defaultTags));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        requests(registry, "hit", CacheStore::getHitCount);
+        requests(registry, "miss", CacheStore::getMissCount);
+        requests(registry, "revalidated", CacheStore::getRevalidationCount);
+
+        Gauge.builder(metricName + ".hit.ratio", store, CacheStore::getHitRatio)
+                .description("The ratio of requests that were served from the cache without network communication")
+                .tags(defaultTags)
+                .register(registry);
+
+        FunctionCounter.builder(metricName + ".evictions", store, CacheStore::getEvictionCount)
+                .description("The number of responses that were evicted due to the size bound")
+                .tags(defaultTags)
+                .register(registry);
+
+        Gauge.builder(metricName + ".size", store, CacheStore::getSize)
+                .description("The number of bytes of all stored responses")
+                .baseUnit(BaseUnits.BYTES)
+                .tags(defaultTags)
+                .register(registry);
+
+        Gauge.builder(metricName + ".entries", store, CacheStore::getEntries)
+                .description("The approximate number of stored responses")
+                .tags(defaultTags)
+                .register(registry);
+    }
+
+    private void requests(
+            final MeterRegistry registry,
+            final String result,
+            final ToDoubleFunction<CacheStore> function) {
+
+        FunctionCounter.builder(metricName + ".requests", store, function)
+                .description("The number of requests by cache result")
+                .tags(defaultTags)
+                .tag("result", result)
+                .register(registry);
+    }
+
+}
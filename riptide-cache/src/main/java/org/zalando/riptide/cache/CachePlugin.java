@@ -0,0 +1,293 @@
+package org.zalando.riptide.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apiguardian.api.API;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.PrefixedClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.springframework.http.HttpHeaders.CACHE_CONTROL;
+import static org.springframework.http.HttpHeaders.EXPIRES;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpHeaders.IF_MODIFIED_SINCE;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpHeaders.IF_RANGE;
+import static org.springframework.http.HttpHeaders.IF_UNMODIFIED_SINCE;
+import static org.springframework.http.HttpHeaders.LAST_MODIFIED;
+import static org.springframework.http.HttpHeaders.RANGE;
+import static org.springframework.http.HttpMethod.DELETE;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.PATCH;
+import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.http.HttpMethod.PUT;
+import static org.zalando.fauxpas.FauxPas.throwingFunction;
+
+/**
+ * A private, in-memory HTTP cache as specified by <a href="https://www.rfc-editor.org/rfc/rfc9111">RFC 9111</a>.
+ * It operates in the network phase and is therefore independent of the underlying HTTP client.
+ *
+ * Responses to {@code GET} requests are stored if their status code is cacheable by default, they carry either an
+ * explicit expiration time ({@code Cache-Control: max-age} or {@code Expires}) or a validator ({@code ETag} or
+ * {@code Last-Modified}) and nothing prevents storing them ({@code Cache-Control: no-store} or {@code Vary: *}).
+ *
+ * Fresh responses are served directly from the {@link CacheStore store}. Stale responses with validators are
+ * revalidated with a conditional request. Successful unsafe requests, e.g. {@code POST}, invalidate the stored
+ * response of their request URI.
+ *
+ * Only the most recent variant of a response is stored per request URI.
+ */
+@API(status = EXPERIMENTAL)
+@Slf4j
+@AllArgsConstructor(access = PRIVATE)
+public final class CachePlugin implements Plugin {
+
+    /**
+     * <a href="https://www.rfc-editor.org/rfc/rfc9110#section-15.1">RFC 9110, Section 15.1</a>
+     */
+    private static final Set<Integer> CACHEABLE = Set.of(200, 203, 204, 300, 301, 308, 404, 405, 410, 414, 501);
+
+    private static final Set<HttpMethod> UNSAFE = Set.of(DELETE, PATCH, POST, PUT);
+
+    private static final Set<String> CONDITIONAL = Set.of(
+            IF_MATCH, IF_MODIFIED_SINCE, IF_NONE_MATCH, IF_RANGE, IF_UNMODIFIED_SINCE, RANGE);
+
+    private final CacheStore store;
+    private final int maxEntrySize;
+    private final Clock clock;
+
+    public CachePlugin() {
+        this(new CacheStore());
+    }
+
+    public CachePlugin(final CacheStore store) {
+        this(store, 64 * 1024, Clock.systemUTC());
+    }
+
+    public CachePlugin withMaxEntrySize(final int maxEntrySize) {
+        if (maxEntrySize < 0 || maxEntrySize == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Maximum entry size out of range: " + maxEntrySize);
+        }
+        return new CachePlugin(store, maxEntrySize, clock);
+    }
+
+    public CachePlugin withClock(final Clock clock) {
+        return new CachePlugin(store, maxEntrySize, clock);
+    }
+
+    @Override
+    public RequestExecution aroundNetwork(final RequestExecution execution) {
+        return arguments -> {
+            final HttpMethod method = arguments.getMethod();
+
+            if (GET.equals(method)) {
+                return get(execution, arguments);
+            } else if (UNSAFE.contains(method)) {
+                return execution.execute(arguments)
+                        .thenApply(throwingFunction(response -> invalidate(arguments, response)));
+            }
+
+            return execution.execute(arguments);
+        };
+    }
+
+    private CompletableFuture<ClientHttpResponse> get(
+            final RequestExecution execution,
+            final RequestArguments arguments) throws IOException {
+
+        final CacheDirectives directives = CacheDirectives.parse(values(arguments, CACHE_CONTROL));
+
+        // conditional requests are answered by the origin, since they are not meant for us
+        if (directives.has("no-store") || isConditional(arguments)) {
+            return execution.execute(arguments);
+        }
+
+        final URI uri = arguments.getRequestUri();
+        @Nullable final CachedResponse cached = store.get(uri);
+
+        if (cached == null || !cached.getVariants().equals(variants(cached.getVariants().keySet(), arguments))) {
+            store.recordMiss();
+            return fetch(execution, arguments);
+        }
+
+        final Duration age = cached.getAge(clock.instant());
+
+        if (isFresh(cached, age, directives)) {
+            log.trace("Serving [{}] from cache", uri);
+            store.recordHit();
+            return completedFuture(cached.toResponse(age));
+        }
+
+        if (cached.hasValidators()) {
+            return revalidate(execution, arguments, cached);
+        }
+
+        store.recordMiss();
+        return fetch(execution, arguments);
+    }
+
+    private boolean isFresh(final CachedResponse cached, final Duration age, final CacheDirectives directives) {
+        if (directives.has("no-cache") || age.compareTo(cached.getLifetime()) >= 0) {
+            return false;
+        }
+
+        final OptionalLong maxAge = directives.getSeconds("max-age");
+        return maxAge.isEmpty() || age.getSeconds() <= maxAge.getAsLong();
+    }
+
+    private CompletableFuture<ClientHttpResponse> fetch(
+            final RequestExecution execution,
+            final RequestArguments arguments) throws IOException {
+
+        final Instant requestTime = clock.instant();
+        return execution.execute(arguments)
+                .thenApply(throwingFunction(response -> store(arguments, requestTime, response)));
+    }
+
+    private CompletableFuture<ClientHttpResponse> revalidate(
+            final RequestExecution execution,
+            final RequestArguments arguments,
+            final CachedResponse cached) throws IOException {
+
+        RequestArguments conditional = arguments;
+
+        @Nullable final String etag = cached.getETag();
+        if (etag != null) {
+            conditional = conditional.withHeader(IF_NONE_MATCH, etag);
+        }
+
+        @Nullable final String lastModified = cached.getLastModified();
+        if (lastModified != null) {
+            conditional = conditional.withHeader(IF_MODIFIED_SINCE, lastModified);
+        }
+
+        final Instant requestTime = clock.instant();
+        return execution.execute(conditional).thenApply(throwingFunction(response -> {
+            if (response.getStatusCode().value() != 304) {
+                store.recordMiss();
+                return store(arguments, requestTime, response);
+            }
+
+            try (response) {
+                log.trace("Revalidated [{}]", arguments.getRequestUri());
+                store.recordRevalidation();
+
+                final CachedResponse revalidated =
+                        cached.revalidate(response.getHeaders(), requestTime, clock.instant());
+                store.put(arguments.getRequestUri(), revalidated);
+                return revalidated.toResponse(revalidated.getAge(clock.instant()));
+            }
+        }));
+    }
+
+    private ClientHttpResponse store(
+            final RequestArguments arguments,
+            final Instant requestTime,
+            final ClientHttpResponse response) throws IOException {
+
+        if (!isStorable(response)) {
+            return response;
+        }
+
+        final InputStream body;
+        final byte[] prefix;
+
+        try {
+            body = response.getBody();
+            prefix = body.readNBytes(maxEntrySize + 1);
+        } catch (final IOException e) {
+            response.close();
+            throw e;
+        }
+
+        if (prefix.length > maxEntrySize) {
+            log.trace("Response body of [{}] exceeds {} bytes, not caching", arguments.getRequestUri(), maxEntrySize);
+            return new PrefixedClientHttpResponse(response, prefix, body);
+        }
+
+        try (response) {
+            final Instant responseTime = clock.instant();
+            final CachedResponse cached = CachedResponse.of(response, prefix,
+                    variants(response.getHeaders().getVary(), arguments), requestTime, responseTime);
+
+            store.put(arguments.getRequestUri(), cached);
+            return cached.toResponse(cached.getAge(responseTime));
+        }
+    }
+
+    private boolean isStorable(final ClientHttpResponse response) throws IOException {
+        final HttpHeaders headers = response.getHeaders();
+        final CacheDirectives directives = CacheDirectives.parse(headers.getOrEmpty(CACHE_CONTROL));
+
+        return CACHEABLE.contains(response.getStatusCode().value())
+                && !directives.has("no-store")
+                && !headers.getVary().contains("*")
+                && (directives.has("max-age") || headers.containsKey(EXPIRES)
+                || headers.getETag() != null || headers.containsKey(LAST_MODIFIED));
+    }
+
+    private ClientHttpResponse invalidate(
+            final RequestArguments arguments,
+            final ClientHttpResponse response) throws IOException {
+
+        if (!response.getStatusCode().isError()) {
+            store.invalidate(arguments.getRequestUri());
+        }
+
+        return response;
+    }
+
+    private static boolean isConditional(final RequestArguments arguments) {
+        return arguments.getHeaders().keySet().stream()
+                .anyMatch(name -> CONDITIONAL.stream().anyMatch(name::equalsIgnoreCase));
+    }
+
+    private static Map<String, List<String>> variants(
+            final Iterable<String> names,
+            final RequestArguments arguments) {
+
+        final Map<String, List<String>> variants = new TreeMap<>();
+
+        for (final String name : names) {
+            variants.put(name.toLowerCase(Locale.ROOT), values(arguments, name));
+        }
+
+        return variants;
+    }
+
+    private static List<String> values(final RequestArguments arguments, final String name) {
+        final List<String> values = new ArrayList<>();
+
+        arguments.getHeaders().forEach((key, value) -> {
+            if (key.equalsIgnoreCase(name)) {
+                values.addAll(value);
+            }
+        });
+
+        return values;
+    }
+
+}
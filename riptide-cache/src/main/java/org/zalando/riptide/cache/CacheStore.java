@@ -0,0 +1,124 @@
+package org.zalando.riptide.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apiguardian.api.API;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A concurrent, size-bounded store for cached responses. Entries are weighed by the bytes of their body and header
+ * fields. Once the maximum size is reached, entries are evicted based on their frequency and recency of use
+ * (Window TinyLFU), which keeps popular responses even if a burst of one-off responses passes through.
+ */
+@API(status = EXPERIMENTAL)
+public final class CacheStore {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+
+    private final Cache<URI, CachedResponse> cache;
+
+    public CacheStore() {
+        this(10 * 1024 * 1024);
+    }
+
+    /**
+     * @param maximumSize the maximum number of bytes of all stored responses
+     */
+    public CacheStore(final long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize)
+                .weigher((URI uri, CachedResponse response) -> response.getWeight())
+                .recordStats()
+                .build();
+    }
+
+    @Nullable
+    CachedResponse get(final URI uri) {
+        return cache.getIfPresent(uri);
+    }
+
+    void put(final URI uri, final CachedResponse response) {
+        cache.put(uri, response);
+    }
+
+    void invalidate(final URI uri) {
+        cache.invalidate(uri);
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    void recordRevalidation() {
+        revalidations.increment();
+    }
+
+    /**
+     * @return the number of requests that were served from the cache without any network communication
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of requests that needed to fetch a response from the network
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of requests that were served from the cache after the origin confirmed that the stored
+     * response is still valid, i.e. responded with {@code 304 Not Modified}
+     */
+    public long getRevalidationCount() {
+        return revalidations.sum();
+    }
+
+    /**
+     * @return the ratio of hits to all requests, or {@code 1.0} if there were no requests yet
+     */
+    public double getHitRatio() {
+        final long hits = getHitCount();
+        final long total = hits + getMissCount() + getRevalidationCount();
+        return total == 0 ? 1.0 : (double) hits / total;
+    }
+
+    /**
+     * @return the number of entries that were evicted due to the size bound
+     */
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    /**
+     * @return the number of bytes of all stored responses
+     */
+    public long getSize() {
+        // always present, since the cache is bounded by weight
+        return cache.policy().eviction().orElseThrow().weightedSize().orElseThrow();
+    }
+
+    /**
+     * @return the approximate number of stored responses
+     */
+    public long getEntries() {
+        return cache.estimatedSize();
+    }
+
+}
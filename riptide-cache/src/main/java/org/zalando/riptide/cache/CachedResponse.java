@@ -0,0 +1,256 @@
+package org.zalando.riptide.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import static java.time.Duration.ZERO;
+import static lombok.AccessLevel.PRIVATE;
+import static org.springframework.http.HttpHeaders.AGE;
+import static org.springframework.http.HttpHeaders.CACHE_CONTROL;
+import static org.springframework.http.HttpHeaders.DATE;
+import static org.springframework.http.HttpHeaders.EXPIRES;
+import static org.springframework.http.HttpHeaders.LAST_MODIFIED;
+
+/**
+ * A stored response, including everything that is needed to calculate its age and freshness, see
+ * <a href="https://www.rfc-editor.org/rfc/rfc9111#section-4.2">RFC 9111, Section 4.2</a>.
+ */
+@AllArgsConstructor(access = PRIVATE)
+final class CachedResponse {
+
+    // header fields of a 304 (Not Modified) that must not replace stored ones
+    private static final Set<String> PRESERVED = Set.of(
+            "connection", "content-encoding", "content-length", "content-range", "transfer-encoding");
+
+    private final HttpStatusCode statusCode;
+    private final String statusText;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    /**
+     * Values of the request header fields that were nominated by the response's {@code Vary} header field.
+     */
+    @Getter
+    private final Map<String, List<String>> variants;
+
+    private final Duration initialAge;
+
+    @Getter
+    private final Duration lifetime;
+
+    private final Instant responseTime;
+
+    static CachedResponse of(
+            final ClientHttpResponse response,
+            final byte[] body,
+            final Map<String, List<String>> variants,
+            final Instant requestTime,
+            final Instant responseTime) throws IOException {
+
+        final HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+
+        return new CachedResponse(
+                response.getStatusCode(),
+                response.getStatusText(),
+                headers,
+                body,
+                variants,
+                initialAge(headers, requestTime, responseTime),
+                lifetime(headers, responseTime),
+                responseTime);
+    }
+
+    CachedResponse revalidate(
+            final HttpHeaders notModified,
+            final Instant requestTime,
+            final Instant responseTime) {
+
+        final HttpHeaders merged = new HttpHeaders();
+        merged.putAll(headers);
+
+        notModified.forEach((name, values) -> {
+            if (!PRESERVED.contains(name.toLowerCase(Locale.ROOT))) {
+                merged.put(name, values);
+            }
+        });
+
+        return new CachedResponse(
+                statusCode,
+                statusText,
+                merged,
+                body,
+                variants,
+                initialAge(merged, requestTime, responseTime),
+                lifetime(merged, responseTime),
+                responseTime);
+    }
+
+    Duration getAge(final Instant now) {
+        final Duration residentTime = Duration.between(responseTime, now);
+        return initialAge.plus(max(ZERO, residentTime));
+    }
+
+    @Nullable
+    String getETag() {
+        return headers.getETag();
+    }
+
+    @Nullable
+    String getLastModified() {
+        return headers.getFirst(LAST_MODIFIED);
+    }
+
+    boolean hasValidators() {
+        return getETag() != null || getLastModified() != null;
+    }
+
+    int getWeight() {
+        long weight = body.length;
+
+        for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+            for (final String value : header.getValue()) {
+                weight += header.getKey().length() + value.length();
+            }
+        }
+
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    ClientHttpResponse toResponse(final Duration age) {
+        final HttpHeaders copy = new HttpHeaders();
+        copy.putAll(headers);
+        copy.set(AGE, String.valueOf(age.getSeconds()));
+
+        return new CachedClientHttpResponse(statusCode, statusText, copy, new ByteArrayInputStream(body));
+    }
+
+    /**
+     * <a href="https://www.rfc-editor.org/rfc/rfc9111#section-4.2.3">RFC 9111, Section 4.2.3</a>
+     */
+    private static Duration initialAge(
+            final HttpHeaders headers,
+            final Instant requestTime,
+            final Instant responseTime) {
+
+        final long date = date(headers, DATE);
+        final Duration apparentAge = date == -1 ?
+                ZERO :
+                max(ZERO, Duration.between(Instant.ofEpochMilli(date), responseTime));
+
+        final Duration responseDelay = Duration.between(requestTime, responseTime);
+        final Duration correctedAge = Duration.ofSeconds(seconds(headers.getFirst(AGE))).plus(responseDelay);
+
+        return max(apparentAge, correctedAge);
+    }
+
+    /**
+     * <a href="https://www.rfc-editor.org/rfc/rfc9111#section-4.2.1">RFC 9111, Section 4.2.1</a>
+     */
+    private static Duration lifetime(final HttpHeaders headers, final Instant responseTime) {
+        final CacheDirectives directives = CacheDirectives.parse(headers.getOrEmpty(CACHE_CONTROL));
+
+        if (directives.has("no-cache")) {
+            return ZERO;
+        }
+
+        final OptionalLong maxAge = directives.getSeconds("max-age");
+
+        if (maxAge.isPresent()) {
+            return Duration.ofSeconds(maxAge.getAsLong());
+        }
+
+        if (headers.containsKey(EXPIRES)) {
+            final long expires = date(headers, EXPIRES);
+
+            if (expires == -1) {
+                // invalid dates represent a time in the past
+                return ZERO;
+            }
+
+            final long date = date(headers, DATE);
+            final Instant base = date == -1 ? responseTime : Instant.ofEpochMilli(date);
+            return max(ZERO, Duration.between(base, Instant.ofEpochMilli(expires)));
+        }
+
+        return ZERO;
+    }
+
+    private static long date(final HttpHeaders headers, final String name) {
+        try {
+            return headers.getFirstDate(name);
+        } catch (final IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static long seconds(@Nullable final String value) {
+        if (value == null) {
+            return 0;
+        }
+
+        try {
+            return Math.max(0, Long.parseLong(value.trim()));
+        } catch (final NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static Duration max(final Duration left, final Duration right) {
+        return left.compareTo(right) >= 0 ? left : right;
+    }
+
+    private record CachedClientHttpResponse(
+            HttpStatusCode statusCode,
+            String statusText,
+            HttpHeaders headers,
+            InputStream body) implements ClientHttpResponse {
+
+        @Nonnull
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return statusCode;
+        }
+
+        @Nonnull
+        @Override
+        public String getStatusText() {
+            return statusText;
+        }
+
+        @Nonnull
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Nonnull
+        @Override
+        public InputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+
+    }
+
+}
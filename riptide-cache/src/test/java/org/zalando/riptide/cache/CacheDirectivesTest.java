@@ -0,0 +1,47 @@
+package org.zalando.riptide.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class CacheDirectivesTest {
+
+    @Test
+    void shouldParseDirectivesAcrossValues() {
+        final CacheDirectives unit = CacheDirectives.parse(List.of("No-Cache, max-age=60", " , private"));
+
+        assertThat(unit.has("no-cache")).isTrue();
+        assertThat(unit.has("private")).isTrue();
+        assertThat(unit.has("no-store")).isFalse();
+        assertThat(unit.getSeconds("max-age")).isEqualTo(OptionalLong.of(60));
+        assertThat(unit.getSeconds("s-maxage")).isEmpty();
+    }
+
+    @Test
+    void shouldUnquoteValues() {
+        final CacheDirectives unit = CacheDirectives.parse(List.of("max-age=\"60\", ext=\"", "other=\"x"));
+
+        assertThat(unit.getSeconds("max-age")).isEqualTo(OptionalLong.of(60));
+        assertThat(unit.getSeconds("ext")).isEqualTo(OptionalLong.of(0));
+        assertThat(unit.getSeconds("other")).isEqualTo(OptionalLong.of(0));
+    }
+
+    @Test
+    void shouldUseFirstOccurrence() {
+        final CacheDirectives unit = CacheDirectives.parse(List.of("max-age=60", "max-age=0"));
+
+        assertThat(unit.getSeconds("max-age")).isEqualTo(OptionalLong.of(60));
+    }
+
+    @Test
+    void shouldTreatInvalidSecondsAsStale() {
+        final CacheDirectives unit = CacheDirectives.parse(List.of("max-age=soon, min-fresh=-1"));
+
+        assertThat(unit.getSeconds("max-age")).isEqualTo(OptionalLong.of(0));
+        assertThat(unit.getSeconds("min-fresh")).isEqualTo(OptionalLong.of(0));
+    }
+
+}
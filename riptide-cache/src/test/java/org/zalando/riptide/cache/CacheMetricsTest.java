@@ -0,0 +1,66 @@
+package org.zalando.riptide.cache;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class CacheMetricsTest {
+
+    private final CacheStore store = new CacheStore();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        new CacheMetrics(store)
+                .withMetricName("cache")
+                .withDefaultTags(Tag.of("client", "example"))
+                .bindTo(registry);
+    }
+
+    @Test
+    void shouldMeasureRequests() {
+        store.recordHit();
+        store.recordHit();
+        store.recordHit();
+        store.recordMiss();
+        store.recordRevalidation();
+        store.recordRevalidation();
+
+        assertThat(requests("hit")).isEqualTo(3.0);
+        assertThat(requests("miss")).isEqualTo(1.0);
+        assertThat(requests("revalidated")).isEqualTo(2.0);
+        assertThat(gauge("cache.hit.ratio")).isEqualTo(0.5);
+    }
+
+    @Test
+    void shouldMeasureStore() {
+        assertThat(gauge("cache.size")).isZero();
+        assertThat(gauge("cache.entries")).isZero();
+        assertThat(registry.find("cache.evictions").tag("client", "example").functionCounter().count()).isZero();
+    }
+
+    @Test
+    void shouldUseDefaultMetricName() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new CacheMetrics(store).bindTo(registry);
+
+        assertThat(registry.find("http.client.cache.requests").tag("result", "hit").functionCounter()).isNotNull();
+    }
+
+    private double requests(final String result) {
+        return registry.find("cache.requests")
+                .tag("client", "example")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private double gauge(final String name) {
+        return registry.find(name).tag("client", "example").gauge().value();
+    }
+
+}
@@ -0,0 +1,462 @@
+package org.zalando.riptide.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.HEAD;
+import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+import static org.springframework.http.HttpStatus.OK;
+
+final class CachePluginTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+
+    private final Clock clock = mock(Clock.class);
+
+    private final List<RequestArguments> requests = new ArrayList<>();
+    private final List<ClientHttpResponse> responses = new ArrayList<>();
+
+    private final RequestExecution network = arguments -> {
+        requests.add(arguments);
+        return completedFuture(responses.remove(0));
+    };
+
+    private final CacheStore store = new CacheStore();
+
+    private final RequestExecution unit = new CachePlugin(store)
+            .withClock(clock)
+            .withMaxEntrySize(16)
+            .aroundNetwork(network);
+
+    private final RequestArguments arguments = RequestArguments.create()
+            .withMethod(GET)
+            .withUri(URI.create("https://example.org/config"));
+
+    CachePluginTest() {
+        at(0);
+    }
+
+    @Test
+    void shouldServeFreshResponseFromCache() throws IOException {
+        respond(response("Hello", "Cache-Control", "max-age=60"));
+
+        assertThat(body(unit.execute(arguments))).isEqualTo("Hello");
+
+        at(30);
+        final ClientHttpResponse cached = unit.execute(arguments).join();
+
+        assertThat(requests).hasSize(1);
+        assertThat(cached.getStatusCode()).isEqualTo(OK);
+        assertThat(cached.getStatusText()).isEqualTo("OK");
+        assertThat(cached.getHeaders().getFirst("Age")).isEqualTo("30");
+        assertThat(cached.getBody()).hasContent("Hello");
+        cached.close();
+
+        assertThat(store.getHitCount()).isOne();
+        assertThat(store.getMissCount()).isOne();
+    }
+
+    @Test
+    void shouldHandOutIndependentResponses() throws IOException {
+        respond(response("Hello", "Cache-Control", "max-age=60"));
+
+        unit.execute(arguments).join();
+
+        final ClientHttpResponse first = unit.execute(arguments).join();
+        final ClientHttpResponse second = unit.execute(arguments).join();
+
+        assertThat(first.getBody()).hasContent("Hello");
+        assertThat(second.getBody()).hasContent("Hello");
+
+        first.getHeaders().set("X-Modified", "true");
+        assertThat(second.getHeaders().containsKey("X-Modified")).isFalse();
+    }
+
+    @Test
+    void shouldFetchStaleResponseWithoutValidators() throws IOException {
+        respond(response("Hello", "Cache-Control", "max-age=60"));
+        respond(response("World", "Cache-Control", "max-age=60"));
+
+        unit.execute(arguments).join();
+
+        at(60);
+        assertThat(body(unit.execute(arguments))).isEqualTo("World");
+
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1).getHeaders()).doesNotContainKey("If-None-Match");
+        assertThat(store.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRevalidateStaleResponseWithETag() throws IOException {
+        respond(response("Hello", "Cache-Control", "max-age=60", "ETag", "\"v1\"", "Content-Length", "5"));
+        respond(notModified("Cache-Control", "max-age=120", "Content-Length", "0"));
+
+        unit.execute(arguments).join();
+
+        at(60);
+        final ClientHttpResponse revalidated = unit.execute(arguments).join();
+
+        assertThat(requests.get(1).getHeaders().get("If-None-Match")).containsExactly("\"v1\"");
+        assertThat(revalidated.getStatusCode()).isEqualTo(OK);
+        assertThat(revalidated.getHeaders().getCacheControl()).isEqualTo("max-age=120");
+        assertThat(revalidated.getHeaders().getContentLength()).isEqualTo(5);
+        assertThat(revalidated.getBody()).hasContent("Hello");
+        assertThat(store.getRevalidationCount()).isOne();
+
+        at(150);
+        assertThat(body(unit.execute(arguments))).isEqualTo("Hello");
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void shouldRevalidateStaleResponseWithLastModified() throws IOException {
+        final String lastModified = "Mon, 01 Jan 2024 10:00:00 GMT";
+        respond(response("Hello", "Last-Modified", lastModified));
+        respond(notModified());
+
+        unit.execute(arguments).join();
+        assertThat(body(unit.execute(arguments))).isEqualTo("Hello");
+
+        assertThat(requests.get(1).getHeaders().get("If-Modified-Since")).containsExactly(lastModified);
+        assertThat(requests.get(1).getHeaders()).doesNotContainKey("If-None-Match");
+    }
+
+    @Test
+    void shouldReplaceResponseIfModified() throws IOException {
+        respond(response("Hello", "ETag", "\"v1\""));
+        respond(response("World", "ETag", "\"v2\""));
+        respond(notModified());
+
+        unit.execute(arguments).join();
+        assertThat(body(unit.execute(arguments))).isEqualTo("World");
+        assertThat(body(unit.execute(arguments))).isEqualTo("World");
+
+        assertThat(requests.get(2).getHeaders().get("If-None-Match")).containsExactly("\"v2\"");
+        assertThat(store.getMissCount()).isEqualTo(2);
+        assertThat(store.getRevalidationCount()).isOne();
+    }
+
+    @Test
+    void shouldAlwaysRevalidateNoCacheResponses() throws IOException {
+        respond(response("Hello", "Cache-Control", "no-cache, max-age=60", "ETag", "\"v1\""));
+        respond(notModified());
+
+        unit.execute(arguments).join();
+        unit.execute(arguments).join();
+
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void shouldRevalidateIfRequestedNoCache() throws IOException {
+        respond(response("Hello", "Cache-Control", "max-age=60", "ETag", "\"v1\""));
+        respond(notModified());
+
+        unit.execute(arguments).join();
+        unit.execute(arguments.withHeader("Cache-Control", "no-cache")).join();
+
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void shouldRespectRequestedMaxAge() throws IOException {
+        respond(response("Hello", "Cache-Control", "max-age=60", "ETag", "\"v1\""));
+        respond(notModified());
+
+        unit.execute(arguments).join();
+
+        at(10);
+        unit.execute(arguments.withHeader("Cache-Control", "max-age=10")).join();
+        assertThat(requests).hasSize(1);
+
+        at(11);
+        unit.execute(arguments.withHeader("Cache-Control", "max-age=10")).join();
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void shouldBypassCacheIfRequestedNoStore() throws IOException {
+        respond(response("Hello", "Cache-Control", "max-age=60"));
+        respond(response("World", "Cache-Control", "max-age=60"));
+
+        unit.execute(arguments.withHeader("Cache-Control", "no-store")).join();
+        assertThat(body(unit.execute(arguments))).isEqualTo("World");
+
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void shouldBypassCacheForConditionalRequests() throws IOException {
+        respond(response("Hello", "Cache-Control", "max-age=60"));
+        respond(notModified());
+
+        unit.execute(arguments).join();
+        final ClientHttpResponse response = unit.execute(arguments.withHeader("if-none-match", "\"v1\"")).join();
+
+        assertThat(response.getStatusCode()).isEqualTo(NOT_MODIFIED);
+    }
+
+    @Test
+    void shouldNotStoreNoStoreResponses() throws IOException {
+        respond(response("Hello", "Cache-Control", "no-store, max-age=60"));
+        respond(response("World"));
+
+        unit.execute(arguments).join();
+        assertThat(body(unit.execute(arguments))).isEqualTo("World");
+    }
+
+    @Test
+    void shouldNotStoreResponsesVaryingOnEverything() throws IOException {
+        respond(response("Hello", "Cache-Control", "max-age=60", "Vary", "*"));
+        respond(response("World"));
+
+        unit.execute(arguments).join();
+        assertThat(body(unit.execute(arguments))).isEqualTo("World");
+    }
+
+    @Test
+    void shouldNotStoreResponsesWithoutExpirationOrValidators() throws IOException {
+        respond(response("Hello"));
+        respond(response("World"));
+
+        unit.execute(arguments).join();
+        assertThat(body(unit.execute(arguments))).isEqualTo("World");
+    }
+
+    @Test
+    void shouldNotStoreNonCacheableStatus() throws IOException {
+        respond(response(INTERNAL_SERVER_ERROR, "Oops", "Cache-Control", "max-age=60"));
+        respond(response("World"));
+
+        unit.execute(arguments).join();
+        assertThat(body(unit.execute(arguments))).isEqualTo("World");
+    }
+
+    @Test
+    void shouldNotStoreLargeResponses() throws IOException {
+        final MockClientHttpResponse original = response("Hello, world! How are you?", "Cache-Control", "max-age=60");
+        respond(original);
+        respond(response("World"));
+
+        final ClientHttpResponse response = unit.execute(arguments).join();
+        assertThat(response.getStatusCode()).isEqualTo(OK);
+        assertThat(response.getStatusText()).isEqualTo("OK");
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("max-age=60");
+        assertThat(response.getBody()).hasContent("Hello, world! How are you?");
+        response.close();
+        assertThat(original.isClosed()).isTrue();
+
+        assertThat(body(unit.execute(arguments))).isEqualTo("World");
+    }
+
+    @Test
+    void shouldCloseResponseIfBodyCannotBeRead() {
+        final MockClientHttpResponse original = new MockClientHttpResponse(new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        }, OK);
+        original.getHeaders().setCacheControl("max-age=60");
+        respond(original);
+
+        assertThrows(CompletionException.class, () -> unit.execute(arguments).join());
+        assertThat(original.isClosed()).isTrue();
+    }
+
+    @Test
+    void shouldSelectVariant() throws IOException {
+        respond(response("Hello", "Cache-Control", "max-age=60", "Vary", "Accept-Language"));
+        respond(response("Hallo", "Cache-Control", "max-age=60", "Vary", "Accept-Language"));
+
+        assertThat(body(unit.execute(arguments.withHeader("Accept-Language", "en")))).isEqualTo("Hello");
+        assertThat(body(unit.execute(arguments.withHeader("accept-language", "en")))).isEqualTo("Hello");
+        assertThat(body(unit.execute(arguments.withHeader("Accept-Language", "de")))).isEqualTo("Hallo");
+        assertThat(body(unit.execute(arguments.withHeader("Accept-Language", "de")))).isEqualTo("Hallo");
+
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void shouldUseExpiresRelativeToDate() throws IOException {
+        respond(response("Hello",
+                "Date", "Mon, 01 Jan 2024 11:59:00 GMT",
+                "Expires", "Mon, 01 Jan 2024 12:01:00 GMT"));
+
+        unit.execute(arguments).join();
+
+        at(59);
+        final ClientHttpResponse cached = unit.execute(arguments).join();
+        assertThat(cached.getHeaders().getFirst("Age")).isEqualTo("119");
+        assertThat(requests).hasSize(1);
+
+        respond(response("World"));
+        at(60);
+        assertThat(body(unit.execute(arguments))).isEqualTo("World");
+    }
+
+    @Test
+    void shouldUseExpiresRelativeToResponseTime() throws IOException {
+        respond(response("Hello", "Expires", "Mon, 01 Jan 2024 12:01:00 GMT"));
+
+        unit.execute(arguments).join();
+
+        at(59);
+        unit.execute(arguments).join();
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    void shouldTreatInvalidExpiresAsStale() throws IOException {
+        respond(response("Hello", "Expires", "0"));
+        respond(response("World"));
+
+        unit.execute(arguments).join();
+        assertThat(body(unit.execute(arguments))).isEqualTo("World");
+    }
+
+    @Test
+    void shouldTreatPastExpiresAsStale() throws IOException {
+        respond(response("Hello", "Date", "Mon, 01 Jan 2024 12:00:00 GMT", "Expires", "Mon, 01 Jan 2024 11:00:00 GMT"));
+        respond(response("World"));
+
+        unit.execute(arguments).join();
+        assertThat(body(unit.execute(arguments))).isEqualTo("World");
+    }
+
+    @Test
+    void shouldIgnoreInvalidDate() throws IOException {
+        respond(response("Hello", "Date", "yesterday", "Cache-Control", "max-age=60"));
+
+        unit.execute(arguments).join();
+        unit.execute(arguments).join();
+
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    void shouldAccountForAgeOfResponse() throws IOException {
+        respond(response("Hello", "Cache-Control", "max-age=60", "Age", "50"));
+        respond(response("World"));
+
+        unit.execute(arguments).join();
+
+        at(9);
+        assertThat(unit.execute(arguments).join().getHeaders().getFirst("Age")).isEqualTo("59");
+
+        at(10);
+        assertThat(body(unit.execute(arguments))).isEqualTo("World");
+    }
+
+    @Test
+    void shouldIgnoreInvalidAge() throws IOException {
+        respond(response("Hello", "Cache-Control", "max-age=60", "Age", "old"));
+
+        unit.execute(arguments).join();
+
+        assertThat(unit.execute(arguments).join().getHeaders().getFirst("Age")).isEqualTo("0");
+    }
+
+    @Test
+    void shouldInvalidateAfterUnsafeRequest() throws IOException {
+        respond(response("Hello", "Cache-Control", "max-age=60"));
+        respond(response(CREATED, ""));
+        respond(response("World", "Cache-Control", "max-age=60"));
+
+        unit.execute(arguments).join();
+        unit.execute(arguments.withMethod(POST)).join();
+
+        assertThat(body(unit.execute(arguments))).isEqualTo("World");
+    }
+
+    @Test
+    void shouldNotInvalidateAfterFailedUnsafeRequest() throws IOException {
+        respond(response("Hello", "Cache-Control", "max-age=60"));
+        respond(response(INTERNAL_SERVER_ERROR, ""));
+
+        unit.execute(arguments).join();
+        unit.execute(arguments.withMethod(POST)).join();
+
+        assertThat(body(unit.execute(arguments))).isEqualTo("Hello");
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void shouldIgnoreOtherMethods() throws IOException {
+        respond(response("", "Cache-Control", "max-age=60"));
+        respond(response("", "Cache-Control", "max-age=60"));
+
+        unit.execute(arguments.withMethod(HEAD)).join();
+        unit.execute(arguments.withMethod(HEAD)).join();
+
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void shouldRejectInvalidMaxEntrySize() {
+        final CachePlugin plugin = new CachePlugin();
+
+        assertThrows(IllegalArgumentException.class, () -> plugin.withMaxEntrySize(-1));
+        assertThrows(IllegalArgumentException.class, () -> plugin.withMaxEntrySize(Integer.MAX_VALUE));
+    }
+
+    private void at(final long seconds) {
+        when(clock.instant()).thenReturn(NOW.plusSeconds(seconds));
+    }
+
+    private void respond(final ClientHttpResponse response) {
+        responses.add(response);
+    }
+
+    private static String body(final CompletableFuture<ClientHttpResponse> future) throws IOException {
+        try (ClientHttpResponse response = future.join()) {
+            return new String(response.getBody().readAllBytes(), UTF_8);
+        }
+    }
+
+    private static MockClientHttpResponse notModified(final String... headers) {
+        return response(NOT_MODIFIED, "", headers);
+    }
+
+    private static MockClientHttpResponse response(final String body, final String... headers) {
+        return response(OK, body, headers);
+    }
+
+    private static MockClientHttpResponse response(
+            final HttpStatus status, final String body, final String... headers) {
+
+        final MockClientHttpResponse response = new MockClientHttpResponse(body.getBytes(UTF_8), status);
+
+        for (int i = 0; i < headers.length; i += 2) {
+            response.getHeaders().add(headers[i], headers[i + 1]);
+        }
+
+        return response;
+    }
+
+}
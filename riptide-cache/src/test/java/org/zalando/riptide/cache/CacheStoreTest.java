@@ -0,0 +1,74 @@
+package org.zalando.riptide.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpStatus.OK;
+
+final class CacheStoreTest {
+
+    @Test
+    void shouldWeighEntriesByBytes() throws IOException {
+        final CacheStore unit = new CacheStore();
+
+        unit.put(URI.create("/a"), entry(100));
+        unit.put(URI.create("/b"), entry(50));
+        unit.cleanUp();
+
+        assertThat(unit.getSize()).isEqualTo(150 + 2 * "Content-Typetext/plain".length());
+        assertThat(unit.getEntries()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEvictEntriesBeyondMaximumSize() throws IOException {
+        final CacheStore unit = new CacheStore(1024);
+
+        for (int i = 0; i < 20; i++) {
+            unit.put(URI.create("/" + i), entry(100));
+        }
+        unit.cleanUp();
+
+        assertThat(unit.getSize()).isLessThanOrEqualTo(1024);
+        assertThat(unit.getEvictionCount()).isPositive();
+    }
+
+    @Test
+    void shouldInvalidateEntries() throws IOException {
+        final CacheStore unit = new CacheStore();
+        final URI uri = URI.create("/a");
+
+        unit.put(uri, entry(1));
+        unit.invalidate(uri);
+
+        assertThat(unit.get(uri)).isNull();
+        assertThat(unit.getEvictionCount()).isZero();
+    }
+
+    @Test
+    void shouldCalculateHitRatio() {
+        final CacheStore unit = new CacheStore();
+
+        assertThat(unit.getHitRatio()).isEqualTo(1.0);
+
+        unit.recordHit();
+        unit.recordHit();
+        unit.recordMiss();
+        unit.recordRevalidation();
+
+        assertThat(unit.getHitRatio()).isEqualTo(0.5);
+    }
+
+    private static CachedResponse entry(final int size) throws IOException {
+        final MockClientHttpResponse response = new MockClientHttpResponse(new byte[0], OK);
+        response.getHeaders().add("Content-Type", "text/plain");
+        final Instant now = Instant.now();
+        return CachedResponse.of(response, new byte[size], Map.of(), now, now);
+    }
+
+}
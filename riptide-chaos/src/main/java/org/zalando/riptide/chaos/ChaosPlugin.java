@@ -18,4 +18,13 @@ public final class ChaosPlugin implements Plugin {
         return injection.inject(execution);
     }
 
+    /**
+     * Failure injections decide whether to inject a failure while composing, i.e. the decision needs to be made for
+     * every request individually.
+     */
+    @Override
+    public boolean isComposedPerRequest() {
+        return true;
+    }
+
 }
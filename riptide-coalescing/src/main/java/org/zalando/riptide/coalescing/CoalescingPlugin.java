@@ -0,0 +1,202 @@
+package org.zalando.riptide.coalescing;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apiguardian.api.API;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.PrefixedClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+import org.zalando.riptide.idempotency.IdempotencyPredicate;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.stream.Collectors.toSet;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.springframework.http.HttpHeaders.ACCEPT;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.ACCEPT_LANGUAGE;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.COOKIE;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.HEAD;
+import static org.zalando.fauxpas.FauxPas.throwingFunction;
+
+/**
+ * Joins concurrent, identical requests onto a single network call, also known as <em>single-flight</em>. Requests are
+ * identical if they share the same method, request URI and values of the configured vary headers. Only {@code GET}
+ * and {@code HEAD} requests without a body that are accepted by the predicate, by default an
+ * {@link IdempotencyPredicate}, are coalesced.
+ *
+ * The response body of the first request is buffered and every waiting request receives an independent copy of it.
+ * Responses with a body larger than the maximum body size are passed to the first request as they are, while
+ * waiting requests fall back to their own network call.
+ *
+ * Requests are only joined while being in-flight, i.e. this is not a cache.
+ */
+@API(status = EXPERIMENTAL)
+@Slf4j
+@AllArgsConstructor(access = PRIVATE)
+public final class CoalescingPlugin implements Plugin {
+
+    private final ConcurrentMap<Key, CompletableFuture<Optional<Snapshot>>> flights = new ConcurrentHashMap<>();
+
+    private final Predicate<RequestArguments> predicate;
+    private final Set<String> varyHeaders;
+    private final int maxBodySize;
+
+    public CoalescingPlugin() {
+        this(new IdempotencyPredicate(),
+                normalize(Arrays.asList(ACCEPT, ACCEPT_ENCODING, ACCEPT_LANGUAGE, AUTHORIZATION, COOKIE)),
+                64 * 1024);
+    }
+
+    public CoalescingPlugin withPredicate(final Predicate<RequestArguments> predicate) {
+        return new CoalescingPlugin(predicate, varyHeaders, maxBodySize);
+    }
+
+    public CoalescingPlugin withVaryHeaders(final String... varyHeaders) {
+        return withVaryHeaders(Arrays.asList(varyHeaders));
+    }
+
+    public CoalescingPlugin withVaryHeaders(final Collection<String> varyHeaders) {
+        return new CoalescingPlugin(predicate, normalize(varyHeaders), maxBodySize);
+    }
+
+    public CoalescingPlugin withMaxBodySize(final int maxBodySize) {
+        if (maxBodySize < 0 || maxBodySize == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Maximum body size out of range: " + maxBodySize);
+        }
+        return new CoalescingPlugin(predicate, varyHeaders, maxBodySize);
+    }
+
+    @Override
+    public RequestExecution aroundNetwork(final RequestExecution execution) {
+        return arguments -> {
+            if (!isCoalescable(arguments)) {
+                return execution.execute(arguments);
+            }
+
+            final Key key = key(arguments);
+            final CompletableFuture<Optional<Snapshot>> flight = new CompletableFuture<>();
+            @Nullable final CompletableFuture<Optional<Snapshot>> leader = flights.putIfAbsent(key, flight);
+
+            if (leader == null) {
+                return lead(execution, arguments, key, flight);
+            }
+
+            log.trace("Joining in-flight request [{} {}]", key.method(), key.uri());
+            return leader.thenCompose(throwingFunction(snapshot -> snapshot.isPresent() ?
+                    completedFuture(snapshot.get().toResponse()) :
+                    execution.execute(arguments)));
+        };
+    }
+
+    private boolean isCoalescable(final RequestArguments arguments) {
+        final HttpMethod method = arguments.getMethod();
+        return (GET.equals(method) || HEAD.equals(method))
+                && arguments.getBody() == null
+                && predicate.test(arguments);
+    }
+
+    private CompletableFuture<ClientHttpResponse> lead(
+            final RequestExecution execution,
+            final RequestArguments arguments,
+            final Key key,
+            final CompletableFuture<Optional<Snapshot>> flight) throws IOException {
+
+        try {
+            return execution.execute(arguments)
+                    .thenApply(throwingFunction(response -> share(response, key, flight)))
+                    .whenComplete((response, throwable) -> {
+                        if (throwable != null) {
+                            land(key, flight);
+                            flight.completeExceptionally(throwable);
+                        }
+                    });
+        } catch (final IOException | RuntimeException e) {
+            land(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private ClientHttpResponse share(
+            final ClientHttpResponse response,
+            final Key key,
+            final CompletableFuture<Optional<Snapshot>> flight) throws IOException {
+
+        final InputStream body;
+        final byte[] prefix;
+
+        try {
+            body = response.getBody();
+            prefix = body.readNBytes(maxBodySize + 1);
+        } catch (final IOException e) {
+            response.close();
+            throw e;
+        }
+
+        // requests that arrive from now on start a new flight
+        land(key, flight);
+
+        if (prefix.length > maxBodySize) {
+            log.trace("Response body of [{} {}] exceeds {} bytes, not coalescing", key.method(), key.uri(), maxBodySize);
+            flight.complete(Optional.empty());
+            return new PrefixedClientHttpResponse(response, prefix, body);
+        }
+
+        try (response) {
+            final Snapshot snapshot = Snapshot.of(response, prefix);
+            flight.complete(Optional.of(snapshot));
+            return snapshot.toResponse();
+        }
+    }
+
+    private void land(final Key key, final CompletableFuture<Optional<Snapshot>> flight) {
+        flights.remove(key, flight);
+    }
+
+    private Key key(final RequestArguments arguments) {
+        final Map<String, List<String>> values = new TreeMap<>();
+
+        arguments.getHeaders().forEach((name, value) -> {
+            final String normalized = name.toLowerCase(Locale.ROOT);
+            if (varyHeaders.contains(normalized)) {
+                values.put(normalized, value);
+            }
+        });
+
+        return new Key(arguments.getMethod(), arguments.getRequestUri(), values);
+    }
+
+    private static Set<String> normalize(final Collection<String> headers) {
+        return headers.stream()
+                .map(header -> header.toLowerCase(Locale.ROOT))
+                .collect(toSet());
+    }
+
+    private record Key(HttpMethod method, URI uri, Map<String, List<String>> headers) {
+
+    }
+
+}
@@ -0,0 +1,78 @@
+package org.zalando.riptide.coalescing;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * A fully buffered response that can be handed out any number of times.
+ */
+@AllArgsConstructor(access = PRIVATE)
+final class Snapshot {
+
+    private final HttpStatusCode statusCode;
+    private final String statusText;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    static Snapshot of(final ClientHttpResponse response, final byte[] body) throws IOException {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+
+        return new Snapshot(
+                response.getStatusCode(),
+                response.getStatusText(),
+                HttpHeaders.readOnlyHttpHeaders(headers),
+                body);
+    }
+
+    ClientHttpResponse toResponse() {
+        return new BufferedClientHttpResponse(statusCode, statusText, headers, new ByteArrayInputStream(body));
+    }
+
+    private record BufferedClientHttpResponse(
+            HttpStatusCode statusCode,
+            String statusText,
+            HttpHeaders headers,
+            InputStream body) implements ClientHttpResponse {
+
+        @Nonnull
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return statusCode;
+        }
+
+        @Nonnull
+        @Override
+        public String getStatusText() {
+            return statusText;
+        }
+
+        @Nonnull
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Nonnull
+        @Override
+        public InputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+
+    }
+
+}
@@ -0,0 +1,319 @@
+package org.zalando.riptide.coalescing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.http.HttpMethod.DELETE;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.HEAD;
+import static org.springframework.http.HttpMethod.OPTIONS;
+import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.http.HttpMethod.PUT;
+import static org.springframework.http.HttpStatus.OK;
+
+final class CoalescingPluginTest {
+
+    private final List<CompletableFuture<ClientHttpResponse>> calls = new ArrayList<>();
+
+    private final RequestExecution network = arguments -> {
+        final CompletableFuture<ClientHttpResponse> future = new CompletableFuture<>();
+        calls.add(future);
+        return future;
+    };
+
+    private final RequestArguments arguments = RequestArguments.create()
+            .withMethod(GET)
+            .withUri(URI.create("https://example.org/config"));
+
+    @Test
+    void shouldCoalesceConcurrentRequests() throws IOException {
+        final RequestExecution unit = new CoalescingPlugin().aroundNetwork(network);
+
+        final CompletableFuture<ClientHttpResponse> first = unit.execute(arguments);
+        final CompletableFuture<ClientHttpResponse> second = unit.execute(arguments);
+
+        assertThat(calls).hasSize(1);
+
+        final MockClientHttpResponse original = response("Hello, world!");
+        calls.get(0).complete(original);
+
+        assertThat(original.isClosed()).isTrue();
+
+        final ClientHttpResponse left = first.join();
+        final ClientHttpResponse right = second.join();
+
+        assertThat(left).isNotSameAs(right);
+        assertThat(left.getStatusCode()).isEqualTo(OK);
+        assertThat(right.getStatusText()).isEqualTo(OK.getReasonPhrase());
+        assertThat(right.getHeaders().getFirst("Vary")).isEqualTo("Accept");
+        assertThat(new String(left.getBody().readAllBytes(), UTF_8)).isEqualTo("Hello, world!");
+        assertThat(new String(right.getBody().readAllBytes(), UTF_8)).isEqualTo("Hello, world!");
+
+        left.close();
+        right.close();
+    }
+
+    @Test
+    void shouldExposeReadOnlyHeaders() throws IOException {
+        final RequestExecution unit = new CoalescingPlugin().aroundNetwork(network);
+
+        final CompletableFuture<ClientHttpResponse> future = unit.execute(arguments);
+        calls.get(0).complete(response("Hello"));
+
+        final HttpHeaders headers = future.join().getHeaders();
+        assertThrows(UnsupportedOperationException.class, () -> headers.add("Vary", "Accept-Language"));
+    }
+
+    @Test
+    void shouldNotCoalesceSequentialRequests() throws IOException {
+        final RequestExecution unit = new CoalescingPlugin().aroundNetwork(network);
+
+        unit.execute(arguments);
+        calls.get(0).complete(response("Hello"));
+        unit.execute(arguments);
+
+        assertThat(calls).hasSize(2);
+    }
+
+    @Test
+    void shouldNotCoalesceNonIdempotentRequests() throws IOException {
+        final RequestExecution unit = new CoalescingPlugin().aroundNetwork(network);
+
+        unit.execute(arguments.withMethod(POST));
+        unit.execute(arguments.withMethod(POST));
+
+        assertThat(calls).hasSize(2);
+    }
+
+    @Test
+    void shouldNotCoalesceRequestsWithBody() throws IOException {
+        final RequestExecution unit = new CoalescingPlugin().aroundNetwork(network);
+
+        unit.execute(arguments.withBody("query"));
+        unit.execute(arguments.withBody("query"));
+
+        assertThat(calls).hasSize(2);
+    }
+
+    @Test
+    void shouldNotCoalesceRequestsToDifferentUris() throws IOException {
+        final RequestExecution unit = new CoalescingPlugin().aroundNetwork(network);
+
+        unit.execute(arguments);
+        unit.execute(arguments.withUri(URI.create("https://example.org/other")));
+
+        assertThat(calls).hasSize(2);
+    }
+
+    @Test
+    void shouldNotCoalesceRequestsWithDifferentVaryHeaders() throws IOException {
+        final RequestExecution unit = new CoalescingPlugin().aroundNetwork(network);
+
+        unit.execute(arguments.withHeader("Authorization", "Bearer a"));
+        unit.execute(arguments.withHeader("Authorization", "Bearer b"));
+
+        assertThat(calls).hasSize(2);
+    }
+
+    @Test
+    void shouldCoalesceRequestsWithDifferentOtherHeaders() throws IOException {
+        final RequestExecution unit = new CoalescingPlugin()
+                .withVaryHeaders("Accept")
+                .aroundNetwork(network);
+
+        unit.execute(arguments.withHeader("Accept", "application/json").withHeader("X-Flow-ID", "a"));
+        unit.execute(arguments.withHeader("accept", "application/json").withHeader("X-Flow-ID", "b"));
+
+        assertThat(calls).hasSize(1);
+    }
+
+    @Test
+    void shouldNotCoalesceRequestsWithDifferentCookies() throws IOException {
+        final RequestExecution unit = new CoalescingPlugin().aroundNetwork(network);
+
+        unit.execute(arguments.withHeader("Cookie", "session=a"));
+        unit.execute(arguments.withHeader("Cookie", "session=b"));
+
+        assertThat(calls).hasSize(2);
+    }
+
+    @Test
+    void shouldCoalesceHeadRequests() throws IOException {
+        final RequestExecution unit = new CoalescingPlugin().aroundNetwork(network);
+
+        unit.execute(arguments.withMethod(HEAD));
+        unit.execute(arguments.withMethod(HEAD));
+
+        assertThat(calls).hasSize(1);
+    }
+
+    @Test
+    void shouldNotCoalesceOtherIdempotentRequests() throws IOException {
+        final RequestExecution unit = new CoalescingPlugin()
+                .withPredicate(arguments -> true)
+                .aroundNetwork(network);
+
+        unit.execute(arguments.withMethod(PUT));
+        unit.execute(arguments.withMethod(PUT));
+        unit.execute(arguments.withMethod(DELETE));
+        unit.execute(arguments.withMethod(DELETE));
+        unit.execute(arguments.withMethod(OPTIONS));
+        unit.execute(arguments.withMethod(OPTIONS));
+
+        assertThat(calls).hasSize(6);
+    }
+
+    @Test
+    void shouldNotCoalesceRequestsRejectedByCustomPredicate() throws IOException {
+        final RequestExecution unit = new CoalescingPlugin()
+                .withPredicate(arguments -> false)
+                .aroundNetwork(network);
+
+        unit.execute(arguments);
+        unit.execute(arguments);
+
+        assertThat(calls).hasSize(2);
+    }
+
+    @Test
+    void shouldFallBackToOwnRequestForLargeBodies() throws IOException {
+        final RequestExecution unit = new CoalescingPlugin()
+                .withMaxBodySize(5)
+                .aroundNetwork(network);
+
+        final CompletableFuture<ClientHttpResponse> first = unit.execute(arguments);
+        final CompletableFuture<ClientHttpResponse> second = unit.execute(arguments);
+
+        final MockClientHttpResponse original = response("Hello, world!");
+        calls.get(0).complete(original);
+
+        assertThat(calls).hasSize(2);
+        assertThat(second).isNotDone();
+
+        final ClientHttpResponse response = first.join();
+        assertThat(response.getStatusCode()).isEqualTo(OK);
+        assertThat(response.getStatusText()).isEqualTo(OK.getReasonPhrase());
+        assertThat(response.getHeaders().getFirst("Vary")).isEqualTo("Accept");
+        assertThat(new String(response.getBody().readAllBytes(), UTF_8)).isEqualTo("Hello, world!");
+
+        assertThat(original.isClosed()).isFalse();
+        response.close();
+        assertThat(original.isClosed()).isTrue();
+
+        calls.get(1).complete(response("Hello, world!"));
+        assertThat(second.join().getBody()).hasContent("Hello, world!");
+    }
+
+    @Test
+    void shouldCoalesceBodiesOfMaximumSize() throws IOException {
+        final RequestExecution unit = new CoalescingPlugin()
+                .withMaxBodySize(5)
+                .aroundNetwork(network);
+
+        final CompletableFuture<ClientHttpResponse> first = unit.execute(arguments);
+        final CompletableFuture<ClientHttpResponse> second = unit.execute(arguments);
+
+        calls.get(0).complete(response("Hello"));
+
+        assertThat(calls).hasSize(1);
+        assertThat(first.join().getBody()).hasContent("Hello");
+        assertThat(second.join().getBody()).hasContent("Hello");
+    }
+
+    @Test
+    void shouldPropagateFailures() throws IOException {
+        final RequestExecution unit = new CoalescingPlugin().aroundNetwork(network);
+
+        final CompletableFuture<ClientHttpResponse> first = unit.execute(arguments);
+        final CompletableFuture<ClientHttpResponse> second = unit.execute(arguments);
+
+        calls.get(0).completeExceptionally(new IOException("Connection reset"));
+
+        assertThrows(CompletionException.class, first::join);
+        assertThrows(CompletionException.class, second::join);
+
+        unit.execute(arguments);
+        assertThat(calls).hasSize(2);
+    }
+
+    @Test
+    void shouldPropagateFailuresWhileReadingBody() throws IOException {
+        final RequestExecution unit = new CoalescingPlugin().aroundNetwork(network);
+
+        final CompletableFuture<ClientHttpResponse> first = unit.execute(arguments);
+        final CompletableFuture<ClientHttpResponse> second = unit.execute(arguments);
+
+        final MockClientHttpResponse original = new MockClientHttpResponse(new byte[0], OK) {
+            @Override
+            public InputStream getBody() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+        calls.get(0).complete(original);
+
+        assertThrows(CompletionException.class, first::join);
+        assertThrows(CompletionException.class, second::join);
+        assertThat(original.isClosed()).isTrue();
+    }
+
+    @Test
+    void shouldCloseResponseIfBodyCannotBeRead() throws IOException {
+        final RequestExecution unit = new CoalescingPlugin().aroundNetwork(network);
+
+        final CompletableFuture<ClientHttpResponse> future = unit.execute(arguments);
+
+        final MockClientHttpResponse original = new MockClientHttpResponse(new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        }, OK);
+        calls.get(0).complete(original);
+
+        assertThrows(CompletionException.class, future::join);
+        assertThat(original.isClosed()).isTrue();
+    }
+
+    @Test
+    void shouldPropagateSynchronousFailures() throws IOException {
+        final RequestExecution unit = new CoalescingPlugin().aroundNetwork(args -> {
+            calls.add(new CompletableFuture<>());
+            throw new IOException("Connection refused");
+        });
+
+        assertThrows(IOException.class, () -> unit.execute(arguments));
+        assertThrows(IOException.class, () -> unit.execute(arguments));
+
+        assertThat(calls).hasSize(2);
+    }
+
+    @Test
+    void shouldRejectInvalidMaxBodySize() {
+        final CoalescingPlugin unit = new CoalescingPlugin();
+
+        assertThrows(IllegalArgumentException.class, () -> unit.withMaxBodySize(-1));
+        assertThrows(IllegalArgumentException.class, () -> unit.withMaxBodySize(Integer.MAX_VALUE));
+    }
+
+    private static MockClientHttpResponse response(final String body) {
+        final MockClientHttpResponse response = new MockClientHttpResponse(body.getBytes(UTF_8), OK);
+        response.getHeaders().add("Vary", "Accept");
+        return response;
+    }
+
+}
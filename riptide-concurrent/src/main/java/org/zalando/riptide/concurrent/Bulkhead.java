@@ -0,0 +1,57 @@
+package org.zalando.riptide.concurrent;
+
+import org.apiguardian.api.API;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * The state of a single bulkhead of a {@link BulkheadPlugin}, i.e. of all requests that share a key.
+ */
+@API(status = EXPERIMENTAL)
+public final class Bulkhead {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejections = new LongAdder();
+
+    private final String key;
+    private final int maxConcurrency;
+
+    Bulkhead(final String key, final int maxConcurrency) {
+        this.key = key;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > maxConcurrency) {
+            inFlight.decrementAndGet();
+            rejections.increment();
+            return false;
+        }
+
+        return true;
+    }
+
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+}
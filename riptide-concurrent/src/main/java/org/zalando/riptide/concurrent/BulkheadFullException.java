@@ -0,0 +1,24 @@
+package org.zalando.riptide.concurrent;
+
+import org.apiguardian.api.API;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+@API(status = EXPERIMENTAL)
+public final class BulkheadFullException extends RejectedExecutionException {
+
+    private final String key;
+
+    public BulkheadFullException(final Bulkhead bulkhead) {
+        super("Bulkhead [" + bulkhead.getKey() + "] is full: " +
+                bulkhead.getMaxConcurrency() + " concurrent requests");
+        this.key = bulkhead.getKey();
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+}
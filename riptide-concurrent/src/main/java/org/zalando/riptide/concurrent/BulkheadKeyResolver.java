@@ -0,0 +1,43 @@
+package org.zalando.riptide.concurrent;
+
+import org.apiguardian.api.API;
+import org.zalando.riptide.Attribute;
+import org.zalando.riptide.RequestArguments;
+
+import java.util.Optional;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Resolves the key of the {@link Bulkhead bulkhead} that a request belongs to. Requests without a key aren't
+ * limited by any bulkhead.
+ */
+@API(status = EXPERIMENTAL)
+@FunctionalInterface
+public interface BulkheadKeyResolver {
+
+    Optional<String> resolve(RequestArguments arguments);
+
+    /**
+     * One bulkhead per URI template, e.g. {@code /search}. Requests without a template aren't limited.
+     */
+    static BulkheadKeyResolver uriTemplate() {
+        return arguments -> Optional.ofNullable(arguments.getUriTemplate());
+    }
+
+    /**
+     * One bulkhead per host of the request URI. Requests without a host aren't limited.
+     */
+    static BulkheadKeyResolver host() {
+        return arguments -> Optional.ofNullable(arguments.getRequestUri().getHost());
+    }
+
+    /**
+     * One bulkhead per value of the given attribute, supplied at the call site. Requests without the attribute
+     * aren't limited.
+     */
+    static BulkheadKeyResolver attribute(final Attribute<String> attribute) {
+        return arguments -> arguments.getAttribute(attribute);
+    }
+
+}
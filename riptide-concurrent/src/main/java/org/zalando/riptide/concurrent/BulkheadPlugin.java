@@ -0,0 +1,151 @@
+package org.zalando.riptide.concurrent;
+
+import org.apiguardian.api.API;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestExecution;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Isolates groups of requests of the same client from each other, e.g. an expensive search endpoint from cheap
+ * lookups. Every {@link BulkheadKeyResolver key} gets its own {@link Bulkhead bulkhead}, i.e. an independent limit
+ * of in-flight requests. Requests that exceed the limit of their bulkhead are rejected right away, on the calling
+ * thread, with a {@link BulkheadFullException}, before they could occupy a thread or a connection.
+ *
+ * The number of bulkheads is bounded. Once it's reached, requests with new keys share the {@link #OVERFLOW overflow}
+ * bulkhead.
+ */
+@API(status = EXPERIMENTAL)
+public final class BulkheadPlugin implements Plugin {
+
+    /**
+     * Gets notified whenever a new bulkhead is created, e.g. to publish its metrics.
+     */
+    @API(status = EXPERIMENTAL)
+    @FunctionalInterface
+    public interface Listener {
+        void onCreate(Bulkhead bulkhead);
+    }
+
+    /**
+     * The key of the bulkhead that is shared by all keys beyond the maximum number of bulkheads.
+     */
+    public static final String OVERFLOW = "overflow";
+
+    private final ConcurrentMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    // set once the maximum number of bulkheads is reached, which never changes afterwards
+    @Nullable
+    private volatile Bulkhead overflow;
+
+    private final BulkheadKeyResolver resolver;
+    private final int maxConcurrency;
+    private final int maxKeys;
+    private final Listener listener;
+
+    public BulkheadPlugin(final BulkheadKeyResolver resolver, final int maxConcurrency) {
+        this(resolver, maxConcurrency, 100, bulkhead -> {
+            // nothing to do
+        });
+    }
+
+    private BulkheadPlugin(
+            final BulkheadKeyResolver resolver,
+            final int maxConcurrency,
+            final int maxKeys,
+            final Listener listener) {
+
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Maximum concurrency must be positive: " + maxConcurrency);
+        }
+
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("Maximum number of keys must be positive: " + maxKeys);
+        }
+
+        this.resolver = resolver;
+        this.maxConcurrency = maxConcurrency;
+        this.maxKeys = maxKeys;
+        this.listener = listener;
+    }
+
+    public BulkheadPlugin withMaxKeys(final int maxKeys) {
+        return new BulkheadPlugin(resolver, maxConcurrency, maxKeys, listener);
+    }
+
+    public BulkheadPlugin withListener(final Listener listener) {
+        return new BulkheadPlugin(resolver, maxConcurrency, maxKeys, listener);
+    }
+
+    public Collection<Bulkhead> getBulkheads() {
+        return Collections.unmodifiableCollection(bulkheads.values());
+    }
+
+    @Override
+    public RequestExecution aroundAsync(final RequestExecution execution) {
+        return arguments -> {
+            final Optional<String> key = resolver.resolve(arguments);
+
+            if (key.isEmpty()) {
+                return execution.execute(arguments);
+            }
+
+            final Bulkhead bulkhead = bulkhead(key.get());
+
+            if (!bulkhead.tryAcquire()) {
+                throw new BulkheadFullException(bulkhead);
+            }
+
+            final CompletableFuture<ClientHttpResponse> future;
+
+            try {
+                future = execution.execute(arguments);
+            } catch (final IOException | RuntimeException e) {
+                bulkhead.release();
+                throw e;
+            }
+
+            return future.whenComplete((response, throwable) -> bulkhead.release());
+        };
+    }
+
+    private Bulkhead bulkhead(final String key) {
+        @Nullable final Bulkhead bulkhead = bulkheads.get(key);
+
+        if (bulkhead != null) {
+            return bulkhead;
+        }
+
+        // keys beyond the maximum are never registered, they must not end up in the lock on every request
+        @Nullable final Bulkhead overflow = this.overflow;
+        return overflow == null ? register(key) : overflow;
+    }
+
+    // only new keys end up here, the lock keeps the number of bulkheads from exceeding the maximum
+    private synchronized Bulkhead register(final String key) {
+        if (bulkheads.size() < maxKeys) {
+            return bulkheads.computeIfAbsent(key, this::create);
+        }
+
+        final Bulkhead bulkhead = bulkheads.computeIfAbsent(OVERFLOW, this::create);
+        overflow = bulkhead;
+        return bulkhead;
+    }
+
+    private Bulkhead create(final String key) {
+        final Bulkhead bulkhead = new Bulkhead(key, maxConcurrency);
+        listener.onCreate(bulkhead);
+        return bulkhead;
+    }
+
+}
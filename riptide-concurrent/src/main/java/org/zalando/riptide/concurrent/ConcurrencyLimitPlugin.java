@@ -0,0 +1,100 @@
+package org.zalando.riptide.concurrent;
+
+import org.apiguardian.api.API;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestExecution;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Limits the number of requests that are in flight at the same time. Instead of a fixed number, the limit adapts to
+ * the round-trip times of the upstream, similar to TCP Vegas: it grows as long as round-trip times stay close to
+ * the lowest one observed and shrinks when they increase, i.e. when requests start to queue up upstream, or when
+ * requests fail.
+ *
+ * Requests that exceed the limit are rejected right away, on the calling thread, with a
+ * {@link RejectedExecutionException}, before they could queue up in the executor. A request is in flight from the
+ * moment it's submitted until its response was dispatched, including all of its retries, while round-trip times are
+ * sampled per attempt, i.e. around the network.
+ */
+@API(status = EXPERIMENTAL)
+public final class ConcurrencyLimitPlugin implements Plugin {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejections = new LongAdder();
+
+    private final VegasLimit limit;
+
+    public ConcurrencyLimitPlugin() {
+        this(20, 200);
+    }
+
+    public ConcurrencyLimitPlugin(final int initialLimit, final int maxLimit) {
+        this.limit = new VegasLimit(initialLimit, maxLimit);
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    @Override
+    public RequestExecution aroundAsync(final RequestExecution execution) {
+        return arguments -> {
+            final int current = inFlight.incrementAndGet();
+            final int max = getLimit();
+
+            if (current > max) {
+                inFlight.decrementAndGet();
+                rejections.increment();
+                throw new RejectedExecutionException("Concurrency limit of " + max + " reached");
+            }
+
+            final CompletableFuture<ClientHttpResponse> future;
+
+            try {
+                future = execution.execute(arguments);
+            } catch (final IOException | RuntimeException e) {
+                inFlight.decrementAndGet();
+                throw e;
+            }
+
+            return future.whenComplete((response, throwable) -> inFlight.decrementAndGet());
+        };
+    }
+
+    @Override
+    public RequestExecution aroundNetwork(final RequestExecution execution) {
+        return arguments -> {
+            final int concurrency = getInFlight();
+            final long start = System.nanoTime();
+
+            final CompletableFuture<ClientHttpResponse> future;
+
+            try {
+                future = execution.execute(arguments);
+            } catch (final IOException | RuntimeException e) {
+                limit.onSample(System.nanoTime() - start, concurrency, true);
+                throw e;
+            }
+
+            return future.whenComplete((response, throwable) ->
+                    limit.onSample(System.nanoTime() - start, concurrency, throwable != null));
+        };
+    }
+
+}
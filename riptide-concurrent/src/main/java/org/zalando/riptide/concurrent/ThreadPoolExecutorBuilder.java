@@ -12,6 +12,7 @@ import org.zalando.riptide.concurrent.ThreadPoolExecutors.RejectedExecutions;
 import org.zalando.riptide.concurrent.ThreadPoolExecutors.ScaleFirst;
 import org.zalando.riptide.concurrent.ThreadPoolExecutors.Start;
 import org.zalando.riptide.concurrent.ThreadPoolExecutors.Threads;
+import org.zalando.riptide.concurrent.ThreadPoolExecutors.VirtualThreads;
 
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
@@ -81,6 +82,11 @@ final class ThreadPoolExecutorBuilder implements
                 .withMaximumPoolSize(maximumPoolSize);
     }
 
+    @Override
+    public VirtualThreads virtualThreads(final int maximumConcurrency) {
+        return new VirtualThreadExecutorBuilder(maximumConcurrency);
+    }
+
     @Override
     public ThreadPoolExecutorBuilder withoutQueue() {
         return withQueue(new SynchronousQueue<>());
@@ -18,6 +18,7 @@ public final class ThreadPoolExecutors {
     public interface Start {
         FixedSize fixedSize(int poolSize);
         ElasticSize elasticSize(int corePoolSize, int maximumPoolSize);
+        VirtualThreads virtualThreads(int maximumConcurrency);
     }
 
     @CheckReturnValue
@@ -80,6 +81,24 @@ public final class ThreadPoolExecutors {
         ThreadPoolExecutor build();
     }
 
+    @CheckReturnValue
+    public interface VirtualThreads {
+        VirtualThreadFactory withoutQueue();
+        VirtualThreadFactory boundedQueue(int queueSize);
+        VirtualThreadFactory unboundedQueue();
+    }
+
+    @CheckReturnValue
+    public interface VirtualThreadFactory extends VirtualBuild {
+        VirtualBuild threadNamePrefix(String prefix);
+        VirtualBuild threadFactory(ThreadFactory threadFactory);
+    }
+
+    @CheckReturnValue
+    public interface VirtualBuild {
+        VirtualThreadExecutor build();
+    }
+
     private ThreadPoolExecutors() {
 
     }
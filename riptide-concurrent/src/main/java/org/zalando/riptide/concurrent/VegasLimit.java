@@ -0,0 +1,90 @@
+package org.zalando.riptide.concurrent;
+
+import static java.lang.Math.log10;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * A concurrency limit inspired by TCP Vegas. It compares every round-trip time to the lowest one observed so far,
+ * i.e. the round-trip time without load, and estimates how many requests are queued upstream. The limit grows as
+ * long as that queue is small, shrinks once it gets too long and shrinks on every failure. The lowest round-trip
+ * time is re-probed periodically, so that the limit can recover after the upstream got permanently slower.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/TCP_Vegas">TCP Vegas</a>
+ */
+final class VegasLimit {
+
+    /**
+     * Number of samples, per unit of the current limit, after which the round-trip time without load is reset.
+     */
+    private static final int PROBE_MULTIPLIER = 30;
+
+    private final int maxLimit;
+
+    // guarded by this
+    private double estimate;
+    private long rttNoLoad;
+    private long samples;
+
+    private volatile int limit;
+
+    VegasLimit(final int initialLimit, final int maxLimit) {
+        if (initialLimit < 1) {
+            throw new IllegalArgumentException("Initial limit must be positive: " + initialLimit);
+        }
+
+        if (maxLimit < initialLimit) {
+            throw new IllegalArgumentException(
+                    "Max limit must not be less than initial limit: " + maxLimit + " < " + initialLimit);
+        }
+
+        this.maxLimit = maxLimit;
+        this.estimate = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @param rtt round-trip time in nanoseconds
+     * @param inFlight number of requests that were in flight when the sampled one started
+     * @param dropped whether the sampled request failed
+     */
+    synchronized void onSample(final long rtt, final int inFlight, final boolean dropped) {
+        if (++samples >= PROBE_MULTIPLIER * estimate) {
+            samples = 0;
+            rttNoLoad = rtt;
+            return;
+        }
+
+        if (rttNoLoad == 0 || rtt < rttNoLoad) {
+            rttNoLoad = rtt;
+            return;
+        }
+
+        final double log = max(1, log10(estimate));
+        final double queue = Math.ceil(estimate * (1 - (double) rttNoLoad / rtt));
+        final double next;
+
+        if (dropped) {
+            next = estimate - log;
+        } else if (inFlight * 2 < estimate) {
+            // the limit isn't used, nothing to learn about it
+            return;
+        } else if (queue <= log) {
+            next = estimate + 6 * log;
+        } else if (queue < 3 * log) {
+            next = estimate + log;
+        } else if (queue > 6 * log) {
+            next = estimate - log;
+        } else {
+            return;
+        }
+
+        estimate = max(1, min(maxLimit, next));
+        limit = (int) estimate;
+    }
+
+}
@@ -0,0 +1,272 @@
+package org.zalando.riptide.concurrent;
+
+import org.apiguardian.api.API;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * An executor that starts a new (virtual) thread per task. Instead of a fixed number of threads and a work queue,
+ * the number of tasks that run concurrently is limited by a semaphore. Tasks that don't get a permit right away
+ * wait for one, unless the number of waiting tasks already reached the maximum queue size, in which case they are
+ * rejected with a {@link RejectedExecutionException}.
+ *
+ * Tasks that are still waiting for a permit when {@link #shutdownNow()} is called never run and are returned instead.
+ * Waiting tasks that are interrupted otherwise are rejected, i.e. their thread terminates with a
+ * {@link RejectedExecutionException}.
+ */
+@API(status = EXPERIMENTAL)
+public final class VirtualThreadExecutor extends AbstractExecutorService {
+
+    // only used to await termination, the state itself is lock-free
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition termination = lock.newCondition();
+
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<Thread, Runnable> queue = new ConcurrentHashMap<>();
+
+    // tasks that were accepted, or are about to be, and didn't finish yet
+    private final AtomicInteger live = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final int maximumConcurrency;
+    private final int maximumQueueSize;
+    private final Semaphore permits;
+    private final ThreadFactory threadFactory;
+
+    private volatile boolean shutdown;
+
+    VirtualThreadExecutor(
+            final int maximumConcurrency,
+            final int maximumQueueSize,
+            final ThreadFactory threadFactory) {
+
+        if (maximumConcurrency < 1) {
+            throw new IllegalArgumentException("Maximum concurrency must be positive: " + maximumConcurrency);
+        }
+
+        if (maximumQueueSize < 0) {
+            throw new IllegalArgumentException("Maximum queue size must not be negative: " + maximumQueueSize);
+        }
+
+        this.maximumConcurrency = maximumConcurrency;
+        this.maximumQueueSize = maximumQueueSize;
+        this.permits = new Semaphore(maximumConcurrency, true);
+        this.threadFactory = threadFactory;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        // counted before checking for shutdown, so that termination can't be signalled in between
+        live.incrementAndGet();
+
+        if (shutdown) {
+            terminate();
+            throw rejected(command);
+        }
+
+        // tasks only bypass waiting ones if nobody is waiting
+        final boolean acquired = waiting.get() == 0 && permits.tryAcquire();
+
+        if (!acquired && !enqueue()) {
+            terminate();
+            throw rejected(command);
+        }
+
+        final Thread thread = threadFactory.newThread(() -> run(command, acquired));
+
+        if (thread == null) {
+            if (acquired) {
+                permits.release();
+            } else {
+                waiting.decrementAndGet();
+            }
+            terminate();
+            throw rejected(command);
+        }
+
+        if (!acquired) {
+            queue.put(thread, command);
+        }
+
+        threads.add(thread);
+        thread.start();
+    }
+
+    private boolean enqueue() {
+        return waiting.getAndUpdate(size -> size < maximumQueueSize ? size + 1 : size) < maximumQueueSize;
+    }
+
+    private RejectedExecutionException rejected(final Runnable command) {
+        return new RejectedExecutionException("Task " + command + " rejected from " + this);
+    }
+
+    private void run(final Runnable command, final boolean acquired) {
+        try {
+            if (!acquired && !await(command)) {
+                return;
+            }
+
+            try {
+                command.run();
+            } finally {
+                permits.release();
+            }
+        } finally {
+            threads.remove(Thread.currentThread());
+            terminate();
+        }
+    }
+
+    /**
+     * @return true if a permit was acquired, false if the task was claimed by {@link #shutdownNow()}
+     * @throws RejectedExecutionException if interrupted while waiting for a permit
+     */
+    private boolean await(final Runnable command) {
+        final Thread thread = Thread.currentThread();
+
+        try {
+            permits.acquire();
+        } catch (final InterruptedException e) {
+            thread.interrupt();
+
+            if (dequeue(thread)) {
+                throw rejected(command);
+            }
+            return false;
+        }
+
+        if (dequeue(thread)) {
+            return true;
+        }
+
+        permits.release();
+        return false;
+    }
+
+    private boolean dequeue(final Thread thread) {
+        if (queue.remove(thread) == null) {
+            return false;
+        }
+        waiting.decrementAndGet();
+        return true;
+    }
+
+    private void terminate() {
+        if (live.decrementAndGet() == 0 && shutdown) {
+            signalTermination();
+        }
+    }
+
+    private void signalTermination() {
+        lock.lock();
+        try {
+            termination.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+
+        if (isTerminated()) {
+            signalTermination();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+
+        final List<Runnable> tasks = new ArrayList<>();
+
+        // claimed tasks never run, even if their thread manages to acquire a permit
+        queue.forEach((thread, command) -> {
+            if (dequeue(thread)) {
+                tasks.add(command);
+            }
+        });
+
+        threads.forEach(Thread::interrupt);
+        return tasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && live.get() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+
+        lock.lock();
+        try {
+            while (!isTerminated()) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = termination.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the maximum number of tasks that are executed concurrently
+     */
+    public int getMaximumConcurrency() {
+        return maximumConcurrency;
+    }
+
+    /**
+     * @return the maximum number of tasks that wait for a permit before new tasks are rejected
+     */
+    public int getMaximumQueueSize() {
+        return maximumQueueSize;
+    }
+
+    /**
+     * @return the number of tasks that are currently executed, i.e. in-flight
+     */
+    public int getActiveCount() {
+        return maximumConcurrency - permits.availablePermits();
+    }
+
+    /**
+     * @return the number of tasks that currently wait for a permit
+     */
+    public int getQueueSize() {
+        return waiting.get();
+    }
+
+    /**
+     * @return the number of live threads, i.e. active and waiting ones
+     */
+    public int getPoolSize() {
+        return threads.size();
+    }
+
+}
@@ -0,0 +1,57 @@
+package org.zalando.riptide.concurrent;
+
+import lombok.AllArgsConstructor;
+import lombok.With;
+import org.zalando.riptide.concurrent.ThreadPoolExecutors.VirtualThreadFactory;
+import org.zalando.riptide.concurrent.ThreadPoolExecutors.VirtualThreads;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@With(PRIVATE)
+@AllArgsConstructor(access = PRIVATE)
+final class VirtualThreadExecutorBuilder implements VirtualThreads, VirtualThreadFactory {
+
+    private final int maximumConcurrency;
+    private final int maximumQueueSize;
+
+    // resolved lazily, since virtual threads are not available before Java 21
+    private final Supplier<ThreadFactory> threadFactory;
+
+    VirtualThreadExecutorBuilder(final int maximumConcurrency) {
+        this(maximumConcurrency, 0, () -> VirtualThreadFactories.create("virtual-"));
+    }
+
+    @Override
+    public VirtualThreadExecutorBuilder withoutQueue() {
+        return withMaximumQueueSize(0);
+    }
+
+    @Override
+    public VirtualThreadExecutorBuilder boundedQueue(final int queueSize) {
+        return withMaximumQueueSize(queueSize);
+    }
+
+    @Override
+    public VirtualThreadExecutorBuilder unboundedQueue() {
+        return withMaximumQueueSize(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public VirtualThreadExecutorBuilder threadNamePrefix(final String prefix) {
+        return withThreadFactory(() -> VirtualThreadFactories.create(prefix));
+    }
+
+    @Override
+    public VirtualThreadExecutorBuilder threadFactory(final ThreadFactory threadFactory) {
+        return withThreadFactory(() -> threadFactory);
+    }
+
+    @Override
+    public VirtualThreadExecutor build() {
+        return new VirtualThreadExecutor(maximumConcurrency, maximumQueueSize, threadFactory.get());
+    }
+
+}
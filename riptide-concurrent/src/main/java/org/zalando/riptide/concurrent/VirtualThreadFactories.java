@@ -0,0 +1,32 @@
+package org.zalando.riptide.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates virtual thread factories, i.e. {@code Thread.ofVirtual().name(prefix, 0).factory()}, without requiring
+ * Java 21 at compile time.
+ */
+final class VirtualThreadFactories {
+
+    private VirtualThreadFactories() {
+
+    }
+
+    static ThreadFactory create(final String prefix) {
+        return create(Thread.class, "ofVirtual", prefix);
+    }
+
+    static ThreadFactory create(final Class<?> type, final String name, final String prefix) {
+        try {
+            final Method method = type.getMethod(name);
+            final Class<?> builderType = method.getReturnType();
+            final Object builder = builderType.getMethod("name", String.class, long.class)
+                    .invoke(method.invoke(null), prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (final ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later", e);
+        }
+    }
+
+}
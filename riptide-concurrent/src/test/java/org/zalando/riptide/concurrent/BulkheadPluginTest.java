@@ -0,0 +1,187 @@
+package org.zalando.riptide.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Attribute;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.mock;
+
+final class BulkheadPluginTest {
+
+    private final CompletableFuture<ClientHttpResponse> pending = new CompletableFuture<>();
+
+    @Test
+    void rejectsNonPositiveConcurrency() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new BulkheadPlugin(BulkheadKeyResolver.uriTemplate(), 0));
+    }
+
+    @Test
+    void rejectsNonPositiveMaxKeys() {
+        final BulkheadPlugin plugin = new BulkheadPlugin(BulkheadKeyResolver.uriTemplate(), 1);
+        assertThrows(IllegalArgumentException.class, () -> plugin.withMaxKeys(0));
+    }
+
+    @Test
+    void isolatesUriTemplates() throws IOException {
+        final BulkheadPlugin unit = new BulkheadPlugin(BulkheadKeyResolver.uriTemplate(), 1);
+        final RequestExecution execution = unit.aroundAsync(arguments -> pending);
+
+        final RequestArguments search = RequestArguments.create().withUriTemplate("/search");
+        final RequestArguments users = RequestArguments.create().withUriTemplate("/users/{id}");
+
+        execution.execute(search);
+
+        final BulkheadFullException exception =
+                assertThrows(BulkheadFullException.class, () -> execution.execute(search));
+        assertThat(exception.getKey()).isEqualTo("/search");
+        assertThat(exception.getMessage()).isEqualTo("Bulkhead [/search] is full: 1 concurrent requests");
+
+        execution.execute(users);
+
+        assertThat(unit.getBulkheads())
+                .extracting(Bulkhead::getKey, Bulkhead::getInFlight, Bulkhead::getRejections)
+                .containsExactlyInAnyOrder(
+                        tuple("/search", 1, 1L),
+                        tuple("/users/{id}", 1, 0L));
+
+        pending.complete(mock(ClientHttpResponse.class));
+
+        assertThat(unit.getBulkheads()).allSatisfy(bulkhead ->
+                assertThat(bulkhead.getInFlight()).isZero());
+
+        execution.execute(search);
+    }
+
+    @Test
+    void isolatesHosts() throws IOException {
+        final BulkheadPlugin unit = new BulkheadPlugin(BulkheadKeyResolver.host(), 1);
+        final RequestExecution execution = unit.aroundAsync(arguments -> pending);
+
+        final RequestArguments arguments = RequestArguments.create()
+                .withUri(URI.create("https://example.org/search"));
+
+        execution.execute(arguments);
+
+        assertThrows(BulkheadFullException.class, () -> execution.execute(arguments));
+        assertThat(unit.getBulkheads()).extracting(Bulkhead::getKey).containsExactly("example.org");
+    }
+
+    @Test
+    void isolatesAttributes() throws IOException {
+        final Attribute<String> endpoint = Attribute.generate();
+        final BulkheadPlugin unit = new BulkheadPlugin(BulkheadKeyResolver.attribute(endpoint), 1);
+        final RequestExecution execution = unit.aroundAsync(arguments -> pending);
+
+        final RequestArguments arguments = RequestArguments.create().withAttribute(endpoint, "search");
+
+        execution.execute(arguments);
+
+        assertThrows(BulkheadFullException.class, () -> execution.execute(arguments));
+        assertThat(unit.getBulkheads()).extracting(Bulkhead::getKey).containsExactly("search");
+    }
+
+    @Test
+    void doesNotLimitRequestsWithoutKey() throws IOException {
+        final BulkheadPlugin unit = new BulkheadPlugin(BulkheadKeyResolver.host(), 1);
+        final RequestExecution execution = unit.aroundAsync(arguments -> pending);
+
+        final RequestArguments arguments = RequestArguments.create().withUri(URI.create("/search"));
+
+        execution.execute(arguments);
+        execution.execute(arguments);
+
+        assertThat(unit.getBulkheads()).isEmpty();
+    }
+
+    @Test
+    void sharesOverflowBulkheadBeyondMaxKeys() throws IOException {
+        final List<String> created = new CopyOnWriteArrayList<>();
+
+        final BulkheadPlugin unit = new BulkheadPlugin(BulkheadKeyResolver.uriTemplate(), 1)
+                .withMaxKeys(1)
+                .withListener(bulkhead -> created.add(bulkhead.getKey()));
+
+        final RequestExecution execution = unit.aroundAsync(arguments -> pending);
+
+        execution.execute(RequestArguments.create().withUriTemplate("/a"));
+        execution.execute(RequestArguments.create().withUriTemplate("/b"));
+
+        final BulkheadFullException exception = assertThrows(BulkheadFullException.class, () ->
+                execution.execute(RequestArguments.create().withUriTemplate("/c")));
+
+        assertThat(exception.getKey()).isEqualTo(BulkheadPlugin.OVERFLOW);
+        assertThat(created).containsExactly("/a", BulkheadPlugin.OVERFLOW);
+    }
+
+    @Test
+    void doesNotLockForOverflowKeys() throws Exception {
+        final BulkheadPlugin unit = new BulkheadPlugin(BulkheadKeyResolver.uriTemplate(), 2)
+                .withMaxKeys(1);
+
+        final RequestExecution execution = unit.aroundAsync(arguments -> pending);
+
+        execution.execute(RequestArguments.create().withUriTemplate("/a"));
+        execution.execute(RequestArguments.create().withUriTemplate("/b"));
+
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+
+        // holds the lock that guards the registration of new bulkheads
+        final Thread holder = new Thread(() -> {
+            synchronized (unit) {
+                locked.countDown();
+                try {
+                    done.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        holder.start();
+        locked.await();
+
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                    execution.execute(RequestArguments.create().withUriTemplate("/c")));
+        } finally {
+            done.countDown();
+            holder.join();
+        }
+
+        assertThat(unit.getBulkheads())
+                .extracting(Bulkhead::getKey, Bulkhead::getInFlight)
+                .containsExactlyInAnyOrder(
+                        tuple("/a", 1),
+                        tuple(BulkheadPlugin.OVERFLOW, 2));
+    }
+
+    @Test
+    void releasesOnSynchronousFailure() {
+        final BulkheadPlugin unit = new BulkheadPlugin(BulkheadKeyResolver.uriTemplate(), 1);
+        final RequestExecution execution = unit.aroundAsync(arguments -> {
+            throw new IOException("Unreachable");
+        });
+
+        assertThrows(IOException.class, () ->
+                execution.execute(RequestArguments.create().withUriTemplate("/search")));
+
+        assertThat(unit.getBulkheads()).extracting(Bulkhead::getInFlight).containsExactly(0);
+    }
+
+}
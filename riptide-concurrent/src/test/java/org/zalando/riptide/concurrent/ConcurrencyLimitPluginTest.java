@@ -0,0 +1,96 @@
+package org.zalando.riptide.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.util.concurrent.Uninterruptibles.sleepUninterruptibly;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+@SuppressWarnings("UnstableApiUsage")
+final class ConcurrencyLimitPluginTest {
+
+    private final RequestArguments arguments = RequestArguments.create();
+
+    @Test
+    void startsWithDefaultLimit() {
+        final ConcurrencyLimitPlugin unit = new ConcurrencyLimitPlugin();
+
+        assertThat(unit.getLimit()).isEqualTo(20);
+        assertThat(unit.getInFlight()).isZero();
+        assertThat(unit.getRejections()).isZero();
+    }
+
+    @Test
+    void rejectsRequestsExceedingLimit() throws IOException {
+        final ConcurrencyLimitPlugin unit = new ConcurrencyLimitPlugin(1, 1);
+        final CompletableFuture<ClientHttpResponse> pending = new CompletableFuture<>();
+        final RequestExecution execution = unit.aroundAsync(arguments -> pending);
+
+        execution.execute(arguments);
+
+        assertThrows(RejectedExecutionException.class, () -> execution.execute(arguments));
+        assertThat(unit.getInFlight()).isEqualTo(1);
+        assertThat(unit.getRejections()).isEqualTo(1);
+
+        pending.complete(mock(ClientHttpResponse.class));
+
+        assertThat(unit.getInFlight()).isZero();
+
+        execution.execute(arguments);
+
+        assertThat(unit.getInFlight()).isZero();
+        assertThat(unit.getRejections()).isEqualTo(1);
+    }
+
+    @Test
+    void releasesOnSynchronousFailure() {
+        final ConcurrencyLimitPlugin unit = new ConcurrencyLimitPlugin(1, 1);
+        final RequestExecution execution = unit.aroundAsync(arguments -> {
+            throw new IOException("Unreachable");
+        });
+
+        assertThrows(IOException.class, () -> execution.execute(arguments));
+        assertThat(unit.getInFlight()).isZero();
+    }
+
+    @Test
+    void shrinksLimitOnFailedAttempts() throws IOException {
+        final ConcurrencyLimitPlugin unit = new ConcurrencyLimitPlugin(10, 10);
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final RequestExecution execution = unit.aroundNetwork(arguments -> {
+            if (attempts.getAndIncrement() == 0) {
+                return CompletableFuture.completedFuture(mock(ClientHttpResponse.class));
+            }
+
+            // slower than the first attempt, which defines the round-trip time without load
+            sleepUninterruptibly(5, MILLISECONDS);
+
+            if (attempts.get() == 2) {
+                return CompletableFuture.failedFuture(new IOException("Connection reset"));
+            }
+
+            throw new IOException("Connection refused");
+        });
+
+        execution.execute(arguments).join();
+        assertThat(unit.getLimit()).isEqualTo(10);
+
+        assertThat(execution.execute(arguments)).isCompletedExceptionally();
+        assertThat(unit.getLimit()).isEqualTo(9);
+
+        assertThrows(IOException.class, () -> execution.execute(arguments));
+        assertThat(unit.getLimit()).isEqualTo(8);
+    }
+
+}
@@ -268,4 +268,53 @@ final class ThreadPoolExecutorsTest {
         assertThat(executor.getRejectedExecutionHandler()).isEqualTo(handler);
     }
 
+    @Test
+    void virtualThreadsWithoutQueue() {
+        final VirtualThreadExecutor executor = ThreadPoolExecutors.builder()
+                .virtualThreads(2)
+                .withoutQueue()
+                .threadFactory(new CustomThreadFactory())
+                .build();
+
+        assertThat(executor.getMaximumConcurrency()).isEqualTo(2);
+        assertThat(executor.getMaximumQueueSize()).isZero();
+    }
+
+    @Test
+    void virtualThreadsBoundedQueue() {
+        final VirtualThreadExecutor executor = ThreadPoolExecutors.builder()
+                .virtualThreads(2)
+                .boundedQueue(5)
+                .threadFactory(new CustomThreadFactory())
+                .build();
+
+        assertThat(executor.getMaximumQueueSize()).isEqualTo(5);
+    }
+
+    @Test
+    void virtualThreadsUnboundedQueue() {
+        final VirtualThreadExecutor executor = ThreadPoolExecutors.builder()
+                .virtualThreads(2)
+                .unboundedQueue()
+                .threadFactory(new CustomThreadFactory())
+                .build();
+
+        assertThat(executor.getMaximumQueueSize()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void virtualThreadsRequireJava21() {
+        final ThreadPoolExecutors.VirtualThreadFactory builder = ThreadPoolExecutors.builder()
+                .virtualThreads(1)
+                .withoutQueue();
+
+        if (Runtime.version().feature() >= 21) {
+            assertThat(builder.build().getMaximumConcurrency()).isOne();
+            assertThat(builder.threadNamePrefix("test-").build().getMaximumConcurrency()).isOne();
+        } else {
+            assertThrows(UnsupportedOperationException.class, builder::build);
+            assertThrows(UnsupportedOperationException.class, builder.threadNamePrefix("test-")::build);
+        }
+    }
+
 }
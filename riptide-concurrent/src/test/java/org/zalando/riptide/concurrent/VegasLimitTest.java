@@ -0,0 +1,126 @@
+package org.zalando.riptide.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class VegasLimitTest {
+
+    @Test
+    void rejectsNonPositiveInitialLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new VegasLimit(0, 10));
+    }
+
+    @Test
+    void rejectsMaxLimitBelowInitialLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new VegasLimit(10, 5));
+    }
+
+    @Test
+    void learnsRoundTripTimeWithoutLoadFirst() {
+        final VegasLimit unit = new VegasLimit(20, 200);
+
+        unit.onSample(100, 20, false);
+        unit.onSample(90, 20, false);
+
+        assertThat(unit.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void growsFastWithoutQueue() {
+        final VegasLimit unit = new VegasLimit(20, 200);
+
+        unit.onSample(100, 20, false);
+        unit.onSample(100, 20, false);
+
+        assertThat(unit.getLimit()).isEqualTo(27);
+    }
+
+    @Test
+    void growsSlowlyWithShortQueue() {
+        final VegasLimit unit = new VegasLimit(20, 200);
+
+        unit.onSample(100, 20, false);
+        unit.onSample(115, 20, false);
+
+        assertThat(unit.getLimit()).isEqualTo(21);
+    }
+
+    @Test
+    void keepsLimitWithModerateQueue() {
+        final VegasLimit unit = new VegasLimit(20, 200);
+
+        unit.onSample(100, 20, false);
+        unit.onSample(130, 20, false);
+
+        assertThat(unit.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void shrinksWithLongQueue() {
+        final VegasLimit unit = new VegasLimit(20, 200);
+
+        unit.onSample(100, 20, false);
+        unit.onSample(200, 20, false);
+
+        assertThat(unit.getLimit()).isEqualTo(18);
+    }
+
+    @Test
+    void shrinksOnDrop() {
+        final VegasLimit unit = new VegasLimit(20, 200);
+
+        unit.onSample(100, 20, false);
+        unit.onSample(100, 20, true);
+
+        assertThat(unit.getLimit()).isEqualTo(18);
+    }
+
+    @Test
+    void ignoresUnusedLimit() {
+        final VegasLimit unit = new VegasLimit(20, 200);
+
+        unit.onSample(100, 5, false);
+        unit.onSample(200, 5, false);
+
+        assertThat(unit.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void neverExceedsMaxLimit() {
+        final VegasLimit unit = new VegasLimit(20, 20);
+
+        unit.onSample(100, 20, false);
+        unit.onSample(100, 20, false);
+
+        assertThat(unit.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void neverDropsBelowOne() {
+        final VegasLimit unit = new VegasLimit(1, 20);
+
+        unit.onSample(100, 1, false);
+        unit.onSample(100, 1, true);
+
+        assertThat(unit.getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    void probesRoundTripTimeWithoutLoadPeriodically() {
+        final VegasLimit unit = new VegasLimit(10, 10);
+
+        // 30 samples per unit of the limit until the probe
+        for (int i = 0; i < 299; i++) {
+            unit.onSample(100, 10, false);
+        }
+
+        unit.onSample(1000, 10, false);
+        unit.onSample(1000, 10, false);
+
+        // would have been a long queue, compared to the previous round-trip time without load
+        assertThat(unit.getLimit()).isEqualTo(10);
+    }
+
+}
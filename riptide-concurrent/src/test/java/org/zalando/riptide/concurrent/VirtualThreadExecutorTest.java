@@ -0,0 +1,217 @@
+package org.zalando.riptide.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
+import static java.util.concurrent.Executors.defaultThreadFactory;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SuppressWarnings("UnstableApiUsage")
+final class VirtualThreadExecutorTest {
+
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    @Test
+    void rejectsNonPositiveConcurrency() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new VirtualThreadExecutor(0, 0, defaultThreadFactory()));
+    }
+
+    @Test
+    void rejectsNegativeQueueSize() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new VirtualThreadExecutor(1, -1, defaultThreadFactory()));
+    }
+
+    @Test
+    void limitsConcurrencyAndWaitingTasks() throws InterruptedException {
+        final VirtualThreadExecutor unit = new VirtualThreadExecutor(2, 1, defaultThreadFactory());
+        final AtomicInteger executed = new AtomicInteger();
+
+        unit.execute(block(executed));
+        unit.execute(block(executed));
+        unit.execute(block(executed));
+
+        assertThat(unit.getMaximumConcurrency()).isEqualTo(2);
+        assertThat(unit.getMaximumQueueSize()).isOne();
+        assertThat(unit.getActiveCount()).isEqualTo(2);
+        assertThat(unit.getQueueSize()).isOne();
+        assertThat(unit.getPoolSize()).isEqualTo(3);
+
+        assertThrows(RejectedExecutionException.class, () -> unit.execute(block(executed)));
+
+        latch.countDown();
+        unit.shutdown();
+
+        assertThat(unit.awaitTermination(5, SECONDS)).isTrue();
+        assertThat(unit.isTerminated()).isTrue();
+        assertThat(executed).hasValue(3);
+        assertThat(unit.getActiveCount()).isZero();
+        assertThat(unit.getQueueSize()).isZero();
+        assertThat(unit.getPoolSize()).isZero();
+    }
+
+    @Test
+    void rejectsWithoutQueue() {
+        final VirtualThreadExecutor unit = new VirtualThreadExecutor(1, 0, defaultThreadFactory());
+        final AtomicInteger executed = new AtomicInteger();
+
+        unit.execute(block(executed));
+
+        assertThrows(RejectedExecutionException.class, () -> unit.execute(block(executed)));
+
+        unit.shutdownNow();
+    }
+
+    @Test
+    void rejectsAfterShutdown() {
+        final VirtualThreadExecutor unit = new VirtualThreadExecutor(1, 0, defaultThreadFactory());
+
+        assertThat(unit.isShutdown()).isFalse();
+        assertThat(unit.isTerminated()).isFalse();
+
+        unit.shutdown();
+
+        assertThat(unit.isShutdown()).isTrue();
+        assertThat(unit.isTerminated()).isTrue();
+        assertThrows(RejectedExecutionException.class, () -> unit.execute(() -> {}));
+    }
+
+    @Test
+    void timesOutAwaitingTermination() throws InterruptedException {
+        final VirtualThreadExecutor unit = new VirtualThreadExecutor(1, 0, defaultThreadFactory());
+
+        assertThat(unit.awaitTermination(10, MILLISECONDS)).isFalse();
+
+        unit.execute(block(new AtomicInteger()));
+        unit.shutdown();
+
+        assertThat(unit.awaitTermination(10, MILLISECONDS)).isFalse();
+        assertThat(unit.isTerminated()).isFalse();
+
+        latch.countDown();
+
+        assertThat(unit.awaitTermination(5, SECONDS)).isTrue();
+    }
+
+    @Test
+    void returnsWaitingTasksOnShutdownNow() throws InterruptedException {
+        final VirtualThreadExecutor unit = new VirtualThreadExecutor(1, 1, defaultThreadFactory());
+        final AtomicBoolean executed = new AtomicBoolean();
+        final Runnable waiting = () -> executed.set(true);
+
+        // ignores interrupts, so that the waiting task can't get its permit
+        unit.execute(() -> awaitUninterruptibly(latch));
+        unit.execute(waiting);
+
+        assertThat(unit.shutdownNow()).containsExactly(waiting);
+
+        latch.countDown();
+
+        assertThat(unit.awaitTermination(5, SECONDS)).isTrue();
+        assertThat(executed).isFalse();
+        assertThat(unit.getQueueSize()).isZero();
+    }
+
+    @Test
+    void doesNotRunReturnedTasksEvenIfTheyAcquireAPermit() throws InterruptedException {
+        // threads that ignore interrupts, so that the waiting task gets its permit after all
+        final VirtualThreadExecutor unit = new VirtualThreadExecutor(1, 1, runnable -> new Thread(runnable) {
+            @Override
+            public void interrupt() {
+                // ignored
+            }
+        });
+        final AtomicBoolean executed = new AtomicBoolean();
+        final Runnable waiting = () -> executed.set(true);
+
+        unit.execute(() -> awaitUninterruptibly(latch));
+        unit.execute(waiting);
+
+        assertThat(unit.shutdownNow()).containsExactly(waiting);
+
+        latch.countDown();
+
+        assertThat(unit.awaitTermination(5, SECONDS)).isTrue();
+        assertThat(executed).isFalse();
+        assertThat(unit.getActiveCount()).isZero();
+    }
+
+    @Test
+    void rejectsWaitingTasksThatAreInterrupted() throws InterruptedException {
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        final BlockingQueue<Throwable> failures = new LinkedBlockingQueue<>();
+
+        final VirtualThreadExecutor unit = new VirtualThreadExecutor(1, 1, runnable -> {
+            final Thread thread = new Thread(runnable);
+            thread.setUncaughtExceptionHandler((ignored, throwable) -> failures.add(throwable));
+            threads.add(thread);
+            return thread;
+        });
+        final AtomicBoolean executed = new AtomicBoolean();
+
+        unit.execute(block(new AtomicInteger()));
+        unit.execute(() -> executed.set(true));
+
+        threads.get(1).interrupt();
+
+        assertThat(failures.poll(5, SECONDS)).isInstanceOf(RejectedExecutionException.class);
+        assertThat(unit.getQueueSize()).isZero();
+
+        latch.countDown();
+        unit.shutdown();
+
+        assertThat(unit.awaitTermination(5, SECONDS)).isTrue();
+        assertThat(executed).isFalse();
+    }
+
+    @Test
+    void rejectsIfThreadFactoryRefusesToCreateThread() {
+        final VirtualThreadExecutor unit = new VirtualThreadExecutor(1, 0, runnable -> null);
+
+        assertThrows(RejectedExecutionException.class, () -> unit.execute(() -> {}));
+        assertThat(unit.getActiveCount()).isZero();
+    }
+
+    @Test
+    void rejectsWaitingTaskIfThreadFactoryRefusesToCreateThread() {
+        final AtomicInteger threads = new AtomicInteger();
+        final ThreadFactory factory = runnable ->
+                threads.getAndIncrement() == 0 ? new Thread(runnable) : null;
+
+        final VirtualThreadExecutor unit = new VirtualThreadExecutor(1, 1, factory);
+
+        unit.execute(block(new AtomicInteger()));
+
+        assertThrows(RejectedExecutionException.class, () -> unit.execute(() -> {}));
+        assertThat(unit.getActiveCount()).isOne();
+        assertThat(unit.getQueueSize()).isZero();
+
+        unit.shutdownNow();
+    }
+
+    private Runnable block(final AtomicInteger executed) {
+        return () -> {
+            try {
+                latch.await();
+                executed.incrementAndGet();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+}
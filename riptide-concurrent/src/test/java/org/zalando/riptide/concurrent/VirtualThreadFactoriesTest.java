@@ -0,0 +1,55 @@
+package org.zalando.riptide.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class VirtualThreadFactoriesTest {
+
+    @Test
+    void createsNamedThreadFactory() {
+        final ThreadFactory factory = VirtualThreadFactories.create(FakeThreads.class, "ofFake", "test-");
+
+        assertThat(factory.newThread(() -> {}).getName()).isEqualTo("test-0");
+    }
+
+    @Test
+    void failsWithoutVirtualThreads() {
+        final UnsupportedOperationException exception = assertThrows(UnsupportedOperationException.class, () ->
+                VirtualThreadFactories.create(FakeThreads.class, "ofVirtual", "test-"));
+
+        assertThat(exception).hasCauseInstanceOf(NoSuchMethodException.class);
+    }
+
+    public static final class FakeThreads {
+
+        public interface Builder {
+            Builder name(String prefix, long start);
+            ThreadFactory factory();
+        }
+
+        public static Builder ofFake() {
+            return new Builder() {
+
+                private String name;
+
+                @Override
+                public Builder name(final String prefix, final long start) {
+                    this.name = prefix + start;
+                    return this;
+                }
+
+                @Override
+                public ThreadFactory factory() {
+                    return runnable -> new Thread(runnable, name);
+                }
+
+            };
+        }
+
+    }
+
+}
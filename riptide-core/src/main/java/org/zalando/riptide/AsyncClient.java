@@ -0,0 +1,19 @@
+package org.zalando.riptide;
+
+import org.apiguardian.api.API;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A non-blocking alternative to a {@link org.springframework.http.client.ClientHttpRequestFactory request factory}.
+ * Instead of blocking the calling thread until a response was received, implementations return right away and
+ * complete the returned future from their own I/O threads. The request body, i.e.
+ * {@link RequestArguments#getEntity() entity}, is already serialized at this point.
+ *
+ * @see Http.RequestFactoryStage#asyncClient(AsyncClient)
+ */
+@API(status = EXPERIMENTAL)
+@FunctionalInterface
+public interface AsyncClient extends RequestExecution {
+
+}
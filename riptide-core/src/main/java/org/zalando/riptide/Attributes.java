@@ -24,6 +24,12 @@ public final class Attributes {
      */
     public static final Attribute<Boolean> IDEMPOTENT = Attribute.generate();
 
+    /**
+     * Allows plugins, e.g. for metrics or tracing, to be notified about the {@link NetworkTimings.Phase phases} of
+     * every attempt. Only present if the transport supports it.
+     */
+    public static final Attribute<NetworkTimings> NETWORK_TIMINGS = Attribute.generate();
+
     private Attributes() {
 
     }
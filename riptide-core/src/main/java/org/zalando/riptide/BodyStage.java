@@ -1,5 +1,6 @@
 package org.zalando.riptide;
 
+import com.google.common.reflect.TypeToken;
 import org.apiguardian.api.API;
 import org.zalando.riptide.RequestArguments.Entity;
 
@@ -11,4 +12,13 @@ import static org.apiguardian.api.API.Status.STABLE;
 public abstract class BodyStage extends DispatchStage {
     public abstract DispatchStage body(@Nullable Entity entity);
     public abstract <T> DispatchStage body(@Nullable T body);
+
+    /**
+     * Declares the type of the body, e.g. {@code new TypeToken<List<Foo>>() {}}, which generic converters, such as
+     * Jackson's, use instead of the body's runtime class. Stages that don't support declared body types fall back to
+     * {@link #body(Object)}.
+     */
+    public <T> DispatchStage body(final TypeToken<T> type, @Nullable final T body) {
+        return body(body);
+    }
 }
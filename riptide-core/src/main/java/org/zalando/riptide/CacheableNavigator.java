@@ -0,0 +1,20 @@
+package org.zalando.riptide;
+
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Navigator navigator} whose choice solely depends on a raw, textual representation of its attribute, e.g.
+ * a header value. This allows {@link RoutingTree#dispatch(Navigator, java.util.List) dispatch} to remember the chosen
+ * {@link Route route} per {@link #keyOf(ClientHttpResponse) key} in a {@link CachingRoutingTree}, instead of
+ * parsing and matching the same attribute over and over again.
+ *
+ * @param <A> generic attribute type
+ */
+interface CacheableNavigator<A> extends Navigator<A> {
+
+    @Nullable
+    String keyOf(ClientHttpResponse response);
+
+}
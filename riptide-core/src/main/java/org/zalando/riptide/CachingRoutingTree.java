@@ -0,0 +1,116 @@
+package org.zalando.riptide;
+
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A {@link RoutingTree routing tree} that remembers the {@link Route route} its {@link CacheableNavigator navigator}
+ * chose for the most recently seen {@link CacheableNavigator#keyOf(ClientHttpResponse) keys}. Since most clients
+ * only ever observe a handful of distinct keys, e.g. {@code Content-Type} header values, they are kept in a small,
+ * copy-on-write array which is searched linearly and evicts the oldest key first. Concurrent misses may occasionally
+ * drop each other's entries, which only costs another navigation.
+ *
+ * @param <A> generic attribute type
+ */
+final class CachingRoutingTree<A> implements RoutingTree<A> {
+
+    private static final int MAXIMUM_SIZE = 16;
+
+    private static final Match[] EMPTY = {};
+
+    private final CacheableNavigator<A> navigator;
+    private final RoutingTree<A> tree;
+
+    private volatile Match[] matches = EMPTY;
+
+    CachingRoutingTree(final CacheableNavigator<A> navigator, final List<Binding<A>> bindings) {
+        this.navigator = navigator;
+        this.tree = new DefaultRoutingTree<>(navigator, bindings);
+    }
+
+    @Override
+    public Navigator<A> getNavigator() {
+        return navigator;
+    }
+
+    @Override
+    public Set<A> keySet() {
+        return tree.keySet();
+    }
+
+    @Override
+    public Optional<Route> get(final A attribute) {
+        return tree.get(attribute);
+    }
+
+    @Override
+    public Optional<Route> getWildcard() {
+        return tree.getWildcard();
+    }
+
+    @Override
+    public void execute(final ClientHttpResponse response, final MessageReader reader) throws Exception {
+        final Optional<Route> route = navigate(response);
+
+        if (route.isPresent()) {
+            try {
+                route.get().execute(response, reader);
+            } catch (final NoWildcardException e) {
+                executeWildcard(response, reader);
+            }
+        } else {
+            executeWildcard(response, reader);
+        }
+    }
+
+    private Optional<Route> navigate(final ClientHttpResponse response) throws IOException {
+        @Nullable final String key = navigator.keyOf(response);
+        final Match[] matches = this.matches;
+
+        for (final Match match : matches) {
+            if (Objects.equals(match.key, key)) {
+                return match.route;
+            }
+        }
+
+        final Optional<Route> route = navigator.navigate(response, this);
+
+        final Match[] next = new Match[Math.min(matches.length + 1, MAXIMUM_SIZE)];
+        next[0] = new Match(key, route);
+        System.arraycopy(matches, 0, next, 1, next.length - 1);
+        this.matches = next;
+
+        return route;
+    }
+
+    private void executeWildcard(final ClientHttpResponse response, final MessageReader reader) throws Exception {
+        final Optional<Route> wildcard = getWildcard();
+
+        if (wildcard.isPresent()) {
+            wildcard.get().execute(response, reader);
+        } else {
+            throw new NoWildcardException();
+        }
+    }
+
+    private static final class Match {
+
+        @Nullable
+        private final String key;
+
+        private final Optional<Route> route;
+
+        private Match(@Nullable final String key, final Optional<Route> route) {
+            this.key = key;
+            this.route = route;
+        }
+
+    }
+
+}
@@ -0,0 +1,167 @@
+package org.zalando.riptide;
+
+import javax.annotation.Nullable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+
+import static java.lang.String.CASE_INSENSITIVE_ORDER;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * An immutable, array-backed multi value map with case-insensitive keys. Keys are kept sorted, which allows lookups
+ * using binary search and iterating without any additional allocations besides the entries themselves.
+ */
+final class CaseInsensitiveArrayMap extends AbstractMap<String, List<String>> {
+
+    private static final CaseInsensitiveArrayMap EMPTY = new CaseInsensitiveArrayMap(new String[0], values(0));
+
+    private final String[] keys;
+    private final List<String>[] values;
+
+    private CaseInsensitiveArrayMap(final String[] keys, final List<String>[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    static CaseInsensitiveArrayMap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param map a map sorted using {@link String#CASE_INSENSITIVE_ORDER}, values will not be copied and must not
+     *            be modified afterwards
+     * @return an immutable copy of the given map
+     */
+    static CaseInsensitiveArrayMap copyOf(final SortedMap<String, List<String>> map) {
+        final String[] keys = new String[map.size()];
+        final List<String>[] values = values(map.size());
+
+        int index = 0;
+        for (final Map.Entry<String, List<String>> entry : map.entrySet()) {
+            keys[index] = entry.getKey();
+            values[index] = unmodifiableList(entry.getValue());
+            index++;
+        }
+
+        return new CaseInsensitiveArrayMap(keys, values);
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Nullable
+    @Override
+    public List<String> get(final Object key) {
+        final int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public Set<Entry<String, List<String>>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, List<String>>> iterator() {
+                return new Iterator<>() {
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < keys.length;
+                    }
+
+                    @Override
+                    public Entry<String, List<String>> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+
+                        final int current = index++;
+                        return new SimpleImmutableEntry<>(keys[current], values[current]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+
+    CaseInsensitiveArrayMap with(final String key, final Collection<String> additionalValues) {
+        final int index = indexOf(key);
+
+        if (index >= 0) {
+            final List<String>[] values = Arrays.copyOf(this.values, this.values.length);
+            values[index] = concat(values[index], additionalValues);
+            return new CaseInsensitiveArrayMap(keys, values);
+        }
+
+        final int insertion = -(index + 1);
+        final String[] keys = new String[this.keys.length + 1];
+        final List<String>[] values = values(this.values.length + 1);
+
+        System.arraycopy(this.keys, 0, keys, 0, insertion);
+        System.arraycopy(this.values, 0, values, 0, insertion);
+        keys[insertion] = key;
+        values[insertion] = concat(List.of(), additionalValues);
+        System.arraycopy(this.keys, insertion, keys, insertion + 1, this.keys.length - insertion);
+        System.arraycopy(this.values, insertion, values, insertion + 1, this.values.length - insertion);
+
+        return new CaseInsensitiveArrayMap(keys, values);
+    }
+
+    CaseInsensitiveArrayMap without(final String key) {
+        final int index = indexOf(key);
+
+        if (index < 0) {
+            return this;
+        }
+
+        final String[] keys = new String[this.keys.length - 1];
+        final List<String>[] values = values(this.values.length - 1);
+
+        System.arraycopy(this.keys, 0, keys, 0, index);
+        System.arraycopy(this.values, 0, values, 0, index);
+        System.arraycopy(this.keys, index + 1, keys, index, keys.length - index);
+        System.arraycopy(this.values, index + 1, values, index, values.length - index);
+
+        return new CaseInsensitiveArrayMap(keys, values);
+    }
+
+    private int indexOf(final Object key) {
+        if (key instanceof String) {
+            return Arrays.binarySearch(keys, (String) key, CASE_INSENSITIVE_ORDER);
+        }
+        return -1;
+    }
+
+    private static List<String> concat(final List<String> left, final Collection<String> right) {
+        final List<String> result = new ArrayList<>(left.size() + right.size());
+        result.addAll(left);
+        result.addAll(right);
+        return unmodifiableList(result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String>[] values(final int size) {
+        return (List<String>[]) new List<?>[size];
+    }
+
+}
@@ -2,7 +2,9 @@ package org.zalando.riptide;
 
 import lombok.AllArgsConstructor;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.BiFunction;
 
@@ -31,6 +33,59 @@ final class CompositePlugin implements Plugin {
         return combine(execution, Plugin::aroundNetwork);
     }
 
+    @Override
+    public boolean isComposedPerRequest() {
+        return plugins.stream().anyMatch(Plugin::isComposedPerRequest);
+    }
+
+    /**
+     * Composes all phases of all plugins around the given network execution once. Only plugins that
+     * {@link Plugin#isComposedPerRequest() need to be composed per request} are deferred until the execution is
+     * actually executed.
+     *
+     * @param network the network execution
+     * @return the composed execution, safe to be reused across requests
+     */
+    RequestExecution compile(final RequestExecution network) {
+        final List<Plugin> plugins = flatten(this.plugins, new ArrayList<>());
+
+        return compile(plugins, Plugin::aroundAsync,
+                compile(plugins, Plugin::aroundDispatch,
+                        compile(plugins, Plugin::aroundSerialization,
+                                compile(plugins, Plugin::aroundNetwork, network))));
+    }
+
+    private static List<Plugin> flatten(final Collection<Plugin> plugins, final List<Plugin> result) {
+        for (final Plugin plugin : plugins) {
+            if (plugin instanceof CompositePlugin) {
+                flatten(((CompositePlugin) plugin).plugins, result);
+            } else {
+                result.add(plugin);
+            }
+        }
+
+        return result;
+    }
+
+    private static RequestExecution compile(final List<Plugin> plugins,
+            final BiFunction<Plugin, RequestExecution, RequestExecution> combiner,
+            final RequestExecution execution) {
+
+        RequestExecution result = execution;
+
+        for (final Plugin plugin : plugins) {
+            if (plugin.isComposedPerRequest()) {
+                final RequestExecution inner = result;
+                result = new GuardedRequestExecution(arguments ->
+                        apply(plugin, inner, combiner).execute(arguments));
+            } else {
+                result = apply(plugin, result, combiner);
+            }
+        }
+
+        return result;
+    }
+
     private RequestExecution combine(final RequestExecution execution,
             final BiFunction<Plugin, RequestExecution, RequestExecution> combiner) {
 
@@ -43,7 +98,7 @@ final class CompositePlugin implements Plugin {
         return result;
     }
 
-    private RequestExecution apply(final Plugin plugin, final RequestExecution before,
+    private static RequestExecution apply(final Plugin plugin, final RequestExecution before,
             final BiFunction<Plugin, RequestExecution, RequestExecution> combiner) {
 
         final RequestExecution after = combiner.apply(plugin, before);
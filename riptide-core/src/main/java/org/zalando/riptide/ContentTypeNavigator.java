@@ -7,15 +7,21 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.Optional;
 
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
 import static org.springframework.http.MediaType.SPECIFICITY_COMPARATOR;
 
 /**
  * @see Navigators#contentType()
  */
-enum ContentTypeNavigator implements EqualityNavigator<MediaType> {
+enum ContentTypeNavigator implements EqualityNavigator<MediaType>, CacheableNavigator<MediaType> {
 
     INSTANCE;
 
+    @Nullable
+    @Override
+    public String keyOf(final ClientHttpResponse response) {
+        return response.getHeaders().getFirst(CONTENT_TYPE);
+    }
 
     @Nullable
     @Override
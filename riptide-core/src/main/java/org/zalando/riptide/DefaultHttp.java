@@ -3,23 +3,22 @@ package org.zalando.riptide;
 import org.springframework.http.HttpMethod;
 
 import java.net.URI;
-import java.util.Arrays;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 
 final class DefaultHttp implements Http {
 
-    private final RequestExecution network;
+    private final RequestExecution execution;
     private final Supplier<URI> baseUrl;
-    private final RequestArguments arguments;
-    private final Plugin plugin;
+    private final UrlResolution resolution;
 
     DefaultHttp(final IO io, final Supplier<URI> baseUrl, final UrlResolution resolution, final Plugin plugin) {
-        this.network = new GuardedRequestExecution(io);
+        this.execution = new CompositePlugin(singletonList(plugin)).compile(new GuardedRequestExecution(io));
         this.baseUrl = requireNonNull(baseUrl, "base url provider");
-        this.arguments = RequestArguments.create().withUrlResolution(resolution);
-        this.plugin = plugin;
+        this.resolution = resolution;
     }
 
     @Override
@@ -144,30 +143,36 @@ final class DefaultHttp implements Http {
 
     @Override
     public AttributeStage execute(final HttpMethod method, final String uriTemplate, final Object... uriVariables) {
-        return execute(arguments
-                .withMethod(method)
-                .withBaseUrl(baseUrl.get())
-                .withUriTemplate(uriTemplate)
-                .replaceUriVariables(Arrays.asList(uriVariables)));
+        final URI baseUrl = this.baseUrl.get();
+        return execute(arguments -> arguments
+                .method(method)
+                .baseUrl(baseUrl)
+                .urlResolution(resolution)
+                .uriTemplate(uriTemplate)
+                .uriVariables(uriVariables));
     }
 
     @Override
     public AttributeStage execute(final HttpMethod method, final URI uri) {
-        return execute(arguments
-                .withMethod(method)
-                .withBaseUrl(baseUrl.get())
-                .withUri(uri));
+        final URI baseUrl = this.baseUrl.get();
+        return execute(arguments -> arguments
+                .method(method)
+                .baseUrl(baseUrl)
+                .urlResolution(resolution)
+                .uri(uri));
     }
 
     @Override
     public AttributeStage execute(final HttpMethod method) {
-        return execute(arguments
-                .withMethod(method)
-                .withBaseUrl(baseUrl.get()));
+        final URI baseUrl = this.baseUrl.get();
+        return execute(arguments -> arguments
+                .method(method)
+                .baseUrl(baseUrl)
+                .urlResolution(resolution));
     }
 
-    private AttributeStage execute(final RequestArguments arguments) {
-        return new Requester(network, arguments, plugin);
+    private AttributeStage execute(final Consumer<MutableRequestArguments> arguments) {
+        return new Requester(execution, arguments);
     }
 
 }
@@ -72,6 +72,11 @@ final class DefaultHttpBuilder implements ExecutorStage, RequestFactoryStage, Co
         return withIo(new BlockingIO(factory));
     }
 
+    @Override
+    public ConfigurationStage asyncClient(final AsyncClient client) {
+        return withIo(client::execute);
+    }
+
     @Override
     public ConfigurationStage defaultConverters() {
         return converters(Converters.DEFAULT);
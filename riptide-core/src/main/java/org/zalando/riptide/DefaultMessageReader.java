@@ -1,29 +1,47 @@
 package org.zalando.riptide;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.reflect.TypeToken;
 import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.springframework.core.ResolvableType;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.GenericHttpMessageConverter;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.SmartHttpMessageConverter;
 import org.springframework.web.client.HttpMessageConverterExtractor;
 import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestClientException;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.List;
 
 import static com.google.common.base.Throwables.propagateIfPossible;
+import static java.util.Collections.singletonList;
+import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM;
 
 @AllArgsConstructor
 final class DefaultMessageReader implements MessageReader {
 
     private final List<HttpMessageConverter<?>> converters;
 
+    /**
+     * Extractors, bound to the converter that the {@link HttpMessageConverterExtractor} would pick for a given type
+     * and content type, or to all converters if none can read it.
+     */
+    private final Cache<Key, ResponseExtractor<?>> extractors = CacheBuilder.newBuilder()
+            .maximumSize(256)
+            .build();
+
     @Override
     public <I> I read(final TypeToken<I> type, final ClientHttpResponse response) throws IOException {
         if (type.isSubtypeOf(ResponseEntity.class)) {
@@ -42,9 +60,9 @@ final class DefaultMessageReader implements MessageReader {
     }
 
     private <I> I readBody(final Type type, final ClientHttpResponse response) throws IOException {
-        final ResponseExtractor<I> extractor = new HttpMessageConverterExtractor<>(type, converters);
         try {
             try {
+                final ResponseExtractor<I> extractor = getExtractor(type, response);
                 return extractor.extractData(response);
             } catch (final IOException | RuntimeException e) {
                 response.close();
@@ -57,6 +75,44 @@ final class DefaultMessageReader implements MessageReader {
         }
     }
 
+    private <I> ResponseExtractor<I> getExtractor(final Type type, final ClientHttpResponse response) {
+        @Nullable final MediaType header = response.getHeaders().getContentType();
+        final Key key = new Key(type, header == null ? APPLICATION_OCTET_STREAM : header);
+
+        @Nullable ResponseExtractor<?> extractor = extractors.getIfPresent(key);
+
+        if (extractor == null) {
+            @Nullable final HttpMessageConverter<?> converter = findConverter(type, key.getContentType());
+            extractor = new HttpMessageConverterExtractor<>(type,
+                    converter == null ? converters : singletonList(converter));
+            extractors.put(key, extractor);
+        }
+
+        return cast(extractor);
+    }
+
+    /**
+     * Mirrors the selection in {@link HttpMessageConverterExtractor#extractData(ClientHttpResponse)}.
+     */
+    @Nullable
+    private HttpMessageConverter<?> findConverter(final Type type, final MediaType contentType) {
+        for (final HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof GenericHttpMessageConverter) {
+                if (((GenericHttpMessageConverter<?>) converter).canRead(type, null, contentType)) {
+                    return converter;
+                }
+            } else if (converter instanceof SmartHttpMessageConverter) {
+                if (((SmartHttpMessageConverter<?>) converter).canRead(ResolvableType.forType(type), contentType)) {
+                    return converter;
+                }
+            } else if (type instanceof Class && converter.canRead((Class<?>) type, contentType)) {
+                return converter;
+            }
+        }
+
+        return null;
+    }
+
     private <I> void closeIfNecessary(final I body, final ClientHttpResponse response) {
         if (body instanceof AutoCloseable) {
             return;
@@ -70,4 +126,10 @@ final class DefaultMessageReader implements MessageReader {
         return (I) result;
     }
 
+    @Value
+    private static class Key {
+        Type type;
+        MediaType contentType;
+    }
+
 }
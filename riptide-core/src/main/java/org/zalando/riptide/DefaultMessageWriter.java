@@ -1,15 +1,21 @@
 package org.zalando.riptide;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import lombok.AllArgsConstructor;
+import lombok.Value;
 import org.springframework.http.HttpOutputMessage;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.client.RestClientException;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.lang.reflect.Type;
 import java.util.List;
 
+import static com.google.common.base.MoreObjects.firstNonNull;
 import static java.lang.String.format;
 
 @AllArgsConstructor
@@ -17,6 +23,10 @@ final class DefaultMessageWriter implements MessageWriter {
 
     private final List<HttpMessageConverter<?>> converters;
 
+    private final Cache<Key, HttpMessageConverter<?>> cache = CacheBuilder.newBuilder()
+            .maximumSize(256)
+            .build();
+
     @Override
     public void write(final HttpOutputMessage request, final RequestArguments arguments)
             throws IOException {
@@ -27,27 +37,59 @@ final class DefaultMessageWriter implements MessageWriter {
             return;
         }
 
-        final Class<?> type = body.getClass();
+        final Class<?> clazz = body.getClass();
+        // without a declared type, the runtime type is the best approximation (same as RestTemplate)
+        final Type type = firstNonNull(arguments.getBodyType(), clazz);
 
         @Nullable final MediaType contentType = request.getHeaders().getContentType();
 
-        converters.stream()
-                .filter(converter -> converter.canWrite(type, contentType))
-                .map(this::cast)
-                .findFirst()
-                .orElseThrow(() -> fail(type, contentType))
-                .write(body, contentType, request);
+        final Key key = new Key(type, clazz, contentType);
+
+        @Nullable HttpMessageConverter<?> converter = cache.getIfPresent(key);
+
+        if (converter == null) {
+            converter = findConverter(type, clazz, contentType);
+            cache.put(key, converter);
+        }
+
+        if (converter instanceof GenericHttpMessageConverter) {
+            this.<GenericHttpMessageConverter<Object>>cast(converter).write(body, type, contentType, request);
+        } else {
+            this.<HttpMessageConverter<Object>>cast(converter).write(body, contentType, request);
+        }
+    }
+
+    private HttpMessageConverter<?> findConverter(final Type type, final Class<?> clazz,
+            @Nullable final MediaType contentType) {
+
+        for (final HttpMessageConverter<?> converter : converters) {
+            if (canWrite(converter, type, clazz, contentType)) {
+                return converter;
+            }
+        }
+
+        throw fail(type, contentType);
+    }
+
+    private boolean canWrite(final HttpMessageConverter<?> converter, final Type type, final Class<?> clazz,
+            @Nullable final MediaType contentType) {
+
+        if (converter instanceof GenericHttpMessageConverter) {
+            return ((GenericHttpMessageConverter<?>) converter).canWrite(type, clazz, contentType);
+        }
+
+        return converter.canWrite(clazz, contentType);
     }
 
     @SuppressWarnings("unchecked") // guarded by HttpMessageConverter#canWrite
-    private <T> HttpMessageConverter<T> cast(final HttpMessageConverter<?> converter) {
-        return (HttpMessageConverter<T>) converter;
+    private <T> T cast(final HttpMessageConverter<?> converter) {
+        return (T) converter;
     }
 
-    private RestClientException fail(final Class<?> type, @Nullable final MediaType contentType) {
+    private RestClientException fail(final Type type, @Nullable final MediaType contentType) {
         final String message = format(
                 "Could not write request: no suitable HttpMessageConverter found for request type [%s]",
-                type.getName());
+                type.getTypeName());
     
         if (contentType == null) {
             return new RestClientException(message);
@@ -56,4 +98,12 @@ final class DefaultMessageWriter implements MessageWriter {
         }
     }
 
+    @Value
+    private static class Key {
+        Type type;
+        Class<?> clazz;
+        @Nullable
+        MediaType contentType;
+    }
+
 }
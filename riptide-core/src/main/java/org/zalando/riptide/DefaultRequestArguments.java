@@ -1,6 +1,5 @@
 package org.zalando.riptide;
 
-import com.google.common.net.UrlEscapers;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -14,27 +13,18 @@ import org.organicdesign.fp.collections.PersistentHashMap;
 import org.organicdesign.fp.collections.PersistentTreeMap;
 import org.organicdesign.fp.collections.PersistentVector;
 import org.springframework.http.HttpMethod;
-import org.springframework.web.util.UriComponentsBuilder;
-import org.springframework.web.util.UriUtils;
 
-import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Type;
 import java.net.URI;
-import java.net.URLEncoder;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 
-import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.CASE_INSENSITIVE_ORDER;
 import static org.apiguardian.api.API.Status.INTERNAL;
-import static org.springframework.web.util.UriComponentsBuilder.fromUriString;
-import static org.springframework.web.util.UriUtils.encodeQueryParam;
-import static org.zalando.fauxpas.FauxPas.throwingBiConsumer;
-import static org.zalando.fauxpas.FauxPas.throwingConsumer;
 import static org.zalando.riptide.UrlResolution.RFC;
 
 @API(status = INTERNAL)
@@ -77,9 +67,11 @@ final class DefaultRequestArguments implements RequestArguments {
     BaseMap<String, List<String>> headers;
 
     @Getter
-    @With
     Object body;
 
+    @Getter
+    Type bodyType;
+
     @Getter
     @With
     Entity entity;
@@ -90,7 +82,7 @@ final class DefaultRequestArguments implements RequestArguments {
 
     DefaultRequestArguments() {
         this(null, null, RFC, null, PersistentVector.empty(), null, PersistentHashMap.empty(),
-                PersistentHashMap.empty(), PersistentTreeMap.empty(CASE_INSENSITIVE_ORDER), null, null, null);
+                PersistentHashMap.empty(), PersistentTreeMap.empty(CASE_INSENSITIVE_ORDER), null, null, null, null);
     }
 
     @Override
@@ -116,83 +108,22 @@ final class DefaultRequestArguments implements RequestArguments {
                 return previous;
             }
 
-            @Nullable final URI uri = getUri();
-            @Nullable final URI unresolvedUri;
-
-            if (uri == null) {
-                final String uriTemplate = getUriTemplate();
-                if (uriTemplate == null || uriTemplate.isEmpty()) {
-                    unresolvedUri = null;
-                } else {
-                    // expand uri template
-                    unresolvedUri = fromUriString(uriTemplate)
-                            .buildAndExpand(getUriVariables().toArray())
-                            .encode()
-                            .toUri();
-                }
-            } else {
-                unresolvedUri = uri;
-            }
-
-            @Nullable final URI baseUrl = getBaseUrl();
-            @Nonnull final URI resolvedUri;
-
-            if (unresolvedUri == null) {
-                checkArgument(baseUrl != null, "Either Base URL or absolute Request URI is required");
-                resolvedUri = baseUrl;
-            } else if (baseUrl == null || unresolvedUri.isAbsolute()) {
-                resolvedUri = unresolvedUri;
-            } else {
-                resolvedUri = getUrlResolution().resolve(baseUrl, unresolvedUri);
-            }
-
-            final UriComponentsBuilder components = UriComponentsBuilder.newInstance();
-            // encode query params
-            getQueryParams().forEach(throwingBiConsumer((key, values) ->
-                    values.forEach(throwingConsumer(value ->
-                            components.queryParam(key, encode(value))))));
-
-            // build request uri
-            final URI requestUri = components.uri(resolvedUri)
-                    .build(true).normalize().toUri();
-
-            checkArgument(requestUri.isAbsolute(), "Request URI is not absolute");
-
-            return requestUri;
+            return RequestUris.create(this);
         });
     }
 
-    /**
-     * Older spring versions don't allow {@code +} signs in query parameters even though that is technically
-     * allowed and valid. In order to have a consistent behavior across different Spring versions
-     * they will be encoded as {@code %2B}.
-     *
-     * @see UriUtils#encodeQueryParam(String, String)
-     * @see URLEncoder
-     * @see UrlEscapers#urlFragmentEscaper()
-     * @see <a href="https://tools.ietf.org/html/rfc3986">RFC 3986: Uniform Resource Identifier (URI): Generic Syntax</a>
-     * @see <a href="https://www.w3.org/TR/html4/interact/forms.html#h-17.13.4">HTML 4 specification: Form content types</a>
-     * @see <a href="https://github.com/spring-projects/spring-framework/issues/20750">spring-projects/spring-framework#20750</a>
-     * @see <a href="https://github.com/spring-projects/spring-framework/issues/21259">spring-projects/spring-framework#21259</a>
-     * @param value the query parameter value
-     * @return the encoded value
-     */
-    private String encode(final String value) throws UnsupportedEncodingException {
-        return encodeQueryParam(value, "UTF-8").replace("+", "%2B");
-    }
-
     @Override
     public RequestArguments replaceUriVariables(final List<Object> additionalUriVariables) {
         return new DefaultRequestArguments(
                 method, baseUrl, urlResolution, uriTemplate, PersistentVector.ofIter(additionalUriVariables), uri,
-                attributes, queryParams, headers, body, entity, route);
+                attributes, queryParams, headers, body, bodyType, entity, route);
     }
 
     @Override
     public <T> RequestArguments withAttribute(final Attribute<T> attribute, final T value) {
         return new DefaultRequestArguments(
                 method, baseUrl, urlResolution, uriTemplate, uriVariables, uri, attributes.assoc(attribute, value),
-                queryParams, headers, body, entity, route);
+                queryParams, headers, body, bodyType, entity, route);
     }
 
     @Override
@@ -218,7 +149,7 @@ final class DefaultRequestArguments implements RequestArguments {
     private DefaultRequestArguments queryParams(final BaseMap<String, List<String>> queryParams) {
         return new DefaultRequestArguments(
                 method, baseUrl, urlResolution, uriTemplate, uriVariables, uri, attributes,
-                queryParams, headers, body, entity, route);
+                queryParams, headers, body, bodyType, entity, route);
     }
 
     @Override
@@ -244,7 +175,21 @@ final class DefaultRequestArguments implements RequestArguments {
     private DefaultRequestArguments headers(final BaseMap<String, List<String>> headers) {
         return new DefaultRequestArguments(
                 method, baseUrl, urlResolution, uriTemplate, uriVariables, uri, attributes, queryParams,
-                headers, body, entity, route);
+                headers, body, bodyType, entity, route);
+    }
+
+    @Override
+    public RequestArguments withBody(@Nullable final Object body) {
+        return new DefaultRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri, attributes, queryParams,
+                headers, body, null, entity, route);
+    }
+
+    @Override
+    public RequestArguments withBody(final Type type, @Nullable final Object body) {
+        return new DefaultRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri, attributes, queryParams,
+                headers, body, type, entity, route);
     }
 
     private BaseMap<String, List<String>> merge(final BaseMap<String, List<String>> map,
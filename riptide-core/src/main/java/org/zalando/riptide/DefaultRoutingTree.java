@@ -26,13 +26,13 @@ final class DefaultRoutingTree<A> implements RoutingTree<A> {
         this(navigator, unmodifiableMap(routes), routes.remove(null));
     }
 
-    private DefaultRoutingTree(final Navigator<A> navigator, final Map<A, Route> routes, @Nullable final Route wildcard) {
+    DefaultRoutingTree(final Navigator<A> navigator, final Map<A, Route> routes, @Nullable final Route wildcard) {
         this.navigator = navigator;
         this.routes = routes;
         this.wildcard = wildcard;
     }
 
-    private static <A> Map<A, Route> map(final List<Binding<A>> bindings) {
+    static <A> Map<A, Route> map(final List<Binding<A>> bindings) {
         return bindings.stream()
                 .collect(toMap(Binding::getAttribute, Binding::getRoute, (u, v) -> {
                     throw new IllegalArgumentException(String.format("Duplicate key %s", u));
@@ -0,0 +1,308 @@
+package org.zalando.riptide;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.apiguardian.api.API;
+import org.organicdesign.fp.collections.BaseMap;
+import org.organicdesign.fp.collections.ImList;
+import org.organicdesign.fp.collections.PersistentHashMap;
+import org.organicdesign.fp.collections.PersistentVector;
+import org.springframework.http.HttpMethod;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableList;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * An immutable, array-backed snapshot of {@link RequestArguments}, as produced by
+ * {@link MutableRequestArguments#freeze()}. Attributes are stored as a flat array of alternating keys and values,
+ * headers in a {@link CaseInsensitiveArrayMap}. Query parameters are kept in the same persistent map that
+ * {@link DefaultRequestArguments} uses, in order to preserve the order in which they appear in the request URI.
+ */
+@API(status = INTERNAL)
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+final class FlatRequestArguments implements RequestArguments {
+
+    @Getter
+    HttpMethod method;
+
+    @Getter
+    URI baseUrl;
+
+    @Getter
+    UrlResolution urlResolution;
+
+    @Getter
+    String uriTemplate;
+
+    @Getter
+    List<Object> uriVariables;
+
+    @Getter
+    URI uri;
+
+    Object[] attributes;
+
+    @Getter
+    BaseMap<String, List<String>> queryParams;
+
+    @Getter
+    CaseInsensitiveArrayMap headers;
+
+    @Getter
+    Object body;
+
+    @Getter
+    Type bodyType;
+
+    @Getter
+    Entity entity;
+
+    @Getter
+    Route route;
+
+    @NonFinal
+    @Nullable
+    volatile URI requestUri;
+
+    FlatRequestArguments(
+            @Nullable final HttpMethod method,
+            @Nullable final URI baseUrl,
+            @Nullable final UrlResolution urlResolution,
+            @Nullable final String uriTemplate,
+            final List<Object> uriVariables,
+            @Nullable final URI uri,
+            final Object[] attributes,
+            final BaseMap<String, List<String>> queryParams,
+            final CaseInsensitiveArrayMap headers,
+            @Nullable final Object body,
+            @Nullable final Type bodyType,
+            @Nullable final Entity entity,
+            @Nullable final Route route) {
+
+        this.method = method;
+        this.baseUrl = baseUrl;
+        this.urlResolution = urlResolution;
+        this.uriTemplate = uriTemplate;
+        this.uriVariables = uriVariables;
+        this.uri = uri;
+        this.attributes = attributes;
+        this.queryParams = queryParams;
+        this.headers = headers;
+        this.body = body;
+        this.bodyType = bodyType;
+        this.entity = entity;
+        this.route = route;
+    }
+
+    @Override
+    public <T> Optional<T> getAttribute(final Attribute<T> attribute) {
+        final int index = indexOf(attribute);
+
+        if (index < 0) {
+            return Optional.empty();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Nullable final T value = (T) attributes[index + 1];
+        return Optional.ofNullable(value);
+    }
+
+    private int indexOf(final Attribute<?> attribute) {
+        for (int index = 0; index < attributes.length; index += 2) {
+            if (attributes[index] == attribute) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public URI getRequestUri() {
+        // same deferred construction as in DefaultRequestArguments, without allocating an AtomicReference per copy
+        @Nullable URI requestUri = this.requestUri;
+
+        if (requestUri == null) {
+            requestUri = RequestUris.create(this);
+            this.requestUri = requestUri;
+        }
+
+        return requestUri;
+    }
+
+    @Override
+    public RequestArguments withBaseUrl(@Nullable final URI baseUrl) {
+        return this.baseUrl == baseUrl ? this : new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, bodyType, entity, route);
+    }
+
+    @Override
+    public RequestArguments withUrlResolution(@Nullable final UrlResolution urlResolution) {
+        return this.urlResolution == urlResolution ? this : new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, bodyType, entity, route);
+    }
+
+    @Override
+    public RequestArguments withMethod(@Nullable final HttpMethod method) {
+        return this.method == method ? this : new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, bodyType, entity, route);
+    }
+
+    @Override
+    public RequestArguments withUriTemplate(@Nullable final String uriTemplate) {
+        return this.uriTemplate == uriTemplate ? this : new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, bodyType, entity, route);
+    }
+
+    @Override
+    public RequestArguments replaceUriVariables(final List<Object> uriVariables) {
+        return new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, unmodifiableList(new ArrayList<>(uriVariables)), uri,
+                attributes, queryParams, headers, body, bodyType, entity, route);
+    }
+
+    @Override
+    public RequestArguments withUri(@Nullable final URI uri) {
+        return this.uri == uri ? this : new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, bodyType, entity, route);
+    }
+
+    @Override
+    public <T> RequestArguments withAttribute(final Attribute<T> attribute, final T value) {
+        final int index = indexOf(attribute);
+        final Object[] attributes;
+
+        if (index < 0) {
+            attributes = Arrays.copyOf(this.attributes, this.attributes.length + 2);
+            attributes[this.attributes.length] = attribute;
+            attributes[this.attributes.length + 1] = value;
+        } else {
+            attributes = this.attributes.clone();
+            attributes[index + 1] = value;
+        }
+
+        return new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, bodyType, entity, route);
+    }
+
+    @Override
+    public RequestArguments withQueryParam(final String name, final String value) {
+        return queryParams(queryParams.assoc(name, getOrDefault(queryParams, name).append(value)));
+    }
+
+    @Override
+    public RequestArguments withQueryParams(final Map<String, ? extends Collection<String>> additionalQueryParams) {
+        return queryParams(merge(queryParams, additionalQueryParams));
+    }
+
+    @Override
+    public RequestArguments withoutQueryParam(final String name) {
+        return queryParams(queryParams.without(name));
+    }
+
+    @Override
+    public RequestArguments replaceQueryParams(final Map<String, ? extends Collection<String>> queryParams) {
+        return queryParams(merge(PersistentHashMap.empty(), queryParams));
+    }
+
+    private FlatRequestArguments queryParams(final BaseMap<String, List<String>> queryParams) {
+        return new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, bodyType, entity, route);
+    }
+
+    private static BaseMap<String, List<String>> merge(final BaseMap<String, List<String>> map,
+            final Map<String, ? extends Collection<String>> additions) {
+
+        BaseMap<String, List<String>> result = map;
+
+        for (final Map.Entry<String, ? extends Collection<String>> entry : additions.entrySet()) {
+            result = result.assoc(entry.getKey(), getOrDefault(result, entry.getKey()).concat(entry.getValue()));
+        }
+
+        return result;
+    }
+
+    private static ImList<String> getOrDefault(final BaseMap<String, List<String>> map, final String key) {
+        return (ImList<String>) map.getOrDefault(key, PersistentVector.empty());
+    }
+
+    @Override
+    public RequestArguments withHeader(final String name, final String value) {
+        return headers(headers.with(name, singletonList(value)));
+    }
+
+    @Override
+    public RequestArguments withHeaders(final Map<String, ? extends Collection<String>> additionalHeaders) {
+        CaseInsensitiveArrayMap result = headers;
+
+        for (final Map.Entry<String, ? extends Collection<String>> entry : additionalHeaders.entrySet()) {
+            result = result.with(entry.getKey(), entry.getValue());
+        }
+
+        return headers(result);
+    }
+
+    @Override
+    public RequestArguments withoutHeader(final String name) {
+        return headers(headers.without(name));
+    }
+
+    @Override
+    public RequestArguments replaceHeaders(final Map<String, ? extends Collection<String>> headers) {
+        return headers(CaseInsensitiveArrayMap.empty()).withHeaders(headers);
+    }
+
+    private FlatRequestArguments headers(final CaseInsensitiveArrayMap headers) {
+        return new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, bodyType, entity, route);
+    }
+
+    @Override
+    public RequestArguments withBody(@Nullable final Object body) {
+        return this.body == body && bodyType == null ? this : new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, null, entity, route);
+    }
+
+    @Override
+    public RequestArguments withBody(final Type type, @Nullable final Object body) {
+        return this.body == body && bodyType == type ? this : new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, type, entity, route);
+    }
+
+    @Override
+    public RequestArguments withEntity(@Nullable final Entity entity) {
+        return this.entity == entity ? this : new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, bodyType, entity, route);
+    }
+
+    @Override
+    public RequestArguments withRoute(final Route route) {
+        return this.route == route ? this : new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, bodyType, entity, route);
+    }
+
+}
@@ -36,6 +36,7 @@ public interface Http extends URIStage {
 
     interface RequestFactoryStage {
         ConfigurationStage requestFactory(ClientHttpRequestFactory requestFactory);
+        ConfigurationStage asyncClient(AsyncClient client);
     }
 
     interface ConfigurationStage extends FinalStage {
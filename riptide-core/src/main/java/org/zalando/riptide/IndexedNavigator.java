@@ -0,0 +1,31 @@
+package org.zalando.riptide;
+
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * An {@link EqualityNavigator navigator} whose attributes can be mapped to small, non-negative integers, which allows
+ * {@link RoutingTree#dispatch(Navigator, java.util.List) dispatch} to look up routes in an {@link IndexedRoutingTree
+ * array} rather than a map.
+ *
+ * @param <A> generic attribute type
+ */
+interface IndexedNavigator<A> extends EqualityNavigator<A> {
+
+    /**
+     * @param attribute a bound attribute
+     * @return the index of the given attribute or {@code -1} if it can't be indexed, in which case a
+     * {@link DefaultRoutingTree map-based routing tree} will be used
+     */
+    int indexOf(A attribute);
+
+    /**
+     * @param response the incoming response
+     * @return the index that a matching attribute would have, any value outside the range of bound attributes
+     * selects the wildcard
+     * @throws IOException if accessing the response failed
+     */
+    int indexOf(ClientHttpResponse response) throws IOException;
+
+}
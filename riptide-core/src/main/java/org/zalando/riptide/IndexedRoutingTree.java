@@ -0,0 +1,112 @@
+package org.zalando.riptide;
+
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * A {@link RoutingTree routing tree} that looks up routes in an array, indexed by
+ * {@link IndexedNavigator#indexOf(Object) attribute index}, i.e. without boxing or hashing. The array only spans the
+ * range between the lowest and highest bound index. Bindings are kept in a map as well, in order to preserve
+ * {@link #keySet() key order} and {@link #merge(RoutingTree) merge} semantics of {@link DefaultRoutingTree}.
+ *
+ * @param <A> generic attribute type
+ */
+final class IndexedRoutingTree<A> implements RoutingTree<A> {
+
+    private final IndexedNavigator<A> navigator;
+    private final Map<A, Route> routes;
+    private final Route wildcard;
+    private final Route[] index;
+    private final int offset;
+
+    private IndexedRoutingTree(final IndexedNavigator<A> navigator, final Map<A, Route> routes,
+            @Nullable final Route wildcard, final Route[] index, final int offset) {
+        this.navigator = navigator;
+        this.routes = routes;
+        this.wildcard = wildcard;
+        this.index = index;
+        this.offset = offset;
+    }
+
+    static <A> RoutingTree<A> create(final IndexedNavigator<A> navigator, final List<Binding<A>> bindings) {
+        final Map<A, Route> routes = DefaultRoutingTree.map(bindings);
+        @Nullable final Route wildcard = routes.remove(null);
+
+        int min = Integer.MAX_VALUE;
+        int max = -1;
+
+        for (final A attribute : routes.keySet()) {
+            final int index = navigator.indexOf(attribute);
+
+            if (index < 0) {
+                return new DefaultRoutingTree<>(navigator, unmodifiableMap(routes), wildcard);
+            }
+
+            min = Math.min(min, index);
+            max = Math.max(max, index);
+        }
+
+        final int offset = Math.min(min, max + 1);
+        final Route[] index = new Route[max + 1 - offset];
+        routes.forEach((attribute, route) -> index[navigator.indexOf(attribute) - offset] = route);
+
+        return new IndexedRoutingTree<>(navigator, unmodifiableMap(routes), wildcard, index, offset);
+    }
+
+    @Override
+    public Navigator<A> getNavigator() {
+        return navigator;
+    }
+
+    @Override
+    public Set<A> keySet() {
+        return routes.keySet();
+    }
+
+    @Override
+    public Optional<Route> get(final A attribute) {
+        return Optional.ofNullable(routes.get(attribute));
+    }
+
+    @Override
+    public Optional<Route> getWildcard() {
+        return Optional.ofNullable(wildcard);
+    }
+
+    @Override
+    public void execute(final ClientHttpResponse response, final MessageReader reader) throws Exception {
+        @Nullable final Route route = lookup(navigator.indexOf(response));
+
+        if (route == null) {
+            executeWildcard(response, reader);
+        } else {
+            try {
+                route.execute(response, reader);
+            } catch (final NoWildcardException e) {
+                executeWildcard(response, reader);
+            }
+        }
+    }
+
+    @Nullable
+    private Route lookup(final int attribute) {
+        final int position = attribute - offset;
+        return position >= 0 && position < index.length ? index[position] : null;
+    }
+
+    private void executeWildcard(final ClientHttpResponse response, final MessageReader reader) throws Exception {
+        if (wildcard == null) {
+            throw new NoWildcardException();
+        }
+
+        wildcard.execute(response, reader);
+    }
+
+}
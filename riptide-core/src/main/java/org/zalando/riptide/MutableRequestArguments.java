@@ -0,0 +1,191 @@
+package org.zalando.riptide;
+
+import org.apiguardian.api.API;
+import org.organicdesign.fp.collections.BaseMap;
+import org.organicdesign.fp.collections.PersistentHashMap;
+import org.organicdesign.fp.collections.PersistentVector;
+import org.springframework.http.HttpMethod;
+import org.zalando.riptide.RequestArguments.Entity;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.lang.String.CASE_INSENSITIVE_ORDER;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.zalando.riptide.UrlResolution.RFC;
+
+/**
+ * Accumulates {@link RequestArguments} of a single request in place, i.e. without creating intermediate copies, and
+ * is {@link #freeze() frozen} into an immutable {@link FlatRequestArguments snapshot} right before the request is
+ * executed. Instances are not thread-safe and must not escape the thread that dispatches the request.
+ */
+@API(status = INTERNAL)
+final class MutableRequestArguments {
+
+    private static final Object[] NO_ATTRIBUTES = {};
+
+    @Nullable
+    private HttpMethod method;
+
+    @Nullable
+    private URI baseUrl;
+
+    private UrlResolution urlResolution = RFC;
+
+    @Nullable
+    private String uriTemplate;
+
+    private List<Object> uriVariables = emptyList();
+
+    @Nullable
+    private URI uri;
+
+    private Object[] attributes = NO_ATTRIBUTES;
+
+    private int attributeCount;
+
+    @Nullable
+    private Map<String, List<String>> queryParams;
+
+    @Nullable
+    private TreeMap<String, List<String>> headers;
+
+    @Nullable
+    private Object body;
+
+    @Nullable
+    private Type bodyType;
+
+    @Nullable
+    private Entity entity;
+
+    @Nullable
+    private Route route;
+
+    MutableRequestArguments method(@Nullable final HttpMethod method) {
+        this.method = method;
+        return this;
+    }
+
+    MutableRequestArguments baseUrl(@Nullable final URI baseUrl) {
+        this.baseUrl = baseUrl;
+        return this;
+    }
+
+    MutableRequestArguments urlResolution(final UrlResolution urlResolution) {
+        this.urlResolution = urlResolution;
+        return this;
+    }
+
+    MutableRequestArguments uriTemplate(@Nullable final String uriTemplate) {
+        this.uriTemplate = uriTemplate;
+        return this;
+    }
+
+    MutableRequestArguments uriVariables(final Object... uriVariables) {
+        this.uriVariables = unmodifiableList(Arrays.asList(uriVariables.clone()));
+        return this;
+    }
+
+    MutableRequestArguments uri(@Nullable final URI uri) {
+        this.uri = uri;
+        return this;
+    }
+
+    <T> MutableRequestArguments attribute(final Attribute<T> attribute, final T value) {
+        for (int index = 0; index < attributeCount; index += 2) {
+            if (attributes[index] == attribute) {
+                attributes[index + 1] = value;
+                return this;
+            }
+        }
+
+        if (attributeCount == attributes.length) {
+            attributes = Arrays.copyOf(attributes, Math.max(4, attributes.length * 2));
+        }
+
+        attributes[attributeCount++] = attribute;
+        attributes[attributeCount++] = value;
+        return this;
+    }
+
+    MutableRequestArguments queryParam(final String name, final String value) {
+        if (queryParams == null) {
+            queryParams = new LinkedHashMap<>();
+        }
+
+        queryParams.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        return this;
+    }
+
+    MutableRequestArguments queryParams(final Map<String, ? extends Collection<String>> queryParams) {
+        queryParams.forEach((name, values) -> values.forEach(value -> queryParam(name, value)));
+        return this;
+    }
+
+    MutableRequestArguments header(final String name, final String value) {
+        if (headers == null) {
+            headers = new TreeMap<>(CASE_INSENSITIVE_ORDER);
+        }
+
+        headers.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        return this;
+    }
+
+    MutableRequestArguments headers(final Map<String, ? extends Collection<String>> headers) {
+        headers.forEach((name, values) -> values.forEach(value -> header(name, value)));
+        return this;
+    }
+
+    MutableRequestArguments body(@Nullable final Object body) {
+        return body(null, body);
+    }
+
+    MutableRequestArguments body(@Nullable final Type type, @Nullable final Object body) {
+        this.body = body;
+        this.bodyType = type;
+        return this;
+    }
+
+    MutableRequestArguments entity(@Nullable final Entity entity) {
+        this.entity = entity;
+        return this;
+    }
+
+    MutableRequestArguments route(final Route route) {
+        this.route = route;
+        return this;
+    }
+
+    RequestArguments freeze() {
+        return new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                Arrays.copyOf(attributes, attributeCount),
+                freezeQueryParams(),
+                headers == null ? CaseInsensitiveArrayMap.empty() : CaseInsensitiveArrayMap.copyOf(headers),
+                body, bodyType, entity, route);
+    }
+
+    private BaseMap<String, List<String>> freezeQueryParams() {
+        BaseMap<String, List<String>> result = PersistentHashMap.empty();
+
+        if (queryParams != null) {
+            for (final Map.Entry<String, List<String>> entry : queryParams.entrySet()) {
+                result = result.assoc(entry.getKey(), PersistentVector.ofIter(entry.getValue()));
+            }
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.zalando.riptide;
+
+import org.apiguardian.api.API;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Breaks down the time that every attempt of a request spent on the network into {@link Phase phases}. Transports
+ * that support it expose an instance as the {@link Attributes#NETWORK_TIMINGS} attribute and
+ * {@link #complete(Map) complete} it once per attempt, i.e. {@link Listener listeners} are notified for every retry.
+ */
+@API(status = EXPERIMENTAL)
+public final class NetworkTimings {
+
+    public enum Phase {
+
+        /**
+         * Resolving the host name, only if a new connection is established.
+         */
+        DNS,
+
+        /**
+         * Establishing a new TCP connection.
+         */
+        CONNECT,
+
+        /**
+         * Performing the TLS handshake of a new connection.
+         */
+        TLS,
+
+        /**
+         * Sending the request and waiting for the response headers, i.e. mostly server think time.
+         */
+        FIRST_BYTE,
+
+        /**
+         * Receiving the response body, until it's closed.
+         */
+        BODY
+
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * @param phases the phases of a single attempt that actually happened, in order
+         */
+        void onComplete(Map<Phase, Duration> phases);
+
+    }
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener(final Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void complete(final Map<Phase, Duration> phases) {
+        final Map<Phase, Duration> copy = new EnumMap<>(Phase.class);
+        copy.putAll(phases);
+        final Map<Phase, Duration> view = Collections.unmodifiableMap(copy);
+
+        for (final Listener listener : listeners) {
+            listener.onComplete(view);
+        }
+    }
+
+}
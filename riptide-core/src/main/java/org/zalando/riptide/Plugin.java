@@ -76,6 +76,17 @@ public interface Plugin {
         return execution;
     }
 
+    /**
+     * Executions are composed once per {@link Http} instance and then reused for every request. Plugins that decide
+     * or capture something while composing, e.g. a random decision or the caller's context, rather than inside of the
+     * returned {@link RequestExecution execution}, need to be composed again for every single request.
+     *
+     * @return true if this plugin needs to be composed for every request, false otherwise
+     */
+    default boolean isComposedPerRequest() {
+        return false;
+    }
+
     static Plugin composite(final Plugin... plugins) {
         return composite(Arrays.asList(plugins));
     }
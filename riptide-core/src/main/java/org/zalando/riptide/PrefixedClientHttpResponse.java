@@ -0,0 +1,45 @@
+package org.zalando.riptide;
+
+import org.apiguardian.api.API;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A response of which the beginning of the body was already read into memory, but is still part of its body.
+ */
+@API(status = EXPERIMENTAL)
+public final class PrefixedClientHttpResponse extends ForwardingClientHttpResponse {
+
+    private final ClientHttpResponse response;
+    private final InputStream body;
+
+    /**
+     * @param response the original response
+     * @param prefix the bytes that were already read from the original response's body
+     * @param remainder the rest of the original response's body
+     */
+    public PrefixedClientHttpResponse(
+            final ClientHttpResponse response,
+            final byte[] prefix,
+            final InputStream remainder) {
+
+        this.response = response;
+        this.body = new SequenceInputStream(new ByteArrayInputStream(prefix), remainder);
+    }
+
+    @Override
+    protected ClientHttpResponse delegate() {
+        return response;
+    }
+
+    @Override
+    public InputStream getBody() {
+        return body;
+    }
+
+}
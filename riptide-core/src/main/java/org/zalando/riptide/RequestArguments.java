@@ -6,6 +6,7 @@ import org.springframework.http.HttpOutputMessage;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.lang.reflect.Type;
 import java.net.URI;
 import java.util.Collection;
 import java.util.List;
@@ -49,6 +50,16 @@ public interface RequestArguments {
 
     Object getBody();
 
+    /**
+     * The declared type of the {@link #getBody() body}, e.g. {@code List<Foo>}, if any.
+     *
+     * @return the declared body type or {@code null}, in which case the body's runtime class is used
+     */
+    @Nullable
+    default Type getBodyType() {
+        return null;
+    }
+
     Entity getEntity();
 
     Route getRoute();
@@ -83,8 +94,19 @@ public interface RequestArguments {
 
     RequestArguments replaceHeaders(Map<String, ? extends Collection<String>> headers);
 
+    /**
+     * Replaces the body and discards any previously declared {@link #getBodyType() body type}.
+     */
     RequestArguments withBody(@Nullable Object body);
 
+    /**
+     * Replaces the body and declares its {@link #getBodyType() type}. Implementations that don't support declared
+     * body types fall back to {@link #withBody(Object)}.
+     */
+    default RequestArguments withBody(final Type type, @Nullable final Object body) {
+        return withBody(body);
+    }
+
     RequestArguments withEntity(@Nullable Entity entity);
 
     RequestArguments withRoute(Route route);
@@ -0,0 +1,86 @@
+package org.zalando.riptide;
+
+import com.google.common.net.UrlEscapers;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLEncoder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.springframework.web.util.UriUtils.encodeQueryParam;
+import static org.zalando.fauxpas.FauxPas.throwingBiConsumer;
+import static org.zalando.fauxpas.FauxPas.throwingConsumer;
+
+final class RequestUris {
+
+    private RequestUris() {
+
+    }
+
+    static URI create(final RequestArguments arguments) {
+        @Nullable final URI uri = arguments.getUri();
+        @Nullable final URI unresolvedUri;
+
+        if (uri == null) {
+            final String uriTemplate = arguments.getUriTemplate();
+            if (uriTemplate == null || uriTemplate.isEmpty()) {
+                unresolvedUri = null;
+            } else {
+                // expand uri template
+                unresolvedUri = UriTemplates.expand(uriTemplate, arguments.getUriVariables());
+            }
+        } else {
+            unresolvedUri = uri;
+        }
+
+        @Nullable final URI baseUrl = arguments.getBaseUrl();
+        @Nonnull final URI resolvedUri;
+
+        if (unresolvedUri == null) {
+            checkArgument(baseUrl != null, "Either Base URL or absolute Request URI is required");
+            resolvedUri = baseUrl;
+        } else if (baseUrl == null || unresolvedUri.isAbsolute()) {
+            resolvedUri = unresolvedUri;
+        } else {
+            resolvedUri = arguments.getUrlResolution().resolve(baseUrl, unresolvedUri);
+        }
+
+        final UriComponentsBuilder components = UriComponentsBuilder.newInstance();
+        // encode query params
+        arguments.getQueryParams().forEach(throwingBiConsumer((key, values) ->
+                values.forEach(throwingConsumer(value ->
+                        components.queryParam(key, encode(value))))));
+
+        // build request uri
+        final URI requestUri = components.uri(resolvedUri)
+                .build(true).normalize().toUri();
+
+        checkArgument(requestUri.isAbsolute(), "Request URI is not absolute");
+
+        return requestUri;
+    }
+
+    /**
+     * Older spring versions don't allow {@code +} signs in query parameters even though that is technically
+     * allowed and valid. In order to have a consistent behavior across different Spring versions
+     * they will be encoded as {@code %2B}.
+     *
+     * @see UriUtils#encodeQueryParam(String, String)
+     * @see URLEncoder
+     * @see UrlEscapers#urlFragmentEscaper()
+     * @see <a href="https://tools.ietf.org/html/rfc3986">RFC 3986: Uniform Resource Identifier (URI): Generic Syntax</a>
+     * @see <a href="https://www.w3.org/TR/html4/interact/forms.html#h-17.13.4">HTML 4 specification: Form content types</a>
+     * @see <a href="https://github.com/spring-projects/spring-framework/issues/20750">spring-projects/spring-framework#20750</a>
+     * @see <a href="https://github.com/spring-projects/spring-framework/issues/21259">spring-projects/spring-framework#21259</a>
+     * @param value the query parameter value
+     * @return the encoded value
+     */
+    private static String encode(final String value) throws UnsupportedEncodingException {
+        return encodeQueryParam(value, "UTF-8").replace("+", "%2B");
+    }
+
+}
@@ -2,6 +2,7 @@ package org.zalando.riptide;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
+import com.google.common.reflect.TypeToken;
 import lombok.AllArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.ClientHttpResponse;
@@ -9,10 +10,14 @@ import org.zalando.riptide.RequestArguments.Entity;
 
 import javax.annotation.Nullable;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import static com.google.common.net.HttpHeaders.ACCEPT;
 import static com.google.common.net.HttpHeaders.CONTENT_TYPE;
@@ -24,23 +29,36 @@ import static java.lang.String.join;
 import static java.time.ZoneOffset.UTC;
 import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
 import static java.util.stream.Collectors.joining;
+import static lombok.AccessLevel.PRIVATE;
 import static org.zalando.fauxpas.FauxPas.throwingFunction;
 
-@AllArgsConstructor
+/**
+ * Every stage only records its modification, linked to the previous stage, which keeps stages immutable and allows
+ * to reuse them. The modifications are replayed onto {@link MutableRequestArguments} once the request is being
+ * executed and then frozen into an immutable snapshot that is passed on to plugins.
+ */
+@AllArgsConstructor(access = PRIVATE)
 final class Requester extends AttributeStage {
 
-    private final RequestExecution network;
-    private final RequestArguments arguments;
-    private final Plugin plugins;
+    private final RequestExecution execution;
+
+    @Nullable
+    private final Requester previous;
+
+    private final Consumer<MutableRequestArguments> modification;
+
+    Requester(final RequestExecution execution, final Consumer<MutableRequestArguments> modification) {
+        this(execution, null, modification);
+    }
 
     @Override
     public <T> AttributeStage attribute(final Attribute<T> attribute, final T value) {
-        return withArguments(arguments.withAttribute(attribute, value));
+        return modify(arguments -> arguments.attribute(attribute, value));
     }
 
     @Override
     public QueryStage queryParam(final String name, final String value) {
-        return withArguments(arguments.withQueryParam(name, value));
+        return modify(arguments -> arguments.queryParam(name, value));
     }
 
     @Override
@@ -50,7 +68,8 @@ final class Requester extends AttributeStage {
 
     @Override
     public QueryStage queryParams(final Map<String, Collection<String>> params) {
-        return withArguments(arguments.withQueryParams(params));
+        final Map<String, List<String>> copy = copyOf(params);
+        return modify(arguments -> arguments.queryParams(copy));
     }
 
     @Override
@@ -106,7 +125,7 @@ final class Requester extends AttributeStage {
 
     @Override
     public HeaderStage header(final String name, final String value) {
-        return withArguments(arguments.withHeader(name, value));
+        return modify(arguments -> arguments.header(name, value));
     }
 
     @Override
@@ -116,11 +135,44 @@ final class Requester extends AttributeStage {
 
     @Override
     public HeaderStage headers(final Map<String, ? extends Collection<String>> headers) {
-        return withArguments(arguments.withHeaders(headers));
+        final Map<String, List<String>> copy = copyOf(headers);
+        return modify(arguments -> arguments.headers(copy));
+    }
+
+    private Requester modify(final Consumer<MutableRequestArguments> modification) {
+        return new Requester(execution, this, modification);
+    }
+
+    /**
+     * Modifications are applied lazily, i.e. maps passed by callers need to be copied in case they are modified
+     * afterwards.
+     */
+    private static Map<String, List<String>> copyOf(final Map<String, ? extends Collection<String>> map) {
+        final Map<String, List<String>> copy = new LinkedHashMap<>(map.size());
+        map.forEach((name, values) -> copy.put(name, new ArrayList<>(values)));
+        return copy;
     }
 
-    private Requester withArguments(final RequestArguments arguments) {
-        return new Requester(network, arguments, plugins);
+    private MutableRequestArguments accumulate() {
+        int size = 0;
+
+        for (Requester stage = this; stage != null; stage = stage.previous) {
+            size++;
+        }
+
+        final Requester[] stages = new Requester[size];
+
+        for (Requester stage = this; stage != null; stage = stage.previous) {
+            stages[--size] = stage;
+        }
+
+        final MutableRequestArguments arguments = new MutableRequestArguments();
+
+        for (final Requester stage : stages) {
+            stage.modification.accept(arguments);
+        }
+
+        return arguments;
     }
 
     @Override
@@ -130,29 +182,29 @@ final class Requester extends AttributeStage {
 
     @Override
     public DispatchStage body(@Nullable final Entity entity) {
-        return new ResponseDispatcher(arguments.withEntity(entity));
+        return new ResponseDispatcher(arguments -> arguments.entity(entity));
     }
 
     @Override
     public <T> DispatchStage body(@Nullable final T body) {
-        return new ResponseDispatcher(arguments.withBody(body));
+        return new ResponseDispatcher(arguments -> arguments.body(body));
+    }
+
+    @Override
+    public <T> DispatchStage body(final TypeToken<T> type, @Nullable final T body) {
+        return new ResponseDispatcher(arguments -> arguments.body(type.getType(), body));
     }
 
     @AllArgsConstructor
     private final class ResponseDispatcher extends DispatchStage {
 
-        private final RequestArguments arguments;
+        private final Consumer<MutableRequestArguments> modification;
 
         @Override
         public CompletableFuture<ClientHttpResponse> call(final Route route) {
-            final RequestExecution execution =
-                    plugins.aroundAsync(
-                            plugins.aroundDispatch(
-                                    plugins.aroundSerialization(
-                                            plugins.aroundNetwork(
-                                                    network))));
-
-            return throwingFunction(execution::execute).apply(arguments.withRoute(route));
+            final MutableRequestArguments arguments = accumulate();
+            modification.accept(arguments);
+            return throwingFunction(execution::execute).apply(arguments.route(route).freeze());
         }
 
     }
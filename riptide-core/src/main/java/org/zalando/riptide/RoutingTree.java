@@ -95,6 +95,12 @@ public interface RoutingTree<A> extends Route {
     }
 
     static <A> RoutingTree<A> dispatch(final Navigator<A> navigator, final List<Binding<A>> bindings) {
+        if (navigator instanceof IndexedNavigator) {
+            return IndexedRoutingTree.create((IndexedNavigator<A>) navigator, bindings);
+        }
+        if (navigator instanceof CacheableNavigator) {
+            return new CachingRoutingTree<>((CacheableNavigator<A>) navigator, bindings);
+        }
         return new DefaultRoutingTree<>(navigator, bindings);
     }
 
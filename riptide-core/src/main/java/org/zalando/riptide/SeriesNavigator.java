@@ -1,21 +1,33 @@
 package org.zalando.riptide;
 
-import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatus.Series;
 import org.springframework.http.client.ClientHttpResponse;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 
 /**
  * @see Navigators#series()
  */
-enum SeriesNavigator implements EqualityNavigator<Series> {
+enum SeriesNavigator implements IndexedNavigator<Series> {
 
     INSTANCE;
 
+    @Nullable
     @Override
     public Series attributeOf(final ClientHttpResponse response) throws IOException {
-        return HttpStatus.resolve(response.getStatusCode().value()).series();
+        return Series.resolve(response.getStatusCode().value());
+    }
+
+    @Override
+    public int indexOf(final Series attribute) {
+        return attribute.value();
+    }
+
+    @Override
+    public int indexOf(final ClientHttpResponse response) throws IOException {
+        // same as Series#resolve, but without looking it up, non-standard codes end up outside of the known series
+        return response.getStatusCode().value() / 100;
     }
 
 }
@@ -7,13 +7,31 @@ import java.io.IOException;
 /**
  * @see Navigators#status()
  */
-enum StatusCodeNavigator implements EqualityNavigator<Integer> {
+enum StatusCodeNavigator implements IndexedNavigator<Integer> {
 
     INSTANCE;
 
+    /**
+     * Status codes consist of three digits.
+     *
+     * @see <a href="https://tools.ietf.org/html/rfc9110#section-15">RFC 9110, Section 15: Status Codes</a>
+     */
+    private static final int MAX_INDEX = 999;
+
     @Override
     public Integer attributeOf(final ClientHttpResponse response) throws IOException {
         return response.getStatusCode().value();
     }
 
+    @Override
+    public int indexOf(final Integer attribute) {
+        final int code = attribute;
+        return code >= 0 && code <= MAX_INDEX ? code : -1;
+    }
+
+    @Override
+    public int indexOf(final ClientHttpResponse response) throws IOException {
+        return response.getStatusCode().value();
+    }
+
 }
@@ -3,18 +3,34 @@ package org.zalando.riptide;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.client.ClientHttpResponse;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 
 /**
  * @see Navigators#status()
  */
-enum StatusNavigator implements EqualityNavigator<HttpStatus> {
+enum StatusNavigator implements IndexedNavigator<HttpStatus> {
 
     INSTANCE;
 
+    @Nullable
     @Override
     public HttpStatus attributeOf(final ClientHttpResponse response) throws IOException {
         return HttpStatus.resolve(response.getStatusCode().value());
     }
 
+    /**
+     * Deprecated aliases, e.g. {@link HttpStatus#MOVED_TEMPORARILY}, are never {@link HttpStatus#resolve(int)
+     * resolved} and therefore can't be indexed by their value.
+     */
+    @Override
+    public int indexOf(final HttpStatus attribute) {
+        return HttpStatus.resolve(attribute.value()) == attribute ? attribute.value() : -1;
+    }
+
+    @Override
+    public int indexOf(final ClientHttpResponse response) throws IOException {
+        return response.getStatusCode().value();
+    }
+
 }
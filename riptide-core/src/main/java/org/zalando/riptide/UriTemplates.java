@@ -0,0 +1,206 @@
+package org.zalando.riptide;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.web.util.UriComponents;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.web.util.UriComponentsBuilder.fromUriString;
+
+/**
+ * Expands and encodes URI templates the same way
+ * {@code UriComponentsBuilder.fromUriString(template).buildAndExpand(variables).encode().toUri()} does, but without
+ * parsing the same template over and over again. Parsed templates are kept in a bounded cache.
+ * <p>
+ * Plain path templates, i.e. the vast majority, e.g. {@code /users/{id}/orders}, are compiled into literals and
+ * variables and then expanded and encoded in a single pass. All other templates, e.g. absolute ones or those with
+ * a query or fragment, fall back to Spring's {@link UriComponents}, parsed once.
+ */
+final class UriTemplates {
+
+    private static final Cache<String, Template> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(1_000)
+            .build();
+
+    private UriTemplates() {
+
+    }
+
+    static URI expand(final String template, final List<Object> variables) {
+        @Nullable Template compiled = CACHE.getIfPresent(template);
+
+        if (compiled == null) {
+            compiled = compile(template);
+            CACHE.put(template, compiled);
+        }
+
+        return compiled.expand(variables);
+    }
+
+    private interface Template {
+        URI expand(List<Object> variables);
+    }
+
+    private static Template compile(final String template) {
+        @Nullable final Template path = PathTemplate.compile(template);
+        return path == null ? new ComponentsTemplate(fromUriString(template).build()) : path;
+    }
+
+    private static final class ComponentsTemplate implements Template {
+
+        private final UriComponents components;
+
+        private ComponentsTemplate(final UriComponents components) {
+            this.components = components;
+        }
+
+        @Override
+        public URI expand(final List<Object> variables) {
+            return components.expand(variables.toArray()).encode().toUri();
+        }
+
+    }
+
+    /**
+     * A template that starts with a single {@code /}, contains neither a query nor a fragment and whose literal parts
+     * don't need to be encoded. Variables are non-empty and consist of characters that are allowed in a path segment,
+     * i.e. anything more exotic, like nested braces or regular expressions, falls back to {@link ComponentsTemplate}.
+     */
+    private static final class PathTemplate implements Template {
+
+        private final String template;
+
+        /**
+         * Literals and variable names, alternating, starting and ending with a (potentially empty) literal.
+         */
+        private final String[] parts;
+
+        private PathTemplate(final String template, final String[] parts) {
+            this.template = template;
+            this.parts = parts;
+        }
+
+        @Nullable
+        static PathTemplate compile(final String template) {
+            if (template.length() < 2 || template.charAt(0) != '/' || template.contains("//")) {
+                return null;
+            }
+
+            final List<String> parts = new ArrayList<>();
+            int literal = 0;
+            int index = 0;
+
+            while (index < template.length()) {
+                final char c = template.charAt(index);
+
+                if (c == '{') {
+                    final int end = template.indexOf('}', index);
+
+                    if (end < 0 || !isVariable(template, index + 1, end)) {
+                        return null;
+                    }
+
+                    parts.add(template.substring(literal, index));
+                    parts.add(getVariableName(template.substring(index + 1, end)));
+                    literal = end + 1;
+                    index = end + 1;
+                } else if (isAllowedInPath(c)) {
+                    index++;
+                } else {
+                    return null;
+                }
+            }
+
+            parts.add(template.substring(literal));
+
+            return new PathTemplate(template, parts.toArray(new String[0]));
+        }
+
+        private static boolean isVariable(final String template, final int start, final int end) {
+            if (start == end) {
+                return false;
+            }
+
+            for (int index = start; index < end; index++) {
+                final char c = template.charAt(index);
+
+                if (c == '/' || !isAllowedInPath(c)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private static String getVariableName(final String match) {
+            final int index = match.indexOf(':');
+            return index == -1 ? match : match.substring(0, index);
+        }
+
+        @Override
+        public URI expand(final List<Object> variables) {
+            final Iterator<Object> values = variables.iterator();
+            final StringBuilder result = new StringBuilder(template.length() + 16 * (parts.length / 2));
+
+            result.append(parts[0]);
+
+            for (int index = 1; index < parts.length; index += 2) {
+                if (!values.hasNext()) {
+                    throw new IllegalArgumentException(
+                            "Not enough variable values available to expand '" + parts[index] + "'");
+                }
+
+                @Nullable final Object value = values.next();
+                encode(value == null ? "" : value.toString(), result);
+                result.append(parts[index + 1]);
+            }
+
+            // literals and encoded values only consist of valid path characters
+            return URI.create(result.toString());
+        }
+
+        private static void encode(final String value, final StringBuilder result) {
+            for (int index = 0; index < value.length(); index++) {
+                if (!isAllowedInPath(value.charAt(index))) {
+                    encodeBytes(value, result);
+                    return;
+                }
+            }
+
+            result.append(value);
+        }
+
+        private static void encodeBytes(final String value, final StringBuilder result) {
+            for (final byte b : value.getBytes(UTF_8)) {
+                if (isAllowedInPath(b)) {
+                    result.append((char) b);
+                } else {
+                    result.append('%')
+                            .append(Character.toUpperCase(Character.forDigit((b >> 4) & 0xF, 16)))
+                            .append(Character.toUpperCase(Character.forDigit(b & 0xF, 16)));
+                }
+            }
+        }
+
+        /**
+         * Mirrors {@code HierarchicalUriComponents.Type.PATH}: {@code pchar} or {@code /}.
+         *
+         * @see <a href="https://tools.ietf.org/html/rfc3986#section-3.3">RFC 3986, Section 3.3</a>
+         */
+        private static boolean isAllowedInPath(final int c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') ||
+                    c == '-' || c == '.' || c == '_' || c == '~' ||
+                    c == '!' || c == '$' || c == '&' || c == '\'' || c == '(' || c == ')' ||
+                    c == '*' || c == '+' || c == ',' || c == ';' || c == '=' ||
+                    c == ':' || c == '@' || c == '/';
+        }
+
+    }
+
+}
@@ -0,0 +1,51 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.springframework.http.MediaType.TEXT_PLAIN;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.PassRoute.pass;
+
+final class AsyncClientTest {
+
+    @Test
+    void shouldExecuteSerializedRequest() throws IOException {
+        final AtomicReference<RequestArguments> captured = new AtomicReference<>();
+
+        final Http unit = Http.builder()
+                .asyncClient(arguments -> {
+                    captured.set(arguments);
+                    return completedFuture(new MockClientHttpResponse(new byte[0], OK));
+                })
+                .baseUrl("https://api.example.com")
+                .build();
+
+        final ClientHttpResponse response = unit.post("/accounts")
+                .contentType(TEXT_PLAIN)
+                .body("Hello")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+
+        assertThat(response.getStatusCode(), is(OK));
+
+        final MockHttpOutputMessage message = new MockHttpOutputMessage();
+        captured.get().getEntity().writeTo(message);
+
+        assertThat(message.getBodyAsString(UTF_8), is("Hello"));
+    }
+
+}
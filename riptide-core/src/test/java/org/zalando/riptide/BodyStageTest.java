@@ -0,0 +1,24 @@
+package org.zalando.riptide;
+
+import com.google.common.reflect.TypeToken;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Answers.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+final class BodyStageTest {
+
+    @Test
+    void shouldFallBackToUntypedBodyByDefault() {
+        final BodyStage unit = mock(BodyStage.class, CALLS_REAL_METHODS);
+        final DispatchStage expected = mock(DispatchStage.class);
+        doReturn(expected).when(unit).body((Object) "body");
+
+        assertThat(unit.body(new TypeToken<String>() {}, "body"), is(sameInstance(expected)));
+    }
+
+}
@@ -0,0 +1,205 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Answers.CALLS_REAL_METHODS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_XML;
+import static org.zalando.riptide.Bindings.anyContentType;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.contentType;
+import static org.zalando.riptide.RoutingTree.dispatch;
+
+@ExtendWith(MockitoExtension.class)
+final class CachingRoutingTreeTest {
+
+    @Mock(answer = CALLS_REAL_METHODS)
+    private Route other;
+
+    @Mock(answer = CALLS_REAL_METHODS)
+    private Route expected;
+
+    private final MessageReader reader = mock(MessageReader.class);
+
+    private final CountingNavigator navigator = new CountingNavigator();
+
+    @Test
+    void shouldCacheContentType() {
+        assertThat(dispatch(contentType(), on(APPLICATION_JSON).call(other)), instanceOf(CachingRoutingTree.class));
+    }
+
+    @Test
+    void shouldNavigateOnlyOncePerContentType() throws Exception {
+        final RoutingTree<MediaType> unit = dispatch(navigator,
+                on(APPLICATION_XML).call(other),
+                on(APPLICATION_JSON).call(expected),
+                anyContentType().call(other));
+
+        unit.execute(response("application/json;charset=UTF-8"), reader);
+        unit.execute(response("application/json;charset=UTF-8"), reader);
+
+        verify(expected, times(2)).execute(any(), any());
+        verify(other, never()).execute(any(), any());
+        assertThat(navigator.navigations, is(1));
+    }
+
+    @Test
+    void shouldNavigateOncePerDistinctContentType() throws Exception {
+        final RoutingTree<MediaType> unit = dispatch(navigator,
+                on(APPLICATION_XML).call(other),
+                on(APPLICATION_JSON).call(expected));
+
+        unit.execute(response("application/json"), reader);
+        unit.execute(response("application/xml"), reader);
+        unit.execute(response("application/json"), reader);
+        unit.execute(response("application/xml"), reader);
+
+        verify(expected, times(2)).execute(any(), any());
+        verify(other, times(2)).execute(any(), any());
+        assertThat(navigator.navigations, is(2));
+    }
+
+    @Test
+    void shouldCacheMissingContentType() throws Exception {
+        final RoutingTree<MediaType> unit = dispatch(navigator,
+                on(APPLICATION_JSON).call(other),
+                anyContentType().call(expected));
+
+        unit.execute(response(null), reader);
+        unit.execute(response(null), reader);
+
+        verify(expected, times(2)).execute(any(), any());
+        assertThat(navigator.navigations, is(1));
+    }
+
+    @Test
+    void shouldEvictOldestContentType() throws Exception {
+        final RoutingTree<MediaType> unit = dispatch(navigator,
+                anyContentType().call(expected));
+
+        for (int version = 0; version <= 16; version++) {
+            unit.execute(response("application/vnd.example.v" + version + "+json"), reader);
+        }
+
+        unit.execute(response("application/vnd.example.v16+json"), reader);
+        assertThat(navigator.navigations, is(17));
+
+        unit.execute(response("application/vnd.example.v0+json"), reader);
+        assertThat(navigator.navigations, is(18));
+    }
+
+    @Test
+    void shouldNotCacheInvalidContentType() {
+        final RoutingTree<MediaType> unit = dispatch(navigator,
+                anyContentType().call(expected));
+
+        assertThrows(InvalidMediaTypeException.class, () ->
+                unit.execute(response("application"), reader));
+        assertThrows(InvalidMediaTypeException.class, () ->
+                unit.execute(response("application"), reader));
+
+        assertThat(navigator.navigations, is(2));
+    }
+
+    @Test
+    void shouldUseWildcardRouteIfAttributeRouteHasNoWildcard() throws Exception {
+        doThrow(new NoWildcardException()).when(other).execute(any(), any());
+
+        dispatch(contentType(),
+                on(APPLICATION_JSON).call(other),
+                anyContentType().call(expected))
+                .execute(response("application/json"), reader);
+
+        verify(expected).execute(any(), any());
+    }
+
+    @Test
+    void shouldFailWithoutWildcard() {
+        final RoutingTree<MediaType> unit = dispatch(contentType(), on(APPLICATION_JSON).call(other));
+
+        assertThrows(NoWildcardException.class, () ->
+                unit.execute(response("application/xml"), reader));
+    }
+
+    @Test
+    void shouldPreserveBindings() {
+        final RoutingTree<MediaType> unit = dispatch(contentType(),
+                on(APPLICATION_XML).call(other),
+                anyContentType().call(expected),
+                on(APPLICATION_JSON).call(other));
+
+        assertThat(unit.getNavigator(), is(contentType()));
+        assertThat(unit.keySet(), contains(APPLICATION_XML, APPLICATION_JSON));
+        assertThat(unit.get(APPLICATION_XML), is(Optional.of(other)));
+        assertThat(unit.getWildcard(), is(Optional.of(expected)));
+    }
+
+    @Test
+    void shouldStayCachedOnMerge() throws Exception {
+        final RoutingTree<MediaType> unit = dispatch(contentType(),
+                on(APPLICATION_XML).call(other))
+                .merge(on(APPLICATION_JSON).call(expected));
+
+        assertThat(unit, instanceOf(CachingRoutingTree.class));
+
+        unit.execute(response("application/json"), reader);
+
+        verify(expected).execute(any(), any());
+    }
+
+    private ClientHttpResponse response(@Nullable final String contentType) {
+        final MockClientHttpResponse response = new MockClientHttpResponse(new byte[0], OK);
+
+        if (contentType != null) {
+            response.getHeaders().set(CONTENT_TYPE, contentType);
+        }
+
+        return response;
+    }
+
+    private static final class CountingNavigator implements CacheableNavigator<MediaType> {
+
+        private final ContentTypeNavigator delegate = ContentTypeNavigator.INSTANCE;
+
+        private int navigations;
+
+        @Nullable
+        @Override
+        public String keyOf(final ClientHttpResponse response) {
+            return delegate.keyOf(response);
+        }
+
+        @Override
+        public Optional<Route> navigate(final ClientHttpResponse response, final RoutingTree<MediaType> tree)
+                throws IOException {
+            navigations++;
+            return delegate.navigate(response, tree);
+        }
+
+    }
+
+}
@@ -0,0 +1,74 @@
+package org.zalando.riptide;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.google.common.reflect.TypeToken;
+import lombok.Value;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.client.MockRestServiceServer;
+
+import java.util.List;
+
+import static com.fasterxml.jackson.annotation.JsonTypeInfo.Id.NAME;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.zalando.riptide.PassRoute.pass;
+
+final class DeclaredBodyTypeTest {
+
+    @JsonTypeInfo(use = NAME, property = "type")
+    @JsonSubTypes(@JsonSubTypes.Type(value = Cat.class, name = "cat"))
+    interface Animal {
+
+    }
+
+    @Value
+    static class Cat implements Animal {
+        String name;
+    }
+
+    private final Http unit;
+    private final MockRestServiceServer server;
+
+    DeclaredBodyTypeTest() {
+        final MockSetup setup = new MockSetup();
+        this.unit = setup.getHttp();
+        this.server = setup.getServer();
+    }
+
+    @AfterEach
+    void after() {
+        server.verify();
+    }
+
+    @Test
+    void shouldLoseTypeInformationWithRuntimeType() {
+        // the runtime type is a raw list, Jackson doesn't know its elements are animals
+        server.expect(requestTo("https://api.example.com/animals"))
+                .andExpect(content().string("[{\"name\":\"Tom\"}]"))
+                .andRespond(withSuccess());
+
+        unit.post("/animals")
+                .contentType(APPLICATION_JSON)
+                .body(List.of(new Cat("Tom")))
+                .call(pass())
+                .join();
+    }
+
+    @Test
+    void shouldKeepTypeInformationWithDeclaredType() {
+        server.expect(requestTo("https://api.example.com/animals"))
+                .andExpect(content().string("[{\"type\":\"cat\",\"name\":\"Tom\"}]"))
+                .andRespond(withSuccess());
+
+        unit.post("/animals")
+                .contentType(APPLICATION_JSON)
+                .body(new TypeToken<List<Animal>>() {}, List.of(new Cat("Tom")))
+                .call(pass())
+                .join();
+    }
+
+}
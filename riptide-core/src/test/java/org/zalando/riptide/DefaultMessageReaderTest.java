@@ -0,0 +1,125 @@
+package org.zalando.riptide;
+
+import com.google.common.reflect.TypeToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.SmartHttpMessageConverter;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.UnknownContentTypeException;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM;
+import static org.springframework.http.MediaType.TEXT_PLAIN;
+
+final class DefaultMessageReaderTest {
+
+    @SuppressWarnings("unchecked")
+    private final HttpMessageConverter<Object> plain = mock(HttpMessageConverter.class);
+
+    @SuppressWarnings("unchecked")
+    private final GenericHttpMessageConverter<Object> generic = mock(GenericHttpMessageConverter.class);
+
+    @SuppressWarnings("unchecked")
+    private final SmartHttpMessageConverter<Object> smart = mock(SmartHttpMessageConverter.class);
+
+    @Test
+    void shouldSkipConvertersThatCantReadOnceResolved() throws IOException {
+        when(plain.canRead(String.class, APPLICATION_JSON)).thenReturn(false);
+        when(generic.canRead(any(Type.class), any(), eq(APPLICATION_JSON))).thenReturn(true);
+        when(generic.read(any(Type.class), any(), any(HttpInputMessage.class))).thenReturn("foo");
+
+        final MessageReader unit = new DefaultMessageReader(List.of(plain, generic));
+
+        assertThat(unit.read(TypeToken.of(String.class), response(APPLICATION_JSON)), is("foo"));
+        assertThat(unit.read(TypeToken.of(String.class), response(APPLICATION_JSON)), is("foo"));
+
+        verify(plain).canRead(String.class, APPLICATION_JSON);
+        verify(generic, times(2)).read(any(Type.class), any(), any(HttpInputMessage.class));
+    }
+
+    @Test
+    void shouldResolveConverterPerContentType() throws IOException {
+        when(generic.canRead(any(Type.class), any(), eq(APPLICATION_JSON))).thenReturn(false);
+        when(plain.canRead(String.class, APPLICATION_JSON)).thenReturn(true);
+        when(plain.read(any(), any(HttpInputMessage.class))).thenReturn("foo");
+        when(generic.canRead(any(Type.class), any(), eq(TEXT_PLAIN))).thenReturn(true);
+        when(generic.read(any(Type.class), any(), any(HttpInputMessage.class))).thenReturn("bar");
+
+        final MessageReader unit = new DefaultMessageReader(List.of(generic, plain));
+
+        assertThat(unit.read(TypeToken.of(String.class), response(APPLICATION_JSON)), is("foo"));
+        assertThat(unit.read(TypeToken.of(String.class), response(TEXT_PLAIN)), is("bar"));
+        assertThat(unit.read(TypeToken.of(String.class), response(APPLICATION_JSON)), is("foo"));
+
+        verify(generic).canRead(any(Type.class), any(), eq(APPLICATION_JSON));
+    }
+
+    @Test
+    void shouldResolveSmartConverter() throws IOException {
+        when(smart.canRead(any(ResolvableType.class), eq(APPLICATION_JSON))).thenReturn(true);
+        when(smart.read(any(ResolvableType.class), any(HttpInputMessage.class), any())).thenReturn("foo");
+
+        final MessageReader unit = new DefaultMessageReader(List.of(smart));
+
+        assertThat(unit.read(TypeToken.of(String.class), response(APPLICATION_JSON)), is("foo"));
+    }
+
+    @Test
+    void shouldResolveConverterForMissingContentType() throws IOException {
+        when(plain.canRead(String.class, APPLICATION_OCTET_STREAM)).thenReturn(true);
+        when(plain.read(any(), any(HttpInputMessage.class))).thenReturn("foo");
+
+        final MessageReader unit = new DefaultMessageReader(List.of(plain));
+
+        assertThat(unit.read(TypeToken.of(String.class), response(null)), is("foo"));
+    }
+
+    @Test
+    void shouldFailIfNoConverterCanRead() {
+        when(smart.canRead(any(ResolvableType.class), eq(APPLICATION_JSON))).thenReturn(false);
+
+        final MessageReader unit = new DefaultMessageReader(List.of(plain, smart));
+        final TypeToken<List<String>> type = new TypeToken<List<String>>() {
+        };
+
+        assertThrows(UnknownContentTypeException.class, () ->
+                unit.read(type, response(APPLICATION_JSON)));
+        assertThrows(UnknownContentTypeException.class, () ->
+                unit.read(type, response(APPLICATION_JSON)));
+
+        verify(plain, never()).canRead(any(), any());
+    }
+
+    private ClientHttpResponse response(@Nullable final MediaType contentType) {
+        final MockClientHttpResponse response = new MockClientHttpResponse("body".getBytes(UTF_8), OK);
+
+        if (contentType != null) {
+            response.getHeaders().setContentType(contentType);
+        }
+
+        return response;
+    }
+
+}
@@ -0,0 +1,158 @@
+package org.zalando.riptide;
+
+import com.google.common.reflect.TypeToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.TEXT_PLAIN;
+
+final class DefaultMessageWriterTest {
+
+    @SuppressWarnings("unchecked")
+    private final HttpMessageConverter<Object> plain = mock(HttpMessageConverter.class);
+
+    @SuppressWarnings("unchecked")
+    private final GenericHttpMessageConverter<Object> generic = mock(GenericHttpMessageConverter.class);
+
+    private final MessageWriter unit = new DefaultMessageWriter(List.of(plain, generic));
+
+    @Test
+    void shouldSkipConvertersThatCantWriteOnceResolved() throws IOException {
+        when(generic.canWrite(String.class, String.class, APPLICATION_JSON)).thenReturn(true);
+
+        final HttpOutputMessage first = request();
+        unit.write(first, RequestArguments.create().withBody("foo"));
+        final HttpOutputMessage second = request();
+        unit.write(second, RequestArguments.create().withBody("bar"));
+
+        verify(plain).canWrite(String.class, APPLICATION_JSON);
+        verify(generic).canWrite(String.class, String.class, APPLICATION_JSON);
+        verify(generic).write("foo", String.class, APPLICATION_JSON, first);
+        verify(generic).write("bar", String.class, APPLICATION_JSON, second);
+    }
+
+    @Test
+    void shouldWriteGenericBodyUsingRuntimeType() throws IOException {
+        when(generic.canWrite(ArrayList.class, ArrayList.class, APPLICATION_JSON)).thenReturn(true);
+
+        final HttpOutputMessage request = request();
+        final List<String> body = new ArrayList<>(List.of("foo"));
+        unit.write(request, RequestArguments.create().withBody(body));
+
+        verify(generic).write(body, ArrayList.class, APPLICATION_JSON, request);
+    }
+
+    @Test
+    void shouldWriteGenericBodyUsingDeclaredType() throws IOException {
+        final Type type = new TypeToken<List<String>>() {}.getType();
+        when(generic.canWrite(type, ArrayList.class, APPLICATION_JSON)).thenReturn(true);
+
+        final HttpOutputMessage request = request();
+        final List<String> body = new ArrayList<>(List.of("foo"));
+        unit.write(request, RequestArguments.create().withBody(type, body));
+        unit.write(request, RequestArguments.create().withBody(type, body));
+
+        verify(generic).canWrite(type, ArrayList.class, APPLICATION_JSON);
+        verify(generic, times(2)).write(body, type, APPLICATION_JSON, request);
+    }
+
+    @Test
+    void shouldResolveConverterPerDeclaredType() throws IOException {
+        final Type type = new TypeToken<List<String>>() {}.getType();
+        when(generic.canWrite(ArrayList.class, ArrayList.class, APPLICATION_JSON)).thenReturn(true);
+        when(generic.canWrite(type, ArrayList.class, APPLICATION_JSON)).thenReturn(true);
+
+        final HttpOutputMessage request = request();
+        final List<String> body = new ArrayList<>(List.of("foo"));
+        unit.write(request, RequestArguments.create().withBody(body));
+        unit.write(request, RequestArguments.create().withBody(type, body));
+
+        verify(generic).canWrite(ArrayList.class, ArrayList.class, APPLICATION_JSON);
+        verify(generic).canWrite(type, ArrayList.class, APPLICATION_JSON);
+        verify(generic).write(body, ArrayList.class, APPLICATION_JSON, request);
+        verify(generic).write(body, type, APPLICATION_JSON, request);
+    }
+
+    @Test
+    void shouldFailWithDeclaredTypeName() {
+        final Type type = new TypeToken<List<String>>() {}.getType();
+
+        final RestClientException exception = assertThrows(RestClientException.class, () ->
+                unit.write(request(), RequestArguments.create().withBody(type, new ArrayList<>())));
+
+        assertThat(exception.getMessage(), is("Could not write request: no suitable HttpMessageConverter " +
+                "found for request type [java.util.List<java.lang.String>] and content type [application/json]"));
+    }
+
+    @Test
+    void shouldResolveConverterPerContentType() throws IOException {
+        when(plain.canWrite(String.class, TEXT_PLAIN)).thenReturn(true);
+        when(generic.canWrite(String.class, String.class, APPLICATION_JSON)).thenReturn(true);
+
+        final HttpOutputMessage text = request();
+        text.getHeaders().setContentType(TEXT_PLAIN);
+
+        unit.write(text, RequestArguments.create().withBody("foo"));
+        unit.write(request(), RequestArguments.create().withBody("bar"));
+        unit.write(text, RequestArguments.create().withBody("baz"));
+
+        verify(plain, times(2)).write(any(), eq(TEXT_PLAIN), eq(text));
+        verify(plain).canWrite(String.class, TEXT_PLAIN);
+        verify(generic).write(eq("bar"), eq(String.class), eq(APPLICATION_JSON), any());
+    }
+
+    @Test
+    void shouldResolveConverterWithoutContentType() throws IOException {
+        when(plain.canWrite(String.class, null)).thenReturn(true);
+
+        final HttpOutputMessage request = new MockHttpOutputMessage();
+        unit.write(request, RequestArguments.create().withBody("foo"));
+        unit.write(request, RequestArguments.create().withBody("bar"));
+
+        verify(plain).canWrite(String.class, null);
+        verify(plain, times(2)).write(any(), isNull(), eq(request));
+    }
+
+    @Test
+    void shouldNotCacheMissingConverter() throws IOException {
+        final RestClientException exception = assertThrows(RestClientException.class, () ->
+                unit.write(request(), RequestArguments.create().withBody("foo")));
+
+        assertThat(exception.getMessage(), is("Could not write request: no suitable HttpMessageConverter " +
+                "found for request type [java.lang.String] and content type [application/json]"));
+
+        when(generic.canWrite(String.class, String.class, APPLICATION_JSON)).thenReturn(true);
+
+        final HttpOutputMessage request = request();
+        unit.write(request, RequestArguments.create().withBody("foo"));
+
+        verify(generic).write("foo", String.class, APPLICATION_JSON, request);
+    }
+
+    private HttpOutputMessage request() {
+        final MockHttpOutputMessage request = new MockHttpOutputMessage();
+        request.getHeaders().setContentType(APPLICATION_JSON);
+        return request;
+    }
+
+}
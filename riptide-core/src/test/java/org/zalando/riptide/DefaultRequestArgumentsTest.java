@@ -20,6 +20,7 @@ import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -67,6 +68,15 @@ final class DefaultRequestArgumentsTest {
         assertThat(assertion.getter.apply(applied), is(sameInstance(assertion.argument)));
     }
 
+    @Test
+    void shouldDeclareBodyType() {
+        final RequestArguments typed = unit.withBody(String.class, "foo");
+
+        assertThat(typed.getBody(), is("foo"));
+        assertThat(typed.getBodyType(), is(String.class));
+        assertThat(typed.withBody("bar").getBodyType(), is(nullValue()));
+    }
+
     @Test
     void shouldRemoveQueryParam() {
         final RequestArguments with = unit.withQueryParam("foo", "bar");
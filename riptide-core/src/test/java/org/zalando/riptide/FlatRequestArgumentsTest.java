@@ -0,0 +1,275 @@
+package org.zalando.riptide;
+
+import lombok.Value;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.HttpMethod;
+import org.zalando.riptide.RequestArguments.Entity;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+final class FlatRequestArgumentsTest {
+
+    private final RequestArguments unit = new MutableRequestArguments().freeze();
+
+    @Value
+    private static final class Assertion<T> {
+        BiFunction<RequestArguments, T, RequestArguments> wither;
+        T argument;
+        Function<RequestArguments, T> getter;
+    }
+
+    static List<Assertion<?>> data() {
+        return Arrays.asList(
+                new Assertion<>(RequestArguments::withBaseUrl, URI.create("https://api.example.com"), RequestArguments::getBaseUrl),
+                new Assertion<>(RequestArguments::withUrlResolution, UrlResolution.APPEND, RequestArguments::getUrlResolution),
+                new Assertion<>(RequestArguments::withMethod, HttpMethod.GET, RequestArguments::getMethod),
+                new Assertion<>(RequestArguments::withUriTemplate, "/{id}", RequestArguments::getUriTemplate),
+                new Assertion<>(RequestArguments::withUri, URI.create("/123"), RequestArguments::getUri),
+                new Assertion<>(RequestArguments::withBody, new Object(), RequestArguments::getBody),
+                new Assertion<>(RequestArguments::withEntity, mock(Entity.class), RequestArguments::getEntity),
+                new Assertion<>(RequestArguments::withRoute, mock(Route.class), RequestArguments::getRoute)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("data")
+    <T> void shouldOptimizeForReapplyingSameValue(final Assertion<T> assertion) {
+        final RequestArguments applied = assertion.wither.apply(unit, assertion.argument);
+        final RequestArguments appliedAgain = assertion.wither.apply(applied, assertion.argument);
+
+        assertThat(appliedAgain, is(sameInstance(applied)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("data")
+    <T> void shouldModifyValue(final Assertion<T> assertion) {
+        final RequestArguments applied = assertion.wither.apply(unit, assertion.argument);
+
+        assertThat(applied, is(not(sameInstance(unit))));
+        assertThat(assertion.getter.apply(applied), is(sameInstance(assertion.argument)));
+    }
+
+    @Test
+    void shouldDeclareBodyType() {
+        final Object body = new Object();
+        final RequestArguments typed = unit.withBody(String.class, body);
+
+        assertThat(typed.getBody(), is(sameInstance(body)));
+        assertThat(typed.getBodyType(), is(String.class));
+        assertThat(typed.withBody(String.class, body), is(sameInstance(typed)));
+        assertThat(typed.withBody(Integer.class, body).getBodyType(), is(Integer.class));
+        assertThat(typed.withBody(String.class, new Object()).getBodyType(), is(String.class));
+    }
+
+    @Test
+    void shouldDiscardBodyTypeWhenReplacingBody() {
+        final Object body = new Object();
+        final RequestArguments untyped = unit.withBody(String.class, body).withBody(body);
+
+        assertThat(untyped.getBody(), is(sameInstance(body)));
+        assertThat(untyped.getBodyType(), is(nullValue()));
+    }
+
+    @Test
+    void shouldFreezeBodyType() {
+        final RequestArguments arguments = new MutableRequestArguments()
+                .body(String.class, "foo")
+                .freeze();
+
+        assertThat(arguments.getBody(), is("foo"));
+        assertThat(arguments.getBodyType(), is(String.class));
+    }
+
+    @Test
+    void shouldReplaceUriVariables() {
+        final RequestArguments arguments = unit.replaceUriVariables(Arrays.asList("a", "b"));
+        assertThat(arguments.getUriVariables(), contains("a", "b"));
+    }
+
+    @Test
+    void shouldAccumulateAttributes() {
+        final Attribute<String> first = Attribute.generate();
+        final Attribute<String> second = Attribute.generate();
+        final Attribute<String> third = Attribute.generate();
+        final Attribute<String> missing = Attribute.generate();
+
+        final RequestArguments arguments = new MutableRequestArguments()
+                .attribute(first, "1")
+                .attribute(second, "2")
+                .attribute(third, "3")
+                .attribute(first, "one")
+                .freeze();
+
+        assertEquals(Optional.of("one"), arguments.getAttribute(first));
+        assertEquals(Optional.of("2"), arguments.getAttribute(second));
+        assertEquals(Optional.of("3"), arguments.getAttribute(third));
+        assertEquals(Optional.empty(), arguments.getAttribute(missing));
+    }
+
+    @Test
+    void shouldAddAndReplaceAttribute() {
+        final Attribute<String> attribute = Attribute.generate();
+
+        final RequestArguments added = unit.withAttribute(attribute, "foo");
+        final RequestArguments replaced = added.withAttribute(attribute, "bar");
+
+        assertEquals(Optional.empty(), unit.getAttribute(attribute));
+        assertEquals(Optional.of("foo"), added.getAttribute(attribute));
+        assertEquals(Optional.of("bar"), replaced.getAttribute(attribute));
+    }
+
+    @Test
+    void shouldAccumulateQueryParams() {
+        final RequestArguments arguments = new MutableRequestArguments()
+                .queryParam("foo", "bar")
+                .queryParams(singletonMap("foo", singletonList("baz")))
+                .freeze();
+
+        assertThat(arguments.getQueryParams(), hasEntry("foo", Arrays.asList("bar", "baz")));
+    }
+
+    @Test
+    void shouldAddQueryParams() {
+        final RequestArguments arguments = unit
+                .withQueryParam("foo", "bar")
+                .withQueryParams(singletonMap("foo", singletonList("baz")));
+
+        assertThat(arguments.getQueryParams(), hasEntry("foo", Arrays.asList("bar", "baz")));
+    }
+
+    @Test
+    void shouldRemoveQueryParam() {
+        final RequestArguments with = unit.withQueryParam("foo", "bar");
+        assertThat(with.getQueryParams(), hasKey("foo"));
+
+        final RequestArguments without = with.withoutQueryParam("foo");
+        assertThat(without.getQueryParams(), not(hasKey("foo")));
+    }
+
+    @Test
+    void shouldReplaceQueryParam() {
+        final RequestArguments with = unit.withQueryParam("foo", "bar");
+        assertThat(with.getQueryParams(), hasKey("foo"));
+
+        final RequestArguments without = with.replaceQueryParams(singletonMap("q", singletonList("example")));
+        assertThat(without.getQueryParams(), hasEntry("q", singletonList("example")));
+        assertThat(without.getQueryParams(), not(hasKey("foo")));
+    }
+
+    @Test
+    void shouldAccumulateHeaders() {
+        final RequestArguments arguments = new MutableRequestArguments()
+                .header("Foo", "bar")
+                .headers(singletonMap("foo", singletonList("baz")))
+                .freeze();
+
+        assertThat(arguments.getHeaders(), hasEntry("Foo", Arrays.asList("bar", "baz")));
+    }
+
+    @Test
+    void shouldAddHeaders() {
+        final RequestArguments arguments = unit
+                .withHeader("Foo", "bar")
+                .withHeader("Accept", "*/*")
+                .withHeader("Test", "true")
+                .withHeaders(singletonMap("foo", singletonList("baz")));
+
+        assertThat(arguments.getHeaders(), hasEntry("Foo", Arrays.asList("bar", "baz")));
+        assertThat(arguments.getHeaders().keySet(), contains("Accept", "Foo", "Test"));
+    }
+
+    @Test
+    void shouldRemoveHeader() {
+        final RequestArguments with = unit.withHeader("Foo", "bar").withHeader("Test", "true");
+        assertThat(with.getHeaders(), hasKey("Foo"));
+
+        final RequestArguments without = with.withoutHeader("Foo");
+        assertThat(without.getHeaders(), not(hasKey("Foo")));
+        assertThat(without.getHeaders(), hasKey("Test"));
+    }
+
+    @Test
+    void shouldIgnoreRemovalOfUnknownHeader() {
+        final RequestArguments with = unit.withHeader("Foo", "bar");
+        final RequestArguments without = with.withoutHeader("Test");
+
+        assertEquals(with.getHeaders(), without.getHeaders());
+    }
+
+    @Test
+    void shouldReplaceHeaders() {
+        final RequestArguments with = unit.withHeader("Foo", "bar");
+        assertThat(with.getHeaders(), hasKey("Foo"));
+
+        final RequestArguments without = with.replaceHeaders(singletonMap("Test", singletonList("true")));
+        assertThat(without.getHeaders(), hasEntry("Test", singletonList("true")));
+        assertThat(without.getHeaders(), not(hasKey("Foo")));
+    }
+
+    @Test
+    void headersShouldBeCaseInsensitive() {
+        final Map<String, List<String>> headers = unit.withHeader("Foo", "bar").getHeaders();
+
+        assertTrue(headers.containsKey("foo"));
+        assertEquals(singletonList("bar"), headers.get("FOO"));
+        assertFalse(headers.containsKey(42));
+        assertThat(headers.get("Bar"), is(nullValue()));
+    }
+
+    @Test
+    void headersShouldBeImmutable() {
+        final Map<String, List<String>> headers = unit.withHeader("Foo", "bar").getHeaders();
+
+        assertThrows(UnsupportedOperationException.class, () -> headers.put("Test", singletonList("true")));
+        assertThrows(UnsupportedOperationException.class, () -> headers.get("Foo").add("baz"));
+    }
+
+    @Test
+    void shouldFailToIterateBeyondLastHeader() {
+        final Iterator<?> iterator = unit.withHeader("Foo", "bar").getHeaders().entrySet().iterator();
+
+        iterator.next();
+
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void shouldCacheRequestUri() {
+        final RequestArguments arguments = new MutableRequestArguments()
+                .baseUrl(URI.create("https://www.example.org"))
+                .uriTemplate("/users/{user}")
+                .uriVariables("me")
+                .freeze();
+
+        assertEquals(URI.create("https://www.example.org/users/me"), arguments.getRequestUri());
+        assertSame(arguments.getRequestUri(), arguments.getRequestUri());
+    }
+
+}
@@ -0,0 +1,250 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatus.Series;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Answers.CALLS_REAL_METHODS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.FOUND;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.Series.CLIENT_ERROR;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.zalando.riptide.Bindings.anySeries;
+import static org.zalando.riptide.Bindings.anyStatus;
+import static org.zalando.riptide.Bindings.anyStatusCode;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.Navigators.status;
+import static org.zalando.riptide.Navigators.statusCode;
+import static org.zalando.riptide.RoutingTree.dispatch;
+
+@ExtendWith(MockitoExtension.class)
+final class IndexedRoutingTreeTest {
+
+    @Mock(answer = CALLS_REAL_METHODS)
+    private Route other;
+
+    @Mock(answer = CALLS_REAL_METHODS)
+    private Route expected;
+
+    private final MessageReader reader = mock(MessageReader.class);
+
+    @Test
+    void shouldIndexSeries() {
+        assertThat(dispatch(series(), on(SUCCESSFUL).call(other)), instanceOf(IndexedRoutingTree.class));
+    }
+
+    @Test
+    void shouldIndexStatus() {
+        assertThat(dispatch(status(), on(OK).call(other)), instanceOf(IndexedRoutingTree.class));
+    }
+
+    @Test
+    void shouldIndexStatusCode() {
+        assertThat(dispatch(statusCode(), on(200).call(other)), instanceOf(IndexedRoutingTree.class));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void shouldNotIndexDeprecatedStatus() throws Exception {
+        final RoutingTree<HttpStatus> unit = dispatch(status(),
+                on(HttpStatus.MOVED_TEMPORARILY).call(other),
+                anyStatus().call(expected));
+
+        assertThat(unit, instanceOf(DefaultRoutingTree.class));
+
+        // the response status resolves to FOUND, which is not bound
+        unit.execute(response(FOUND.value()), reader);
+
+        verify(expected).execute(any(), any());
+        verify(other, never()).execute(any(), any());
+    }
+
+    @Test
+    void shouldNotIndexNegativeStatusCode() {
+        assertThat(dispatch(statusCode(), on(200).call(other), on(-1).call(other)),
+                instanceOf(DefaultRoutingTree.class));
+    }
+
+    @Test
+    void shouldNotIndexStatusCodeWithMoreThanThreeDigits() {
+        assertThat(dispatch(statusCode(), on(200).call(other), on(1000).call(other)),
+                instanceOf(DefaultRoutingTree.class));
+    }
+
+    @Test
+    void shouldUseAttributeRoute() throws Exception {
+        dispatch(statusCode(),
+                on(200).call(other),
+                on(201).call(expected),
+                on(404).call(other),
+                anyStatusCode().call(other))
+                .execute(response(201), reader);
+
+        verify(expected).execute(any(), any());
+        verify(other, never()).execute(any(), any());
+    }
+
+    @Test
+    void shouldUseWildcardRouteForUnboundStatusCodeWithinRange() throws Exception {
+        dispatch(statusCode(),
+                on(200).call(other),
+                on(404).call(other),
+                anyStatusCode().call(expected))
+                .execute(response(302), reader);
+
+        verify(expected).execute(any(), any());
+        verify(other, never()).execute(any(), any());
+    }
+
+    @Test
+    void shouldUseWildcardRouteForStatusCodeBelowRange() throws Exception {
+        dispatch(status(),
+                on(CREATED).call(other),
+                anyStatus().call(expected))
+                .execute(response(OK.value()), reader);
+
+        verify(expected).execute(any(), any());
+    }
+
+    @Test
+    void shouldUseWildcardRouteForStatusCodeAboveRange() throws Exception {
+        dispatch(status(),
+                on(CREATED).call(other),
+                anyStatus().call(expected))
+                .execute(response(NOT_FOUND.value()), reader);
+
+        verify(expected).execute(any(), any());
+    }
+
+    @Test
+    void shouldUseWildcardRouteForNonStandardStatusCode() throws Exception {
+        dispatch(status(),
+                on(OK).call(other),
+                anyStatus().call(expected))
+                .execute(response(299), reader);
+
+        verify(expected).execute(any(), any());
+    }
+
+    @Test
+    void shouldUseWildcardRouteForNonStandardSeries() throws Exception {
+        dispatch(series(),
+                on(SUCCESSFUL).call(other),
+                anySeries().call(expected))
+                .execute(response(600), reader);
+
+        verify(expected).execute(any(), any());
+    }
+
+    @Test
+    void shouldUseWildcardRouteIfAttributeRouteHasNoWildcard() throws Exception {
+        doThrow(new NoWildcardException()).when(other).execute(any(), any());
+
+        dispatch(series(),
+                on(SUCCESSFUL).call(other),
+                anySeries().call(expected))
+                .execute(response(200), reader);
+
+        verify(expected).execute(any(), any());
+    }
+
+    @Test
+    void shouldFailWithoutWildcard() {
+        final RoutingTree<Series> unit = dispatch(series(), on(CLIENT_ERROR).call(other));
+
+        assertThrows(NoWildcardException.class, () ->
+                unit.execute(response(200), reader));
+    }
+
+    @Test
+    void shouldFailWithoutAnyBinding() {
+        final RoutingTree<Integer> unit = dispatch(statusCode());
+
+        assertThrows(NoWildcardException.class, () ->
+                unit.execute(response(200), reader));
+    }
+
+    @Test
+    void shouldPreserveBindings() {
+        final RoutingTree<Integer> unit = dispatch(statusCode(),
+                on(404).call(other),
+                anyStatusCode().call(expected),
+                on(200).call(other));
+
+        assertThat(unit.keySet(), contains(404, 200));
+        assertThat(unit.get(404), is(Optional.of(other)));
+        assertThat(unit.get(500), is(Optional.empty()));
+        assertThat(unit.getWildcard(), is(Optional.of(expected)));
+    }
+
+    @Test
+    void shouldStayIndexedOnMerge() throws Exception {
+        final RoutingTree<HttpStatus> unit = dispatch(status(),
+                on(OK).call(other),
+                anyStatus().call(other))
+                .merge(on(CREATED).call(expected));
+
+        assertThat(unit, instanceOf(IndexedRoutingTree.class));
+        assertThat(unit.keySet(), contains(OK, CREATED));
+
+        unit.execute(response(CREATED.value()), reader);
+
+        verify(expected).execute(any(), any());
+    }
+
+    @Test
+    void shouldNavigateSeries() throws Exception {
+        final RoutingTree<Series> tree = dispatch(series(),
+                on(SUCCESSFUL).call(expected),
+                anySeries().call(other));
+
+        assertThat(series().navigate(response(200), tree), is(Optional.of(expected)));
+        assertThat(series().navigate(response(600), tree), is(Optional.of(other)));
+    }
+
+    @Test
+    void shouldNavigateStatus() throws Exception {
+        final RoutingTree<HttpStatus> tree = dispatch(status(),
+                on(OK).call(expected),
+                anyStatus().call(other));
+
+        assertThat(status().navigate(response(200), tree), is(Optional.of(expected)));
+        assertThat(status().navigate(response(299), tree), is(Optional.of(other)));
+    }
+
+    @Test
+    void shouldNavigateStatusCode() throws Exception {
+        final RoutingTree<Integer> tree = dispatch(statusCode(),
+                on(200).call(expected),
+                anyStatusCode().call(other));
+
+        assertThat(statusCode().navigate(response(200), tree), is(Optional.of(expected)));
+        assertThat(statusCode().navigate(response(299), tree), is(Optional.empty()));
+    }
+
+    private ClientHttpResponse response(final int status) {
+        return new MockClientHttpResponse(new byte[0], HttpStatusCode.valueOf(status));
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.Test;
+import org.zalando.riptide.NetworkTimings.Phase;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class NetworkTimingsTest {
+
+    private final NetworkTimings unit = new NetworkTimings();
+
+    @Test
+    void shouldNotifyListenersInPhaseOrder() {
+        final List<Map<Phase, Duration>> first = new ArrayList<>();
+        final List<Map<Phase, Duration>> second = new ArrayList<>();
+        unit.addListener(first::add);
+        unit.addListener(second::add);
+
+        final Map<Phase, Duration> phases = new LinkedHashMap<>();
+        phases.put(Phase.BODY, Duration.ofMillis(3));
+        phases.put(Phase.DNS, Duration.ofMillis(1));
+        unit.complete(phases);
+
+        assertThat(first, hasSize(1));
+        assertThat(first.get(0).keySet(), contains(Phase.DNS, Phase.BODY));
+        assertThat(first.get(0).get(Phase.BODY), is(Duration.ofMillis(3)));
+        assertThat(second, is(first));
+    }
+
+    @Test
+    void shouldNotifyOncePerAttempt() {
+        final List<Map<Phase, Duration>> attempts = new ArrayList<>();
+        unit.addListener(attempts::add);
+
+        unit.complete(Map.of(Phase.FIRST_BYTE, Duration.ofMillis(1)));
+        unit.complete(Map.of());
+
+        assertThat(attempts, hasSize(2));
+        assertThat(attempts.get(1).isEmpty(), is(true));
+    }
+
+    @Test
+    void shouldNotExposeMutablePhases() {
+        unit.addListener(phases ->
+                assertThrows(UnsupportedOperationException.class, () -> phases.put(Phase.DNS, Duration.ZERO)));
+
+        unit.complete(Map.of());
+    }
+
+}
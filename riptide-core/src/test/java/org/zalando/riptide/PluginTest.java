@@ -7,13 +7,17 @@ import java.io.IOException;
 import java.util.NoSuchElementException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.UnaryOperator;
 
+import static java.util.Collections.singletonList;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.mock;
 import static org.zalando.fauxpas.FauxPas.partially;
@@ -111,4 +115,56 @@ final class PluginTest {
         assertThat(exception.getCause(), is(instanceOf(UnsupportedOperationException.class)));
     }
 
+    @Test
+    void shouldComposeOnlyOnce() throws IOException {
+        final CountingPlugin counting = new CountingPlugin(false);
+        final RequestExecution execution = new CompositePlugin(singletonList(composite(counting)))
+                .compile(arguments -> completedFuture(null));
+
+        execution.execute(mock(RequestArguments.class)).join();
+        execution.execute(mock(RequestArguments.class)).join();
+
+        assertThat(counting.compositions.get(), is(1));
+    }
+
+    @Test
+    void shouldComposePerRequest() throws IOException {
+        final CountingPlugin counting = new CountingPlugin(true);
+        final RequestExecution execution = new CompositePlugin(singletonList(composite(counting)))
+                .compile(arguments -> completedFuture(null));
+
+        execution.execute(mock(RequestArguments.class)).join();
+        execution.execute(mock(RequestArguments.class)).join();
+
+        assertThat(counting.compositions.get(), is(2));
+    }
+
+    @Test
+    void shouldBeComposedPerRequestIfAnyPluginIs() {
+        assertFalse(composite(state, argument).isComposedPerRequest());
+        assertTrue(composite(state, new CountingPlugin(true)).isComposedPerRequest());
+    }
+
+    private static final class CountingPlugin implements Plugin {
+
+        private final AtomicInteger compositions = new AtomicInteger();
+        private final boolean perRequest;
+
+        private CountingPlugin(final boolean perRequest) {
+            this.perRequest = perRequest;
+        }
+
+        @Override
+        public RequestExecution aroundNetwork(final RequestExecution execution) {
+            compositions.incrementAndGet();
+            return execution::execute;
+        }
+
+        @Override
+        public boolean isComposedPerRequest() {
+            return perRequest;
+        }
+
+    }
+
 }
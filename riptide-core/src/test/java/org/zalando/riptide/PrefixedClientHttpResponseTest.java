@@ -0,0 +1,43 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static com.google.common.io.ByteStreams.toByteArray;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.OK;
+
+final class PrefixedClientHttpResponseTest {
+
+    @Test
+    void shouldReplayPrefixBeforeRemainder() throws IOException {
+        final ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getStatusCode()).thenReturn(OK);
+
+        final PrefixedClientHttpResponse unit = new PrefixedClientHttpResponse(response,
+                "Hello".getBytes(UTF_8), new ByteArrayInputStream(" World!".getBytes(UTF_8)));
+
+        assertThat(unit.getStatusCode(), is(OK));
+        assertThat(new String(toByteArray(unit.getBody()), UTF_8), is("Hello World!"));
+    }
+
+    @Test
+    void shouldCloseOriginalResponse() {
+        final ClientHttpResponse response = mock(ClientHttpResponse.class);
+        final PrefixedClientHttpResponse unit = new PrefixedClientHttpResponse(response,
+                new byte[0], new ByteArrayInputStream(new byte[0]));
+
+        unit.close();
+
+        verify(response).close();
+    }
+
+}
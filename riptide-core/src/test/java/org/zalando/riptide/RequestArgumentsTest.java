@@ -0,0 +1,30 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Answers.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+final class RequestArgumentsTest {
+
+    private final RequestArguments unit = mock(RequestArguments.class, CALLS_REAL_METHODS);
+
+    @Test
+    void shouldNotDeclareBodyTypeByDefault() {
+        assertThat(unit.getBodyType(), is(nullValue()));
+    }
+
+    @Test
+    void shouldFallBackToUntypedBodyByDefault() {
+        final RequestArguments expected = mock(RequestArguments.class);
+        doReturn(expected).when(unit).withBody("body");
+
+        assertThat(unit.withBody(String.class, "body"), is(sameInstance(expected)));
+    }
+
+}
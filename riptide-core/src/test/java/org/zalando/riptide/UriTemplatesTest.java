@@ -0,0 +1,118 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.web.util.UriComponentsBuilder.fromUriString;
+
+final class UriTemplatesTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/",
+            "/users",
+            "/users/",
+            "/users/{id}",
+            "/users/{id}/orders/{order}",
+            "/{id}",
+            "/users/{id:[0-9]+}",
+            "/users/{id}.json",
+            "/users/{}",
+            "/users/{id",
+            "/users/id}",
+            "/users/{a{b}}",
+            "/users/{a/b}",
+            "/users//{id}",
+            "//example.com/{id}",
+            "/users/{id}?foo=bar",
+            "/users/{id}#fragment",
+            "/users/{id} ",
+            "/users/{i d}",
+            "/users/{id:x}",
+            "users/{id}",
+            "https://example.com/users/{id}",
+            "https://example.com/users/{id}?q={q}&q={q}",
+    })
+    void shouldExpandTemplatesLikeSpring(final String template) {
+        final List<Object> variables = Arrays.asList("a b", "1/2", "ö", "x?y", "&");
+        assertEquals(
+                outcome(() -> spring(template, variables)),
+                outcome(() -> UriTemplates.expand(template, variables)));
+    }
+
+    static Stream<String> values() {
+        return Stream.concat(
+                IntStream.range(0, 128).mapToObj(c -> "a" + (char) c + "b"),
+                Stream.of("", "ä", "€", "🌊", "%20", "a+b", "../admin"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("values")
+    void shouldEncodeLikeSpring(final String value) {
+        final List<Object> variables = singletonList(value);
+        assertEquals(spring("/users/{id}", variables), UriTemplates.expand("/users/{id}", variables));
+    }
+
+    @Test
+    void shouldExpandNullToEmptyString() {
+        final List<Object> variables = singletonList(null);
+        assertEquals(URI.create("/users/"), UriTemplates.expand("/users/{id}", variables));
+    }
+
+    @Test
+    void shouldExpandNonStringVariables() {
+        final List<Object> variables = Arrays.asList(123, true);
+        assertEquals(spring("/users/{id}/{flag}", variables), UriTemplates.expand("/users/{id}/{flag}", variables));
+    }
+
+    @Test
+    void shouldIgnoreSuperfluousVariables() {
+        final List<Object> variables = Arrays.asList("1", "2");
+        assertEquals(URI.create("/users/1"), UriTemplates.expand("/users/{id}", variables));
+    }
+
+    @Test
+    void shouldFailOnMissingVariablesLikeSpring() {
+        final IllegalArgumentException expected = assertThrows(IllegalArgumentException.class, () ->
+                fromUriString("/users/{id}").buildAndExpand());
+        final IllegalArgumentException actual = assertThrows(IllegalArgumentException.class, () ->
+                UriTemplates.expand("/users/{id}", emptyList()));
+
+        assertEquals(expected.getMessage(), actual.getMessage());
+    }
+
+    @Test
+    void shouldExpandCachedTemplatesWithDifferentVariables() {
+        assertEquals(URI.create("/cached/1"), UriTemplates.expand("/cached/{id}", singletonList("1")));
+        assertEquals(URI.create("/cached/2"), UriTemplates.expand("/cached/{id}", singletonList("2")));
+    }
+
+    private static URI spring(final String template, final List<Object> variables) {
+        return fromUriString(template).buildAndExpand(variables.toArray()).encode().toUri();
+    }
+
+    /**
+     * Some of the more exotic templates are rejected by Spring, which is fine as long as it's consistent.
+     */
+    private static String outcome(final Supplier<URI> supplier) {
+        try {
+            return supplier.get().toString();
+        } catch (final RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+}
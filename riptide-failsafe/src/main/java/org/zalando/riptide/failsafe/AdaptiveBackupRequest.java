@@ -0,0 +1,168 @@
+package org.zalando.riptide.failsafe;
+
+import dev.failsafe.Policy;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.idempotency.IdempotencyPredicate;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A {@link BackupRequest backup request} whose delay follows a percentile of recent response times, instead of a
+ * fixed one. Response times of original requests, whether a backup request won or not, are kept per key, i.e. per
+ * client by default or e.g. per URI template, in a lock-free, decaying histogram that forgets them after one to two
+ * minutes. Until enough response times were observed, the initial delay is used.
+ *
+ * In addition, backup requests are capped at a fraction of all requests: every request earns a share of a backup
+ * request, e.g. a tenth by default, and a backup request is only sent if a whole one was earned. Unused shares pile
+ * up to a small burst of backup requests, but not beyond.
+ */
+@API(status = EXPERIMENTAL)
+public final class AdaptiveBackupRequest implements RequestPolicy {
+
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+    private static final long MIN_SAMPLES = 50;
+
+    /**
+     * Credits are counted in thousandths of a backup request.
+     */
+    private static final long COST = 1000;
+    private static final long MAX_CREDITS = 10 * COST;
+
+    private final Duration initialDelay;
+    private final double percentile;
+    private final double maxBackupRatio;
+    private final Function<RequestArguments, String> key;
+    private final Predicate<RequestArguments> predicate;
+    private final BackupRequestListener listener;
+
+    private final ConcurrentMap<String, DecayingHistogram> histograms = new ConcurrentHashMap<>();
+    private final AtomicLong credits = new AtomicLong();
+
+    public AdaptiveBackupRequest(final Duration initialDelay) {
+        this(initialDelay, 0.95, 0.1, arguments -> "", new IdempotencyPredicate(), BackupRequestListener.DEFAULT);
+    }
+
+    private AdaptiveBackupRequest(
+            final Duration initialDelay,
+            final double percentile,
+            final double maxBackupRatio,
+            final Function<RequestArguments, String> key,
+            final Predicate<RequestArguments> predicate,
+            final BackupRequestListener listener) {
+
+        if (initialDelay.isNegative()) {
+            throw new IllegalArgumentException("Initial delay must not be negative: " + initialDelay);
+        }
+
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("Percentile must be within (0, 1]: " + percentile);
+        }
+
+        if (maxBackupRatio < 0 || maxBackupRatio > 1) {
+            throw new IllegalArgumentException("Max backup ratio must be within [0, 1]: " + maxBackupRatio);
+        }
+
+        this.initialDelay = initialDelay;
+        this.percentile = percentile;
+        this.maxBackupRatio = maxBackupRatio;
+        this.key = key;
+        this.predicate = predicate;
+        this.listener = listener;
+    }
+
+    /**
+     * @param percentile the percentile of recent response times to use as delay, e.g. 0.95 (default)
+     * @return a copy of this policy, using the given percentile
+     */
+    public AdaptiveBackupRequest withPercentile(final double percentile) {
+        return new AdaptiveBackupRequest(initialDelay, percentile, maxBackupRatio, key, predicate, listener);
+    }
+
+    /**
+     * @param maxBackupRatio the highest fraction of requests that may be backed up, e.g. 0.1 (default)
+     * @return a copy of this policy, using the given ratio
+     */
+    public AdaptiveBackupRequest withMaxBackupRatio(final double maxBackupRatio) {
+        return new AdaptiveBackupRequest(initialDelay, percentile, maxBackupRatio, key, predicate, listener);
+    }
+
+    /**
+     * @param key groups requests whose response times are tracked together, e.g. by
+     *            {@link RequestArguments#getUriTemplate() URI template}, must not return {@code null}
+     * @return a copy of this policy, using the given key
+     */
+    public AdaptiveBackupRequest withKey(final Function<RequestArguments, String> key) {
+        return new AdaptiveBackupRequest(initialDelay, percentile, maxBackupRatio, key, predicate, listener);
+    }
+
+    public AdaptiveBackupRequest withPredicate(final Predicate<RequestArguments> predicate) {
+        return new AdaptiveBackupRequest(initialDelay, percentile, maxBackupRatio, key, predicate, listener);
+    }
+
+    public AdaptiveBackupRequest withListener(final BackupRequestListener listener) {
+        return new AdaptiveBackupRequest(initialDelay, percentile, maxBackupRatio, key, predicate, listener);
+    }
+
+    @Override
+    public boolean applies(final RequestArguments arguments) {
+        return predicate.test(arguments);
+    }
+
+    @Override
+    public Policy<ClientHttpResponse> prepare(final RequestArguments arguments) {
+        final long credit = Math.round(maxBackupRatio * COST);
+        credits.accumulateAndGet(credit, (current, earned) -> Math.min(current + earned, MAX_CREDITS));
+
+        final DecayingHistogram histogram = histograms.computeIfAbsent(
+                key.apply(arguments), ignored -> new DecayingHistogram(WINDOW));
+
+        final Duration delay = histogram.percentile(percentile, MIN_SAMPLES).orElse(initialDelay);
+
+        return new BackupRequest<>(delay.toNanos(), NANOSECONDS,
+                new RecordingListener(histogram, listener), this::tryBackup);
+    }
+
+    private boolean tryBackup() {
+        return credits.getAndUpdate(current -> current >= COST ? current - COST : current) >= COST;
+    }
+
+    @AllArgsConstructor
+    private static final class RecordingListener implements BackupRequestListener {
+
+        private final DecayingHistogram histogram;
+        private final BackupRequestListener listener;
+
+        @Override
+        public void onBackup() {
+            listener.onBackup();
+        }
+
+        @Override
+        public void onComplete(final Duration duration, final boolean backup) {
+            listener.onComplete(duration, backup);
+        }
+
+        /**
+         * Records the original request, instead of the winner, since a winning backup request only says how fast
+         * the second attempt was, not how slow the original one would have been.
+         */
+        @Override
+        public void onOriginalComplete(final Duration duration) {
+            histogram.record(duration);
+            listener.onOriginalComplete(duration);
+        }
+
+    }
+
+}
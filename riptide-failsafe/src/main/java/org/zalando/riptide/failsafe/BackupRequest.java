@@ -7,7 +7,9 @@ import lombok.Getter;
 import org.apiguardian.api.API;
 
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
+import static lombok.AccessLevel.PACKAGE;
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 
 @API(status = EXPERIMENTAL)
@@ -16,12 +18,30 @@ public final class BackupRequest<R> implements Policy<R> {
 
     private final long delay;
     private final TimeUnit unit;
+    private final BackupRequestListener listener;
+
+    /**
+     * Asked right before a backup request would be sent, which is skipped unless permitted.
+     */
+    @Getter(PACKAGE)
+    private final BooleanSupplier permit;
+
     private final PolicyConfig<R> config = new PolicyConfig<R>() {
     };
 
     public BackupRequest(long delay, TimeUnit unit) {
+        this(delay, unit, BackupRequestListener.DEFAULT);
+    }
+
+    public BackupRequest(long delay, TimeUnit unit, BackupRequestListener listener) {
+        this(delay, unit, listener, () -> true);
+    }
+
+    BackupRequest(long delay, TimeUnit unit, BackupRequestListener listener, BooleanSupplier permit) {
         this.delay = delay;
         this.unit = unit;
+        this.listener = listener;
+        this.permit = permit;
     }
 
     @Override
@@ -6,11 +6,13 @@ import dev.failsafe.spi.FailsafeFuture;
 import dev.failsafe.spi.PolicyExecutor;
 import dev.failsafe.spi.Scheduler;
 
+import java.time.Duration;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
@@ -32,13 +34,20 @@ final class BackupRequestExecutor<R> extends PolicyExecutor<R> {
             final FailsafeFuture<R> future) {
 
         return (asyncExecutionInternal) -> {
-            final CompletableFuture<ExecutionResult<R>> original = innerFn.apply(asyncExecutionInternal);
+            final AtomicBoolean completed = new AtomicBoolean();
+            final long start = System.nanoTime();
+
+            final CompletableFuture<ExecutionResult<R>> inner = innerFn.apply(asyncExecutionInternal);
+            final CompletableFuture<ExecutionResult<R>> original = inner
+                    .whenComplete(completeOriginal(start))
+                    .whenComplete(complete(completed, start, false));
             final CompletableFuture<ExecutionResult<R>> backup = new CompletableFuture<>();
 
-            final Future<?> scheduledBackup = delay(scheduler, backup(innerFn, asyncExecutionInternal, backup));
+            final Future<?> scheduledBackup = delay(scheduler,
+                    backup(innerFn, asyncExecutionInternal, backup, completed, start));
 
             original.whenComplete(cancel(scheduledBackup));
-            backup.whenComplete(cancel(original));
+            backup.whenComplete(cancel(inner));
 
             return anyOf(original, backup);
         };
@@ -47,9 +56,40 @@ final class BackupRequestExecutor<R> extends PolicyExecutor<R> {
     private Callable<CompletableFuture<ExecutionResult<R>>> backup(
             final Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> innerFn,
             final AsyncExecutionInternal<R> asyncExecutionInternal,
-            final CompletableFuture<ExecutionResult<R>> target) {
+            final CompletableFuture<ExecutionResult<R>> target,
+            final AtomicBoolean completed,
+            final long start) {
+
+        return () -> {
+            if (!policy.getPermit().getAsBoolean()) {
+                // the original request is left on its own
+                return null;
+            }
+
+            policy.getListener().onBackup();
+
+            return innerFn.apply(asyncExecutionInternal)
+                    .whenComplete(complete(completed, start, true))
+                    .whenComplete(forwardTo(target));
+        };
+    }
+
+    /**
+     * Reports the first request to complete, i.e. the one whose result is going to be used, but none after it.
+     */
+    private <T> BiConsumer<T, Throwable> complete(
+            final AtomicBoolean completed, final long start, final boolean backup) {
+
+        return (result, throwable) -> {
+            if (completed.compareAndSet(false, true)) {
+                policy.getListener().onComplete(Duration.ofNanos(System.nanoTime() - start), backup);
+            }
+        };
+    }
 
-        return () -> innerFn.apply(asyncExecutionInternal).whenComplete(forwardTo(target));
+    private <T> BiConsumer<T, Throwable> completeOriginal(final long start) {
+        return (result, throwable) ->
+                policy.getListener().onOriginalComplete(Duration.ofNanos(System.nanoTime() - start));
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,44 @@
+package org.zalando.riptide.failsafe;
+
+import org.apiguardian.api.API;
+
+import java.time.Duration;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+@API(status = EXPERIMENTAL)
+public interface BackupRequestListener {
+
+    BackupRequestListener DEFAULT = new BackupRequestListener() {
+        // nothing to implement, since default methods are sufficient
+    };
+
+    /**
+     * Called when the backup request of a slow request is sent.
+     */
+    default void onBackup() {
+        // nothing to do
+    }
+
+    /**
+     * Called once per request, as soon as either the original or the backup request completed, successfully or not.
+     *
+     * @param duration the time from sending the original request until the first one completed
+     * @param backup whether the backup request won
+     */
+    default void onComplete(final Duration duration, final boolean backup) {
+        // nothing to do
+    }
+
+    /**
+     * Called once per request, as soon as the original request completed, successfully or not, regardless of
+     * whether a backup request was sent. If a backup request won, the original request is cancelled, i.e. the
+     * duration is the time until then, which is a lower bound of its actual response time.
+     *
+     * @param duration the time from sending the original request until it completed
+     */
+    default void onOriginalComplete(final Duration duration) {
+        // nothing to do
+    }
+
+}
@@ -0,0 +1,148 @@
+package org.zalando.riptide.failsafe;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * A lock-free histogram of durations that only remembers recent ones. Durations are counted in log-linear buckets of
+ * microseconds, with a relative error of at most 12.5%. Two windows take turns: the current one is recorded into,
+ * the previous one is kept around and both are used to compute percentiles. Whenever a window is due again, it's
+ * cleared, i.e. every duration is forgotten after one to two window lengths.
+ */
+final class DecayingHistogram {
+
+    /**
+     * Number of buckets per power of two is {@code 2^SUB_BUCKET_BITS}.
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Durations of {@code 2^MAX_EXPONENT} microseconds, roughly 12 days, and more are counted as the longest one.
+     */
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+    private static final int BUCKETS = index(MAX_VALUE) + 1;
+
+    private final long window;
+    private final LongSupplier clock;
+
+    private final AtomicLongArray[] windows = {new AtomicLongArray(BUCKETS), new AtomicLongArray(BUCKETS)};
+    private final AtomicLong epoch;
+
+    DecayingHistogram(final Duration window) {
+        this(window, System::nanoTime);
+    }
+
+    DecayingHistogram(final Duration window, final LongSupplier clock) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Window must be positive: " + window);
+        }
+
+        this.window = window.toNanos();
+        this.clock = clock;
+        this.epoch = new AtomicLong(epoch());
+    }
+
+    void record(final Duration duration) {
+        final long micros = TimeUnit.NANOSECONDS.toMicros(duration.toNanos());
+        current().incrementAndGet(index(min(max(micros, 0), MAX_VALUE)));
+    }
+
+    /**
+     * @param quantile the percentile to compute, between 0 (exclusive) and 1 (inclusive)
+     * @param minSamples the number of recent durations needed for a meaningful result, at least 1
+     * @return the upper bound of the bucket that contains the given percentile, or nothing if there are less than
+     * {@code minSamples} recent durations
+     */
+    Optional<Duration> percentile(final double quantile, final long minSamples) {
+        current();
+
+        final long[] counts = new long[BUCKETS];
+        long total = 0;
+
+        for (int index = 0; index < BUCKETS; index++) {
+            counts[index] = windows[0].get(index) + windows[1].get(index);
+            total += counts[index];
+        }
+
+        if (total < minSamples) {
+            return Optional.empty();
+        }
+
+        final long rank = (long) Math.ceil(quantile * total);
+
+        int index = 0;
+        long seen = counts[index];
+
+        while (seen < rank) {
+            seen += counts[++index];
+        }
+
+        return Optional.of(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(upperBound(index))));
+    }
+
+    /**
+     * Clears windows that are due again, if any, before returning the current one. Concurrent callers may record
+     * into a window that was cleared just now, which is only ever the previous one and still part of percentiles.
+     */
+    private AtomicLongArray current() {
+        final long now = epoch();
+        final long previous = epoch.getAndAccumulate(now, Math::max);
+
+        if (now > previous) {
+            clear(now);
+
+            if (now - previous > 1) {
+                // nothing was recorded during the last window either
+                clear(now - 1);
+            }
+        }
+
+        return get(now);
+    }
+
+    private void clear(final long epoch) {
+        final AtomicLongArray counts = get(epoch);
+
+        for (int index = 0; index < BUCKETS; index++) {
+            counts.set(index, 0);
+        }
+    }
+
+    private AtomicLongArray get(final long epoch) {
+        return windows[(int) (epoch & 1)];
+    }
+
+    private long epoch() {
+        return Math.floorDiv(clock.getAsLong(), window);
+    }
+
+    static int index(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int mantissa = (int) (value >>> (exponent - SUB_BUCKET_BITS));
+        return (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + mantissa;
+    }
+
+    static long upperBound(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        final int shift = index / SUB_BUCKETS - 1;
+        final long mantissa = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+}
@@ -2,6 +2,7 @@ package org.zalando.riptide.failsafe;
 
 import dev.failsafe.Failsafe;
 import dev.failsafe.Policy;
+import dev.failsafe.RetryPolicy;
 import dev.failsafe.function.ContextualSupplier;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,7 +14,9 @@ import org.zalando.riptide.RequestArguments;
 import org.zalando.riptide.RequestExecution;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -33,9 +36,10 @@ public final class FailsafePlugin implements Plugin {
     private final ImList<RequestPolicy> policies;
     private final ImList<TaskDecorator> decorators;
     private final ExecutorService executorService;
+    private final RetryBudget retryBudget;
 
     public FailsafePlugin() {
-        this(vec(), vec(), null);
+        this(vec(), vec(), null, null);
     }
 
     public FailsafePlugin withPolicy(final Policy<ClientHttpResponse> policy) {
@@ -49,7 +53,7 @@ public final class FailsafePlugin implements Plugin {
     }
 
     public FailsafePlugin withPolicy(final RequestPolicy policy) {
-        return new FailsafePlugin(policies.append(policy), decorators, executorService);
+        return new FailsafePlugin(policies.append(policy), decorators, executorService, retryBudget);
     }
 
     public FailsafePlugin withExecutor(@Nullable final ExecutorService executorService) {
@@ -58,29 +62,54 @@ public final class FailsafePlugin implements Plugin {
             log.warn("The custom executorService should have a core pool size or parallelism of at least 2 in order for timeouts to work, " +
                     "see dev.failsafe.Failsafe documentation for more details");
         }
-        return new FailsafePlugin(policies, decorators, executorService);
+        return new FailsafePlugin(policies, decorators, executorService, retryBudget);
     }
 
     public FailsafePlugin withDecorator(final TaskDecorator decorator) {
-        return new FailsafePlugin(policies, decorators.append(decorator), executorService);
+        return new FailsafePlugin(policies, decorators.append(decorator), executorService, retryBudget);
+    }
+
+    /**
+     * Limits the retries of all {@link RetryPolicy retry policies} of this plugin to the given budget, which is
+     * refilled by the successful requests of this plugin. A budget is meant to be shared by all requests of a client,
+     * i.e. it should be used by one plugin only.
+     *
+     * @param retryBudget the budget to use
+     * @return a copy of this plugin, using the given budget
+     */
+    public FailsafePlugin withRetryBudget(@Nullable final RetryBudget retryBudget) {
+        return new FailsafePlugin(policies, decorators, executorService, retryBudget);
     }
 
     @Override
     public RequestExecution aroundAsync(final RequestExecution execution) {
-        return arguments -> {
-            final List<Policy<ClientHttpResponse>> policies = select(arguments);
-
-            if (policies.isEmpty()) {
-                return execution.execute(arguments);
-            } else if (executorService != null) {
-              return Failsafe.with(select(arguments))
-                        .with(executorService)
-                        .getStageAsync(decorate(execution, arguments));
-            } else {
-                return Failsafe.with(select(arguments))
-                        .getStageAsync(decorate(execution, arguments));
-            }
-        };
+        if (retryBudget == null) {
+            return arguments -> execute(execution, arguments);
+        }
+
+        return arguments -> execute(execution, arguments)
+                .whenComplete((response, throwable) -> {
+                    if (throwable == null) {
+                        retryBudget.onSuccess();
+                    }
+                });
+    }
+
+    private CompletableFuture<ClientHttpResponse> execute(
+            final RequestExecution execution, final RequestArguments arguments) throws IOException {
+
+        final List<Policy<ClientHttpResponse>> policies = select(arguments);
+
+        if (policies.isEmpty()) {
+            return execution.execute(arguments);
+        } else if (executorService != null) {
+          return Failsafe.with(policies)
+                    .with(executorService)
+                    .getStageAsync(decorate(execution, arguments));
+        } else {
+            return Failsafe.with(policies)
+                    .getStageAsync(decorate(execution, arguments));
+        }
     }
 
     private ContextualSupplier<ClientHttpResponse, CompletionStage<ClientHttpResponse>> decorate(
@@ -95,9 +124,18 @@ public final class FailsafePlugin implements Plugin {
         return policies.stream()
                 .filter(policy -> policy.applies(arguments))
                 .map(policy -> policy.prepare(arguments))
+                .map(this::limit)
                 .collect(toList());
     }
 
+    private Policy<ClientHttpResponse> limit(final Policy<ClientHttpResponse> policy) {
+        if (retryBudget != null && policy instanceof RetryPolicy) {
+            return retryBudget.limit((RetryPolicy<ClientHttpResponse>) policy);
+        }
+
+        return policy;
+    }
+
     private RequestArguments withAttempts(
             final RequestArguments arguments,
             final int attempts) {
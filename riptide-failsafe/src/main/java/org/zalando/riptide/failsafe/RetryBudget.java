@@ -0,0 +1,141 @@
+package org.zalando.riptide.failsafe;
+
+import dev.failsafe.RetryPolicy;
+import org.apiguardian.api.API;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A budget for retries that is shared by all requests of a client. Every successful request deposits a fraction of a
+ * retry, e.g. a fifth by default, and every retry withdraws a whole one, i.e. retries are limited to a percentage of
+ * successful requests. The balance is capped, so that a long period without failures doesn't save up for a retry
+ * storm. On top of that, a minimum number of retries per second is always permitted, so that clients with little
+ * traffic can still retry.
+ *
+ * Retries that exceed the budget are skipped: the failed attempt becomes the result of the request, as if the retry
+ * policy had been aborted. Only failures that would actually be retried withdraw from the budget, i.e. neither the
+ * failure of the last permitted attempt nor one that matches an abort condition of the retry policy.
+ *
+ * @see FailsafePlugin#withRetryBudget(RetryBudget)
+ */
+@API(status = EXPERIMENTAL)
+public final class RetryBudget {
+
+    /**
+     * The balance is counted in thousandths of a retry.
+     */
+    private static final long COST = 1000;
+    private static final long MAX_BALANCE = 100 * COST;
+
+    private final long deposit;
+    private final int minRetriesPerSecond;
+    private final LongSupplier clock;
+    private final long start;
+
+    private final AtomicLong balance = new AtomicLong();
+
+    /**
+     * The second since {@link #start} in the upper and the retries permitted during that second in the lower half.
+     */
+    private final AtomicLong reserve = new AtomicLong();
+
+    private final LongAdder denials = new LongAdder();
+
+    public RetryBudget() {
+        this(0.2, 10);
+    }
+
+    /**
+     * @param ratio the fraction of a retry that every successful request deposits, e.g. 0.2 (default)
+     * @param minRetriesPerSecond the number of retries that are permitted every second regardless of the balance,
+     *                            e.g. 10 (default)
+     */
+    public RetryBudget(final double ratio, final int minRetriesPerSecond) {
+        this(ratio, minRetriesPerSecond, System::nanoTime);
+    }
+
+    RetryBudget(final double ratio, final int minRetriesPerSecond, final LongSupplier clock) {
+        if (ratio < 0) {
+            throw new IllegalArgumentException("Ratio must not be negative: " + ratio);
+        }
+
+        if (minRetriesPerSecond < 0) {
+            throw new IllegalArgumentException(
+                    "Min retries per second must not be negative: " + minRetriesPerSecond);
+        }
+
+        this.deposit = Math.round(ratio * COST);
+        this.minRetriesPerSecond = minRetriesPerSecond;
+        this.clock = clock;
+        this.start = clock.getAsLong();
+    }
+
+    /**
+     * @return the number of retries that the balance allows right now, not including the minimum per second
+     */
+    public double getBalance() {
+        return (double) balance.get() / COST;
+    }
+
+    /**
+     * @return the number of retries that were skipped, since the budget was exhausted
+     */
+    public long getDenials() {
+        return denials.sum();
+    }
+
+    void onSuccess() {
+        balance.accumulateAndGet(deposit, (current, amount) -> Math.min(current + amount, MAX_BALANCE));
+    }
+
+    boolean tryAcquire() {
+        if (tryReserve() || tryWithdraw()) {
+            return true;
+        }
+
+        denials.increment();
+        return false;
+    }
+
+    /**
+     * The returned policy counts the failed attempts of an execution, i.e. it must not be shared between executions.
+     * Abort conditions are evaluated in order, so the budget is only asked once all of the policy's own abort
+     * conditions didn't match.
+     */
+    <R> RetryPolicy<R> limit(final RetryPolicy<R> policy) {
+        final int maxRetries = policy.getConfig().getMaxRetries();
+        final AtomicInteger failures = new AtomicInteger();
+
+        return RetryPolicy.builder(policy.getConfig())
+                .abortIf((result, failure) -> {
+                    final boolean exceeded = maxRetries != -1 && failures.incrementAndGet() > maxRetries;
+                    return !exceeded && !tryAcquire();
+                })
+                .build();
+    }
+
+    private boolean tryReserve() {
+        final long second = NANOSECONDS.toSeconds(clock.getAsLong() - start);
+        final long previous = reserve.getAndUpdate(state -> permit(current(state, second)));
+        return (int) current(previous, second) < minRetriesPerSecond;
+    }
+
+    private boolean tryWithdraw() {
+        return balance.getAndUpdate(current -> current >= COST ? current - COST : current) >= COST;
+    }
+
+    private long current(final long state, final long second) {
+        return state >>> Integer.SIZE == second ? state : second << Integer.SIZE;
+    }
+
+    private long permit(final long state) {
+        return (int) state < minRetriesPerSecond ? state + 1 : state;
+    }
+
+}
@@ -0,0 +1,74 @@
+package org.zalando.riptide.failsafe.metrics;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import org.apiguardian.api.API;
+import org.zalando.riptide.failsafe.BackupRequestListener;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Suppliers.memoize;
+import static com.google.common.collect.ImmutableList.copyOf;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Counts backup requests that were sent ({@code <metricName>.fired}) and those that completed before their original
+ * request ({@code <metricName>.won}).
+ */
+@API(status = EXPERIMENTAL)
+public final class MetricsBackupRequestListener implements BackupRequestListener {
+
+    private final MeterRegistry registry;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    /**
+     * Built once, on first use, so that intermediate copies created by the withers don't register any meters.
+     */
+    private final Supplier<Counter> fired;
+    private final Supplier<Counter> won;
+
+    public MetricsBackupRequestListener(final MeterRegistry registry) {
+        this(registry, "http.client.backup-requests", ImmutableList.of());
+    }
+
+    private MetricsBackupRequestListener(
+            final MeterRegistry registry,
+            final String metricName,
+            final ImmutableList<Tag> defaultTags) {
+
+        this.registry = registry;
+        this.metricName = metricName;
+        this.defaultTags = defaultTags;
+        this.fired = memoize(() -> registry.counter(metricName + ".fired", defaultTags));
+        this.won = memoize(() -> registry.counter(metricName + ".won", defaultTags));
+    }
+
+    public MetricsBackupRequestListener withMetricName(final String metricName) {
+        return new MetricsBackupRequestListener(registry, metricName, defaultTags);
+    }
+
+    public MetricsBackupRequestListener withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(copyOf(defaultTags));
+    }
+
+    public MetricsBackupRequestListener withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new MetricsBackupRequestListener(registry, metricName, copyOf(defaultTags));
+    }
+
+    @Override
+    public void onBackup() {
+        fired.get().increment();
+    }
+
+    @Override
+    public void onComplete(final Duration duration, final boolean backup) {
+        if (backup) {
+            won.get().increment();
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+package org.zalando.riptide.failsafe.metrics;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.zalando.riptide.failsafe.RetryBudget;
+
+import static com.google.common.collect.ImmutableList.copyOf;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class RetryBudgetMetrics implements MeterBinder {
+
+    private static final String RETRIES = "retries";
+
+    private final RetryBudget budget;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    public RetryBudgetMetrics(final RetryBudget budget) {
+        this(budget, "http.client.retry-budget", ImmutableList.of());
+    }
+
+    public RetryBudgetMetrics withMetricName(final String metricName) {
+        return new RetryBudgetMetrics(budget, metricName, defaultTags);
+    }
+
+    public RetryBudgetMetrics withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(copyOf(defaultTags));
+    }
+
+    public RetryBudgetMetrics withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new RetryBudgetMetrics(budget, metricName, copyOf(defaultTags));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder(metricName + ".remaining", budget, RetryBudget::getBalance)
+                .description("The number of retries that the budget allows right now")
+                .baseUnit(RETRIES)
+                .tags(defaultTags)
+                .register(registry);
+
+        FunctionCounter.builder(metricName + ".denied", budget, RetryBudget::getDenials)
+                .description("The number of retries that were skipped, since the budget was exhausted")
+                .baseUnit(RETRIES)
+                .tags(defaultTags)
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,161 @@
+package org.zalando.riptide.failsafe;
+
+import dev.failsafe.Policy;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
+
+final class AdaptiveBackupRequestTest {
+
+    private final RequestArguments arguments = RequestArguments.create()
+            .withMethod(GET)
+            .withUriTemplate("/search");
+
+    private final AdaptiveBackupRequest unit = new AdaptiveBackupRequest(Duration.ofSeconds(1));
+
+    @Test
+    void rejectsNegativeInitialDelay() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new AdaptiveBackupRequest(Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    void rejectsPercentileOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> unit.withPercentile(0));
+        assertThrows(IllegalArgumentException.class, () -> unit.withPercentile(1.5));
+    }
+
+    @Test
+    void rejectsMaxBackupRatioOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> unit.withMaxBackupRatio(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> unit.withMaxBackupRatio(1.1));
+    }
+
+    @Test
+    void appliesToIdempotentRequestsOnly() {
+        assertThat(unit.applies(arguments)).isTrue();
+        assertThat(unit.applies(arguments.withMethod(POST))).isFalse();
+    }
+
+    @Test
+    void appliesToCustomPredicate() {
+        assertThat(unit.withPredicate(arguments -> true).applies(arguments.withMethod(POST))).isTrue();
+    }
+
+    @Test
+    void usesInitialDelayUntilEnoughResponseTimesWereObserved() {
+        final AdaptiveBackupRequest unit = this.unit.withPercentile(0.5);
+
+        for (int millis = 1; millis < 50; millis++) {
+            complete(unit.prepare(arguments), Duration.ofMillis(millis));
+        }
+
+        assertThat(delay(unit.prepare(arguments))).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void usesPercentileOfRecentResponseTimes() {
+        final AdaptiveBackupRequest unit = this.unit.withPercentile(0.5);
+
+        for (int millis = 1; millis <= 100; millis++) {
+            complete(unit.prepare(arguments), Duration.ofMillis(millis));
+        }
+
+        assertThat(delay(unit.prepare(arguments))).isBetween(Duration.ofMillis(50), Duration.ofMillis(57));
+    }
+
+    @Test
+    void tracksResponseTimesPerKey() {
+        final AdaptiveBackupRequest unit = this.unit.withKey(RequestArguments::getUriTemplate);
+
+        for (int millis = 1; millis <= 100; millis++) {
+            complete(unit.prepare(arguments), Duration.ofMillis(millis));
+        }
+
+        assertThat(delay(unit.prepare(arguments))).isLessThan(Duration.ofSeconds(1));
+        assertThat(delay(unit.prepare(arguments.withUriTemplate("/users/{id}"))))
+                .isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void capsBackupRequestsAtMaxRatio() {
+        final AdaptiveBackupRequest unit = this.unit.withMaxBackupRatio(0.5);
+
+        assertThat(permits(unit.prepare(arguments))).isFalse();
+        assertThat(permits(unit.prepare(arguments))).isTrue();
+        assertThat(permits(unit.prepare(arguments))).isFalse();
+    }
+
+    @Test
+    void limitsBurstOfBackupRequests() {
+        final AdaptiveBackupRequest unit = this.unit.withMaxBackupRatio(1);
+
+        for (int i = 0; i < 20; i++) {
+            unit.prepare(arguments);
+        }
+
+        final Policy<ClientHttpResponse> policy = unit.prepare(arguments);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(permits(policy)).isTrue();
+        }
+
+        assertThat(permits(policy)).isFalse();
+    }
+
+    @Test
+    void notifiesListener() {
+        final BackupRequestListener listener = mock(BackupRequestListener.class);
+        final BackupRequest<ClientHttpResponse> policy = cast(unit.withListener(listener).prepare(arguments));
+
+        policy.getListener().onBackup();
+        policy.getListener().onComplete(Duration.ofMillis(10), true);
+        policy.getListener().onOriginalComplete(Duration.ofMillis(20));
+
+        verify(listener).onBackup();
+        verify(listener).onComplete(Duration.ofMillis(10), true);
+        verify(listener).onOriginalComplete(Duration.ofMillis(20));
+    }
+
+    @Test
+    void recordsOriginalRequestsOnly() {
+        final AdaptiveBackupRequest unit = this.unit.withPercentile(0.5);
+
+        for (int millis = 1; millis <= 100; millis++) {
+            final BackupRequest<ClientHttpResponse> policy = cast(unit.prepare(arguments));
+            policy.getListener().onComplete(Duration.ofMillis(1), true);
+            policy.getListener().onOriginalComplete(Duration.ofMillis(millis));
+        }
+
+        assertThat(delay(unit.prepare(arguments))).isBetween(Duration.ofMillis(50), Duration.ofMillis(57));
+    }
+
+    private static void complete(final Policy<ClientHttpResponse> policy, final Duration duration) {
+        cast(policy).getListener().onOriginalComplete(duration);
+        cast(policy).getListener().onComplete(duration, false);
+    }
+
+    private static Duration delay(final Policy<ClientHttpResponse> policy) {
+        final BackupRequest<ClientHttpResponse> backupRequest = cast(policy);
+        return Duration.of(backupRequest.getDelay(), backupRequest.getUnit().toChronoUnit());
+    }
+
+    private static boolean permits(final Policy<ClientHttpResponse> policy) {
+        return cast(policy).getPermit().getAsBoolean();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BackupRequest<ClientHttpResponse> cast(final Policy<ClientHttpResponse> policy) {
+        return (BackupRequest<ClientHttpResponse>) policy;
+    }
+
+}
@@ -0,0 +1,103 @@
+package org.zalando.riptide.failsafe;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class DecayingHistogramTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final Duration window = Duration.ofSeconds(10);
+    private final DecayingHistogram unit = new DecayingHistogram(window, clock::get);
+
+    @Test
+    void rejectsNonPositiveWindow() {
+        assertThrows(IllegalArgumentException.class, () -> new DecayingHistogram(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new DecayingHistogram(Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    void bucketsHaveBoundedRelativeError() {
+        for (long value = 0; value < 100_000; value++) {
+            final long upperBound = DecayingHistogram.upperBound(DecayingHistogram.index(value));
+
+            assertThat(upperBound).isGreaterThanOrEqualTo(value);
+            assertThat(upperBound - value).isLessThanOrEqualTo(value / 8);
+        }
+    }
+
+    @Test
+    void requiresMinimumSamples() {
+        record(1, 100);
+
+        assertThat(unit.percentile(0.95, 101)).isEmpty();
+        assertThat(unit.percentile(0.95, 100)).isPresent();
+    }
+
+    @Test
+    void computesPercentiles() {
+        record(1, 100);
+
+        assertThat(millis(unit.percentile(0.5, 1))).isBetween(50L, 57L);
+        assertThat(millis(unit.percentile(0.95, 1))).isBetween(95L, 107L);
+        assertThat(millis(unit.percentile(1.0, 1))).isBetween(100L, 112L);
+    }
+
+    @Test
+    void clampsOutOfRangeDurations() {
+        unit.record(Duration.ofMillis(-1));
+        unit.record(Duration.ofDays(100));
+
+        assertThat(unit.percentile(0.5, 1)).contains(Duration.ZERO);
+        assertThat(unit.percentile(1.0, 1).orElseThrow()).isGreaterThan(Duration.ofDays(10));
+    }
+
+    @Test
+    void forgetsDurationsAfterTwoWindows() {
+        record(1, 100);
+
+        clock.addAndGet(window.toNanos());
+        assertThat(unit.percentile(0.95, 100)).isPresent();
+
+        clock.addAndGet(window.toNanos());
+        assertThat(unit.percentile(0.95, 1)).isEmpty();
+    }
+
+    @Test
+    void forgetsBothWindowsAfterBeingIdle() {
+        record(1, 100);
+        clock.addAndGet(window.toNanos());
+        record(1, 100);
+
+        clock.addAndGet(2 * window.toNanos());
+
+        assertThat(unit.percentile(0.95, 1)).isEmpty();
+    }
+
+    @Test
+    void toleratesClockGoingBackwards() {
+        clock.addAndGet(window.toNanos());
+        record(1, 100);
+
+        clock.addAndGet(-window.toNanos());
+        record(1, 100);
+
+        assertThat(unit.percentile(0.95, 200)).isPresent();
+    }
+
+    private void record(final int from, final int to) {
+        for (int millis = from; millis <= to; millis++) {
+            unit.record(Duration.ofMillis(millis));
+        }
+    }
+
+    private static long millis(final Optional<Duration> duration) {
+        return duration.orElseThrow().toMillis();
+    }
+
+}
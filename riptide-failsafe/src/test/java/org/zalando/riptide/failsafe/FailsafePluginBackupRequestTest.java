@@ -7,11 +7,13 @@ import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.zalando.riptide.Http;
 import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
@@ -21,6 +23,11 @@ import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.springframework.http.HttpMethod.POST;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.Series.SERVER_ERROR;
@@ -154,4 +161,72 @@ final class FailsafePluginBackupRequestTest {
         verify(server, 2, "/bar");
     }
 
+    @Test
+    void shouldNotifyListenerAboutWinningBackupRequest() throws Throwable {
+        final BackupRequestListener listener = mock(BackupRequestListener.class);
+
+        final Http unit = Http.builder()
+                .executor(executor)
+                .requestFactory(factory)
+                .baseUrl(getBaseUrl(server))
+                .plugin(new FailsafePlugin()
+                    .withPolicy(new BackupRequest<>(1, SECONDS, listener)))
+                .build();
+
+        server.enqueue(emptyMockResponse().setHeadersDelay(2, SECONDS));
+        server.enqueue(emptyMockResponse());
+
+        unit.get("/bar")
+                .call(pass())
+                .get(1500, TimeUnit.MILLISECONDS);
+
+        verify(server, 2, "/bar");
+        Mockito.verify(listener).onBackup();
+        Mockito.verify(listener).onComplete(
+                argThat(duration -> duration.compareTo(Duration.ofSeconds(1)) >= 0), eq(true));
+        Mockito.verify(listener, timeout(1000)).onOriginalComplete(
+                argThat(duration -> duration.compareTo(Duration.ofSeconds(1)) >= 0));
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    void shouldNotSendBackupRequestIfNotPermitted() {
+        final Http unit = Http.builder()
+                .executor(executor)
+                .requestFactory(factory)
+                .baseUrl(getBaseUrl(server))
+                .plugin(new FailsafePlugin()
+                    .withPolicy(new BackupRequest<>(1, SECONDS, BackupRequestListener.DEFAULT, () -> false)))
+                .build();
+
+        server.enqueue(emptyMockResponse().setHeadersDelay(2, SECONDS));
+
+        unit.get("/bar")
+                .call(pass())
+                .join();
+
+        verify(server, 1, "/bar");
+    }
+
+    @Test
+    void shouldUseAdaptiveBackupRequest() throws Throwable {
+        final Http unit = Http.builder()
+                .executor(executor)
+                .requestFactory(factory)
+                .baseUrl(getBaseUrl(server))
+                .plugin(new FailsafePlugin()
+                    .withPolicy(new AdaptiveBackupRequest(Duration.ofSeconds(1))
+                        .withMaxBackupRatio(1)))
+                .build();
+
+        server.enqueue(emptyMockResponse().setHeadersDelay(2, SECONDS));
+        server.enqueue(emptyMockResponse());
+
+        unit.get("/bar")
+                .call(pass())
+                .get(1500, TimeUnit.MILLISECONDS);
+
+        verify(server, 2, "/bar");
+    }
+
 }
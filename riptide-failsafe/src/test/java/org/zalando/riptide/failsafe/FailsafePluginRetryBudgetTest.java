@@ -0,0 +1,116 @@
+package org.zalando.riptide.failsafe;
+
+import dev.failsafe.RetryPolicy;
+import dev.failsafe.Timeout;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.zalando.riptide.Bindings.anySeries;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.Navigators.status;
+import static org.zalando.riptide.PassRoute.pass;
+import static org.zalando.riptide.failsafe.MockWebServerUtil.emptyMockResponse;
+import static org.zalando.riptide.failsafe.MockWebServerUtil.getBaseUrl;
+import static org.zalando.riptide.failsafe.MockWebServerUtil.verify;
+import static org.zalando.riptide.failsafe.RetryRoute.retry;
+
+final class FailsafePluginRetryBudgetTest {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final CloseableHttpClient client = HttpClientBuilder.create().build();
+
+    private final RetryBudget budget = new RetryBudget(1, 0);
+
+    private final Http unit = Http.builder()
+            .executor(newFixedThreadPool(2))
+            .requestFactory(new ApacheClientHttpRequestFactory(client))
+            .baseUrl(getBaseUrl(server))
+            .plugin(new FailsafePlugin()
+                    .withPolicy(new RetryRequestPolicy(
+                            RetryPolicy.<ClientHttpResponse>builder()
+                                    .handle(RetryException.class)
+                                    .withMaxRetries(3)
+                                    .build()))
+                    .withPolicy(Timeout.of(Duration.ofSeconds(5)))
+                    .withRetryBudget(budget))
+            .build();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    void shouldNotRetryWithoutBudget() {
+        server.enqueue(new MockResponse().setResponseCode(SERVICE_UNAVAILABLE.value()));
+
+        assertThrows(CompletionException.class, this::call);
+
+        verify(server, 1, "/foo");
+        assertEquals(1, budget.getDenials());
+    }
+
+    @Test
+    void shouldRetryWithinBudgetOfSuccessfulRequests() {
+        server.enqueue(emptyMockResponse());
+        server.enqueue(new MockResponse().setResponseCode(SERVICE_UNAVAILABLE.value()));
+        server.enqueue(new MockResponse().setResponseCode(SERVICE_UNAVAILABLE.value()));
+        server.enqueue(new MockResponse().setResponseCode(SERVICE_UNAVAILABLE.value()));
+
+        call();
+        assertEquals(1.0, budget.getBalance());
+
+        assertThrows(CompletionException.class, this::call);
+
+        verify(server, 3, "/foo");
+        assertEquals(0.0, budget.getBalance());
+        assertEquals(1, budget.getDenials());
+    }
+
+    @Test
+    void shouldNotPayForRetriesThatAreUsedUp() {
+        for (int i = 0; i < 5; i++) {
+            server.enqueue(emptyMockResponse());
+            call();
+        }
+
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse().setResponseCode(SERVICE_UNAVAILABLE.value()));
+        }
+
+        assertThrows(CompletionException.class, this::call);
+
+        verify(server, 9, "/foo");
+        assertEquals(2.0, budget.getBalance());
+        assertEquals(0, budget.getDenials());
+    }
+
+    private void call() {
+        unit.get("/foo")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()),
+                        anySeries().dispatch(status(),
+                                on(SERVICE_UNAVAILABLE).call(retry())))
+                .join();
+    }
+
+}
@@ -0,0 +1,139 @@
+package org.zalando.riptide.failsafe;
+
+import dev.failsafe.Failsafe;
+import dev.failsafe.RetryPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class RetryBudgetTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void startsEmpty() {
+        final RetryBudget unit = new RetryBudget();
+
+        assertThat(unit.getBalance()).isZero();
+        assertThat(unit.getDenials()).isZero();
+    }
+
+    @Test
+    void rejectsNegativeRatio() {
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudget(-0.1, 10));
+    }
+
+    @Test
+    void rejectsNegativeMinRetriesPerSecond() {
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudget(0.2, -1));
+    }
+
+    @Test
+    void permitsMinRetriesPerSecond() {
+        final RetryBudget unit = new RetryBudget(0.2, 2, clock::get);
+
+        assertThat(unit.tryAcquire()).isTrue();
+        assertThat(unit.tryAcquire()).isTrue();
+        assertThat(unit.tryAcquire()).isFalse();
+        assertThat(unit.getDenials()).isEqualTo(1);
+
+        clock.addAndGet(SECONDS.toNanos(1));
+
+        assertThat(unit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void permitsRetriesForSuccessfulRequests() {
+        final RetryBudget unit = new RetryBudget(0.5, 0, clock::get);
+
+        assertThat(unit.tryAcquire()).isFalse();
+
+        unit.onSuccess();
+        unit.onSuccess();
+        assertThat(unit.getBalance()).isEqualTo(1.0);
+
+        assertThat(unit.tryAcquire()).isTrue();
+        assertThat(unit.tryAcquire()).isFalse();
+        assertThat(unit.getBalance()).isZero();
+        assertThat(unit.getDenials()).isEqualTo(2);
+    }
+
+    @Test
+    void capsBalance() {
+        final RetryBudget unit = new RetryBudget(1, 0, clock::get);
+
+        for (int i = 0; i < 200; i++) {
+            unit.onSuccess();
+        }
+
+        assertThat(unit.getBalance()).isEqualTo(100.0);
+    }
+
+    @Test
+    void abortsRetriesOnceExhausted() {
+        final RetryBudget unit = new RetryBudget(0.2, 1, clock::get);
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final RetryPolicy<Object> policy = unit.limit(RetryPolicy.builder()
+                .withMaxRetries(3)
+                .build());
+
+        assertThrows(IllegalStateException.class, () ->
+                Failsafe.with(policy).run(() -> {
+                    attempts.incrementAndGet();
+                    throw new IllegalStateException();
+                }));
+
+        assertThat(attempts).hasValue(2);
+        assertThat(unit.getDenials()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotPayForLastAttempt() {
+        final RetryBudget unit = new RetryBudget(1, 0, clock::get);
+        final AtomicInteger attempts = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            unit.onSuccess();
+        }
+
+        final RetryPolicy<Object> policy = unit.limit(RetryPolicy.builder()
+                .withMaxRetries(2)
+                .build());
+
+        assertThrows(IllegalStateException.class, () ->
+                Failsafe.with(policy).run(() -> {
+                    attempts.incrementAndGet();
+                    throw new IllegalStateException();
+                }));
+
+        assertThat(attempts).hasValue(3);
+        assertThat(unit.getBalance()).isEqualTo(3.0);
+        assertThat(unit.getDenials()).isZero();
+    }
+
+    @Test
+    void doesNotPayForAbortedRetries() {
+        final RetryBudget unit = new RetryBudget(1, 0, clock::get);
+        unit.onSuccess();
+
+        final RetryPolicy<Object> policy = unit.limit(RetryPolicy.builder()
+                .abortOn(IllegalArgumentException.class)
+                .withMaxRetries(-1)
+                .build());
+
+        assertThrows(IllegalArgumentException.class, () ->
+                Failsafe.with(policy).run(() -> {
+                    throw new IllegalArgumentException();
+                }));
+
+        assertThat(unit.getBalance()).isEqualTo(1.0);
+        assertThat(unit.getDenials()).isZero();
+    }
+
+}
@@ -0,0 +1,40 @@
+package org.zalando.riptide.failsafe.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.zalando.riptide.failsafe.BackupRequestListener;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class MetricsBackupRequestListenerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BackupRequestListener unit = new MetricsBackupRequestListener(registry)
+            .withMetricName("backup-requests")
+            .withDefaultTags(Tag.of("test", "true"));
+
+    @Test
+    void shouldCountFiredAndWonBackupRequests() {
+        unit.onBackup();
+        unit.onComplete(Duration.ofMillis(10), true);
+        unit.onBackup();
+        unit.onComplete(Duration.ofMillis(10), false);
+        unit.onComplete(Duration.ofMillis(10), false);
+
+        assertEquals(2, registry.get("backup-requests.fired").tag("test", "true").counter().count());
+        assertEquals(1, registry.get("backup-requests.won").tag("test", "true").counter().count());
+    }
+
+    @Test
+    void shouldNotRegisterCountersOfIntermediateCopies() {
+        unit.onBackup();
+
+        assertTrue(registry.find("http.client.backup-requests.fired").counters().isEmpty());
+        assertEquals(1, registry.find("backup-requests.fired").counters().size());
+    }
+
+}
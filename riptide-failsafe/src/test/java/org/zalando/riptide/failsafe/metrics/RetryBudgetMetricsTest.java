@@ -0,0 +1,25 @@
+package org.zalando.riptide.failsafe.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.zalando.riptide.failsafe.RetryBudget;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class RetryBudgetMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldMeasureBudget() {
+        new RetryBudgetMetrics(new RetryBudget())
+                .withMetricName("retry-budget")
+                .withDefaultTags(Tag.of("test", "true"))
+                .bindTo(registry);
+
+        assertEquals(0.0, registry.get("retry-budget.remaining").tag("test", "true").gauge().value());
+        assertEquals(0.0, registry.get("retry-budget.denied").tag("test", "true").functionCounter().count());
+    }
+
+}
@@ -0,0 +1,68 @@
+package org.zalando.riptide.httpclient.async;
+
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apiguardian.api.API;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.AsyncClient;
+import org.zalando.riptide.RequestArguments;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * An {@link AsyncClient} backed by Apache's {@link CloseableHttpAsyncClient}. No thread is blocked while waiting for a
+ * response. Request and response bodies are streamed: the request body is written by the calling thread, which only
+ * blocks if the connection can't keep up, and the response body is read on demand by whoever consumes it. Returned
+ * futures are completed on the given {@link Executor executor} as soon as the response headers arrived, since reading
+ * the body on one of the client's I/O reactor threads would block it forever.
+ */
+@API(status = EXPERIMENTAL)
+public final class ApacheAsyncClient implements AsyncClient, DisposableBean {
+
+    private final CloseableHttpAsyncClient client;
+    private final Executor executor;
+
+    /**
+     * @param client the client to use, will be started if it hasn't been started already
+     */
+    public ApacheAsyncClient(final CloseableHttpAsyncClient client) {
+        this(client, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param client the client to use, will be started if it hasn't been started already
+     * @param executor the executor to complete futures on, i.e. to run routes on
+     */
+    public ApacheAsyncClient(final CloseableHttpAsyncClient client, final Executor executor) {
+        this.client = client;
+        this.executor = executor;
+        client.start();
+    }
+
+    @Override
+    public CompletableFuture<ClientHttpResponse> execute(final RequestArguments arguments) throws IOException {
+        final ApacheAsyncClientHttpRequest request = new ApacheAsyncClientHttpRequest(
+                client, executor, arguments.getMethod(), arguments.getRequestUri());
+
+        arguments.getHeaders().forEach(request.getHeaders()::addAll);
+
+        try {
+            arguments.getEntity().writeTo(request);
+            return request.execute();
+        } catch (final IOException | RuntimeException e) {
+            request.abort();
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        client.close();
+    }
+
+}
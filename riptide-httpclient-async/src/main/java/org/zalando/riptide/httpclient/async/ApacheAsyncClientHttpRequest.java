@@ -0,0 +1,104 @@
+package org.zalando.riptide.httpclient.async;
+
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.http.message.BasicHttpRequest;
+import org.apache.hc.core5.http.nio.support.BasicRequestProducer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.springframework.http.HttpHeaders.CONTENT_LENGTH;
+import static org.springframework.http.HttpHeaders.TRANSFER_ENCODING;
+
+/**
+ * Sends the request as soon as its headers are complete, i.e. once the body is about to be written, so that the body
+ * can be streamed rather than buffered.
+ */
+final class ApacheAsyncClientHttpRequest implements StreamingHttpOutputMessage {
+
+    private final HttpHeaders headers = new HttpHeaders();
+    private final CloseableHttpAsyncClient client;
+    private final StreamingResponseConsumer consumer;
+    private final HttpMethod method;
+    private final URI uri;
+
+    @Nullable
+    private StreamingEntityProducer producer;
+
+    @Nullable
+    private Body body;
+
+    ApacheAsyncClientHttpRequest(final CloseableHttpAsyncClient client, final Executor executor,
+            final HttpMethod method, final URI uri) {
+        this.client = client;
+        this.consumer = new StreamingResponseConsumer(executor);
+        this.method = method;
+        this.uri = uri;
+    }
+
+    @Nonnull
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Nonnull
+    @Override
+    public OutputStream getBody() {
+        if (producer == null) {
+            producer = new StreamingEntityProducer(headers);
+            send(producer);
+        }
+        return producer.getStream();
+    }
+
+    @Override
+    public void setBody(final Body body) {
+        this.body = body;
+    }
+
+    CompletableFuture<ClientHttpResponse> execute() throws IOException {
+        if (body != null) {
+            body.writeTo(getBody());
+        }
+
+        if (producer == null) {
+            send(null);
+        } else {
+            producer.complete();
+        }
+
+        return consumer.getResponse();
+    }
+
+    void abort() {
+        if (producer != null) {
+            producer.releaseResources();
+        }
+        consumer.cancel();
+    }
+
+    private void send(@Nullable final StreamingEntityProducer producer) {
+        final BasicHttpRequest request = new BasicHttpRequest(method.name(), uri);
+
+        headers.forEach((name, values) ->
+                values.forEach(value ->
+                        request.addHeader(name, value)));
+
+        // framing is up to the client, based on the entity
+        request.removeHeaders(CONTENT_LENGTH);
+        request.removeHeaders(TRANSFER_ENCODING);
+
+        consumer.bind(client.execute(new BasicRequestProducer(request, producer), consumer, null));
+    }
+
+}
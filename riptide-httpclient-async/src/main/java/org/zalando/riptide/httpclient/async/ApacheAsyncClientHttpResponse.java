@@ -0,0 +1,60 @@
+package org.zalando.riptide.httpclient.async;
+
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nonnull;
+import java.io.InputStream;
+
+import static com.google.common.io.Closeables.closeQuietly;
+import static java.util.Objects.requireNonNullElse;
+
+final class ApacheAsyncClientHttpResponse implements ClientHttpResponse {
+
+    private final HttpHeaders headers = new HttpHeaders();
+    private final HttpResponse response;
+    private final InputStream body;
+
+    ApacheAsyncClientHttpResponse(final HttpResponse response, final InputStream body) {
+        this.response = response;
+        this.body = body;
+
+        for (final Header header : response.getHeaders()) {
+            this.headers.add(header.getName(), header.getValue());
+        }
+    }
+
+    @Nonnull
+    @Override
+    public HttpStatusCode getStatusCode() {
+        return HttpStatusCode.valueOf(response.getCode());
+    }
+
+    @Nonnull
+    @Override
+    public String getStatusText() {
+        // HTTP/2 doesn't have reason phrases
+        return requireNonNullElse(response.getReasonPhrase(), "");
+    }
+
+    @Nonnull
+    @Override
+    public InputStream getBody() {
+        return body;
+    }
+
+    @Nonnull
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(body);
+    }
+
+}
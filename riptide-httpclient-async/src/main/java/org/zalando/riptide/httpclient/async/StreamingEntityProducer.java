@@ -0,0 +1,100 @@
+package org.zalando.riptide.httpclient.async;
+
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+import org.apache.hc.core5.http.nio.support.classic.ContentOutputStream;
+import org.apache.hc.core5.http.nio.support.classic.SharedOutputBuffer;
+import org.springframework.http.HttpHeaders;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+
+/**
+ * Passes whatever is written to its {@link #getStream() stream} on to the I/O reactor. Writers block while the buffer
+ * is full, until the reactor flushed it.
+ */
+final class StreamingEntityProducer implements AsyncEntityProducer {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final SharedOutputBuffer buffer = new SharedOutputBuffer(BUFFER_SIZE);
+    private final OutputStream stream = new ContentOutputStream(buffer);
+
+    private final HttpHeaders headers;
+
+    StreamingEntityProducer(final HttpHeaders headers) {
+        this.headers = headers;
+    }
+
+    OutputStream getStream() {
+        return stream;
+    }
+
+    void complete() throws IOException {
+        buffer.writeCompleted();
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return false;
+    }
+
+    @Override
+    public int available() {
+        return buffer.length();
+    }
+
+    @Override
+    public void produce(final DataStreamChannel channel) throws IOException {
+        buffer.flush(channel);
+    }
+
+    @Override
+    public long getContentLength() {
+        // -1 if unknown, i.e. chunked
+        return headers.getContentLength();
+    }
+
+    @Nullable
+    @Override
+    public String getContentType() {
+        return headers.getFirst(CONTENT_TYPE);
+    }
+
+    @Nullable
+    @Override
+    public String getContentEncoding() {
+        return headers.getFirst(CONTENT_ENCODING);
+    }
+
+    @Override
+    public boolean isChunked() {
+        return false;
+    }
+
+    @Override
+    public Set<String> getTrailerNames() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public void failed(final Exception cause) {
+        buffer.abort();
+    }
+
+    /**
+     * Unblocks the writer, if the exchange ended before the body was written completely, e.g. because the server
+     * responded early.
+     */
+    @Override
+    public void releaseResources() {
+        buffer.abort();
+    }
+
+}
@@ -0,0 +1,165 @@
+package org.zalando.riptide.httpclient.async;
+
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.nio.AsyncResponseConsumer;
+import org.apache.hc.core5.http.nio.CapacityChannel;
+import org.apache.hc.core5.http.nio.support.classic.ContentInputStream;
+import org.apache.hc.core5.http.nio.support.classic.SharedInputBuffer;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nullable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+/**
+ * Completes the response as soon as the headers arrived and passes the body on to whoever reads it. Readers block
+ * while the buffer is empty, until the I/O reactor filled it. The response is therefore completed on the given
+ * executor, since anyone reading the body on the reactor's thread would wait forever.
+ */
+final class StreamingResponseConsumer implements AsyncResponseConsumer<ClientHttpResponse> {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final SharedInputBuffer buffer = new SharedInputBuffer(BUFFER_SIZE);
+    private final CompletableFuture<ClientHttpResponse> response = new CompletableFuture<>();
+    private final CompletableFuture<Future<?>> exchange = new CompletableFuture<>();
+
+    private final Executor executor;
+
+    private volatile boolean ended;
+
+    @Nullable
+    private volatile Exception failure;
+
+    @Nullable
+    private FutureCallback<ClientHttpResponse> callback;
+
+    @Nullable
+    private ClientHttpResponse result;
+
+    StreamingResponseConsumer(final Executor executor) {
+        this.executor = executor;
+        response.whenComplete((ignored, e) -> {
+            if (response.isCancelled()) {
+                cancel();
+            }
+        });
+    }
+
+    CompletableFuture<ClientHttpResponse> getResponse() {
+        return response;
+    }
+
+    void bind(final Future<?> exchange) {
+        this.exchange.complete(exchange);
+    }
+
+    void cancel() {
+        buffer.abort();
+        exchange.thenAccept(future -> future.cancel(true));
+    }
+
+    @Override
+    public void consumeResponse(final HttpResponse response, @Nullable final EntityDetails entity,
+            final HttpContext context, final FutureCallback<ClientHttpResponse> callback) {
+
+        final ClientHttpResponse result = new ApacheAsyncClientHttpResponse(response, new Body());
+
+        if (entity == null) {
+            end();
+            callback.completed(result);
+        } else {
+            this.callback = callback;
+            this.result = result;
+        }
+
+        executor.execute(() -> this.response.complete(result));
+    }
+
+    @Override
+    public void informationResponse(final HttpResponse response, final HttpContext context) {
+        // 1xx responses are of no interest
+    }
+
+    @Override
+    public void updateCapacity(final CapacityChannel channel) throws IOException {
+        buffer.updateCapacity(channel);
+    }
+
+    @Override
+    public void consume(final ByteBuffer src) throws IOException {
+        buffer.fill(src);
+    }
+
+    @Override
+    public void streamEnd(@Nullable final List<? extends Header> trailers) {
+        end();
+        callback.completed(result);
+    }
+
+    @Override
+    public void failed(final Exception cause) {
+        failure = cause;
+        buffer.abort();
+        response.completeExceptionally(cause);
+    }
+
+    @Override
+    public void releaseResources() {
+        // the buffer may still hold data that wasn't read yet
+    }
+
+    private void end() {
+        ended = true;
+        buffer.markEndStream();
+    }
+
+    private final class Body extends FilterInputStream {
+
+        Body() {
+            super(new ContentInputStream(buffer));
+        }
+
+        @Override
+        public int read() throws IOException {
+            return check(super.read());
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            return check(super.read(b, off, len));
+        }
+
+        private int check(final int result) throws IOException {
+            @Nullable final Exception cause = failure;
+
+            // an aborted buffer looks like the end of the stream
+            if (result == -1 && cause != null) {
+                throw new IOException(cause);
+            }
+
+            return result;
+        }
+
+        /**
+         * Discards the connection instead of draining it, unless the body was consumed completely.
+         */
+        @Override
+        public void close() {
+            if (!ended) {
+                cancel();
+            }
+        }
+
+    }
+
+}
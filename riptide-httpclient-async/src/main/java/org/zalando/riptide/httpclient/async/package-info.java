@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package org.zalando.riptide.httpclient.async;
+
+import javax.annotation.ParametersAreNonnullByDefault;
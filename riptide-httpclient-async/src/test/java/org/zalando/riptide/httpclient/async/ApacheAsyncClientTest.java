@@ -0,0 +1,319 @@
+package org.zalando.riptide.httpclient.async;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.RequestArguments;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static okhttp3.mockwebserver.SocketPolicy.DISCONNECT_DURING_RESPONSE_BODY;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.http.HttpStatus.NO_CONTENT;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.springframework.http.MediaType.TEXT_PLAIN;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.PassRoute.pass;
+
+final class ApacheAsyncClientTest {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final CloseableHttpAsyncClient client = HttpAsyncClients.createDefault();
+
+    private final ApacheAsyncClient unit = new ApacheAsyncClient(client);
+
+    private final Http http = Http.builder()
+            .asyncClient(unit)
+            .baseUrl(String.format("http://%s:%s", server.getHostName(), server.getPort()))
+            .build();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        unit.destroy();
+        server.shutdown();
+    }
+
+    @Test
+    void shouldReadResponse() throws IOException {
+        server.enqueue(new MockResponse()
+                .setBody("Hello")
+                .setHeader("Content-Type", "text/plain"));
+
+        final ClientHttpResponse response = http.get("/greeting")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+
+        assertThat(response.getStatusCode(), is(OK));
+        assertThat(response.getStatusText(), is("OK"));
+        assertThat(response.getHeaders().getContentType(), is(TEXT_PLAIN));
+        assertThat(response.getBody().read(), is((int) 'H'));
+        assertThat(new String(response.getBody().readAllBytes(), UTF_8), is("ello"));
+
+        response.close();
+    }
+
+    @Test
+    void shouldStreamLargeResponse() throws IOException {
+        final byte[] body = new byte[1024 * 1024];
+        Arrays.fill(body, (byte) 'x');
+
+        server.enqueue(new MockResponse()
+                .setBody(new Buffer().write(body)));
+
+        final ClientHttpResponse response = http.get("/greeting")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+
+        assertThat(response.getBody().readAllBytes(), is(body));
+
+        response.close();
+    }
+
+    @Test
+    void shouldFailIfResponseBodyIsInterrupted() {
+        server.enqueue(new MockResponse()
+                .setBody(new Buffer().write(new byte[1024 * 1024]))
+                .setSocketPolicy(DISCONNECT_DURING_RESPONSE_BODY));
+
+        final ClientHttpResponse response = http.get("/greeting")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+
+        assertThrows(IOException.class, response.getBody()::readAllBytes);
+    }
+
+    @Test
+    void shouldDiscardUnreadBodyOnClose() throws IOException {
+        server.enqueue(new MockResponse()
+                .setBody(new Buffer().write(new byte[1024 * 1024])));
+        server.enqueue(new MockResponse()
+                .setBody("Hello"));
+
+        http.get("/greeting")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join()
+                .close();
+
+        final ClientHttpResponse response = http.get("/greeting")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+
+        assertThat(new String(response.getBody().readAllBytes(), UTF_8), is("Hello"));
+    }
+
+    @Test
+    void shouldCompleteOnExecutor() throws IOException {
+        final ExecutorService executor = Executors.newSingleThreadExecutor(runnable ->
+                new Thread(runnable, "riptide-test"));
+
+        final ApacheAsyncClient unit = new ApacheAsyncClient(HttpAsyncClients.createDefault(), executor);
+
+        try {
+            server.enqueue(new MockResponse().setBody("Hello"));
+
+            final AtomicReference<String> thread = new AtomicReference<>();
+
+            Http.builder()
+                    .asyncClient(unit)
+                    .baseUrl(server.url("/").uri())
+                    .build()
+                    .get("/greeting")
+                    .dispatch(series(),
+                            on(SUCCESSFUL).call(response ->
+                                    thread.set(Thread.currentThread().getName())))
+                    .join();
+
+            assertThat(thread.get(), is("riptide-test"));
+        } finally {
+            unit.destroy();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldReadEmptyResponse() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(NO_CONTENT.value()));
+
+        final ClientHttpResponse response = http.get("/greeting")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+
+        assertThat(response.getStatusCode(), is(NO_CONTENT));
+        assertThat(response.getBody().read(), is(-1));
+    }
+
+    @Test
+    void shouldWriteBody() throws InterruptedException {
+        server.enqueue(new MockResponse());
+
+        http.post("/greeting")
+                .header("X-Trace", "abc")
+                .contentType(TEXT_PLAIN)
+                .body("Hello")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+
+        final RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+
+        assertThat(request.getMethod(), is("POST"));
+        assertThat(request.getPath(), is("/greeting"));
+        assertThat(request.getHeader("X-Trace"), is("abc"));
+        assertThat(request.getHeader("Content-Type"), startsWith("text/plain"));
+        assertThat(request.getBody().readUtf8(), is("Hello"));
+    }
+
+    @Test
+    void shouldWriteBodyWithoutContentType() throws InterruptedException {
+        server.enqueue(new MockResponse());
+
+        http.put("/greeting")
+                .body(message -> message.getBody().write("Hello".getBytes(UTF_8)))
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+
+        final RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+
+        assertThat(request.getHeader("Content-Type"), is(nullValue()));
+        assertThat(request.getBody().readUtf8(), is("Hello"));
+    }
+
+    @Test
+    void shouldStreamLargeBody() throws InterruptedException {
+        server.enqueue(new MockResponse());
+
+        final byte[] body = new byte[1024 * 1024];
+        Arrays.fill(body, (byte) 'x');
+
+        http.post("/greeting")
+                .body(message -> message.getBody().write(body))
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+
+        final RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+
+        assertThat(request.getHeader("Transfer-Encoding"), is("chunked"));
+        assertThat(request.getBody().readByteArray(), is(body));
+    }
+
+    @Test
+    void shouldAbortIfBodyCannotBeSerialized() {
+        final IOException exception = assertThrows(IOException.class, () ->
+                unit.execute(RequestArguments.create()
+                        .withMethod(POST)
+                        .withUri(server.url("/greeting").uri())
+                        .withEntity(message -> {
+                            throw new IOException("Unable to serialize");
+                        })));
+
+        assertThat(exception.getMessage(), is("Unable to serialize"));
+    }
+
+    @Test
+    void shouldAbortIfBodyCannotBeWritten() {
+        server.enqueue(new MockResponse().setHeadersDelay(5, TimeUnit.SECONDS));
+
+        final IOException exception = assertThrows(IOException.class, () ->
+                unit.execute(RequestArguments.create()
+                        .withMethod(POST)
+                        .withUri(server.url("/greeting").uri())
+                        .withEntity(message -> {
+                            message.getBody().write("Hello".getBytes(UTF_8));
+                            throw new IOException("Unable to serialize");
+                        })));
+
+        assertThat(exception.getMessage(), is("Unable to serialize"));
+    }
+
+    @Test
+    void shouldNotWriteEmptyBody() throws InterruptedException {
+        server.enqueue(new MockResponse());
+
+        http.get("/greeting")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+
+        final RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+
+        assertThat(request.getBodySize(), is(0L));
+        assertThat(request.getHeader("Content-Length"), is(nullValue()));
+    }
+
+    @Test
+    void shouldFailOnConnectionError() throws IOException {
+        server.shutdown();
+
+        final CompletableFuture<ClientHttpResponse> future = http.get("/greeting")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()));
+
+        final CompletionException exception = assertThrows(CompletionException.class, future::join);
+
+        assertThat(exception.getCause(), is(instanceOf(IOException.class)));
+    }
+
+    @Test
+    void shouldFailOnConnectionErrorWithBody() throws IOException {
+        server.shutdown();
+
+        final CompletableFuture<ClientHttpResponse> future = http.post("/greeting")
+                .contentType(TEXT_PLAIN)
+                .body("Hello")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()));
+
+        final CompletionException exception = assertThrows(CompletionException.class, future::join);
+
+        assertThat(exception.getCause(), is(instanceOf(IOException.class)));
+    }
+
+    @Test
+    void shouldCancelExecution() throws IOException {
+        server.enqueue(new MockResponse().setHeadersDelay(5, TimeUnit.SECONDS));
+
+        final CompletableFuture<ClientHttpResponse> future = unit.execute(RequestArguments.create()
+                .withMethod(GET)
+                .withUri(URI.create(String.format("http://%s:%s/greeting", server.getHostName(), server.getPort())))
+                .withEntity(message -> {
+                }));
+
+        assertThat(future.cancel(true), is(true));
+        assertThat(future.isCancelled(), is(true));
+    }
+
+}
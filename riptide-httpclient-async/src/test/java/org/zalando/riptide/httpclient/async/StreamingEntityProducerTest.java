@@ -0,0 +1,82 @@
+package org.zalando.riptide.httpclient.async;
+
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+final class StreamingEntityProducerTest {
+
+    private final HttpHeaders headers = new HttpHeaders();
+
+    private final StreamingEntityProducer unit = new StreamingEntityProducer(headers);
+
+    @Test
+    void shouldDescribeEntityBasedOnHeaders() {
+        headers.setContentLength(5);
+        headers.set("Content-Type", "text/plain");
+        headers.set("Content-Encoding", "gzip");
+
+        assertThat(unit.getContentLength(), is(5L));
+        assertThat(unit.getContentType(), is("text/plain"));
+        assertThat(unit.getContentEncoding(), is("gzip"));
+        assertThat(unit.isChunked(), is(false));
+        assertThat(unit.isRepeatable(), is(false));
+        assertThat(unit.getTrailerNames(), is(empty()));
+    }
+
+    @Test
+    void shouldDescribeUnknownEntity() {
+        assertThat(unit.getContentLength(), is(-1L));
+        assertThat(unit.getContentType(), is(nullValue()));
+        assertThat(unit.getContentEncoding(), is(nullValue()));
+    }
+
+    @Test
+    void shouldProduceWrittenData() throws IOException {
+        final DataStreamChannel channel = mock(DataStreamChannel.class);
+        when(channel.write(any())).thenAnswer(invocation -> {
+            final ByteBuffer buffer = invocation.getArgument(0);
+            final int length = buffer.remaining();
+            buffer.position(buffer.limit());
+            return length;
+        });
+
+        unit.getStream().write("Hello".getBytes(UTF_8));
+
+        assertThat(unit.available(), is(5));
+
+        unit.produce(channel);
+
+        assertThat(unit.available(), is(0));
+
+        unit.complete();
+        unit.produce(channel);
+
+        verify(channel, atLeastOnce()).endStream();
+    }
+
+    @Test
+    void shouldFailWritesAfterFailure() {
+        unit.failed(new IOException());
+
+        assertThrows(InterruptedIOException.class, () ->
+                unit.getStream().write(new byte[16 * 1024]));
+    }
+
+}
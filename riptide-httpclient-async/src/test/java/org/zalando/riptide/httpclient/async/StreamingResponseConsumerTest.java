@@ -0,0 +1,21 @@
+package org.zalando.riptide.httpclient.async;
+
+import org.apache.hc.core5.http.message.BasicHttpResponse;
+import org.apache.hc.core5.http.protocol.HttpCoreContext;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+final class StreamingResponseConsumerTest {
+
+    private final StreamingResponseConsumer unit = new StreamingResponseConsumer(Runnable::run);
+
+    @Test
+    void shouldIgnoreInformationResponses() {
+        unit.informationResponse(new BasicHttpResponse(100), HttpCoreContext.create());
+
+        assertThat(unit.getResponse().isDone(), is(false));
+    }
+
+}
@@ -22,6 +22,7 @@ import org.springframework.http.client.ClientHttpRequestFactory;
 import java.io.Closeable;
 import java.io.IOException;
 import java.net.URI;
+import java.time.Duration;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -54,21 +55,32 @@ public final class ApacheClientHttpRequestFactory implements ClientHttpRequestFa
             .put(TRACE, HttpTrace::new)
             .build();
 
+    // drains at most 64 KiB within 100ms, like OkHttp does when discarding unread response bodies
+    static final DrainPolicy DEFAULT_DRAIN_POLICY = DrainPolicy.bounded(64 * 1024, Duration.ofMillis(100));
+
+    // 2 MiB at most, in segments small enough to never be humongous objects
+    private final SegmentPool pool = new SegmentPool(8192, 256);
+
     private final HttpClient client;
     private final Mode mode;
+    private final DrainPolicy drainPolicy;
 
     public ApacheClientHttpRequestFactory(final CloseableHttpClient client) {
         this(client, Mode.STREAMING);
     }
 
+    public ApacheClientHttpRequestFactory(final HttpClient client, final Mode mode) {
+        this(client, mode, DEFAULT_DRAIN_POLICY);
+    }
+
     @Override
     public ClientHttpRequest createRequest(final URI uri, final HttpMethod method) {
         final HttpUriRequest request = methods.get(method).apply(uri);
 
         if (mode == Mode.STREAMING) {
-            return new StreamingApacheClientHttpRequest(client, request);
+            return new StreamingApacheClientHttpRequest(client, request, drainPolicy);
         } else {
-            return new BufferingApacheClientHttpRequest(client, request);
+            return new BufferingApacheClientHttpRequest(client, request, pool, drainPolicy);
         }
     }
 
@@ -1,7 +1,6 @@
 package org.zalando.riptide.httpclient;
 
 import lombok.extern.slf4j.Slf4j;
-import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.HttpEntityContainer;
 import org.apache.hc.core5.http.HttpResponse;
@@ -20,20 +19,27 @@ import static org.zalando.riptide.httpclient.EmptyInputStream.EMPTY;
 @Slf4j
 final class ApacheClientHttpResponse implements ClientHttpResponse {
 
-    private final HttpHeaders headers = new HttpHeaders();
     private final HttpResponse response;
+
+    @Nullable
+    private final NetworkTimingsPlugin.Recording recording = NetworkTimingsPlugin.respond();
+
     private final InputStream body;
+    private boolean discarded;
+
+    @Nullable
+    private HttpHeaders headers;
 
     ApacheClientHttpResponse(final HttpResponse response) throws IOException {
-        this.response = response;
-        this.body = getBody(response);
+        this(response, ApacheClientHttpRequestFactory.DEFAULT_DRAIN_POLICY);
+    }
 
-        for (final Header header : response.getHeaders()) {
-            this.headers.add(header.getName(), header.getValue());
-        }
+    ApacheClientHttpResponse(final HttpResponse response, final DrainPolicy policy) throws IOException {
+        this.response = response;
+        this.body = getBody(response, policy);
     }
 
-    private static InputStream getBody(final HttpResponse response) throws IOException {
+    private InputStream getBody(final HttpResponse response, final DrainPolicy policy) throws IOException {
         @Nullable HttpEntity entity = null;
 
         if (response instanceof HttpEntityContainer) {
@@ -41,14 +47,27 @@ final class ApacheClientHttpResponse implements ClientHttpResponse {
         }
 
         if (entity == null) {
+            complete();
             return EMPTY;
         }
 
-        return new EndOfStreamAwareInputStream(entity.getContent(), (body, endOfStreamDetected) -> {
-            body.close();
+        final long contentLength = entity.getContentLength();
+
+        return new EndOfStreamAwareInputStream(entity.getContent(), (body, endOfStreamDetected, consumed) -> {
+            try {
+                discarded = !policy.close(body, endOfStreamDetected, consumed, contentLength);
+            } finally {
+                complete();
+            }
         });
     }
 
+    private void complete() {
+        if (recording != null) {
+            recording.complete();
+        }
+    }
+
     @Nonnull
     @Override
     public HttpStatusCode getStatusCode() {
@@ -70,13 +89,21 @@ final class ApacheClientHttpResponse implements ClientHttpResponse {
     @Nonnull
     @Override
     public HttpHeaders getHeaders() {
+        // most routes never look at headers, other than the content type
+        if (headers == null) {
+            headers = new HttpHeaders(new HeadersView(response.getHeaders()));
+        }
         return headers;
     }
 
     @Override
     public void close() {
         closeQuietly(body);
-        closeQuietly(response);
+
+        // closing the response would try to consume the rest of the body of an already discarded connection
+        if (!discarded) {
+            closeQuietly(response);
+        }
     }
 
 }
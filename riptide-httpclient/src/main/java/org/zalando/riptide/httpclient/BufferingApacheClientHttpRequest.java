@@ -1,11 +1,9 @@
 package org.zalando.riptide.httpclient;
 
-import lombok.AllArgsConstructor;
 import org.apache.hc.client5.http.classic.HttpClient;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.HttpResponse;
-import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
@@ -14,7 +12,6 @@ import org.springframework.http.client.ClientHttpResponse;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URI;
@@ -22,14 +19,26 @@ import java.net.URISyntaxException;
 import java.util.Map;
 import java.util.Optional;
 
-@AllArgsConstructor
 final class BufferingApacheClientHttpRequest implements ClientHttpRequest {
 
     private final HttpHeaders headers = new HttpHeaders();
-    private final ByteArrayOutputStream output = new ByteArrayOutputStream(1024);
+    private final SegmentedOutputStream output;
 
     private final HttpClient client;
     private final HttpUriRequest request;
+    private final DrainPolicy drainPolicy;
+
+    BufferingApacheClientHttpRequest(
+            final HttpClient client,
+            final HttpUriRequest request,
+            final SegmentPool pool,
+            final DrainPolicy drainPolicy) {
+
+        this.client = client;
+        this.request = request;
+        this.output = new SegmentedOutputStream(pool);
+        this.drainPolicy = drainPolicy;
+    }
 
     @Override
     @Nonnull
@@ -69,10 +78,15 @@ final class BufferingApacheClientHttpRequest implements ClientHttpRequest {
     @Nonnull
     public ClientHttpResponse execute() throws IOException {
         Headers.writeHeaders(headers, request);
-        request.setEntity(new ByteArrayEntity(output.toByteArray(), toContentType(headers.getContentType())));
+        request.setEntity(output.toEntity(toContentType(headers.getContentType())));
 
-        final HttpResponse response = client.executeOpen(null, request, null);
-        return new ApacheClientHttpResponse(response);
+        try {
+            final HttpResponse response = client.executeOpen(null, request, null);
+            return new ApacheClientHttpResponse(response, drainPolicy);
+        } finally {
+            // the body was sent completely (including retries) once the response arrived
+            output.release();
+        }
     }
 
     @Nullable
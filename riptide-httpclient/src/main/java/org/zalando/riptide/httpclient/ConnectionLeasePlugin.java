@@ -0,0 +1,66 @@
+package org.zalando.riptide.httpclient;
+
+import org.apiguardian.api.API;
+import org.zalando.riptide.Attribute;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestExecution;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Exposes the time that a request spent waiting for a connection lease as the {@link #LEASE_WAIT_TIME} attribute,
+ * e.g. to be recorded by tracing decorators. Pool starvation would otherwise be indistinguishable from a slow server.
+ *
+ * The time is recorded by a {@link TrackingHttpClientConnectionManager} on the thread that executes the request,
+ * i.e. it's only available for blocking requests and only after a connection was leased. Without a tracking
+ * connection manager nothing is recorded, i.e. the wait time stays empty instead of pretending that there was no
+ * wait at all. Plugins that want to see the attribute need to be applied within this plugin.
+ */
+@API(status = EXPERIMENTAL)
+public final class ConnectionLeasePlugin implements Plugin {
+
+    /**
+     * The total time spent waiting for connection leases so far, including leases that timed out, or empty if no
+     * lease was tracked (yet).
+     */
+    public static final Attribute<Supplier<Optional<Duration>>> LEASE_WAIT_TIME = Attribute.generate();
+
+    private static final long UNTRACKED = -1;
+
+    private static final ThreadLocal<AtomicLong> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public RequestExecution aroundNetwork(final RequestExecution execution) {
+        return arguments -> {
+            final AtomicLong nanos = new AtomicLong(UNTRACKED);
+            @Nullable final AtomicLong previous = CURRENT.get();
+            CURRENT.set(nanos);
+
+            try {
+                return execution.execute(arguments.withAttribute(LEASE_WAIT_TIME, () ->
+                        Optional.of(nanos.get()).filter(value -> value != UNTRACKED).map(Duration::ofNanos)));
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    static void record(final Duration waitTime) {
+        @Nullable final AtomicLong nanos = CURRENT.get();
+
+        if (nanos != null) {
+            nanos.accumulateAndGet(waitTime.toNanos(), (current, wait) -> Math.max(current, 0) + wait);
+        }
+    }
+
+}
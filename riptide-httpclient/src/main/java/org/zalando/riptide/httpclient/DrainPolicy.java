@@ -0,0 +1,130 @@
+package org.zalando.riptide.httpclient;
+
+import lombok.AllArgsConstructor;
+import org.apache.hc.core5.http.io.EofSensorInputStream;
+import org.apiguardian.api.API;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Decides what happens to a connection if a response is closed before its body was fully consumed. Closing an
+ * unconsumed response stream would otherwise either read the remaining body, regardless of its size, or discard the
+ * connection.
+ *
+ * The remaining body is drained, and the connection returned to the pool, if it's known to be small, i.e. by its
+ * {@code Content-Length}, or if draining reaches the end of the stream within the configured number of bytes and
+ * time. Otherwise the connection is aborted. The time limit is checked between reads, i.e. a single read is only
+ * bounded by the socket timeout.
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class DrainPolicy {
+
+    /**
+     * Gets notified about every decision of a {@link DrainPolicy}, e.g. to record metrics.
+     */
+    public interface Listener {
+
+        Listener DEFAULT = new Listener() {
+        };
+
+        default void onReuse() {
+            // nothing to do
+        }
+
+        default void onDiscard() {
+            // nothing to do
+        }
+
+    }
+
+    private final long maxBytes;
+    private final long maxNanos;
+    private final Listener listener;
+
+    /**
+     * @param maxBytes the maximum number of remaining bytes to drain
+     * @param maxDuration the maximum time to spend on draining
+     * @return a policy that drains at most {@code maxBytes} within {@code maxDuration}
+     */
+    public static DrainPolicy bounded(final long maxBytes, final Duration maxDuration) {
+        return new DrainPolicy(maxBytes, maxDuration.toNanos(), Listener.DEFAULT);
+    }
+
+    public DrainPolicy withListener(final Listener listener) {
+        return new DrainPolicy(maxBytes, maxNanos, listener);
+    }
+
+    /**
+     * @param body the original, i.e. unwrapped, response body
+     * @param endOfStreamDetected whether the body was already consumed completely
+     * @param consumed the number of bytes that were already consumed
+     * @param contentLength the length of the body or a negative number if unknown
+     * @return true if the connection was returned to the pool, false if it was aborted
+     * @throws IOException if draining or closing failed
+     */
+    boolean close(
+            final InputStream body,
+            final boolean endOfStreamDetected,
+            final long consumed,
+            final long contentLength) throws IOException {
+
+        if (endOfStreamDetected || isSmall(body, consumed, contentLength)) {
+            // closing a stream that is (almost) consumed releases the connection back to the pool
+            body.close();
+            listener.onReuse();
+            return true;
+        }
+
+        abort(body);
+        listener.onDiscard();
+        return false;
+    }
+
+    private boolean isSmall(final InputStream body, final long consumed, final long contentLength) {
+        if (contentLength >= 0) {
+            return contentLength - consumed <= maxBytes;
+        }
+
+        return drain(body);
+    }
+
+    private boolean drain(final InputStream body) {
+        final byte[] buffer = new byte[(int) Math.min(8191, maxBytes) + 1];
+        final long deadline = System.nanoTime() + maxNanos;
+
+        long remaining = maxBytes;
+
+        try {
+            // reads at most one byte more than allowed, to tell a body of exactly maxBytes from a bigger one
+            while (remaining >= 0 && System.nanoTime() - deadline < 0) {
+                final int read = body.read(buffer, 0, (int) Math.min(buffer.length - 1, remaining) + 1);
+
+                if (read == -1) {
+                    return true;
+                }
+
+                remaining -= read;
+            }
+        } catch (final IOException e) {
+            return false;
+        }
+
+        return false;
+    }
+
+    private static void abort(final InputStream body) throws IOException {
+        if (body instanceof EofSensorInputStream) {
+            // discards the connection without reading any further
+            ((EofSensorInputStream) body).abortConnection();
+        } else {
+            body.close();
+        }
+    }
+
+}
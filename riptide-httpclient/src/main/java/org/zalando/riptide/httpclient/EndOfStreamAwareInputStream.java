@@ -8,11 +8,13 @@ final class EndOfStreamAwareInputStream extends FilterInputStream {
 
     @FunctionalInterface
     interface Closer {
-        void close(InputStream original, boolean endOfStreamDetected) throws IOException;
+        void close(InputStream original, boolean endOfStreamDetected, long consumed) throws IOException;
     }
 
     private final Closer closer;
     private boolean endOfStreamDetected;
+    private long consumed;
+    private boolean closed;
 
     EndOfStreamAwareInputStream(final InputStream in, final Closer closer) {
         super(in);
@@ -21,7 +23,15 @@ final class EndOfStreamAwareInputStream extends FilterInputStream {
 
     @Override
     public int read() throws IOException {
-        return detectEndOfStream(super.read());
+        final int read = super.read();
+
+        if (read == -1) {
+            endOfStreamDetected = true;
+        } else {
+            consumed++;
+        }
+
+        return read;
     }
 
     @Override
@@ -37,14 +47,28 @@ final class EndOfStreamAwareInputStream extends FilterInputStream {
     private int detectEndOfStream(final int read) {
         if (read == -1) {
             endOfStreamDetected = true;
+        } else {
+            consumed += read;
         }
 
         return read;
     }
 
+    @Override
+    public long skip(final long n) throws IOException {
+        final long skipped = super.skip(n);
+        consumed += skipped;
+        return skipped;
+    }
+
     @Override
     public void close() throws IOException {
-        closer.close(in, endOfStreamDetected);
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        closer.close(in, endOfStreamDetected, consumed);
     }
 
 }
@@ -0,0 +1,138 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.hc.core5.http.Header;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.MultiValueMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A read-only {@link MultiValueMap} view of Apache's response headers. Lookups by name scan the underlying array,
+ * which for the usual number of response headers is cheaper than building a map upfront. A map is only materialized
+ * if the headers are iterated.
+ */
+final class HeadersView extends AbstractMap<String, List<String>> implements MultiValueMap<String, String> {
+
+    private final Header[] headers;
+
+    @Nullable
+    private Map<String, List<String>> materialized;
+
+    HeadersView(final Header[] headers) {
+        this.headers = headers;
+    }
+
+    @Nullable
+    @Override
+    public String getFirst(final String name) {
+        for (final Header header : headers) {
+            if (header.getName().equalsIgnoreCase(name)) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public List<String> get(final Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+
+        final String name = (String) key;
+        @Nullable List<String> values = null;
+
+        for (final Header header : headers) {
+            if (header.getName().equalsIgnoreCase(name)) {
+                if (values == null) {
+                    values = new ArrayList<>(1);
+                }
+                values.add(header.getValue());
+            }
+        }
+
+        return values == null ? null : Collections.unmodifiableList(values);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        if (!(key instanceof String)) {
+            return false;
+        }
+
+        for (final Header header : headers) {
+            if (header.getName().equalsIgnoreCase((String) key)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return headers.length == 0;
+    }
+
+    @Nonnull
+    @Override
+    public Set<Entry<String, List<String>>> entrySet() {
+        return materialize().entrySet();
+    }
+
+    private Map<String, List<String>> materialize() {
+        if (materialized == null) {
+            final Map<String, List<String>> map = new LinkedCaseInsensitiveMap<>(headers.length);
+
+            for (final Header header : headers) {
+                map.computeIfAbsent(header.getName(), name -> new ArrayList<>(1)).add(header.getValue());
+            }
+
+            map.replaceAll((name, values) -> Collections.unmodifiableList(values));
+            materialized = Collections.unmodifiableMap(map);
+        }
+        return materialized;
+    }
+
+    @Override
+    public void add(final String key, @Nullable final String value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void addAll(final String key, final List<? extends String> values) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void addAll(final MultiValueMap<String, String> values) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void set(final String key, @Nullable final String value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setAll(final Map<String, String> values) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Nonnull
+    @Override
+    public Map<String, String> toSingleValueMap() {
+        final Map<String, String> map = new LinkedCaseInsensitiveMap<>(headers.length);
+        materialize().forEach((name, values) -> map.put(name, values.get(0)));
+        return Collections.unmodifiableMap(map);
+    }
+
+}
@@ -0,0 +1,180 @@
+package org.zalando.riptide.httpclient;
+
+import org.apiguardian.api.API;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.NetworkTimings;
+import org.zalando.riptide.NetworkTimings.Phase;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestExecution;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.zalando.riptide.Attributes.NETWORK_TIMINGS;
+
+/**
+ * Exposes {@link NetworkTimings network timings} as the {@link org.zalando.riptide.Attributes#NETWORK_TIMINGS}
+ * attribute. Phases are recorded on the thread that executes the request, i.e. only for blocking requests, by
+ * the following components:
+ *
+ * <ul>
+ *     <li>{@link Phase#DNS DNS}: {@link TrackingDnsResolver}</li>
+ *     <li>{@link Phase#CONNECT CONNECT}: {@link TrackingHttpClientConnectionManager}</li>
+ *     <li>{@link Phase#TLS TLS}: {@link TrackingSSLConnectionSocketFactory}</li>
+ *     <li>{@link Phase#FIRST_BYTE FIRST_BYTE} and {@link Phase#BODY BODY}: {@link ApacheClientHttpRequestFactory}</li>
+ * </ul>
+ *
+ * The time to first byte starts once a connection was leased or established, if the connection manager is tracked,
+ * and when the attempt started otherwise. Plugins that want to see the attribute need to be applied within this
+ * plugin.
+ */
+@API(status = EXPERIMENTAL)
+public final class NetworkTimingsPlugin implements Plugin {
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public RequestExecution aroundAsync(final RequestExecution execution) {
+        return arguments -> execution.execute(arguments.withAttribute(NETWORK_TIMINGS, new NetworkTimings()));
+    }
+
+    @Override
+    public RequestExecution aroundNetwork(final RequestExecution execution) {
+        return arguments -> {
+            final Recording recording = new Recording(arguments.getAttribute(NETWORK_TIMINGS).orElseThrow());
+            @Nullable final Recording previous = CURRENT.get();
+            CURRENT.set(recording);
+
+            final CompletableFuture<ClientHttpResponse> future;
+
+            try {
+                future = execution.execute(arguments);
+            } catch (final IOException | RuntimeException e) {
+                recording.complete();
+                throw e;
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+
+            return future.whenComplete((response, error) -> {
+                // a response that was not created by this module can't report its body
+                if (error != null || !recording.isResponding()) {
+                    recording.complete();
+                }
+            });
+        };
+    }
+
+    static void record(final Phase phase, final long start) {
+        @Nullable final Recording recording = CURRENT.get();
+
+        if (recording != null) {
+            recording.record(phase, start);
+        }
+    }
+
+    static void leased() {
+        @Nullable final Recording recording = CURRENT.get();
+
+        if (recording != null) {
+            recording.ready();
+        }
+    }
+
+    static void connected(final long start) {
+        @Nullable final Recording recording = CURRENT.get();
+
+        if (recording != null) {
+            recording.connected(start);
+        }
+    }
+
+    /**
+     * @return the current recording, if any, which needs to be {@link Recording#complete() completed} once the
+     * response body is closed
+     */
+    @Nullable
+    static Recording respond() {
+        @Nullable final Recording recording = CURRENT.get();
+
+        if (recording != null) {
+            recording.respond();
+        }
+
+        return recording;
+    }
+
+    static final class Recording {
+
+        private final Map<Phase, Duration> phases = new EnumMap<>(Phase.class);
+        private final NetworkTimings timings;
+
+        private long ready = System.nanoTime();
+        private long responded;
+        private boolean responding;
+        private boolean completed;
+
+        private Recording(final NetworkTimings timings) {
+            this.timings = timings;
+        }
+
+        private synchronized void record(final Phase phase, final long start) {
+            phases.merge(phase, Duration.ofNanos(System.nanoTime() - start), Duration::plus);
+        }
+
+        private synchronized void ready() {
+            ready = System.nanoTime();
+        }
+
+        private synchronized void connected(final long start) {
+            ready = System.nanoTime();
+            phases.merge(Phase.CONNECT, Duration.ofNanos(ready - start), Duration::plus);
+        }
+
+        private synchronized void respond() {
+            responded = System.nanoTime();
+            responding = true;
+            phases.put(Phase.FIRST_BYTE, Duration.ofNanos(responded - ready));
+        }
+
+        private synchronized boolean isResponding() {
+            return responding;
+        }
+
+        void complete() {
+            final Map<Phase, Duration> phases;
+
+            synchronized (this) {
+                if (completed) {
+                    return;
+                }
+
+                completed = true;
+
+                if (responding) {
+                    this.phases.put(Phase.BODY, Duration.ofNanos(System.nanoTime() - responded));
+                }
+
+                // resolving and handshaking happen while connecting
+                this.phases.computeIfPresent(Phase.CONNECT, (phase, connect) -> connect
+                        .minus(this.phases.getOrDefault(Phase.DNS, Duration.ZERO))
+                        .minus(this.phases.getOrDefault(Phase.TLS, Duration.ZERO)));
+
+                phases = new EnumMap<>(this.phases);
+            }
+
+            timings.complete(phases);
+        }
+
+    }
+
+}
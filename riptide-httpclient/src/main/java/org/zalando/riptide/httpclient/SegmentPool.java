@@ -0,0 +1,33 @@
+package org.zalando.riptide.httpclient;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A bounded pool of fixed-size byte arrays, used to buffer request bodies. Segments are allocated on demand if the
+ * pool is empty and dropped, i.e. left to the garbage collector, if the pool is full.
+ */
+final class SegmentPool {
+
+    private final int segmentSize;
+    private final BlockingQueue<byte[]> segments;
+
+    SegmentPool(final int segmentSize, final int capacity) {
+        this.segmentSize = segmentSize;
+        this.segments = new ArrayBlockingQueue<>(capacity);
+    }
+
+    byte[] acquire() {
+        final byte[] segment = segments.poll();
+        return segment == null ? new byte[segmentSize] : segment;
+    }
+
+    void release(final byte[] segment) {
+        segments.offer(segment);
+    }
+
+    int size() {
+        return segments.size();
+    }
+
+}
@@ -0,0 +1,76 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.AbstractHttpEntity;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.enumeration;
+
+/**
+ * A repeatable entity that exposes the segments of a {@link SegmentedOutputStream} without copying them. All but the
+ * last segment are full.
+ */
+final class SegmentedEntity extends AbstractHttpEntity {
+
+    private final List<byte[]> segments;
+    private final long length;
+
+    SegmentedEntity(final List<byte[]> segments, final long length, @Nullable final ContentType contentType) {
+        super(contentType, null);
+        this.segments = segments;
+        this.length = length;
+    }
+
+    @Override
+    public InputStream getContent() {
+        final List<InputStream> streams = new ArrayList<>(segments.size());
+
+        long remaining = length;
+        for (final byte[] segment : segments) {
+            final int count = (int) Math.min(segment.length, remaining);
+            streams.add(new ByteArrayInputStream(segment, 0, count));
+            remaining -= count;
+        }
+
+        return new SequenceInputStream(enumeration(streams));
+    }
+
+    @Override
+    public void writeTo(final OutputStream output) throws IOException {
+        long remaining = length;
+        for (final byte[] segment : segments) {
+            final int count = (int) Math.min(segment.length, remaining);
+            output.write(segment, 0, count);
+            remaining -= count;
+        }
+    }
+
+    @Override
+    public long getContentLength() {
+        return length;
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+        // segments are released by the owning stream
+    }
+
+}
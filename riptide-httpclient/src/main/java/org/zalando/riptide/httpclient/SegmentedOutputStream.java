@@ -0,0 +1,83 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpEntity;
+
+import javax.annotation.Nullable;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.checkFromIndexSize;
+
+/**
+ * An {@link OutputStream} that buffers everything written to it in segments taken from a {@link SegmentPool}. In
+ * contrast to a {@link java.io.ByteArrayOutputStream} it never copies what has been written, neither when growing
+ * nor when being turned into an {@link HttpEntity entity}.
+ */
+final class SegmentedOutputStream extends OutputStream {
+
+    private final List<byte[]> segments = new ArrayList<>();
+    private final SegmentPool pool;
+
+    @Nullable
+    private byte[] current;
+    private int position;
+    private long size;
+
+    SegmentedOutputStream(final SegmentPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void write(final int b) {
+        ensureCapacity();
+        current[position++] = (byte) b;
+        size++;
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) {
+        checkFromIndexSize(offset, length, bytes.length);
+
+        int start = offset;
+        int remaining = length;
+
+        while (remaining > 0) {
+            ensureCapacity();
+            final int count = Math.min(remaining, current.length - position);
+            System.arraycopy(bytes, start, current, position, count);
+            position += count;
+            start += count;
+            remaining -= count;
+            size += count;
+        }
+    }
+
+    private void ensureCapacity() {
+        if (current == null || position == current.length) {
+            current = pool.acquire();
+            segments.add(current);
+            position = 0;
+        }
+    }
+
+    /**
+     * The returned entity is backed by this stream's segments and must not be used after {@link #release()}.
+     */
+    HttpEntity toEntity(@Nullable final ContentType contentType) {
+        return new SegmentedEntity(segments, size, contentType);
+    }
+
+    /**
+     * Returns all segments to the pool. This stream is empty afterwards.
+     */
+    void release() {
+        segments.forEach(pool::release);
+        segments.clear();
+        current = null;
+        position = 0;
+        size = 0;
+    }
+
+}
@@ -34,6 +34,7 @@ final class StreamingApacheClientHttpRequest implements ClientHttpRequest, Strea
 
     private final HttpClient client;
     private final HttpUriRequest request;
+    private final DrainPolicy drainPolicy;
 
     @Override
     @Nonnull
@@ -81,7 +82,7 @@ final class StreamingApacheClientHttpRequest implements ClientHttpRequest, Strea
     public ClientHttpResponse execute() throws IOException {
         Headers.writeHeaders(headers, request);
         final HttpResponse response = client.executeOpen(null, request, null);
-        return new ApacheClientHttpResponse(response);
+        return new ApacheClientHttpResponse(response, drainPolicy);
     }
 
     @AllArgsConstructor
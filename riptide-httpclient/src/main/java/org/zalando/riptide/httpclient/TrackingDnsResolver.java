@@ -0,0 +1,43 @@
+package org.zalando.riptide.httpclient;
+
+import lombok.AllArgsConstructor;
+import org.apache.hc.client5.http.DnsResolver;
+import org.apache.hc.client5.http.SystemDefaultDnsResolver;
+import org.apiguardian.api.API;
+import org.zalando.riptide.NetworkTimings.Phase;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Records the time spent resolving host names as the {@link Phase#DNS DNS} phase of the {@link NetworkTimingsPlugin}.
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor
+public final class TrackingDnsResolver implements DnsResolver {
+
+    private final DnsResolver resolver;
+
+    public TrackingDnsResolver() {
+        this(SystemDefaultDnsResolver.INSTANCE);
+    }
+
+    @Override
+    public InetAddress[] resolve(final String host) throws UnknownHostException {
+        final long start = System.nanoTime();
+
+        try {
+            return resolver.resolve(host);
+        } finally {
+            NetworkTimingsPlugin.record(Phase.DNS, start);
+        }
+    }
+
+    @Override
+    public String resolveCanonicalHostname(final String host) throws UnknownHostException {
+        return resolver.resolveCanonicalHostname(host);
+    }
+
+}
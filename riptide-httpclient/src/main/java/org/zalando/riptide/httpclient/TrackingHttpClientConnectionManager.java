@@ -0,0 +1,313 @@
+package org.zalando.riptide.httpclient;
+
+import lombok.AllArgsConstructor;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.ConnPoolControl;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.apiguardian.api.API;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Notifies a {@link Listener listener} whenever a connection is requested, leased and released, per
+ * {@link HttpRoute route}. This allows to keep track of the state of a connection pool without calling its
+ * statistics methods, which lock the whole pool. The time spent waiting for a lease is also made available to the
+ * {@link ConnectionLeasePlugin}, and the time spent connecting to the {@link NetworkTimingsPlugin}.
+ *
+ * If the underlying manager is a {@link ConnPoolControl pool}, so is this one, i.e. the client's idle connection
+ * evictor, e.g. {@code HttpClientBuilder#evictExpiredConnections()}, closes expired and idle connections through it.
+ * Since the pool also closes idle connections on its own, e.g. stale ones on lease, the number of remaining idle
+ * connections per route is reported after every eviction.
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor
+public final class TrackingHttpClientConnectionManager
+        implements HttpClientConnectionManager, ConnPoolControl<HttpRoute> {
+
+    /**
+     * Every call to {@link #onLease(HttpRoute) onLease} is followed by exactly one call to either
+     * {@link #onLeased(HttpRoute, Duration) onLeased} or {@link #onLeaseFailed(HttpRoute, Duration) onLeaseFailed}.
+     * Every successful lease is followed by one call to {@link #onRelease(HttpRoute, boolean) onRelease}. If the
+     * leased connection was idle in the pool before, {@link #onReused(HttpRoute) onReused} is called right before
+     * {@link #onLeased(HttpRoute, Duration) onLeased}.
+     */
+    public interface Listener {
+
+        default void onLease(final HttpRoute route) {
+            // nothing to do
+        }
+
+        /**
+         * @param route the route of the leased connection
+         * @param waitTime the time spent waiting for the lease
+         */
+        default void onLeased(final HttpRoute route, final Duration waitTime) {
+            // nothing to do
+        }
+
+        /**
+         * @param route the route of the requested connection
+         * @param waitTime the time spent waiting before the lease failed or was cancelled
+         */
+        default void onLeaseFailed(final HttpRoute route, final Duration waitTime) {
+            // nothing to do
+        }
+
+        /**
+         * @param route the route of the leased connection, which was idle in the pool before
+         */
+        default void onReused(final HttpRoute route) {
+            // nothing to do
+        }
+
+        /**
+         * @param route the route of the released connection
+         * @param reusable whether the connection is returned to the pool, i.e. available for subsequent leases
+         */
+        default void onRelease(final HttpRoute route, final boolean reusable) {
+            // nothing to do
+        }
+
+        /**
+         * Called for every route of the pool after expired or idle connections were closed.
+         *
+         * @param route the route of the idle connections
+         * @param idle the number of idle connections of the route that remain in the pool
+         */
+        default void onIdle(final HttpRoute route, final int idle) {
+            // nothing to do
+        }
+
+    }
+
+    private final ConcurrentMap<ConnectionEndpoint, HttpRoute> routes = new ConcurrentHashMap<>();
+
+    private final HttpClientConnectionManager manager;
+    private final Listener listener;
+
+    public TrackingHttpClientConnectionManager(final HttpClientConnectionManager manager) {
+        this(manager, new Listener() {
+        });
+    }
+
+    @Override
+    public LeaseRequest lease(
+            final String id,
+            final HttpRoute route,
+            final Timeout requestTimeout,
+            final Object state) {
+
+        listener.onLease(route);
+        return new TrackingLeaseRequest(route, manager.lease(id, route, requestTimeout, state));
+    }
+
+    @Override
+    public void release(
+            final ConnectionEndpoint endpoint,
+            final Object newState,
+            final TimeValue validDuration) {
+
+        @Nullable final HttpRoute route = routes.remove(endpoint);
+
+        if (route != null) {
+            // a connection without keep-alive is closed by the pool
+            listener.onRelease(route, validDuration != null && endpoint.isConnected());
+        }
+
+        manager.release(endpoint, newState, validDuration);
+    }
+
+    @Override
+    public void connect(
+            final ConnectionEndpoint endpoint,
+            final TimeValue connectTimeout,
+            final HttpContext context) throws IOException {
+
+        final long start = System.nanoTime();
+
+        try {
+            manager.connect(endpoint, connectTimeout, context);
+        } finally {
+            NetworkTimingsPlugin.connected(start);
+        }
+    }
+
+    @Override
+    public void upgrade(final ConnectionEndpoint endpoint, final HttpContext context) throws IOException {
+        manager.upgrade(endpoint, context);
+    }
+
+    /**
+     * Closes expired connections, if the underlying manager is a pool, and reports the remaining idle ones.
+     */
+    @Override
+    public void closeExpired() {
+        evict(ConnPoolControl::closeExpired);
+    }
+
+    /**
+     * Closes connections that have been idle longer than the given time, if the underlying manager is a pool, and
+     * reports the remaining idle ones.
+     */
+    @Override
+    public void closeIdle(final TimeValue idleTime) {
+        evict(pool -> pool.closeIdle(idleTime));
+    }
+
+    private void evict(final Consumer<ConnPoolControl<HttpRoute>> eviction) {
+        if (manager instanceof ConnPoolControl) {
+            final ConnPoolControl<HttpRoute> pool = pool();
+            // the pool forgets routes once their last connection is closed
+            final Set<HttpRoute> routes = pool.getRoutes();
+
+            eviction.accept(pool);
+
+            // locks the pool per route, but only right after it was locked to close connections anyway
+            for (final HttpRoute route : routes) {
+                listener.onIdle(route, pool.getStats(route).getAvailable());
+            }
+        }
+    }
+
+    @Override
+    public void setMaxTotal(final int max) {
+        pool().setMaxTotal(max);
+    }
+
+    @Override
+    public int getMaxTotal() {
+        return pool().getMaxTotal();
+    }
+
+    @Override
+    public void setDefaultMaxPerRoute(final int max) {
+        pool().setDefaultMaxPerRoute(max);
+    }
+
+    @Override
+    public int getDefaultMaxPerRoute() {
+        return pool().getDefaultMaxPerRoute();
+    }
+
+    @Override
+    public void setMaxPerRoute(final HttpRoute route, final int max) {
+        pool().setMaxPerRoute(route, max);
+    }
+
+    @Override
+    public int getMaxPerRoute(final HttpRoute route) {
+        return pool().getMaxPerRoute(route);
+    }
+
+    @Override
+    public Set<HttpRoute> getRoutes() {
+        return pool().getRoutes();
+    }
+
+    @Override
+    public PoolStats getTotalStats() {
+        return pool().getTotalStats();
+    }
+
+    @Override
+    public PoolStats getStats(final HttpRoute route) {
+        return pool().getStats(route);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConnPoolControl<HttpRoute> pool() {
+        if (manager instanceof ConnPoolControl) {
+            return (ConnPoolControl<HttpRoute>) manager;
+        }
+
+        throw new UnsupportedOperationException("Not a connection pool: " + manager);
+    }
+
+    @Override
+    public void close(final CloseMode closeMode) {
+        manager.close(closeMode);
+    }
+
+    @Override
+    public void close() throws IOException {
+        manager.close();
+    }
+
+    @AllArgsConstructor
+    private final class TrackingLeaseRequest implements LeaseRequest {
+
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private final long start = System.nanoTime();
+
+        private final HttpRoute route;
+        private final LeaseRequest request;
+
+        @Override
+        public ConnectionEndpoint get(final Timeout timeout)
+                throws InterruptedException, ExecutionException, TimeoutException {
+
+            @Nullable ConnectionEndpoint endpoint = null;
+
+            try {
+                endpoint = request.get(timeout);
+                routes.put(endpoint, route);
+
+                // new connections are only connected after the lease
+                if (endpoint.isConnected()) {
+                    listener.onReused(route);
+                }
+
+                NetworkTimingsPlugin.leased();
+                return endpoint;
+            } finally {
+                // get is called by the thread that executes the request, unlike cancel
+                ConnectionLeasePlugin.record(complete(endpoint != null));
+            }
+        }
+
+        @Override
+        public boolean cancel() {
+            final boolean cancelled = request.cancel();
+
+            if (cancelled) {
+                complete(false);
+            }
+
+            return cancelled;
+        }
+
+        private Duration complete(final boolean leased) {
+            final Duration waitTime = Duration.ofNanos(System.nanoTime() - start);
+
+            if (completed.compareAndSet(false, true)) {
+                if (leased) {
+                    listener.onLeased(route, waitTime);
+                } else {
+                    listener.onLeaseFailed(route, waitTime);
+                }
+            }
+
+            return waitTime;
+        }
+
+    }
+
+}
@@ -0,0 +1,47 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apiguardian.api.API;
+import org.zalando.riptide.NetworkTimings.Phase;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.Socket;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Records the time spent on TLS handshakes as the {@link Phase#TLS TLS} phase of the {@link NetworkTimingsPlugin}.
+ * Both new connections and connections that are upgraded, e.g. when tunneling through a proxy, are layered here.
+ */
+@API(status = EXPERIMENTAL)
+public final class TrackingSSLConnectionSocketFactory extends SSLConnectionSocketFactory {
+
+    public TrackingSSLConnectionSocketFactory(final SSLContext context) {
+        super(context);
+    }
+
+    public TrackingSSLConnectionSocketFactory(final SSLContext context, final HostnameVerifier verifier) {
+        super(context, verifier);
+    }
+
+    @Override
+    public Socket createLayeredSocket(
+            final Socket socket,
+            final String target,
+            final int port,
+            final Object attachment,
+            final HttpContext context) throws IOException {
+
+        final long start = System.nanoTime();
+
+        try {
+            return super.createLayeredSocket(socket, target, port, attachment, context);
+        } finally {
+            NetworkTimingsPlugin.record(Phase.TLS, start);
+        }
+    }
+
+}
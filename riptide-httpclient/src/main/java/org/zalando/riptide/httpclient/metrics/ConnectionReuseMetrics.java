@@ -0,0 +1,76 @@
+package org.zalando.riptide.httpclient.metrics;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.zalando.riptide.httpclient.DrainPolicy;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.collect.ImmutableList.copyOf;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Counts how often a {@link DrainPolicy} returned connections to the pool, or discarded them, when closing responses.
+ * Every discarded connection needs to be re-established, including a TLS handshake, by one of the next requests.
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class ConnectionReuseMetrics implements DrainPolicy.Listener, MeterBinder {
+
+    private final AtomicLong reused;
+    private final AtomicLong discarded;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    public ConnectionReuseMetrics() {
+        this("http.client.connections", ImmutableList.of());
+    }
+
+    private ConnectionReuseMetrics(final String metricName, final ImmutableList<Tag> defaultTags) {
+        this(new AtomicLong(), new AtomicLong(), metricName, defaultTags);
+    }
+
+    public ConnectionReuseMetrics withMetricName(final String metricName) {
+        return new ConnectionReuseMetrics(reused, discarded, metricName, defaultTags);
+    }
+
+    public ConnectionReuseMetrics withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(copyOf(defaultTags));
+    }
+
+    public ConnectionReuseMetrics withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new ConnectionReuseMetrics(reused, discarded, metricName, copyOf(defaultTags));
+    }
+
+    @Override
+    public void onReuse() {
+        reused.incrementAndGet();
+    }
+
+    @Override
+    public void onDiscard() {
+        discarded.incrementAndGet();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder(metricName + ".reused", reused, AtomicLong::get)
+                .description("The number of connections that were returned to the pool after closing a response")
+                .baseUnit("connections")
+                .tags(defaultTags)
+                .register(registry);
+
+        FunctionCounter.builder(metricName + ".discarded", discarded, AtomicLong::get)
+                .description("The number of connections that were discarded after closing a response")
+                .baseUnit("connections")
+                .tags(defaultTags)
+                .register(registry);
+    }
+
+}
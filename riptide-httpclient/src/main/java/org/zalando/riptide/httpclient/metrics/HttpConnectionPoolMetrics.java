@@ -4,12 +4,22 @@ import com.google.common.collect.ImmutableList;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.AllArgsConstructor;
+import org.apache.hc.client5.http.HttpRoute;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.core5.pool.PoolStats;
 import org.apiguardian.api.API;
-
+import org.zalando.riptide.httpclient.TrackingHttpClientConnectionManager;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.function.ToIntFunction;
 
@@ -19,15 +29,25 @@ import static java.util.concurrent.TimeUnit.MINUTES;
 import static lombok.AccessLevel.PRIVATE;
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 
+/**
+ * Reports the state of the whole connection pool as well as of every {@link HttpRoute route}, including the time
+ * spent waiting for connection leases. Route metrics are only available if this instance is registered as a
+ * {@link TrackingHttpClientConnectionManager.Listener listener}. They are maintained by the listener callbacks and
+ * therefore don't require locking the pool. Idle connections that the pool closes on its own, e.g. due to expiry, are
+ * accounted for whenever expired or idle connections are evicted through the
+ * {@link TrackingHttpClientConnectionManager tracking connection manager}.
+ */
 @API(status = EXPERIMENTAL)
 @AllArgsConstructor(access = PRIVATE)
-public final class HttpConnectionPoolMetrics implements MeterBinder {
+public final class HttpConnectionPoolMetrics implements TrackingHttpClientConnectionManager.Listener, MeterBinder {
 
     private static final String CONNECTIONS = "connections";
     private static final String REQUESTS = "requests";
 
     // since getTotalStats locks the connection pool, we cache the value for a minute to reduce possible contention
     private final Supplier<PoolStats> stats;
+    private final ConcurrentMap<HttpRoute, RouteStats> routes;
+    private final List<MeterRegistry> registries;
     private final String metricName;
     private final ImmutableList<Tag> defaultTags;
 
@@ -39,8 +59,14 @@ public final class HttpConnectionPoolMetrics implements MeterBinder {
             final PoolingHttpClientConnectionManager manager,
             final String metricName,
             final ImmutableList<Tag> defaultTags) {
-        this(memoizeWithExpiration(manager::getTotalStats, 1, MINUTES),
-                metricName, defaultTags);
+        this(memoizeWithExpiration(manager::getTotalStats, 1, MINUTES), metricName, defaultTags);
+    }
+
+    private HttpConnectionPoolMetrics(
+            final Supplier<PoolStats> stats,
+            final String metricName,
+            final ImmutableList<Tag> defaultTags) {
+        this(stats, new ConcurrentHashMap<>(), new CopyOnWriteArrayList<>(), metricName, defaultTags);
     }
 
     public HttpConnectionPoolMetrics withMetricName(final String metricName) {
@@ -86,6 +112,101 @@ public final class HttpConnectionPoolMetrics implements MeterBinder {
                 .description("The number of queued connection lease requests")
                 .baseUnit(REQUESTS)
                 .register(registry);
+
+        registries.add(registry);
+        routes.forEach((route, stats) -> bindTo(registry, route, stats));
+    }
+
+    @Override
+    public void onLease(final HttpRoute route) {
+        stats(route).queued.incrementAndGet();
+    }
+
+    @Override
+    public void onLeased(final HttpRoute route, final Duration waitTime) {
+        final RouteStats stats = stats(route);
+        stats.leases.forEach(timer -> timer.record(waitTime));
+        stats.queued.decrementAndGet();
+        stats.leased.incrementAndGet();
+    }
+
+    @Override
+    public void onReused(final HttpRoute route) {
+        // never negative, even if an eviction raced with a release
+        stats(route).available.updateAndGet(available -> Math.max(0, available - 1));
+    }
+
+    @Override
+    public void onLeaseFailed(final HttpRoute route, final Duration waitTime) {
+        final RouteStats stats = stats(route);
+        stats.failures.forEach(timer -> timer.record(waitTime));
+        stats.queued.decrementAndGet();
+    }
+
+    @Override
+    public void onRelease(final HttpRoute route, final boolean reusable) {
+        final RouteStats stats = stats(route);
+        stats.leased.decrementAndGet();
+
+        if (reusable) {
+            stats.available.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onIdle(final HttpRoute route, final int idle) {
+        stats(route).available.set(idle);
+    }
+
+    private RouteStats stats(final HttpRoute route) {
+        @Nullable final RouteStats stats = routes.get(route);
+        return stats == null ? routes.computeIfAbsent(route, this::register) : stats;
+    }
+
+    private RouteStats register(final HttpRoute route) {
+        final RouteStats stats = new RouteStats();
+        registries.forEach(registry -> bindTo(registry, route, stats));
+        return stats;
+    }
+
+    private void bindTo(final MeterRegistry registry, final HttpRoute route, final RouteStats stats) {
+        final Tag tag = Tag.of("route", route.getTargetHost().toURI());
+
+        gauge("route.available", tag, stats.available)
+                .description("The number idle connections of a route")
+                .baseUnit(CONNECTIONS)
+                .register(registry);
+
+        gauge("route.leased", tag, stats.leased)
+                .description("The number of connections of a route that are actively executing requests")
+                .baseUnit(CONNECTIONS)
+                .register(registry);
+
+        gauge("route.queued", tag, stats.queued)
+                .description("The number of queued connection lease requests of a route")
+                .baseUnit(REQUESTS)
+                .register(registry);
+
+        // the same timer is returned if a route happens to be bound twice
+        stats.leases.addIfAbsent(timer(tag, "leased").register(registry));
+        stats.failures.addIfAbsent(timer(tag, "failed").register(registry));
+    }
+
+    private Timer.Builder timer(final Tag tag, final String result) {
+        return Timer.builder(metricName + ".lease")
+                .description("The time spent waiting for a connection lease")
+                .tags(defaultTags)
+                .tags(List.of(tag, Tag.of("result", result)));
+    }
+
+    private Gauge.Builder<AtomicInteger> gauge(
+            final String name,
+            final Tag tag,
+            final AtomicInteger value) {
+
+        return Gauge.builder(metricName + "." + name, value, AtomicInteger::get)
+                .tags(defaultTags)
+                .tags(List.of(tag));
     }
 
     private Gauge.Builder<Supplier<Number>> gauge(
@@ -96,4 +217,12 @@ public final class HttpConnectionPoolMetrics implements MeterBinder {
                 .tags(defaultTags);
     }
 
+    private static final class RouteStats {
+        private final AtomicInteger available = new AtomicInteger();
+        private final AtomicInteger leased = new AtomicInteger();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final CopyOnWriteArrayList<Timer> leases = new CopyOnWriteArrayList<>();
+        private final CopyOnWriteArrayList<Timer> failures = new CopyOnWriteArrayList<>();
+    }
+
 }
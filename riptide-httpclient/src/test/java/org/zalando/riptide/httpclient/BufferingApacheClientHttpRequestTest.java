@@ -3,14 +3,20 @@ package org.zalando.riptide.httpclient;
 import org.apache.hc.client5.http.classic.HttpClient;
 import org.apache.hc.client5.http.classic.methods.HttpPost;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.client.ClientHttpRequest;
 
+import java.io.IOException;
 import java.net.URISyntaxException;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory.DEFAULT_DRAIN_POLICY;
 
 class BufferingApacheClientHttpRequestTest {
 
@@ -19,7 +25,7 @@ class BufferingApacheClientHttpRequestTest {
         final HttpUriRequest httpUriRequest = mock(HttpUriRequest.class);
         when(httpUriRequest.getUri()).thenThrow(URISyntaxException.class);
 
-        final BufferingApacheClientHttpRequest request = new BufferingApacheClientHttpRequest(null, httpUriRequest);
+        final BufferingApacheClientHttpRequest request = new BufferingApacheClientHttpRequest(null, httpUriRequest, new SegmentPool(16, 1), DEFAULT_DRAIN_POLICY);
         assertThrows(IllegalArgumentException.class, request::getURI);
     }
 
@@ -28,8 +34,40 @@ class BufferingApacheClientHttpRequestTest {
         final HttpClient client = mock(HttpClient.class);
         final HttpPost request = new HttpPost("https://example.org");
 
-        final ClientHttpRequest unit = new BufferingApacheClientHttpRequest(client, request);
+        final ClientHttpRequest unit = new BufferingApacheClientHttpRequest(client, request, new SegmentPool(16, 1), DEFAULT_DRAIN_POLICY);
 
         assertThrows(UnsupportedOperationException.class, unit::getAttributes);
     }
+
+    @Test
+    void shouldReleaseSegmentsAfterResponse() throws IOException {
+        final HttpClient client = mock(HttpClient.class);
+        final HttpPost request = new HttpPost("https://example.org");
+        final SegmentPool pool = new SegmentPool(4, 8);
+
+        when(client.executeOpen(any(), any(), any())).thenReturn(new BasicClassicHttpResponse(200));
+
+        final ClientHttpRequest unit = new BufferingApacheClientHttpRequest(client, request, pool, DEFAULT_DRAIN_POLICY);
+        unit.getBody().write("Hello, world!".getBytes(UTF_8));
+        unit.execute();
+
+        assertEquals(13, request.getEntity().getContentLength());
+        assertEquals(4, pool.size());
+    }
+
+    @Test
+    void shouldReleaseSegmentsAfterFailure() throws IOException {
+        final HttpClient client = mock(HttpClient.class);
+        final HttpPost request = new HttpPost("https://example.org");
+        final SegmentPool pool = new SegmentPool(4, 8);
+
+        when(client.executeOpen(any(), any(), any())).thenThrow(new IOException());
+
+        final ClientHttpRequest unit = new BufferingApacheClientHttpRequest(client, request, pool, DEFAULT_DRAIN_POLICY);
+        unit.getBody().write("Hello".getBytes(UTF_8));
+
+        assertThrows(IOException.class, unit::execute);
+        assertEquals(2, pool.size());
+    }
+
 }
@@ -0,0 +1,142 @@
+package org.zalando.riptide.httpclient;
+
+import okhttp3.mockwebserver.MockWebServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestExecution;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.zalando.riptide.Route.call;
+import static org.zalando.riptide.httpclient.ConnectionLeasePlugin.LEASE_WAIT_TIME;
+import static org.zalando.riptide.httpclient.MockWebServerUtil.emptyMockResponse;
+import static org.zalando.riptide.httpclient.MockWebServerUtil.getBaseUrl;
+import static org.zalando.riptide.httpclient.MockWebServerUtil.verify;
+
+final class ConnectionLeasePluginTest {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final CloseableHttpClient client = HttpClientBuilder.create()
+            .setConnectionManager(new TrackingHttpClientConnectionManager(
+                    new PoolingHttpClientConnectionManager(), new TrackingHttpClientConnectionManager.Listener() {
+                    }))
+            .build();
+
+    private final AtomicReference<Optional<Supplier<Optional<Duration>>>> waitTime = new AtomicReference<>();
+
+    private final Plugin capture = new Plugin() {
+        @Override
+        public RequestExecution aroundNetwork(final RequestExecution execution) {
+            return arguments -> {
+                waitTime.set(arguments.getAttribute(LEASE_WAIT_TIME));
+                return execution.execute(arguments);
+            };
+        }
+    };
+
+    @AfterEach
+    void closeClient() throws IOException {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    void shouldExposeLeaseWaitTime() {
+        server.enqueue(emptyMockResponse());
+
+        final Http unit = Http.builder()
+                .executor(Executors.newSingleThreadExecutor())
+                .requestFactory(new ApacheClientHttpRequestFactory(client))
+                .baseUrl(getBaseUrl(server))
+                .plugin(capture)
+                .plugin(new ConnectionLeasePlugin())
+                .build();
+
+        unit.get("/").call(call(ClientHttpResponse::close)).join();
+
+        assertThat(waitTime.get().orElseThrow().get().orElseThrow(), is(greaterThan(Duration.ZERO)));
+
+        verify(server, 1, "/");
+    }
+
+    @Test
+    void shouldRestorePreviousWaitTime() {
+        server.enqueue(emptyMockResponse());
+        server.enqueue(emptyMockResponse());
+
+        final Http unit = Http.builder()
+                .executor(Executors.newSingleThreadExecutor())
+                .requestFactory(new ApacheClientHttpRequestFactory(client))
+                .baseUrl(getBaseUrl(server))
+                .plugin(capture)
+                .plugin(new ConnectionLeasePlugin())
+                .plugin(new ConnectionLeasePlugin())
+                .build();
+
+        unit.get("/").call(call(ClientHttpResponse::close)).join();
+        assertThat(waitTime.get().orElseThrow().get().orElseThrow(), is(greaterThan(Duration.ZERO)));
+
+        unit.get("/").call(call(ClientHttpResponse::close)).join();
+        assertThat(waitTime.get().orElseThrow().get().orElseThrow(), is(greaterThan(Duration.ZERO)));
+
+        verify(server, 2, "/");
+    }
+
+    @Test
+    void shouldNotReportWaitTimeWithoutTrackingConnectionManager() throws IOException {
+        server.enqueue(emptyMockResponse());
+
+        try (final CloseableHttpClient client = HttpClientBuilder.create()
+                .setConnectionManager(new PoolingHttpClientConnectionManager())
+                .build()) {
+
+            final Http unit = Http.builder()
+                    .executor(Executors.newSingleThreadExecutor())
+                    .requestFactory(new ApacheClientHttpRequestFactory(client))
+                    .baseUrl(getBaseUrl(server))
+                    .plugin(capture)
+                    .plugin(new ConnectionLeasePlugin())
+                    .build();
+
+            unit.get("/").call(call(ClientHttpResponse::close)).join();
+        }
+
+        assertThat(waitTime.get().orElseThrow().get().isPresent(), is(false));
+
+        verify(server, 1, "/");
+    }
+
+    @Test
+    void shouldIgnoreLeasesOutsideOfPlugin() {
+        server.enqueue(emptyMockResponse());
+
+        final Http unit = Http.builder()
+                .executor(Executors.newSingleThreadExecutor())
+                .requestFactory(new ApacheClientHttpRequestFactory(client))
+                .baseUrl(getBaseUrl(server))
+                .plugin(capture)
+                .build();
+
+        unit.get("/").call(call(ClientHttpResponse::close)).join();
+
+        assertThat(waitTime.get().isPresent(), is(false));
+
+        verify(server, 1, "/");
+    }
+
+}
@@ -0,0 +1,118 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.hc.core5.http.io.EofSensorInputStream;
+import org.apache.hc.core5.http.io.EofSensorWatcher;
+import org.junit.jupiter.api.Test;
+import org.zalando.riptide.httpclient.DrainPolicy.Listener;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+final class DrainPolicyTest {
+
+    private final Listener listener = mock(Listener.class);
+
+    private final DrainPolicy unit = DrainPolicy.bounded(4, Duration.ofSeconds(1)).withListener(listener);
+
+    @Test
+    void shouldReuseConsumedBody() throws IOException {
+        final InputStream body = spy(new ByteArrayInputStream(new byte[0]));
+
+        assertThat(unit.close(body, true, 1024, 1024)).isTrue();
+
+        verify(body).close();
+        verify(listener).onReuse();
+    }
+
+    @Test
+    void shouldReuseIfRemainingContentLengthIsSmall() throws IOException {
+        final InputStream body = spy(new ByteArrayInputStream(new byte[8]));
+
+        assertThat(unit.close(body, false, 1020, 1024)).isTrue();
+
+        verify(body, never()).read(any(), anyInt(), anyInt());
+        verify(body).close();
+        verify(listener).onReuse();
+    }
+
+    @Test
+    void shouldDiscardIfRemainingContentLengthIsLarge() throws IOException {
+        final InputStream body = spy(new ByteArrayInputStream(new byte[8]));
+
+        assertThat(unit.close(body, false, 1019, 1024)).isFalse();
+
+        verify(body, never()).read(any(), anyInt(), anyInt());
+        verify(body).close();
+        verify(listener).onDiscard();
+    }
+
+    @Test
+    void shouldReuseIfDrainedWithinLimit() throws IOException {
+        final InputStream body = spy(new ByteArrayInputStream(new byte[4]));
+
+        assertThat(unit.close(body, false, 0, -1)).isTrue();
+
+        assertThat(body.available()).isZero();
+        verify(listener).onReuse();
+    }
+
+    @Test
+    void shouldDiscardIfDrainExceedsLimit() throws IOException {
+        final InputStream body = new ByteArrayInputStream(new byte[5]);
+
+        assertThat(unit.close(body, false, 0, -1)).isFalse();
+
+        verify(listener).onDiscard();
+    }
+
+    @Test
+    void shouldDiscardIfDrainExceedsDuration() throws IOException {
+        final InputStream body = spy(new ByteArrayInputStream(new byte[1]));
+
+        assertThat(DrainPolicy.bounded(4, Duration.ZERO).close(body, false, 0, -1)).isFalse();
+
+        verify(body, never()).read(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void shouldDiscardIfDrainFails() throws IOException {
+        final InputStream body = mock(InputStream.class);
+        when(body.read(any(), anyInt(), anyInt())).thenThrow(new IOException());
+
+        assertThat(unit.close(body, false, 0, -1)).isFalse();
+
+        verify(body).close();
+        verify(listener).onDiscard();
+    }
+
+    @Test
+    void shouldDrainInChunks() throws IOException {
+        final DrainPolicy policy = DrainPolicy.bounded(100_000, Duration.ofSeconds(1));
+
+        assertThat(policy.close(new ByteArrayInputStream(new byte[100_000]), false, 0, -1)).isTrue();
+        assertThat(policy.close(new ByteArrayInputStream(new byte[100_001]), false, 0, -1)).isFalse();
+    }
+
+    @Test
+    void shouldAbortConnection() throws IOException {
+        final EofSensorWatcher watcher = mock(EofSensorWatcher.class);
+        final InputStream body = new EofSensorInputStream(new ByteArrayInputStream(new byte[8]), watcher);
+
+        assertThat(unit.close(body, false, 0, 8)).isFalse();
+
+        verify(watcher).streamAbort(any());
+        verify(watcher, never()).streamClosed(any());
+    }
+
+}
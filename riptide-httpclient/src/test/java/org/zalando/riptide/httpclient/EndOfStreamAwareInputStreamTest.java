@@ -9,6 +9,7 @@ import java.io.InputStream;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 @SuppressWarnings("ResultOfMethodCallIgnored")
 final class EndOfStreamAwareInputStreamTest {
@@ -23,7 +24,7 @@ final class EndOfStreamAwareInputStreamTest {
         unit.read();
         unit.close();
 
-        verify(closer).close(original, false);
+        verify(closer).close(original, false, 1);
     }
 
     @Test
@@ -32,7 +33,7 @@ final class EndOfStreamAwareInputStreamTest {
         unit.read();
         unit.close();
 
-        verify(closer).close(original, true);
+        verify(closer).close(original, true, 1);
     }
 
     @Test
@@ -40,7 +41,7 @@ final class EndOfStreamAwareInputStreamTest {
         unit.read(new byte[1]);
         unit.close();
 
-        verify(closer).close(original, false);
+        verify(closer).close(original, false, 1);
     }
 
     @Test
@@ -49,7 +50,7 @@ final class EndOfStreamAwareInputStreamTest {
         unit.read(new byte[1]);
         unit.close();
 
-        verify(closer).close(original, true);
+        verify(closer).close(original, true, 1);
     }
 
     @Test
@@ -57,7 +58,7 @@ final class EndOfStreamAwareInputStreamTest {
         unit.read(new byte[1], 0, 1);
         unit.close();
 
-        verify(closer).close(original, false);
+        verify(closer).close(original, false, 1);
     }
 
     @Test
@@ -66,7 +67,33 @@ final class EndOfStreamAwareInputStreamTest {
         unit.read(new byte[1], 0, 1);
         unit.close();
 
-        verify(closer).close(original, true);
+        verify(closer).close(original, true, 1);
+    }
+
+    @Test
+    void shouldCountSkippedBytes() throws IOException {
+        unit.skip(2);
+        unit.close();
+
+        verify(closer).close(original, false, 1);
+    }
+
+    @Test
+    void shouldCloseWithoutReading() throws IOException {
+        unit.close();
+
+        verify(closer).close(original, false, 0);
+    }
+
+    @Test
+    void shouldCloseOnlyOnce() throws IOException {
+        unit.read();
+        unit.read();
+        unit.close();
+        unit.close();
+
+        verify(closer).close(original, true, 1);
+        verifyNoMoreInteractions(closer);
     }
 
 }
@@ -0,0 +1,87 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.message.BasicHeader;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+final class HeadersViewTest {
+
+    private final HeadersView unit = new HeadersView(new Header[]{
+            new BasicHeader("Content-Type", "application/json"),
+            new BasicHeader("Vary", "Accept"),
+            new BasicHeader("vary", "Accept-Encoding"),
+    });
+
+    @Test
+    void shouldGetFirstValueIgnoringCase() {
+        assertThat(unit.getFirst("content-type")).isEqualTo("application/json");
+        assertThat(unit.getFirst("VARY")).isEqualTo("Accept");
+        assertThat(unit.getFirst("ETag")).isNull();
+    }
+
+    @Test
+    void shouldGetAllValuesIgnoringCase() {
+        assertThat(unit.get("Vary")).containsExactly("Accept", "Accept-Encoding");
+        assertThat(unit.get("ETag")).isNull();
+        assertThat(unit.get(42)).isNull();
+    }
+
+    @Test
+    void shouldContainKeyIgnoringCase() {
+        assertThat(unit.containsKey("CONTENT-TYPE")).isTrue();
+        assertThat(unit.containsKey("ETag")).isFalse();
+        assertThat(unit.containsKey(42)).isFalse();
+    }
+
+    @Test
+    void shouldBeEmptyWithoutHeaders() {
+        assertThat(unit.isEmpty()).isFalse();
+        assertThat(new HeadersView(new Header[0]).isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldMaterializeOnIteration() {
+        assertThat(unit).hasSize(2);
+        assertThat(unit.keySet()).containsExactly("Content-Type", "Vary");
+        assertThat(unit.entrySet()).isSameAs(unit.entrySet());
+        assertThat(unit.toSingleValueMap())
+                .containsEntry("Content-Type", "application/json")
+                .containsEntry("Vary", "Accept");
+    }
+
+    @Test
+    void shouldBeReadOnly() {
+        final List<String> values = unit.get("Vary");
+        final Map.Entry<String, List<String>> entry = unit.entrySet().iterator().next();
+
+        assertThatThrownBy(() -> values.add("Origin")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> entry.getValue().clear()).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> unit.put("Vary", List.of())).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> unit.remove("Vary")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> unit.add("Vary", "Origin")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> unit.addAll("Vary", List.of("Origin"))).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> unit.addAll(new LinkedMultiValueMap<>())).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> unit.set("Vary", "Origin")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> unit.setAll(Map.of())).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> unit.toSingleValueMap().clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void shouldBackHttpHeaders() {
+        final HttpHeaders headers = new HttpHeaders(unit);
+
+        assertThat(headers.getContentType()).isEqualTo(APPLICATION_JSON);
+        assertThat(headers.getVary()).containsExactly("Accept", "Accept-Encoding");
+        assertThatThrownBy(() -> headers.setContentLength(0)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+}
@@ -0,0 +1,230 @@
+package org.zalando.riptide.httpclient;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
+import org.apache.hc.core5.ssl.SSLContexts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.NetworkTimings.Phase;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestExecution;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.emptyIterable;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zalando.riptide.Attributes.NETWORK_TIMINGS;
+import static org.zalando.riptide.PassRoute.pass;
+import static org.zalando.riptide.Route.call;
+import static org.zalando.riptide.httpclient.MockWebServerUtil.emptyMockResponse;
+import static org.zalando.riptide.httpclient.MockWebServerUtil.getBaseUrl;
+import static org.zalando.riptide.httpclient.MockWebServerUtil.textMockResponse;
+import static org.zalando.riptide.httpclient.MockWebServerUtil.verify;
+
+final class NetworkTimingsPluginTest {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final CloseableHttpClient client = HttpClientBuilder.create()
+            .setConnectionManager(new TrackingHttpClientConnectionManager(
+                    PoolingHttpClientConnectionManagerBuilder.create()
+                            .setDnsResolver(new TrackingDnsResolver())
+                            .setSSLSocketFactory(new TrackingSSLConnectionSocketFactory(
+                                    SSLContexts.createDefault(), NoopHostnameVerifier.INSTANCE))
+                            .build()))
+            .disableAutomaticRetries()
+            .build();
+
+    private final List<Map<Phase, Duration>> attempts = new CopyOnWriteArrayList<>();
+
+    private final Plugin listener = new Plugin() {
+        @Override
+        public RequestExecution aroundAsync(final RequestExecution execution) {
+            return arguments -> {
+                arguments.getAttribute(NETWORK_TIMINGS).orElseThrow().addListener(attempts::add);
+                return execution.execute(arguments);
+            };
+        }
+    };
+
+    private final Http unit = Http.builder()
+            .executor(Executors.newSingleThreadExecutor())
+            .requestFactory(new ApacheClientHttpRequestFactory(client))
+            .baseUrl(getBaseUrl(server))
+            .plugin(listener)
+            .plugin(new NetworkTimingsPlugin())
+            .build();
+
+    @AfterEach
+    void closeClient() throws IOException {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    void shouldRecordPhasesOfNewConnection() {
+        server.enqueue(textMockResponse("Hello, world!"));
+
+        unit.get("/").call(call(ClientHttpResponse::close)).join();
+
+        assertThat(attempts, hasSize(1));
+        assertThat(attempts.get(0).keySet(), contains(Phase.DNS, Phase.CONNECT, Phase.FIRST_BYTE, Phase.BODY));
+
+        verify(server, 1, "/");
+    }
+
+    @Test
+    void shouldNotRecordConnectionSetupOfReusedConnection() {
+        server.enqueue(textMockResponse("Hello, world!"));
+        server.enqueue(textMockResponse("Hello, world!"));
+
+        unit.get("/").call(call(ClientHttpResponse::close)).join();
+        unit.get("/").call(call(ClientHttpResponse::close)).join();
+
+        assertThat(attempts, hasSize(2));
+        assertThat(attempts.get(1).keySet(), contains(Phase.FIRST_BYTE, Phase.BODY));
+
+        verify(server, 2, "/");
+    }
+
+    @Test
+    void shouldCompleteResponseWithoutBody() {
+        server.enqueue(emptyMockResponse());
+
+        unit.get("/").call(pass()).join();
+
+        assertThat(attempts, hasSize(1));
+        assertThat(attempts.get(0).get(Phase.FIRST_BYTE), is(notNullValue()));
+
+        verify(server, 1, "/");
+    }
+
+    @Test
+    void shouldCompleteOnlyOnce() {
+        server.enqueue(textMockResponse("Hello, world!"));
+
+        unit.get("/").call(call(response -> {
+            response.close();
+            response.close();
+        })).join();
+
+        assertThat(attempts, hasSize(1));
+
+        verify(server, 1, "/");
+    }
+
+    @Test
+    void shouldRecordFailedHandshake() {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+
+        final Http unit = Http.builder()
+                .executor(Executors.newSingleThreadExecutor())
+                .requestFactory(new ApacheClientHttpRequestFactory(client))
+                .baseUrl(getBaseUrl(server).replace("http:", "https:"))
+                .plugin(listener)
+                .plugin(new NetworkTimingsPlugin())
+                .build();
+
+        final CompletableFuture<ClientHttpResponse> future = unit.get("/").call(pass());
+        assertThrows(CompletionException.class, future::join);
+
+        assertThat(attempts, hasSize(1));
+        assertThat(attempts.get(0).keySet(), contains(Phase.DNS, Phase.CONNECT, Phase.TLS));
+    }
+
+    @Test
+    void shouldCompleteFailedAttempt() {
+        final Http unit = Http.builder()
+                .executor(Executors.newSingleThreadExecutor())
+                .requestFactory(new ApacheClientHttpRequestFactory(client))
+                .baseUrl(getBaseUrl(server))
+                .plugin(new Plugin() {
+                    @Override
+                    public RequestExecution aroundNetwork(final RequestExecution execution) {
+                        return arguments -> CompletableFuture.failedFuture(new IOException("Unreachable"));
+                    }
+                })
+                .plugin(listener)
+                .plugin(new NetworkTimingsPlugin())
+                .build();
+
+        final CompletableFuture<ClientHttpResponse> future = unit.get("/").call(pass());
+        assertThrows(CompletionException.class, future::join);
+
+        assertThat(attempts, hasSize(1));
+        assertThat(attempts.get(0).keySet(), is(emptyIterable()));
+    }
+
+    @Test
+    void shouldCompleteResponseOfOtherRequestFactory() {
+        server.enqueue(textMockResponse("Hello, world!"));
+
+        final Http unit = Http.builder()
+                .executor(Executors.newSingleThreadExecutor())
+                .requestFactory(new SimpleClientHttpRequestFactory())
+                .baseUrl(getBaseUrl(server))
+                .plugin(listener)
+                .plugin(new NetworkTimingsPlugin())
+                .build();
+
+        unit.get("/").call(call(ClientHttpResponse::close)).join();
+
+        assertThat(attempts, hasSize(1));
+        assertThat(attempts.get(0).keySet(), is(emptyIterable()));
+
+        verify(server, 1, "/");
+    }
+
+    @Test
+    void shouldRestorePreviousRecording() {
+        server.enqueue(textMockResponse("Hello, world!"));
+
+        final Http unit = Http.builder()
+                .executor(Executors.newSingleThreadExecutor())
+                .requestFactory(new ApacheClientHttpRequestFactory(client))
+                .baseUrl(getBaseUrl(server))
+                .plugin(listener)
+                .plugin(new NetworkTimingsPlugin())
+                .plugin(new NetworkTimingsPlugin())
+                .build();
+
+        unit.get("/").call(call(ClientHttpResponse::close)).join();
+
+        // the outer plugin can't see the response of the inner one
+        assertThat(attempts, hasSize(2));
+        assertThat(attempts.get(0).keySet(), is(emptyIterable()));
+        assertThat(attempts.get(1).keySet(), contains(Phase.DNS, Phase.CONNECT, Phase.FIRST_BYTE, Phase.BODY));
+
+        verify(server, 1, "/");
+    }
+
+    @Test
+    void shouldResolveWithoutPlugin() throws IOException {
+        final TrackingDnsResolver resolver = new TrackingDnsResolver();
+
+        assertThat(resolver.resolve("localhost").length, is(not(0)));
+        assertThat(resolver.resolveCanonicalHostname("localhost"), is(notNullValue()));
+    }
+
+}
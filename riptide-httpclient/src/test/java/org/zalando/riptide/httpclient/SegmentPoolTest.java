@@ -0,0 +1,44 @@
+package org.zalando.riptide.httpclient;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SegmentPoolTest {
+
+    private final SegmentPool unit = new SegmentPool(16, 1);
+
+    @Test
+    void shouldAllocateSegmentIfEmpty() {
+        final byte[] segment = unit.acquire();
+
+        assertEquals(16, segment.length);
+        assertEquals(0, unit.size());
+    }
+
+    @Test
+    void shouldReuseReleasedSegment() {
+        final byte[] segment = unit.acquire();
+        unit.release(segment);
+
+        assertEquals(1, unit.size());
+        assertSame(segment, unit.acquire());
+        assertEquals(0, unit.size());
+    }
+
+    @Test
+    void shouldDropSegmentsIfFull() {
+        final byte[] first = unit.acquire();
+        final byte[] second = unit.acquire();
+
+        unit.release(first);
+        unit.release(second);
+
+        assertEquals(1, unit.size());
+        assertSame(first, unit.acquire());
+        assertNotSame(second, unit.acquire());
+    }
+
+}
@@ -0,0 +1,99 @@
+package org.zalando.riptide.httpclient;
+
+import com.google.common.io.ByteStreams;
+import org.apache.hc.core5.http.HttpEntity;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.hc.core5.http.ContentType.TEXT_PLAIN;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SegmentedOutputStreamTest {
+
+    private final SegmentPool pool = new SegmentPool(4, 8);
+    private final SegmentedOutputStream unit = new SegmentedOutputStream(pool);
+
+    @Test
+    void shouldWriteSingleBytesAcrossSegments() throws IOException {
+        for (final byte b : "Hello".getBytes(UTF_8)) {
+            unit.write(b);
+        }
+
+        assertContent("Hello", unit.toEntity(null));
+    }
+
+    @Test
+    void shouldWriteArraysAcrossSegments() throws IOException {
+        unit.write("Hel".getBytes(UTF_8));
+        unit.write("__lo, world__".getBytes(UTF_8), 2, 9);
+
+        assertContent("Hello, world", unit.toEntity(TEXT_PLAIN));
+    }
+
+    @Test
+    void shouldWriteFullSegments() throws IOException {
+        unit.write("Hello, w".getBytes(UTF_8));
+
+        assertContent("Hello, w", unit.toEntity(null));
+    }
+
+    @Test
+    void shouldCreateEmptyEntity() throws IOException {
+        assertContent("", unit.toEntity(null));
+    }
+
+    @Test
+    void shouldRejectInvalidRange() {
+        assertThrows(IndexOutOfBoundsException.class, () -> unit.write(new byte[2], 1, 2));
+    }
+
+    @Test
+    void shouldExposeEntityProperties() throws IOException {
+        final HttpEntity entity = unit.toEntity(TEXT_PLAIN);
+
+        assertEquals(TEXT_PLAIN.toString(), entity.getContentType());
+        assertNull(entity.getContentEncoding());
+        assertTrue(entity.isRepeatable());
+        assertFalse(entity.isStreaming());
+
+        entity.close();
+    }
+
+    @Test
+    void shouldReleaseSegments() throws IOException {
+        unit.write("Hello, world".getBytes(UTF_8));
+        unit.release();
+
+        assertEquals(3, pool.size());
+        assertContent("", unit.toEntity(null));
+
+        unit.write("Hello".getBytes(UTF_8));
+
+        assertEquals(1, pool.size());
+        assertContent("Hello", unit.toEntity(null));
+    }
+
+    private static void assertContent(final String expected, final HttpEntity entity) throws IOException {
+        final byte[] bytes = expected.getBytes(UTF_8);
+
+        assertEquals(bytes.length, entity.getContentLength());
+
+        // repeatable, i.e. consumable more than once
+        for (int i = 0; i < 2; i++) {
+            assertArrayEquals(bytes, ByteStreams.toByteArray(entity.getContent()));
+
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            entity.writeTo(output);
+            assertArrayEquals(bytes, output.toByteArray());
+        }
+    }
+
+}
@@ -14,6 +14,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory.DEFAULT_DRAIN_POLICY;
 
 final class StreamingApacheClientHttpRequestTest {
 
@@ -22,7 +23,7 @@ final class StreamingApacheClientHttpRequestTest {
         final HttpClient client = mock(HttpClient.class);
         final HttpPost request = new HttpPost("https://example.org");
 
-        final StreamingApacheClientHttpRequest unit = new StreamingApacheClientHttpRequest(client, request);
+        final StreamingApacheClientHttpRequest unit = new StreamingApacheClientHttpRequest(client, request, DEFAULT_DRAIN_POLICY);
 
         unit.setBody(mock(Body.class));
 
@@ -37,7 +38,7 @@ final class StreamingApacheClientHttpRequestTest {
         final HttpClient client = mock(HttpClient.class);
         final HttpPost request = new HttpPost("https://example.org");
 
-        final ClientHttpRequest unit = new StreamingApacheClientHttpRequest(client, request);
+        final ClientHttpRequest unit = new StreamingApacheClientHttpRequest(client, request, DEFAULT_DRAIN_POLICY);
 
         assertThrows(UnsupportedOperationException.class, unit::getBody);
     }
@@ -47,7 +48,7 @@ final class StreamingApacheClientHttpRequestTest {
         final HttpUriRequest httpUriRequest = mock(HttpUriRequest.class);
         when(httpUriRequest.getUri()).thenThrow(URISyntaxException.class);
 
-        final StreamingApacheClientHttpRequest request = new StreamingApacheClientHttpRequest(null, httpUriRequest);
+        final StreamingApacheClientHttpRequest request = new StreamingApacheClientHttpRequest(null, httpUriRequest, DEFAULT_DRAIN_POLICY);
         assertThrows(IllegalArgumentException.class, request::getURI);
     }
 
@@ -56,7 +57,7 @@ final class StreamingApacheClientHttpRequestTest {
         final HttpClient client = mock(HttpClient.class);
         final HttpPost request = new HttpPost("https://example.org");
 
-        final ClientHttpRequest unit = new StreamingApacheClientHttpRequest(client, request);
+        final ClientHttpRequest unit = new StreamingApacheClientHttpRequest(client, request, DEFAULT_DRAIN_POLICY);
 
         assertThrows(UnsupportedOperationException.class, unit::getAttributes);
     }
@@ -0,0 +1,238 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.protocol.BasicHttpContext;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zalando.riptide.httpclient.TrackingHttpClientConnectionManager.Listener;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+final class TrackingHttpClientConnectionManagerTest {
+
+    private final HttpRoute route = new HttpRoute(new HttpHost("http", "localhost", 80));
+    private final Timeout timeout = Timeout.ofSeconds(1);
+
+    private final HttpClientConnectionManager manager = mock(HttpClientConnectionManager.class);
+    private final LeaseRequest request = mock(LeaseRequest.class);
+    private final ConnectionEndpoint endpoint = mock(ConnectionEndpoint.class);
+    private final Listener listener = mock(Listener.class);
+
+    private final TrackingHttpClientConnectionManager unit =
+            new TrackingHttpClientConnectionManager(manager, listener);
+
+    @BeforeEach
+    void defaultBehaviour() {
+        when(manager.lease("id", route, timeout, null)).thenReturn(request);
+    }
+
+    @Test
+    void shouldNotifyAboutLeaseAndReusableRelease() throws Exception {
+        when(request.get(timeout)).thenReturn(endpoint);
+        when(endpoint.isConnected()).thenReturn(true);
+
+        final ConnectionEndpoint actual = unit.lease("id", route, timeout, null).get(timeout);
+        unit.release(actual, null, TimeValue.ofSeconds(5));
+
+        assertThat(actual, is(sameInstance(endpoint)));
+
+        final var order = inOrder(listener, manager);
+        order.verify(listener).onLease(route);
+        order.verify(listener).onReused(route);
+        order.verify(listener).onLeased(eq(route), any(Duration.class));
+        order.verify(listener).onRelease(route, true);
+        order.verify(manager).release(endpoint, null, TimeValue.ofSeconds(5));
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    void shouldNotifyAboutReleaseWithoutKeepAlive() throws Exception {
+        when(request.get(timeout)).thenReturn(endpoint);
+        when(endpoint.isConnected()).thenReturn(true);
+
+        unit.release(unit.lease("id", route, timeout, null).get(timeout), null, null);
+
+        verify(listener).onRelease(route, false);
+    }
+
+    @Test
+    void shouldNotifyAboutReleaseOfClosedConnection() throws Exception {
+        when(request.get(timeout)).thenReturn(endpoint);
+        when(endpoint.isConnected()).thenReturn(false);
+
+        unit.release(unit.lease("id", route, timeout, null).get(timeout), null, TimeValue.ofSeconds(5));
+
+        verify(listener).onRelease(route, false);
+    }
+
+    @Test
+    void shouldNotNotifyAboutReuseOfNewConnection() throws Exception {
+        when(request.get(timeout)).thenReturn(endpoint);
+        when(endpoint.isConnected()).thenReturn(false);
+
+        unit.lease("id", route, timeout, null).get(timeout);
+
+        verify(listener).onLease(route);
+        verify(listener).onLeased(eq(route), any(Duration.class));
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    void shouldNotNotifyAboutReleaseOfUnknownEndpoint() {
+        unit.release(endpoint, null, TimeValue.ofSeconds(5));
+
+        verifyNoInteractions(listener);
+        verify(manager).release(endpoint, null, TimeValue.ofSeconds(5));
+    }
+
+    @Test
+    void shouldNotifyAboutFailedLease() throws Exception {
+        when(request.get(timeout)).thenThrow(new TimeoutException());
+
+        final LeaseRequest lease = unit.lease("id", route, timeout, null);
+        assertThrows(TimeoutException.class, () -> lease.get(timeout));
+
+        verify(listener).onLease(route);
+        verify(listener).onLeaseFailed(eq(route), any(Duration.class));
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    void shouldNotifyAboutCancelledLease() {
+        when(request.cancel()).thenReturn(true);
+
+        assertThat(unit.lease("id", route, timeout, null).cancel(), is(true));
+
+        verify(listener).onLease(route);
+        verify(listener).onLeaseFailed(eq(route), any(Duration.class));
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    void shouldNotNotifyIfCancellationFailed() {
+        when(request.cancel()).thenReturn(false);
+
+        assertThat(unit.lease("id", route, timeout, null).cancel(), is(false));
+
+        verify(listener).onLease(route);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    void shouldNotifyOnlyOnce() throws Exception {
+        when(request.get(timeout)).thenReturn(endpoint);
+        when(request.cancel()).thenReturn(true);
+
+        final LeaseRequest lease = unit.lease("id", route, timeout, null);
+        lease.get(timeout);
+        lease.cancel();
+
+        verify(listener).onLease(route);
+        verify(listener).onLeased(eq(route), any(Duration.class));
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    void shouldDelegate() throws IOException {
+        final HttpContext context = new BasicHttpContext();
+
+        unit.connect(endpoint, TimeValue.ofSeconds(1), context);
+        unit.upgrade(endpoint, context);
+        unit.close(CloseMode.IMMEDIATE);
+        unit.close();
+
+        verify(manager).connect(endpoint, TimeValue.ofSeconds(1), context);
+        verify(manager).upgrade(endpoint, context);
+        verify(manager).close(CloseMode.IMMEDIATE);
+        verify(manager).close();
+    }
+
+    @Test
+    void shouldReportIdleConnectionsAfterEviction() {
+        final PoolingHttpClientConnectionManager pool = mock(PoolingHttpClientConnectionManager.class);
+        final TrackingHttpClientConnectionManager unit = new TrackingHttpClientConnectionManager(pool, listener);
+
+        when(pool.getRoutes()).thenReturn(Set.of(route));
+        when(pool.getStats(route)).thenReturn(new PoolStats(1, 0, 2, 10), new PoolStats(1, 0, 1, 10));
+
+        unit.closeExpired();
+        unit.closeIdle(TimeValue.ofSeconds(30));
+
+        final var order = inOrder(listener, pool);
+        order.verify(pool).closeExpired();
+        order.verify(listener).onIdle(route, 2);
+        order.verify(pool).closeIdle(TimeValue.ofSeconds(30));
+        order.verify(listener).onIdle(route, 1);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    void shouldNotEvictWithoutPool() {
+        unit.closeExpired();
+        unit.closeIdle(TimeValue.ofSeconds(30));
+
+        verifyNoInteractions(listener);
+        verifyNoInteractions(manager);
+    }
+
+    @Test
+    void shouldDelegatePoolControl() {
+        final PoolingHttpClientConnectionManager pool = mock(PoolingHttpClientConnectionManager.class);
+        final TrackingHttpClientConnectionManager unit = new TrackingHttpClientConnectionManager(pool, listener);
+        final PoolStats stats = new PoolStats(1, 2, 3, 4);
+
+        when(pool.getMaxTotal()).thenReturn(25);
+        when(pool.getDefaultMaxPerRoute()).thenReturn(5);
+        when(pool.getMaxPerRoute(route)).thenReturn(10);
+        when(pool.getRoutes()).thenReturn(Set.of(route));
+        when(pool.getTotalStats()).thenReturn(stats);
+        when(pool.getStats(route)).thenReturn(stats);
+
+        unit.setMaxTotal(25);
+        unit.setDefaultMaxPerRoute(5);
+        unit.setMaxPerRoute(route, 10);
+
+        assertThat(unit.getMaxTotal(), is(25));
+        assertThat(unit.getDefaultMaxPerRoute(), is(5));
+        assertThat(unit.getMaxPerRoute(route), is(10));
+        assertThat(unit.getRoutes(), is(Set.of(route)));
+        assertThat(unit.getTotalStats(), is(sameInstance(stats)));
+        assertThat(unit.getStats(route), is(sameInstance(stats)));
+
+        verify(pool).setMaxTotal(25);
+        verify(pool).setDefaultMaxPerRoute(5);
+        verify(pool).setMaxPerRoute(route, 10);
+    }
+
+    @Test
+    void shouldRejectPoolControlWithoutPool() {
+        assertThrows(UnsupportedOperationException.class, unit::getMaxTotal);
+    }
+
+}
@@ -0,0 +1,89 @@
+package org.zalando.riptide.httpclient.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory.Mode;
+import org.zalando.riptide.httpclient.DrainPolicy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.zalando.riptide.Route.call;
+import static org.zalando.riptide.httpclient.MockWebServerUtil.getBaseUrl;
+
+final class ConnectionReuseMetricsTest {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final CloseableHttpClient client = HttpClientBuilder.create().build();
+
+    private final ConnectionReuseMetrics metrics = new ConnectionReuseMetrics()
+            .withMetricName("connections")
+            .withDefaultTags(Tag.of("client", "example"));
+
+    private final Http http = Http.builder()
+            .executor(Executors.newSingleThreadExecutor())
+            .requestFactory(new ApacheClientHttpRequestFactory(client, Mode.STREAMING,
+                    DrainPolicy.bounded(1024, Duration.ofSeconds(1)).withListener(metrics)))
+            .baseUrl(getBaseUrl(server))
+            .build();
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void closeClient() throws IOException {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    void shouldCountReusedConnections() {
+        metrics.bindTo(registry);
+
+        server.enqueue(new MockResponse().setBody("Hello, world!"));
+
+        http.get("/").call(call(ClientHttpResponse::close)).join();
+
+        assertThat(counter("connections.reused").count(), is(1.0));
+        assertThat(counter("connections.discarded").count(), is(0.0));
+    }
+
+    @Test
+    void shouldCountDiscardedConnections() {
+        metrics.bindTo(registry);
+
+        server.enqueue(new MockResponse().setBody("x".repeat(64 * 1024)));
+
+        http.get("/").call(call(ClientHttpResponse::close)).join();
+
+        assertThat(counter("connections.reused").count(), is(0.0));
+        assertThat(counter("connections.discarded").count(), is(1.0));
+    }
+
+    @Test
+    void shouldUseDefaultMetricName() {
+        new ConnectionReuseMetrics().bindTo(registry);
+
+        assertThat(registry.find("http.client.connections.reused").functionCounter().count(), is(0.0));
+        assertThat(registry.find("http.client.connections.discarded").functionCounter().count(), is(0.0));
+    }
+
+    private FunctionCounter counter(final String name) {
+        return registry.find(name).tag("client", "example").functionCounter();
+    }
+
+}
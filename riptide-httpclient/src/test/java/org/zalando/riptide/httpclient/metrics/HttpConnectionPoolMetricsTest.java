@@ -3,21 +3,28 @@ package org.zalando.riptide.httpclient.metrics;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import okhttp3.mockwebserver.MockWebServer;
+import org.apache.hc.client5.http.HttpRoute;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpResponse;
 import org.zalando.riptide.Http;
 import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+import org.zalando.riptide.httpclient.TrackingHttpClientConnectionManager;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.concurrent.Executors;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.zalando.riptide.Route.call;
@@ -73,6 +80,135 @@ final class HttpConnectionPoolMetricsTest {
         verify(server, 1, "/");
     }
 
+    @Test
+    void shouldRecordRouteMetrics() {
+        final HttpConnectionPoolMetrics metrics = new HttpConnectionPoolMetrics(connectionManager)
+                .withMetricName("connection-pool")
+                .withDefaultTags(Tag.of("version", "1"));
+
+        metrics.bindTo(registry);
+
+        server.enqueue(emptyMockResponse());
+
+        final Http http = Http.builder()
+                .executor(Executors.newSingleThreadExecutor())
+                .requestFactory(new ApacheClientHttpRequestFactory(HttpClientBuilder.create()
+                        .setConnectionManager(new TrackingHttpClientConnectionManager(connectionManager, metrics))
+                        .build()))
+                .baseUrl(getBaseUrl(server))
+                .build();
+
+        http.get("/").call(call(ClientHttpResponse::close)).join();
+
+        assertThat(gauge("connection-pool.route.available").value(), is(1.0));
+        assertThat(gauge("connection-pool.route.leased").value(), is(0.0));
+        assertThat(gauge("connection-pool.route.queued").value(), is(0.0));
+        assertThat(gauge("connection-pool.route.available").getId().getTag("route"),
+                is(getBaseUrl(server)));
+        assertThat(timer("leased").count(), is(1L));
+        assertThat(timer("failed").count(), is(0L));
+
+        verify(server, 1, "/");
+    }
+
+    @Test
+    void shouldNotCountIdleConnectionsClosedByPool() {
+        final HttpConnectionPoolMetrics metrics = new HttpConnectionPoolMetrics(connectionManager)
+                .withMetricName("connection-pool")
+                .withDefaultTags(Tag.of("version", "1"));
+
+        metrics.bindTo(registry);
+
+        server.enqueue(emptyMockResponse());
+
+        final TrackingHttpClientConnectionManager manager =
+                new TrackingHttpClientConnectionManager(connectionManager, metrics);
+
+        final Http http = Http.builder()
+                .executor(Executors.newSingleThreadExecutor())
+                .requestFactory(new ApacheClientHttpRequestFactory(HttpClientBuilder.create()
+                        .setConnectionManager(manager)
+                        .build()))
+                .baseUrl(getBaseUrl(server))
+                .build();
+
+        http.get("/").call(call(ClientHttpResponse::close)).join();
+        assertThat(gauge("connection-pool.route.available").value(), is(1.0));
+
+        manager.closeIdle(TimeValue.ZERO_MILLISECONDS);
+
+        assertThat(gauge("connection-pool.route.available").value(), is(0.0));
+        assertThat(gauge("connection-pool.route.leased").value(), is(0.0));
+
+        verify(server, 1, "/");
+    }
+
+    @Test
+    void shouldTrackIdleConnections() {
+        final HttpRoute route = new HttpRoute(new HttpHost("http", "localhost", 80));
+        final HttpConnectionPoolMetrics metrics = new HttpConnectionPoolMetrics(connectionManager)
+                .withMetricName("connection-pool")
+                .withDefaultTags(Tag.of("version", "1"));
+
+        metrics.bindTo(registry);
+
+        metrics.onLease(route);
+        metrics.onLeased(route, Duration.ofMillis(5));
+        metrics.onRelease(route, true);
+        assertThat(gauge("connection-pool.route.available").value(), is(1.0));
+
+        metrics.onLease(route);
+        metrics.onReused(route);
+        metrics.onLeased(route, Duration.ofMillis(5));
+        assertThat(gauge("connection-pool.route.available").value(), is(0.0));
+
+        metrics.onReused(route);
+        assertThat(gauge("connection-pool.route.available").value(), is(0.0));
+
+        metrics.onRelease(route, true);
+        assertThat(gauge("connection-pool.route.available").value(), is(1.0));
+
+        metrics.onIdle(route, 3);
+        assertThat(gauge("connection-pool.route.available").value(), is(3.0));
+    }
+
+    @Test
+    void shouldBindPreviouslyUsedRoutes() {
+        final HttpRoute route = new HttpRoute(new HttpHost("http", "localhost", 80));
+        final HttpConnectionPoolMetrics metrics = new HttpConnectionPoolMetrics(connectionManager)
+                .withMetricName("connection-pool")
+                .withDefaultTags(Tag.of("version", "1"));
+
+        metrics.onLease(route);
+        metrics.onLeased(route, Duration.ofMillis(5));
+        metrics.onRelease(route, true);
+        metrics.onLease(route);
+        metrics.onReused(route);
+        metrics.onLeased(route, Duration.ofMillis(5));
+        metrics.onLease(route);
+        metrics.onLeaseFailed(route, Duration.ofMillis(10));
+        metrics.onLease(route);
+        metrics.onLeased(route, Duration.ofMillis(5));
+        metrics.onRelease(route, false);
+
+        metrics.bindTo(registry);
+
+        metrics.onLease(route);
+        metrics.onLeaseFailed(route, Duration.ofMillis(10));
+
+        assertThat(gauge("connection-pool.route.available").value(), is(0.0));
+        assertThat(gauge("connection-pool.route.leased").value(), is(1.0));
+        assertThat(gauge("connection-pool.route.queued").value(), is(0.0));
+        assertThat(gauge("connection-pool.route.leased").getId().getTag("route"), is("http://localhost:80"));
+        assertThat(timer("leased").count(), is(0L));
+        assertThat(timer("failed").count(), is(1L));
+        assertThat(timer("failed").totalTime(MILLISECONDS), is(10.0));
+    }
+
+    private Timer timer(final String result) {
+        return registry.find("connection-pool.lease").tag("version", "1").tag("result", result).timer();
+    }
+
     private Gauge gauge(final String name) {
         return registry.find(name).tag("version", "1").gauge();
     }
@@ -0,0 +1,64 @@
+package org.zalando.riptide.jdk;
+
+import org.apiguardian.api.API;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.AsyncClient;
+import org.zalando.riptide.RequestArguments;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * An {@link AsyncClient} backed by the JDK's {@link HttpClient}. Requests are sent using
+ * {@link HttpClient#sendAsync(HttpRequest, HttpResponse.BodyHandler) sendAsync}, i.e. returned futures are completed
+ * by the client's executor as soon as the response headers arrived. Request and response bodies are streamed: the
+ * request body is written by the calling thread, which only blocks if the connection can't keep up.
+ *
+ * Depending on the {@link HttpClient#version() version} of the given client, requests to the same origin are
+ * multiplexed over a single HTTP/2 connection.
+ */
+@API(status = EXPERIMENTAL)
+public final class JdkAsyncClient implements AsyncClient {
+
+    private final HttpClient client;
+
+    @Nullable
+    private final Duration timeout;
+
+    public JdkAsyncClient(final HttpClient client) {
+        this(client, null);
+    }
+
+    /**
+     * @param client the client to use
+     * @param timeout the {@link HttpRequest.Builder#timeout(Duration) time to wait for a response}, if any
+     */
+    public JdkAsyncClient(final HttpClient client, @Nullable final Duration timeout) {
+        this.client = client;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public CompletableFuture<ClientHttpResponse> execute(final RequestArguments arguments) throws IOException {
+        final JdkClientHttpRequest request = new JdkClientHttpRequest(
+                client, timeout, arguments.getMethod(), arguments.getRequestUri());
+
+        arguments.getHeaders().forEach(request.getHeaders()::addAll);
+
+        try {
+            arguments.getEntity().writeTo(request);
+            return request.execute();
+        } catch (final IOException | RuntimeException e) {
+            request.abort();
+            throw e;
+        }
+    }
+
+}
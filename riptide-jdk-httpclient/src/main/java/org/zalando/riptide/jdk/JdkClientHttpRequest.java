@@ -0,0 +1,169 @@
+package org.zalando.riptide.jdk;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+
+import static com.google.common.io.Closeables.closeQuietly;
+import static java.lang.String.CASE_INSENSITIVE_ORDER;
+import static java.net.http.HttpRequest.BodyPublishers.fromPublisher;
+import static java.net.http.HttpRequest.BodyPublishers.noBody;
+import static java.net.http.HttpRequest.BodyPublishers.ofInputStream;
+
+/**
+ * Sends the request as soon as its headers are complete, i.e. once the body is about to be written, so that the body
+ * can be piped to the client rather than buffered.
+ */
+final class JdkClientHttpRequest implements StreamingHttpOutputMessage {
+
+    /**
+     * Headers that the {@link HttpClient} either manages itself or refuses to send.
+     */
+    private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(CASE_INSENSITIVE_ORDER);
+
+    static {
+        RESTRICTED_HEADERS.addAll(Set.of(
+                "Connection", "Content-Length", "Expect", "Host", "Transfer-Encoding", "Upgrade"));
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final HttpHeaders headers = new HttpHeaders();
+    private final CompletableFuture<ClientHttpResponse> future = new CompletableFuture<>();
+
+    private final HttpClient client;
+    @Nullable
+    private final Duration timeout;
+    private final HttpMethod method;
+    private final URI uri;
+
+    @Nullable
+    private PipedInputStream input;
+
+    @Nullable
+    private PipedOutputStream output;
+
+    @Nullable
+    private Body body;
+
+    @Nullable
+    private CompletableFuture<HttpResponse<InputStream>> execution;
+
+    JdkClientHttpRequest(final HttpClient client, @Nullable final Duration timeout,
+            final HttpMethod method, final URI uri) {
+        this.client = client;
+        this.timeout = timeout;
+        this.method = method;
+        this.uri = uri;
+    }
+
+    @Nonnull
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Nonnull
+    @Override
+    public OutputStream getBody() throws IOException {
+        if (output == null) {
+            final PipedInputStream input = new PipedInputStream(BUFFER_SIZE);
+            this.input = input;
+            this.output = new PipedOutputStream(input);
+            send(toBodyPublisher(input));
+        }
+        return output;
+    }
+
+    @Override
+    public void setBody(final Body body) {
+        this.body = body;
+    }
+
+    CompletableFuture<ClientHttpResponse> execute() throws IOException {
+        if (body != null) {
+            body.writeTo(getBody());
+        }
+
+        if (output == null) {
+            send(noBody());
+        } else {
+            output.close();
+        }
+
+        return future;
+    }
+
+    /**
+     * Fails the pending read of the client, rather than ending the body, which would send it truncated.
+     */
+    void abort() {
+        closeQuietly(input);
+
+        if (execution != null) {
+            execution.cancel(true);
+        }
+    }
+
+    private BodyPublisher toBodyPublisher(final InputStream input) {
+        final BodyPublisher publisher = ofInputStream(() -> input);
+        final long length = headers.getContentLength();
+        // unknown or empty bodies are sent chunked
+        return length > 0 ? fromPublisher(publisher, length) : publisher;
+    }
+
+    private void send(final BodyPublisher publisher) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .method(method.name(), publisher);
+
+        if (timeout != null) {
+            builder.timeout(timeout);
+        }
+
+        headers.forEach((name, values) -> {
+            if (!RESTRICTED_HEADERS.contains(name)) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+
+        final CompletableFuture<HttpResponse<InputStream>> execution =
+                client.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        this.execution = execution;
+
+        execution.whenComplete((response, throwable) -> {
+            // unblocks the writer, if the exchange ended before the body was written completely
+            closeQuietly(input);
+
+            if (throwable == null) {
+                future.complete(new JdkClientHttpResponse(response));
+            } else {
+                future.completeExceptionally(throwable);
+            }
+        });
+
+        future.whenComplete((response, throwable) -> {
+            if (future.isCancelled()) {
+                execution.cancel(true);
+            }
+        });
+    }
+
+}
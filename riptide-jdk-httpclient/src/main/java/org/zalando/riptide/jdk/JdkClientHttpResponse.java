@@ -0,0 +1,58 @@
+package org.zalando.riptide.jdk;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+
+final class JdkClientHttpResponse implements ClientHttpResponse {
+
+    private final HttpHeaders headers = new HttpHeaders();
+    private final HttpResponse<InputStream> response;
+
+    JdkClientHttpResponse(final HttpResponse<InputStream> response) {
+        this.response = response;
+        response.headers().map().forEach(headers::addAll);
+    }
+
+    @Nonnull
+    @Override
+    public HttpStatusCode getStatusCode() {
+        return HttpStatusCode.valueOf(response.statusCode());
+    }
+
+    @Nonnull
+    @Override
+    public String getStatusText() {
+        // the JDK client doesn't expose reason phrases, HTTP/2 doesn't even have them
+        return "";
+    }
+
+    @Nonnull
+    @Override
+    public InputStream getBody() {
+        return response.body();
+    }
+
+    @Nonnull
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public void close() {
+        // closing the body before it was fully consumed cancels the exchange and releases the connection
+        try {
+            response.body().close();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package org.zalando.riptide.jdk;
+
+import javax.annotation.ParametersAreNonnullByDefault;
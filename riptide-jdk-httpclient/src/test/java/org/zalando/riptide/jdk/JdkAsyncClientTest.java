@@ -0,0 +1,249 @@
+package org.zalando.riptide.jdk;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.RequestArguments;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.http.HttpStatus.NO_CONTENT;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.springframework.http.MediaType.TEXT_PLAIN;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.PassRoute.pass;
+
+final class JdkAsyncClientTest {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final JdkAsyncClient unit = new JdkAsyncClient(HttpClient.newHttpClient());
+
+    private final Http http = Http.builder()
+            .asyncClient(unit)
+            .baseUrl(String.format("http://%s:%s", server.getHostName(), server.getPort()))
+            .build();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void shouldReadResponse() throws IOException {
+        server.enqueue(new MockResponse()
+                .setBody("Hello")
+                .setHeader("Content-Type", "text/plain"));
+
+        final ClientHttpResponse response = http.get("/greeting")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+
+        assertThat(response.getStatusCode(), is(OK));
+        assertThat(response.getStatusText(), is(""));
+        assertThat(response.getHeaders().getContentType(), is(TEXT_PLAIN));
+        assertThat(new String(response.getBody().readAllBytes(), UTF_8), is("Hello"));
+
+        response.close();
+    }
+
+    @Test
+    void shouldReadEmptyResponse() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(NO_CONTENT.value()));
+
+        final ClientHttpResponse response = http.get("/greeting")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+
+        assertThat(response.getStatusCode(), is(NO_CONTENT));
+        assertThat(response.getBody().read(), is(-1));
+
+        response.close();
+    }
+
+    @Test
+    void shouldWriteBody() throws InterruptedException {
+        server.enqueue(new MockResponse());
+
+        http.post("/greeting")
+                .header("X-Trace", "abc")
+                .contentType(TEXT_PLAIN)
+                .body("Hello")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+
+        final RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+
+        assertThat(request.getMethod(), is("POST"));
+        assertThat(request.getPath(), is("/greeting"));
+        assertThat(request.getHeader("X-Trace"), is("abc"));
+        assertThat(request.getHeader("Content-Type"), startsWith("text/plain"));
+        assertThat(request.getHeader("Content-Length"), is("5"));
+        assertThat(request.getBody().readUtf8(), is("Hello"));
+    }
+
+    @Test
+    void shouldWriteBodyWithoutContentType() throws InterruptedException {
+        server.enqueue(new MockResponse());
+
+        http.put("/greeting")
+                .body(message -> message.getBody().write("Hello".getBytes(UTF_8)))
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+
+        final RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+
+        assertThat(request.getHeader("Content-Type"), is(nullValue()));
+        assertThat(request.getBody().readUtf8(), is("Hello"));
+    }
+
+    @Test
+    void shouldStreamLargeBody() throws InterruptedException {
+        server.enqueue(new MockResponse());
+
+        final byte[] body = new byte[1024 * 1024];
+        Arrays.fill(body, (byte) 'x');
+
+        http.post("/greeting")
+                .body(message -> message.getBody().write(body))
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+
+        final RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+
+        assertThat(request.getHeader("Transfer-Encoding"), is("chunked"));
+        assertThat(request.getBody().readByteArray(), is(body));
+    }
+
+    @Test
+    void shouldAbortIfBodyCannotBeSerialized() {
+        final IOException exception = assertThrows(IOException.class, () ->
+                unit.execute(RequestArguments.create()
+                        .withMethod(POST)
+                        .withUri(server.url("/greeting").uri())
+                        .withEntity(message -> {
+                            throw new IOException("Unable to serialize");
+                        })));
+
+        assertThat(exception.getMessage(), is("Unable to serialize"));
+    }
+
+    @Test
+    void shouldAbortIfBodyCannotBeWritten() {
+        server.enqueue(new MockResponse().setHeadersDelay(5, TimeUnit.SECONDS));
+
+        final IOException exception = assertThrows(IOException.class, () ->
+                unit.execute(RequestArguments.create()
+                        .withMethod(POST)
+                        .withUri(server.url("/greeting").uri())
+                        .withEntity(message -> {
+                            message.getBody().write("Hello".getBytes(UTF_8));
+                            throw new IOException("Unable to serialize");
+                        })));
+
+        assertThat(exception.getMessage(), is("Unable to serialize"));
+    }
+
+    @Test
+    void shouldNotWriteEmptyBody() throws InterruptedException {
+        server.enqueue(new MockResponse());
+
+        http.get("/greeting")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+
+        final RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+
+        assertThat(request.getBodySize(), is(0L));
+        assertThat(request.getHeader("Content-Length"), is(nullValue()));
+    }
+
+    @Test
+    void shouldFailOnConnectionError() throws IOException {
+        server.shutdown();
+
+        final CompletableFuture<ClientHttpResponse> future = http.get("/greeting")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()));
+
+        final CompletionException exception = assertThrows(CompletionException.class, future::join);
+
+        assertThat(exception.getCause(), is(instanceOf(IOException.class)));
+    }
+
+    @Test
+    void shouldFailOnConnectionErrorWithBody() throws IOException {
+        server.shutdown();
+
+        final CompletableFuture<ClientHttpResponse> future = http.post("/greeting")
+                .contentType(TEXT_PLAIN)
+                .body("Hello")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()));
+
+        final CompletionException exception = assertThrows(CompletionException.class, future::join);
+
+        assertThat(exception.getCause(), is(instanceOf(IOException.class)));
+    }
+
+    @Test
+    void shouldTimeOut() {
+        server.enqueue(new MockResponse().setHeadersDelay(1, TimeUnit.SECONDS));
+
+        final CompletableFuture<ClientHttpResponse> future = Http.builder()
+                .asyncClient(new JdkAsyncClient(HttpClient.newHttpClient(), Duration.ofMillis(100)))
+                .baseUrl(server.url("/").uri())
+                .build()
+                .get("/greeting")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()));
+
+        final CompletionException exception = assertThrows(CompletionException.class, future::join);
+
+        assertThat(exception.getCause(), is(instanceOf(HttpTimeoutException.class)));
+    }
+
+    @Test
+    void shouldCancelExecution() throws IOException {
+        server.enqueue(new MockResponse().setHeadersDelay(5, TimeUnit.SECONDS));
+
+        final CompletableFuture<ClientHttpResponse> future = unit.execute(RequestArguments.create()
+                .withMethod(GET)
+                .withUri(URI.create(String.format("http://%s:%s/greeting", server.getHostName(), server.getPort())))
+                .withEntity(message -> {
+                }));
+
+        assertThat(future.cancel(true), is(true));
+        assertThat(future.isCancelled(), is(true));
+    }
+
+}
@@ -0,0 +1,34 @@
+package org.zalando.riptide.jdk;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+final class JdkClientHttpResponseTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRethrowExceptionOnClose() throws IOException {
+        final HttpResponse<InputStream> response = mock(HttpResponse.class);
+        final InputStream body = mock(InputStream.class);
+
+        when(response.headers()).thenReturn(HttpHeaders.of(Map.of(), (name, value) -> true));
+        when(response.body()).thenReturn(body);
+        doThrow(new IOException()).when(body).close();
+
+        final JdkClientHttpResponse unit = new JdkClientHttpResponse(response);
+
+        assertThrows(UncheckedIOException.class, unit::close);
+    }
+
+}
@@ -0,0 +1,103 @@
+package org.zalando.riptide.micrometer;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.zalando.riptide.concurrent.Bulkhead;
+import org.zalando.riptide.concurrent.BulkheadPlugin;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ToDoubleFunction;
+
+import static com.google.common.collect.ImmutableList.copyOf;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Reports the state of every {@link Bulkhead bulkhead} of a {@link BulkheadPlugin}, tagged by {@code bulkhead}.
+ * Needs to be registered as the plugin's {@link BulkheadPlugin#withListener(BulkheadPlugin.Listener) listener}, since
+ * bulkheads are created on demand.
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class BulkheadMetrics implements BulkheadPlugin.Listener, MeterBinder {
+
+    private static final String REQUESTS = "requests";
+
+    private final List<Bulkhead> bulkheads;
+    private final List<MeterRegistry> registries;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    public BulkheadMetrics() {
+        this("http.client.bulkheads", ImmutableList.of());
+    }
+
+    private BulkheadMetrics(final String metricName, final ImmutableList<Tag> defaultTags) {
+        this(new CopyOnWriteArrayList<>(), new CopyOnWriteArrayList<>(), metricName, defaultTags);
+    }
+
+    public BulkheadMetrics withMetricName(final String metricName) {
+        return new BulkheadMetrics(metricName, defaultTags);
+    }
+
+    public BulkheadMetrics withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(copyOf(defaultTags));
+    }
+
+    public BulkheadMetrics withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new BulkheadMetrics(metricName, copyOf(defaultTags));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        registries.add(registry);
+        bulkheads.forEach(bulkhead -> bindTo(registry, bulkhead));
+    }
+
+    @Override
+    public void onCreate(final Bulkhead bulkhead) {
+        bulkheads.add(bulkhead);
+        registries.forEach(registry -> bindTo(registry, bulkhead));
+    }
+
+    private void bindTo(final MeterRegistry registry, final Bulkhead bulkhead) {
+        gauge("leased", bulkhead, Bulkhead::getInFlight)
+                .description("The number of requests of a bulkhead that are in-flight")
+                .baseUnit(REQUESTS)
+                .register(registry);
+
+        gauge("max", bulkhead, Bulkhead::getMaxConcurrency)
+                .description("The maximum number of concurrent requests of a bulkhead")
+                .baseUnit(REQUESTS)
+                .register(registry);
+
+        gauge("saturation", bulkhead, b -> (double) b.getInFlight() / b.getMaxConcurrency())
+                .description("The ratio of in-flight to the maximum number of concurrent requests of a bulkhead")
+                .register(registry);
+
+        FunctionCounter.builder(metricName + ".rejected", bulkhead, Bulkhead::getRejections)
+                .description("The number of requests that were rejected by a bulkhead")
+                .baseUnit(REQUESTS)
+                .tags(defaultTags)
+                .tag("bulkhead", bulkhead.getKey())
+                .register(registry);
+    }
+
+    private Gauge.Builder<Bulkhead> gauge(
+            final String name,
+            final Bulkhead bulkhead,
+            final ToDoubleFunction<Bulkhead> function) {
+
+        return Gauge.builder(metricName + "." + name, bulkhead, function)
+                .tags(defaultTags)
+                .tag("bulkhead", bulkhead.getKey());
+    }
+
+}
@@ -0,0 +1,71 @@
+package org.zalando.riptide.micrometer;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.zalando.riptide.concurrent.ConcurrencyLimitPlugin;
+
+import java.util.function.Supplier;
+
+import static com.google.common.collect.ImmutableList.copyOf;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class ConcurrencyLimitMetrics implements MeterBinder {
+
+    private static final String REQUESTS = "requests";
+
+    private final ConcurrencyLimitPlugin plugin;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    public ConcurrencyLimitMetrics(final ConcurrencyLimitPlugin plugin) {
+        this(plugin, "http.client.concurrency", ImmutableList.of());
+    }
+
+    public ConcurrencyLimitMetrics withMetricName(final String metricName) {
+        return new ConcurrencyLimitMetrics(plugin, metricName, defaultTags);
+    }
+
+    public ConcurrencyLimitMetrics withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(copyOf(defaultTags));
+    }
+
+    public ConcurrencyLimitMetrics withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new ConcurrencyLimitMetrics(plugin, metricName, copyOf(defaultTags));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        gauge("limit", plugin::getLimit)
+                .description("The current, adaptive limit of concurrent requests")
+                .baseUnit(REQUESTS)
+                .register(registry);
+
+        gauge("leased", plugin::getInFlight)
+                .description("The number of requests that are in-flight")
+                .baseUnit(REQUESTS)
+                .register(registry);
+
+        FunctionCounter.builder(metricName + ".rejected", plugin, ConcurrencyLimitPlugin::getRejections)
+                .description("The number of requests that were rejected due to the limit")
+                .baseUnit(REQUESTS)
+                .tags(defaultTags)
+                .register(registry);
+    }
+
+    private Gauge.Builder<Supplier<Number>> gauge(
+            final String name,
+            final Supplier<Number> supplier) {
+        return Gauge.builder(metricName + "." + name, supplier)
+                .tags(defaultTags);
+    }
+
+}
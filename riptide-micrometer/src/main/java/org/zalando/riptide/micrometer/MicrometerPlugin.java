@@ -2,12 +2,14 @@ package org.zalando.riptide.micrometer;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.Timer.Sample;
 import lombok.AllArgsConstructor;
+import lombok.Value;
 import org.apiguardian.api.API;
 import org.springframework.http.client.ClientHttpResponse;
 import org.zalando.fauxpas.ThrowingSupplier;
@@ -25,8 +27,12 @@ import org.zalando.riptide.micrometer.tag.PeerHostnameTagGenerator;
 import org.zalando.riptide.micrometer.tag.ServiceLoaderTagGenerator;
 import org.zalando.riptide.micrometer.tag.TagGenerator;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.google.common.collect.ImmutableList.copyOf;
 import static io.micrometer.core.instrument.Timer.builder;
@@ -46,11 +52,20 @@ public final class MicrometerPlugin implements Plugin {
      */
     public static final Attribute<Tags> TAGS = Attribute.generate();
 
+    /**
+     * The maximum number of timers that are cached, across all combinations of request and response tags.
+     */
+    private static final int MAX_CACHED_TIMERS = 1000;
+
     private final MeterRegistry registry;
     private final String metricName;
     private final ImmutableList<Tag> defaultTags;
     private final TagGenerator generator;
 
+    private final ConcurrentMap<Key, Timer> timers = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean listening = new AtomicBoolean();
+
     public MicrometerPlugin(final MeterRegistry registry) {
         this(registry,
                 "http.client.requests",
@@ -111,11 +126,58 @@ public final class MicrometerPlugin implements Plugin {
         };
     }
 
-    @AllArgsConstructor
+    /**
+     * Looks up timers by the tags of the request and of the response, which allows to skip building, sorting and
+     * registering a meter id for every request. Default tags are the same for all timers. Timers that are removed from
+     * the registry are removed from the cache as well, i.e. registered again by the next request that needs them.
+     *
+     * The cache is bounded by {@link #MAX_CACHED_TIMERS}, since tags might have a high cardinality, e.g. if requests
+     * are made without URI templates. Timers beyond that are looked up in the registry every time. The bound is checked
+     * before inserting, i.e. concurrent requests may exceed it slightly.
+     */
+    private Timer timer(final ImmutableList<Tag> requestTags, final ImmutableList<Tag> responseTags) {
+        final Key key = new Key(requestTags, responseTags);
+        @Nullable final Timer timer = timers.get(key);
+
+        if (timer != null) {
+            return timer;
+        } else if (timers.size() >= MAX_CACHED_TIMERS) {
+            return register(requestTags, responseTags);
+        }
+
+        // only instances that actually cache timers listen, i.e. not the intermediate ones of the withers
+        if (listening.compareAndSet(false, true)) {
+            registry.config().onMeterRemoved(this::onRemoved);
+        }
+
+        return timers.computeIfAbsent(key, ignored -> register(requestTags, responseTags));
+    }
+
+    private void onRemoved(final Meter meter) {
+        if (meter instanceof Timer && meter.getId().getName().equals(metricName)) {
+            // the same timer might be cached under different keys, e.g. if a tag moved from request to response
+            timers.values().removeIf(meter::equals);
+        }
+    }
+
+    private Timer register(final ImmutableList<Tag> requestTags, final ImmutableList<Tag> responseTags) {
+        return builder(metricName)
+                .tags(defaultTags)
+                .tags(requestTags)
+                .tags(responseTags)
+                .register(registry);
+    }
+
     private final class Measurement {
 
         private final Sample sample = Timer.start(registry);
         private final RequestArguments arguments;
+        private final ImmutableList<Tag> requestTags;
+
+        Measurement(final RequestArguments arguments) {
+            this.arguments = arguments;
+            this.requestTags = copyOf(generator.onRequest(arguments));
+        }
 
         void record(final ClientHttpResponse response) throws IOException {
             record(() -> generator.onResponse(arguments, response));
@@ -128,15 +190,15 @@ public final class MicrometerPlugin implements Plugin {
         <X extends Exception> void record(
                 final ThrowingSupplier<Iterable<Tag>, X> tags) throws X {
 
-            final Timer timer = builder(metricName)
-                    .tags(defaultTags)
-                    .tags(generator.onRequest(arguments))
-                    .tags(tags.tryGet())
-                    .register(registry);
-
-            sample.stop(timer);
+            sample.stop(timer(requestTags, copyOf(tags.tryGet())));
         }
 
     }
 
+    @Value
+    private static class Key {
+        ImmutableList<Tag> requestTags;
+        ImmutableList<Tag> responseTags;
+    }
+
 }
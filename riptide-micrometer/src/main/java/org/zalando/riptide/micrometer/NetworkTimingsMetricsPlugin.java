@@ -0,0 +1,132 @@
+package org.zalando.riptide.micrometer;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.zalando.riptide.NetworkTimings;
+import org.zalando.riptide.NetworkTimings.Phase;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestExecution;
+import org.zalando.riptide.micrometer.tag.HttpMethodTagGenerator;
+import org.zalando.riptide.micrometer.tag.HttpPathTagGenerator;
+import org.zalando.riptide.micrometer.tag.PeerHostnameTagGenerator;
+import org.zalando.riptide.micrometer.tag.TagGenerator;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.collect.ImmutableList.copyOf;
+import static io.micrometer.core.instrument.Timer.builder;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.zalando.riptide.Attributes.NETWORK_TIMINGS;
+
+/**
+ * Records every {@link Phase phase} of the {@link NetworkTimings network timings} of a request as a timer, tagged
+ * by {@code phase}. Timings are only available if the transport supports them, e.g. Riptide: HTTP Client, and if
+ * this plugin is applied within the plugin that provides them. Since phases can end after the response was
+ * dispatched, i.e. when the body is closed, only {@link TagGenerator#onRequest(org.zalando.riptide.RequestArguments)
+ * request tags} are supported.
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class NetworkTimingsMetricsPlugin implements Plugin {
+
+    /**
+     * The maximum number of request tags that timers are cached for, same as in {@link MicrometerPlugin}.
+     */
+    private static final int MAX_CACHED_TIMERS = 1000;
+
+    private final MeterRegistry registry;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+    private final TagGenerator generator;
+
+    private final ConcurrentMap<ImmutableList<Tag>, ConcurrentMap<Phase, Timer>> timers =
+            new ConcurrentHashMap<>();
+
+    public NetworkTimingsMetricsPlugin(final MeterRegistry registry) {
+        this(registry,
+                "http.client.requests.phases",
+                ImmutableList.of(),
+                TagGenerator.composite(
+                        new HttpMethodTagGenerator(),
+                        new HttpPathTagGenerator(),
+                        new PeerHostnameTagGenerator()
+                ));
+    }
+
+    public NetworkTimingsMetricsPlugin withMetricName(final String metricName) {
+        return new NetworkTimingsMetricsPlugin(registry, metricName, defaultTags, generator);
+    }
+
+    public NetworkTimingsMetricsPlugin withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(copyOf(defaultTags));
+    }
+
+    public NetworkTimingsMetricsPlugin withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new NetworkTimingsMetricsPlugin(registry, metricName, copyOf(defaultTags), generator);
+    }
+
+    public NetworkTimingsMetricsPlugin withTagGenerators(
+            final TagGenerator generator, final TagGenerator... generators) {
+        return withTagGenerators(Lists.asList(generator, generators));
+    }
+
+    public NetworkTimingsMetricsPlugin withTagGenerators(
+            final Collection<TagGenerator> generators) {
+        return new NetworkTimingsMetricsPlugin(registry, metricName, defaultTags,
+                TagGenerator.composite(generators));
+    }
+
+    /**
+     * Listens once per request, rather than once per attempt, since timings are reported for every attempt.
+     */
+    @Override
+    public RequestExecution aroundAsync(final RequestExecution execution) {
+        return arguments -> {
+            arguments.getAttribute(NETWORK_TIMINGS).ifPresent(timings -> {
+                final ImmutableList<Tag> requestTags = copyOf(generator.onRequest(arguments));
+                final ConcurrentMap<Phase, Timer> timers = timers(requestTags);
+
+                timings.addListener(phases -> phases.forEach((phase, duration) ->
+                        timer(requestTags, timers, phase).record(duration)));
+            });
+
+            return execution.execute(arguments);
+        };
+    }
+
+    private ConcurrentMap<Phase, Timer> timers(final ImmutableList<Tag> requestTags) {
+        @Nullable final ConcurrentMap<Phase, Timer> timers = this.timers.get(requestTags);
+
+        if (timers != null) {
+            return timers;
+        } else if (this.timers.size() >= MAX_CACHED_TIMERS) {
+            // not cached, i.e. timers are looked up in the registry for this request
+            return new ConcurrentHashMap<>();
+        }
+
+        return this.timers.computeIfAbsent(requestTags, key -> new ConcurrentHashMap<>());
+    }
+
+    private Timer timer(
+            final ImmutableList<Tag> requestTags,
+            final ConcurrentMap<Phase, Timer> timers,
+            final Phase phase) {
+
+        return timers.computeIfAbsent(phase, key -> builder(metricName)
+                .tags(defaultTags)
+                .tags(requestTags)
+                .tag("phase", key.name().toLowerCase(Locale.ROOT))
+                .register(registry));
+    }
+
+}
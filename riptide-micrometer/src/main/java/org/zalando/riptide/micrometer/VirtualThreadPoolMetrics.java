@@ -0,0 +1,83 @@
+package org.zalando.riptide.micrometer;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.zalando.riptide.concurrent.VirtualThreadExecutor;
+
+import java.util.function.Supplier;
+
+import static com.google.common.collect.ImmutableList.copyOf;
+import static io.micrometer.core.instrument.binder.BaseUnits.TASKS;
+import static io.micrometer.core.instrument.binder.BaseUnits.THREADS;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * The counterpart of {@link ThreadPoolMetrics} for a {@link VirtualThreadExecutor}, using the same gauge names. Kept
+ * separate, so that {@link ThreadPoolMetrics} doesn't require <em>Riptide: Concurrent</em>.
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class VirtualThreadPoolMetrics implements MeterBinder {
+
+    private final VirtualThreadExecutor executor;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    public VirtualThreadPoolMetrics(final VirtualThreadExecutor executor) {
+        this(executor, "http.client.threads", ImmutableList.of());
+    }
+
+    public VirtualThreadPoolMetrics withMetricName(final String metricName) {
+        return new VirtualThreadPoolMetrics(executor, metricName, defaultTags);
+    }
+
+    public VirtualThreadPoolMetrics withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(copyOf(defaultTags));
+    }
+
+    public VirtualThreadPoolMetrics withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new VirtualThreadPoolMetrics(executor, metricName, copyOf(defaultTags));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        gauge("available", () -> executor.getMaximumConcurrency() - executor.getActiveCount())
+                .description("The number of tasks that could still be executed concurrently")
+                .baseUnit(TASKS)
+                .register(registry);
+
+        gauge("leased", executor::getActiveCount)
+                .description("The number of tasks that are in-flight")
+                .baseUnit(TASKS)
+                .register(registry);
+
+        gauge("total", executor::getPoolSize)
+                .description("The number of virtual threads, i.e. in-flight and waiting tasks")
+                .baseUnit(THREADS)
+                .register(registry);
+
+        gauge("max", executor::getMaximumConcurrency)
+                .description("The maximum number of tasks that are executed concurrently")
+                .baseUnit(TASKS)
+                .register(registry);
+
+        gauge("queued", executor::getQueueSize)
+                .description("The number of tasks waiting to be executed")
+                .baseUnit(TASKS)
+                .register(registry);
+    }
+
+    private Gauge.Builder<Supplier<Number>> gauge(
+            final String name,
+            final Supplier<Number> supplier) {
+        return Gauge.builder(metricName + "." + name, supplier)
+                .tags(defaultTags);
+    }
+
+}
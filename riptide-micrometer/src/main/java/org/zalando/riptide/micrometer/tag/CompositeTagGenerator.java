@@ -1,17 +1,12 @@
 package org.zalando.riptide.micrometer.tag;
 
-import com.google.common.collect.Iterables;
+import com.google.common.collect.ImmutableList;
 import io.micrometer.core.instrument.Tag;
 import lombok.AllArgsConstructor;
 import org.springframework.http.client.ClientHttpResponse;
 import org.zalando.riptide.RequestArguments;
 
-import java.util.stream.Stream;
-
-import static java.util.stream.Collectors.collectingAndThen;
-import static java.util.stream.Collectors.toList;
-import static java.util.stream.StreamSupport.stream;
-import static org.zalando.fauxpas.FauxPas.throwingFunction;
+import java.io.IOException;
 
 @AllArgsConstructor
 final class CompositeTagGenerator implements TagGenerator {
@@ -20,20 +15,27 @@ final class CompositeTagGenerator implements TagGenerator {
 
     @Override
     public Iterable<Tag> onRequest(final RequestArguments arguments) {
-        return generators()
-                .map(generator -> generator.onRequest(arguments))
-                .collect(collectingAndThen(toList(), Iterables::concat));
+        final ImmutableList.Builder<Tag> tags = ImmutableList.builder();
+
+        for (final TagGenerator generator : generators) {
+            tags.addAll(generator.onRequest(arguments));
+        }
+
+        return tags.build();
     }
 
     @Override
     public Iterable<Tag> onResponse(
             final RequestArguments arguments,
-            final ClientHttpResponse response) {
+            final ClientHttpResponse response) throws IOException {
+
+        final ImmutableList.Builder<Tag> tags = ImmutableList.builder();
 
-        return generators()
-                .map(throwingFunction(generator ->
-                        generator.onResponse(arguments, response)))
-                .collect(collectingAndThen(toList(), Iterables::concat));
+        for (final TagGenerator generator : generators) {
+            tags.addAll(generator.onResponse(arguments, response));
+        }
+
+        return tags.build();
     }
 
     @Override
@@ -41,13 +43,13 @@ final class CompositeTagGenerator implements TagGenerator {
             final RequestArguments arguments,
             final Throwable throwable) {
 
-        return generators()
-                .map(generator -> generator.onError(arguments, throwable))
-                .collect(collectingAndThen(toList(), Iterables::concat));
-    }
+        final ImmutableList.Builder<Tag> tags = ImmutableList.builder();
+
+        for (final TagGenerator generator : generators) {
+            tags.addAll(generator.onError(arguments, throwable));
+        }
 
-    private Stream<TagGenerator> generators() {
-        return stream(generators.spliterator(), false);
+        return tags.build();
     }
 
 }
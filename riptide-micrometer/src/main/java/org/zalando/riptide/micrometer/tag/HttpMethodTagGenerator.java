@@ -2,16 +2,24 @@ package org.zalando.riptide.micrometer.tag;
 
 import io.micrometer.core.instrument.Tag;
 import org.apiguardian.api.API;
+import org.springframework.http.HttpMethod;
 import org.zalando.riptide.RequestArguments;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import static java.util.Collections.singleton;
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 
 @API(status = EXPERIMENTAL)
 public final class HttpMethodTagGenerator implements TagGenerator {
 
+    private final ConcurrentMap<HttpMethod, Set<Tag>> tags = new ConcurrentHashMap<>();
+
     @Override
     public Iterable<Tag> onRequest(final RequestArguments arguments) {
-        return singleton(Tag.of("http.method", arguments.getMethod().name()));
+        return tags.computeIfAbsent(arguments.getMethod(), method ->
+                singleton(Tag.of("http.method", method.name())));
     }
 }
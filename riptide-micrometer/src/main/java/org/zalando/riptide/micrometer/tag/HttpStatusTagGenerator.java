@@ -7,6 +7,8 @@ import org.zalando.riptide.RequestArguments;
 
 import java.io.IOException;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static java.util.Collections.singleton;
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
@@ -17,13 +19,15 @@ public final class HttpStatusTagGenerator implements TagGenerator {
     private static final String STATUS_CODE = "http.status_code";
     private static final Set<Tag> NONE = singleton(Tag.of(STATUS_CODE, "0"));
 
+    private final ConcurrentMap<Integer, Set<Tag>> tags = new ConcurrentHashMap<>();
+
     @Override
     public Iterable<Tag> onResponse(
             final RequestArguments arguments,
             final ClientHttpResponse response) throws IOException {
 
-        final String status = String.valueOf(response.getStatusCode().value());
-        return singleton(Tag.of(STATUS_CODE, status));
+        return tags.computeIfAbsent(response.getStatusCode().value(), status ->
+                singleton(Tag.of(STATUS_CODE, String.valueOf(status))));
     }
 
     @Override
@@ -0,0 +1,73 @@
+package org.zalando.riptide.micrometer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+import org.zalando.riptide.concurrent.BulkheadFullException;
+import org.zalando.riptide.concurrent.BulkheadKeyResolver;
+import org.zalando.riptide.concurrent.BulkheadPlugin;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class BulkheadMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final BulkheadMetrics metrics = new BulkheadMetrics()
+            .withMetricName("http.client.bulkheads")
+            .withDefaultTags(Tag.of("application", "test"));
+
+    private final BulkheadPlugin plugin = new BulkheadPlugin(BulkheadKeyResolver.uriTemplate(), 2)
+            .withListener(metrics);
+
+    private final RequestExecution execution =
+            plugin.aroundAsync(arguments -> new CompletableFuture<ClientHttpResponse>());
+
+    @Test
+    void shouldMeasureBulkheadsCreatedAfterBinding() throws IOException {
+        metrics.bindTo(registry);
+
+        final RequestArguments search = RequestArguments.create().withUriTemplate("/search");
+
+        execution.execute(search);
+
+        assertThat(gauge("http.client.bulkheads.leased", "/search").value(), is(1.0));
+        assertThat(gauge("http.client.bulkheads.max", "/search").value(), is(2.0));
+        assertThat(gauge("http.client.bulkheads.saturation", "/search").value(), is(0.5));
+        assertThat(counter("http.client.bulkheads.rejected", "/search").count(), is(0.0));
+
+        execution.execute(search);
+        assertThrows(BulkheadFullException.class, () -> execution.execute(search));
+
+        assertThat(gauge("http.client.bulkheads.saturation", "/search").value(), is(1.0));
+        assertThat(counter("http.client.bulkheads.rejected", "/search").count(), is(1.0));
+    }
+
+    @Test
+    void shouldMeasureBulkheadsCreatedBeforeBinding() throws IOException {
+        execution.execute(RequestArguments.create().withUriTemplate("/users/{id}"));
+
+        metrics.bindTo(registry);
+
+        assertThat(gauge("http.client.bulkheads.leased", "/users/{id}").value(), is(1.0));
+    }
+
+    private Gauge gauge(final String name, final String bulkhead) {
+        return registry.find(name).tag("application", "test").tag("bulkhead", bulkhead).gauge();
+    }
+
+    private FunctionCounter counter(final String name, final String bulkhead) {
+        return registry.find(name).tag("application", "test").tag("bulkhead", bulkhead).functionCounter();
+    }
+
+}
@@ -0,0 +1,64 @@
+package org.zalando.riptide.micrometer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+import org.zalando.riptide.concurrent.ConcurrencyLimitPlugin;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class ConcurrencyLimitMetricsTest {
+
+    private final ConcurrencyLimitPlugin plugin = new ConcurrencyLimitPlugin(2, 10);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        new ConcurrencyLimitMetrics(plugin)
+                .withMetricName("http.client.concurrency")
+                .withDefaultTags(Tag.of("application", "test"))
+                .bindTo(registry);
+    }
+
+    @Test
+    void shouldMeasureInitial() {
+        assertThat(gauge("http.client.concurrency.limit").value(), is(2.0));
+        assertThat(gauge("http.client.concurrency.leased").value(), is(0.0));
+        assertThat(counter("http.client.concurrency.rejected").count(), is(0.0));
+    }
+
+    @Test
+    void shouldMeasureRejections() throws IOException {
+        final RequestArguments arguments = RequestArguments.create();
+        final RequestExecution execution = plugin.aroundAsync(ignored -> new CompletableFuture<ClientHttpResponse>());
+
+        execution.execute(arguments);
+        execution.execute(arguments);
+        assertThrows(RejectedExecutionException.class, () -> execution.execute(arguments));
+
+        assertThat(gauge("http.client.concurrency.leased").value(), is(2.0));
+        assertThat(counter("http.client.concurrency.rejected").count(), is(1.0));
+    }
+
+    private Gauge gauge(final String name) {
+        return registry.find(name).tag("application", "test").gauge();
+    }
+
+    private FunctionCounter counter(final String name) {
+        return registry.find(name).tag("application", "test").functionCounter();
+    }
+
+}
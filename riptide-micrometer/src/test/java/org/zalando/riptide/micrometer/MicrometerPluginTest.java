@@ -14,27 +14,35 @@ import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.io.BasicHttpClientConnectionManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.mock.http.client.MockClientHttpResponse;
 import org.zalando.riptide.Http;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
 import org.zalando.riptide.failsafe.FailsafePlugin;
 import org.zalando.riptide.micrometer.tag.RetryTagGenerator;
 import org.zalando.riptide.micrometer.tag.StaticTagDecorator;
 
 import javax.annotation.Nullable;
+import java.lang.reflect.Field;
 import java.net.SocketTimeoutException;
 import java.net.URI;
+import java.util.Map;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import static java.util.Collections.singleton;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.http.HttpMethod.GET;
 import static org.springframework.http.HttpMethod.POST;
 import static org.springframework.http.HttpStatus.OK;
 import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
@@ -151,6 +159,94 @@ final class MicrometerPluginTest {
         verify(server, 2, "/foo");
     }
 
+    @Test
+    void shouldReuseTimerForSameTags() {
+        server.enqueue(new MockResponse().setResponseCode(OK.value()));
+        server.enqueue(new MockResponse().setResponseCode(OK.value()));
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        unit.get("/foo").call(pass()).join();
+        unit.get("/foo").call(pass()).join();
+        unit.get("/foo").call(pass()).join();
+
+        assertThat(search().timers(), iterableWithSize(2));
+        assertThat(search().tag("http.status_code", "200").timer().count(), is(2L));
+        assertThat(search().tag("http.status_code", "404").timer().count(), is(1L));
+
+        verify(server, 3, "/foo");
+    }
+
+    @Test
+    void shouldBoundCachedTimers() throws Exception {
+        final MicrometerPlugin plugin = new MicrometerPlugin(registry);
+        final RequestExecution execution = plugin.aroundNetwork(arguments ->
+                completedFuture(new MockClientHttpResponse(new byte[0], OK)));
+
+        for (int i = 0; i < 1100; i++) {
+            execution.execute(RequestArguments.create()
+                    .withMethod(GET)
+                    .withBaseUrl(URI.create("http://localhost"))
+                    .withUriTemplate("/users/" + i))
+                    .join();
+        }
+
+        final Field field = MicrometerPlugin.class.getDeclaredField("timers");
+        field.setAccessible(true);
+
+        assertThat((Map<?, ?>) field.get(plugin), is(aMapWithSize(1000)));
+        assertThat(registry.find("http.client.requests").timers(), iterableWithSize(1100));
+        assertThat(registry.find("http.client.requests").tag("http.path", "/users/1099").timer().count(), is(1L));
+    }
+
+    @Test
+    void shouldBoundTotalNumberOfCachedTimers() throws Exception {
+        final MicrometerPlugin plugin = new MicrometerPlugin(registry);
+
+        // 40 request tags with 30 response tags each, i.e. neither of them exceeds the bound on its own
+        for (int i = 0; i < 40; i++) {
+            for (int j = 0; j < 30; j++) {
+                final HttpStatusCode status = HttpStatusCode.valueOf(200 + j);
+                plugin.aroundNetwork(arguments -> completedFuture(new MockClientHttpResponse(new byte[0], status)))
+                        .execute(RequestArguments.create()
+                                .withMethod(GET)
+                                .withBaseUrl(URI.create("http://localhost"))
+                                .withUriTemplate("/users/" + i))
+                        .join();
+            }
+        }
+
+        final Field field = MicrometerPlugin.class.getDeclaredField("timers");
+        field.setAccessible(true);
+
+        assertThat((Map<?, ?>) field.get(plugin), is(aMapWithSize(1000)));
+        assertThat(registry.find("http.client.requests").timers(), iterableWithSize(1200));
+    }
+
+    @Test
+    void shouldRegisterRemovedTimerAgain() throws Exception {
+        final MicrometerPlugin plugin = new MicrometerPlugin(registry);
+        final RequestExecution execution = plugin.aroundNetwork(arguments ->
+                completedFuture(new MockClientHttpResponse(new byte[0], OK)));
+        final RequestArguments arguments = RequestArguments.create()
+                .withMethod(GET)
+                .withBaseUrl(URI.create("http://localhost"))
+                .withUriTemplate("/users/{id}");
+
+        execution.execute(arguments).join();
+
+        final Timer removed = registry.find("http.client.requests").timer();
+        registry.remove(registry.counter("unrelated"));
+        registry.remove(registry.timer("unrelated"));
+        registry.remove(removed);
+
+        execution.execute(arguments).join();
+
+        final Timer timer = registry.find("http.client.requests").timer();
+        assertThat(timer, is(not(sameInstance(removed))));
+        assertThat(timer.count(), is(1L));
+        assertThat(removed.count(), is(1L));
+    }
+
     @Test
     void shouldRecordErrorResponseMetric() {
         server.enqueue(new MockResponse().setResponseCode(500));
@@ -0,0 +1,180 @@
+package org.zalando.riptide.micrometer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.NetworkTimings;
+import org.zalando.riptide.NetworkTimings.Phase;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+import org.zalando.riptide.micrometer.tag.HttpMethodTagGenerator;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.iterableWithSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpStatus.OK;
+import static org.zalando.riptide.Attributes.NETWORK_TIMINGS;
+import static org.zalando.riptide.PassRoute.pass;
+import static org.zalando.riptide.micrometer.MockWebServerUtil.getBaseUrl;
+import static org.zalando.riptide.micrometer.MockWebServerUtil.verify;
+
+final class NetworkTimingsMetricsPluginTest {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    /**
+     * Reports fixed timings for every attempt, like a transport would.
+     */
+    private final Plugin timings = new Plugin() {
+
+        @Override
+        public RequestExecution aroundAsync(final RequestExecution execution) {
+            return arguments -> execution.execute(arguments.withAttribute(NETWORK_TIMINGS, new NetworkTimings()));
+        }
+
+        @Override
+        public RequestExecution aroundNetwork(final RequestExecution execution) {
+            return arguments -> execution.execute(arguments).whenComplete((response, error) ->
+                    arguments.getAttribute(NETWORK_TIMINGS).orElseThrow().complete(Map.of(
+                            Phase.CONNECT, Duration.ofMillis(5),
+                            Phase.FIRST_BYTE, Duration.ofMillis(20))));
+        }
+
+    };
+
+    @AfterEach
+    @SneakyThrows
+    void shutdownServer() {
+        server.shutdown();
+    }
+
+    @Test
+    void shouldRecordPhases() {
+        server.enqueue(new MockResponse().setResponseCode(OK.value()));
+        server.enqueue(new MockResponse().setResponseCode(OK.value()));
+
+        final Http unit = http(new NetworkTimingsMetricsPlugin(registry)
+                .withMetricName("http.outgoing-requests.phases")
+                .withDefaultTags(Tag.of("client", "example")));
+
+        unit.get("/foo").call(pass()).join();
+        unit.get("/foo").call(pass()).join();
+
+        @Nullable final Timer connect = timer("http.outgoing-requests.phases", "connect");
+        assertThat(connect, is(notNullValue()));
+        assertThat(connect.count(), is(2L));
+        assertThat(connect.totalTime(MILLISECONDS), is(10.0));
+        assertThat(connect.getId().getTag("http.method"), is("GET"));
+        assertThat(connect.getId().getTag("http.path"), is("/foo"));
+        assertThat(connect.getId().getTag("client"), is("example"));
+
+        @Nullable final Timer firstByte = timer("http.outgoing-requests.phases", "first_byte");
+        assertThat(firstByte, is(notNullValue()));
+        assertThat(firstByte.totalTime(MILLISECONDS), is(40.0));
+
+        assertThat(timer("http.outgoing-requests.phases", "dns"), is(nullValue()));
+
+        verify(server, 2, "/foo");
+    }
+
+    @Test
+    void shouldUseCustomTagGenerators() {
+        server.enqueue(new MockResponse().setResponseCode(OK.value()));
+
+        final Http unit = http(new NetworkTimingsMetricsPlugin(registry)
+                .withTagGenerators(new HttpMethodTagGenerator()));
+
+        unit.get("/foo").call(pass()).join();
+
+        @Nullable final Timer connect = timer("http.client.requests.phases", "connect");
+        assertThat(connect, is(notNullValue()));
+        assertThat(connect.getId().getTag("http.method"), is("GET"));
+        assertThat(connect.getId().getTag("http.path"), is(nullValue()));
+
+        verify(server, 1, "/foo");
+    }
+
+    @Test
+    void shouldIgnoreRequestsWithoutTimings() {
+        server.enqueue(new MockResponse().setResponseCode(OK.value()));
+
+        final Http unit = Http.builder()
+                .executor(Executors.newSingleThreadExecutor())
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(HttpClientBuilder.create().build()))
+                .baseUrl(getBaseUrl(server))
+                .plugin(new NetworkTimingsMetricsPlugin(registry))
+                .build();
+
+        unit.get("/foo").call(pass()).join();
+
+        assertThat(registry.getMeters().isEmpty(), is(true));
+
+        verify(server, 1, "/foo");
+    }
+
+    @Test
+    void shouldBoundCachedTimers() throws Exception {
+        final NetworkTimingsMetricsPlugin plugin = new NetworkTimingsMetricsPlugin(registry);
+
+        for (int i = 0; i < 1100; i++) {
+            final NetworkTimings timings = new NetworkTimings();
+
+            plugin.aroundAsync(arguments -> completedFuture(null))
+                    .execute(RequestArguments.create()
+                            .withMethod(GET)
+                            .withBaseUrl(URI.create("http://localhost"))
+                            .withUriTemplate("/users/" + i)
+                            .withAttribute(NETWORK_TIMINGS, timings))
+                    .join();
+
+            timings.complete(Map.of(Phase.CONNECT, Duration.ofMillis(5)));
+        }
+
+        final Field field = NetworkTimingsMetricsPlugin.class.getDeclaredField("timers");
+        field.setAccessible(true);
+
+        assertThat((Map<?, ?>) field.get(plugin), is(aMapWithSize(1000)));
+        assertThat(registry.find("http.client.requests.phases").timers(), iterableWithSize(1100));
+    }
+
+    private Http http(final NetworkTimingsMetricsPlugin plugin) {
+        return Http.builder()
+                .executor(Executors.newSingleThreadExecutor())
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(HttpClientBuilder.create().build()))
+                .baseUrl(getBaseUrl(server))
+                .plugin(plugin)
+                .plugin(timings)
+                .build();
+    }
+
+    @Nullable
+    private Timer timer(final String name, final String phase) {
+        return registry.find(name).tag("phase", phase).timer();
+    }
+
+}
@@ -0,0 +1,72 @@
+package org.zalando.riptide.micrometer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zalando.riptide.concurrent.ThreadPoolExecutors;
+import org.zalando.riptide.concurrent.VirtualThreadExecutor;
+
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.Executors.defaultThreadFactory;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.zalando.fauxpas.FauxPas.throwingRunnable;
+
+final class VirtualThreadPoolMetricsTest {
+
+    private final VirtualThreadExecutor executor = ThreadPoolExecutors.builder()
+            .virtualThreads(3)
+            .boundedQueue(1)
+            .threadFactory(defaultThreadFactory())
+            .build();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        new VirtualThreadPoolMetrics(executor)
+                .withMetricName("http.client.threads")
+                .withDefaultTags(Tag.of("application", "test"))
+                .bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        latch.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldMeasureInitial() {
+        assertThat(gauge("http.client.threads.available").value(), is(3.0));
+        assertThat(gauge("http.client.threads.leased").value(), is(0.0));
+        assertThat(gauge("http.client.threads.total").value(), is(0.0));
+        assertThat(gauge("http.client.threads.max").value(), is(3.0));
+        assertThat(gauge("http.client.threads.queued").value(), is(0.0));
+    }
+
+    @Test
+    void shouldMeasureFull() {
+        executor.execute(throwingRunnable(latch::await));
+        executor.execute(throwingRunnable(latch::await));
+        executor.execute(throwingRunnable(latch::await));
+        executor.execute(throwingRunnable(latch::await));
+
+        assertThat(gauge("http.client.threads.available").value(), is(0.0));
+        assertThat(gauge("http.client.threads.leased").value(), is(3.0));
+        assertThat(gauge("http.client.threads.total").value(), is(4.0));
+        assertThat(gauge("http.client.threads.max").value(), is(3.0));
+        assertThat(gauge("http.client.threads.queued").value(), is(1.0));
+    }
+
+    private Gauge gauge(final String name) {
+        return registry.find(name).tag("application", "test").gauge();
+    }
+
+}
@@ -73,6 +73,14 @@ public class OpenTelemetryPlugin implements Plugin {
         return arguments -> trace(context, execution, arguments);
     }
 
+    /**
+     * The current {@link Context context} of the calling thread is captured while composing.
+     */
+    @Override
+    public boolean isComposedPerRequest() {
+        return true;
+    }
+
     private CompletableFuture<ClientHttpResponse> trace(
             final Context context,
             final RequestExecution execution,
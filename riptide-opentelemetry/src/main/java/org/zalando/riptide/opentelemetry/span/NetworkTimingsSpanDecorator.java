@@ -0,0 +1,44 @@
+package org.zalando.riptide.opentelemetry.span;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.trace.Span;
+import org.zalando.riptide.NetworkTimings.Phase;
+import org.zalando.riptide.RequestArguments;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.zalando.riptide.Attributes.NETWORK_TIMINGS;
+
+/**
+ * Adds a {@code network.timings} event for every attempt, with the duration of every phase in seconds. Phases that
+ * end after the span, e.g. reading a body that wasn't consumed while dispatching, are not recorded.
+ */
+public class NetworkTimingsSpanDecorator implements SpanDecorator {
+
+    private static final String EVENT = "network.timings";
+
+    private static final Map<Phase, AttributeKey<Double>> KEYS = new EnumMap<>(Phase.class);
+
+    static {
+        for (final Phase phase : Phase.values()) {
+            KEYS.put(phase, AttributeKey.doubleKey(EVENT + "." + phase.name().toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    @Override
+    public void onRequest(Span span, RequestArguments arguments) {
+        arguments.getAttribute(NETWORK_TIMINGS).ifPresent(timings ->
+                timings.addListener(phases -> span.addEvent(EVENT, toAttributes(phases))));
+    }
+
+    private static Attributes toAttributes(Map<Phase, Duration> phases) {
+        final AttributesBuilder builder = Attributes.builder();
+        phases.forEach((phase, duration) -> builder.put(KEYS.get(phase), duration.toNanos() / 1e9));
+        return builder.build();
+    }
+}
@@ -0,0 +1,69 @@
+package org.zalando.riptide.opentelemetry.span;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.testing.junit5.OpenTelemetryExtension;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.zalando.riptide.NetworkTimings;
+import org.zalando.riptide.NetworkTimings.Phase;
+import org.zalando.riptide.RequestArguments;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.zalando.riptide.Attributes.NETWORK_TIMINGS;
+
+class NetworkTimingsSpanDecoratorTest {
+
+    @RegisterExtension
+    static final OpenTelemetryExtension otelTesting = OpenTelemetryExtension.create();
+
+    private final Tracer tracer = otelTesting.getOpenTelemetry().getTracer("riptide-opentelemetry");
+
+    private final SpanDecorator unit = new NetworkTimingsSpanDecorator();
+
+    @Test
+    void shouldAddEventPerAttempt() {
+        final NetworkTimings timings = new NetworkTimings();
+        final Span span = tracer.spanBuilder("test").startSpan();
+
+        unit.onRequest(span, RequestArguments.create().withAttribute(NETWORK_TIMINGS, timings));
+
+        timings.complete(Map.of(Phase.DNS, Duration.ofMillis(5), Phase.FIRST_BYTE, Duration.ofMillis(250)));
+        timings.complete(Map.of(Phase.FIRST_BYTE, Duration.ofMillis(100)));
+        span.end();
+
+        final List<EventData> events = span().getEvents();
+        assertThat(events, hasSize(2));
+        assertThat(events.get(0).getName(), is("network.timings"));
+        assertThat(events.get(0).getAttributes().get(AttributeKey.doubleKey("network.timings.dns")), is(0.005));
+        assertThat(events.get(0).getAttributes().get(AttributeKey.doubleKey("network.timings.first_byte")), is(0.25));
+        assertThat(events.get(1).getAttributes().get(AttributeKey.doubleKey("network.timings.dns")), is(nullValue()));
+        assertThat(events.get(1).getAttributes().get(AttributeKey.doubleKey("network.timings.first_byte")), is(0.1));
+    }
+
+    @Test
+    void shouldIgnoreRequestsWithoutTimings() {
+        final Span span = tracer.spanBuilder("test").startSpan();
+
+        unit.onRequest(span, RequestArguments.create());
+        span.end();
+
+        assertThat(span().getEvents(), hasSize(0));
+    }
+
+    private SpanData span() {
+        final List<SpanData> spans = otelTesting.getSpans();
+        assertThat(spans, hasSize(1));
+        return spans.get(0);
+    }
+}
@@ -11,25 +11,33 @@ import io.opentracing.contrib.concurrent.TracedExecutorService;
 import jakarta.xml.soap.SOAPConstants;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.async.HttpAsyncClient;
 import org.apache.hc.client5.http.cache.HttpCacheStorage;
 import org.apache.hc.client5.http.classic.HttpClient;
 import org.apache.hc.client5.http.io.HttpClientConnectionManager;
 import org.springframework.beans.BeanMetadataElement;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestOperations;
+import org.zalando.riptide.AsyncClient;
 import org.zalando.riptide.Http;
 import org.zalando.riptide.OriginalStackTracePlugin;
 import org.zalando.riptide.Plugin;
 import org.zalando.riptide.auth.AuthorizationPlugin;
 import org.zalando.riptide.auth.AuthorizationProvider;
 import org.zalando.riptide.auth.PlatformCredentialsAuthorizationProvider;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Caching;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Caching.MemoryMapped;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Chaos;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Client;
+import org.zalando.riptide.autoconfigure.RiptideProperties.ConcurrencyLimit;
+import org.zalando.riptide.autoconfigure.RiptideProperties.NonBlockingIo.Backend;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Retry.Budget;
 import org.zalando.riptide.chaos.ChaosPlugin;
 import org.zalando.riptide.chaos.ErrorResponseInjection;
 import org.zalando.riptide.chaos.ExceptionInjection;
@@ -37,14 +45,25 @@ import org.zalando.riptide.chaos.LatencyInjection;
 import org.zalando.riptide.chaos.Probability;
 import org.zalando.riptide.compatibility.HttpOperations;
 import org.zalando.riptide.compression.RequestCompressionPlugin;
+import org.zalando.riptide.concurrent.ConcurrencyLimitPlugin;
 import org.zalando.riptide.failsafe.BackupRequest;
+import org.zalando.riptide.failsafe.BackupRequestListener;
 import org.zalando.riptide.failsafe.CircuitBreakerListener;
 import org.zalando.riptide.failsafe.FailsafePlugin;
+import org.zalando.riptide.failsafe.RetryBudget;
+import org.zalando.riptide.failsafe.metrics.RetryBudgetMetrics;
 import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+import org.zalando.riptide.httpclient.NetworkTimingsPlugin;
+import org.zalando.riptide.httpclient.async.ApacheAsyncClient;
+import org.zalando.riptide.httpclient.metrics.ConnectionReuseMetrics;
 import org.zalando.riptide.httpclient.metrics.HttpConnectionPoolMetrics;
+import org.zalando.riptide.jdk.JdkAsyncClient;
 import org.zalando.riptide.logbook.LogbookPlugin;
+import org.zalando.riptide.micrometer.ConcurrencyLimitMetrics;
 import org.zalando.riptide.micrometer.MicrometerPlugin;
+import org.zalando.riptide.micrometer.NetworkTimingsMetricsPlugin;
 import org.zalando.riptide.micrometer.ThreadPoolMetrics;
+import org.zalando.riptide.micrometer.VirtualThreadPoolMetrics;
 import org.zalando.riptide.micrometer.tag.RetryTagGenerator;
 import org.zalando.riptide.opentelemetry.OpenTelemetryPlugin;
 import org.zalando.riptide.opentracing.OpenTracingPlugin;
@@ -55,8 +74,10 @@ import org.zalando.riptide.soap.SOAPFaultHttpMessageConverter;
 import org.zalando.riptide.soap.SOAPHttpMessageConverter;
 import org.zalando.riptide.stream.Streams;
 
+import javax.annotation.Nullable;
 import java.net.SocketTimeoutException;
 import java.net.URI;
+import java.nio.file.Path;
 import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -103,10 +124,14 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         return registry.registerIfAbsent(id, Http.class, () -> {
             log.debug("Client [{}]: Registering Http", id);
 
+            final boolean nonBlocking = client.getNonBlockingIo().getEnabled();
+
             return genericBeanDefinition(HttpFactory.class)
-                    .setFactoryMethod("create")
+                    .setFactoryMethod(nonBlocking ? "createNonBlocking" : "create")
                     .addConstructorArgValue(createExecutor(id, client))
-                    .addConstructorArgReference(registerClientHttpRequestFactory(id, client))
+                    .addConstructorArgReference(nonBlocking ?
+                            registerAsyncClient(id, client) :
+                            registerClientHttpRequestFactory(id, client))
                     .addConstructorArgReference(registerBaseURL(id, client))
                     .addConstructorArgValue(client.getUrlResolution())
                     .addConstructorArgValue(registerHttpMessageConverters(id, client))
@@ -125,10 +150,66 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
             log.debug("Client [{}]: Registering RestAsyncClientHttpRequestFactory", id);
             return genericBeanDefinition(ApacheClientHttpRequestFactory.class)
                     .addConstructorArgReference(registerHttpClient(id, client))
-                    .addConstructorArgValue(client.getConnections().getMode());
+                    .addConstructorArgValue(client.getConnections().getMode())
+                    .addConstructorArgValue(genericBeanDefinition(HttpClientFactory.class)
+                            .setFactoryMethod("createDrainPolicy")
+                            .addConstructorArgValue(client)
+                            .addConstructorArgValue(createConnectionReuseMetrics(id, client))
+                            .getBeanDefinition());
         });
     }
 
+    private Object createConnectionReuseMetrics(final String id, final Client client) {
+        if (client.getMetrics().getEnabled()) {
+            return ref(registry.registerIfAbsent(id, ConnectionReuseMetrics.class, () ->
+                    genericBeanDefinition(ConnectionReuseMetrics.class)
+                            .addConstructorArgValue("http.client.connections")
+                            .addConstructorArgValue(ImmutableList.of(clientId(id)))));
+        }
+
+        return null;
+    }
+
+    private String registerAsyncClient(final String id, final Client client) {
+        return registry.registerIfAbsent(id, AsyncClient.class, () -> {
+            if (client.getNonBlockingIo().getBackend() == Backend.JDK) {
+                log.debug("Client [{}]: Registering JdkAsyncClient", id);
+                return genericBeanDefinition(JdkAsyncClient.class)
+                        .addConstructorArgValue(createJdkHttpClient(id, client))
+                        .addConstructorArgValue(client.getConnections().getSocketTimeout().toDuration());
+            }
+
+            log.debug("Client [{}]: Registering ApacheAsyncClient", id);
+            final BeanDefinitionBuilder definition = genericBeanDefinition(ApacheAsyncClient.class)
+                    .addConstructorArgReference(registerHttpAsyncClient(id, client));
+
+            // routes may read streamed response bodies and must therefore not run on the I/O reactor
+            if (client.getThreads().getEnabled()) {
+                definition.addConstructorArgReference(registerExecutor(id, client));
+            }
+
+            return definition;
+        });
+    }
+
+    private BeanDefinition createJdkHttpClient(final String id, final Client client) {
+        checkSslBundleUsageOrCertificatePinning(id, client);
+
+        if (client.getSslBundleUsage().getEnabled()) {
+            return genericBeanDefinition(JdkHttpClientFactory.class)
+                    .setFactoryMethod("createHttpClientWithSslBundle")
+                    .addConstructorArgValue(client)
+                    .addConstructorArgValue(id)
+                    .addConstructorArgValue(SSL_BUNDLE_REGISTRY_REF)
+                    .getBeanDefinition();
+        }
+
+        return genericBeanDefinition(JdkHttpClientFactory.class)
+                .setFactoryMethod("createHttpClient")
+                .addConstructorArgValue(client)
+                .getBeanDefinition();
+    }
+
     private String registerBaseURL(final String id, final Client client) {
         return registry.registerIfAbsent(id, BaseURL.class, () -> {
             log.debug("Client [{}]: Registering BaseURL", id);
@@ -155,8 +236,11 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
                         .setDestroyMethodName("shutdown"));
 
         if (client.getMetrics().getEnabled()) {
-            registry.registerIfAbsent(id, ThreadPoolMetrics.class, () ->
-                    genericBeanDefinition(ThreadPoolMetrics.class)
+            final Class<?> type = client.getThreads().getVirtual() ?
+                    VirtualThreadPoolMetrics.class : ThreadPoolMetrics.class;
+
+            registry.registerIfAbsent(id, type, () ->
+                    genericBeanDefinition(type)
                             .addConstructorArgReference(executorId)
                             .addConstructorArgValue("http.client.threads")
                             .addConstructorArgValue(ImmutableList.of(clientId(id))));
@@ -241,7 +325,10 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
     private List<BeanReference> registerPlugins(final String id, final Client client) {
         final Stream<Optional<String>> plugins = Stream.of(
                 registerChaosPlugin(id, client),
+                registerConcurrencyLimitPlugin(id, client),
                 registerMicrometerPlugin(id, client),
+                registerNetworkTimingsMetricsPlugin(id, client),
+                registerNetworkTimingsPlugin(id, client),
                 registerRequestCompressionPlugin(id, client),
                 registerLogbookPlugin(id, client),
                 registerOpenTracingPlugin(id, client),
@@ -319,6 +406,30 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         return Optional.of(pluginId);
     }
 
+    private Optional<String> registerConcurrencyLimitPlugin(final String id, final Client client) {
+        final ConcurrencyLimit concurrencyLimit = client.getConcurrencyLimit();
+
+        if (concurrencyLimit.getEnabled()) {
+            final String pluginId = registry.registerIfAbsent(id, ConcurrencyLimitPlugin.class, () -> {
+                log.debug("Client [{}]: Registering [{}]", id, ConcurrencyLimitPlugin.class.getSimpleName());
+                return genericBeanDefinition(ConcurrencyLimitPlugin.class)
+                        .addConstructorArgValue(concurrencyLimit.getInitialLimit())
+                        .addConstructorArgValue(concurrencyLimit.getMaxLimit());
+            });
+
+            if (client.getMetrics().getEnabled()) {
+                registry.registerIfAbsent(id, ConcurrencyLimitMetrics.class, () ->
+                        genericBeanDefinition(ConcurrencyLimitMetrics.class)
+                                .addConstructorArgReference(pluginId)
+                                .addConstructorArgValue("http.client.concurrency")
+                                .addConstructorArgValue(ImmutableList.of(clientId(id))));
+            }
+
+            return Optional.of(pluginId);
+        }
+        return Optional.empty();
+    }
+
     private Optional<String> registerMicrometerPlugin(final String id, final Client client) {
         if (client.getMetrics().getEnabled()) {
             final String pluginId = registry.registerIfAbsent(id, MicrometerPlugin.class, () -> {
@@ -336,6 +447,37 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         return Optional.empty();
     }
 
+    private Optional<String> registerNetworkTimingsMetricsPlugin(final String id, final Client client) {
+        if (client.getMetrics().getEnabled()) {
+            final String pluginId = registry.registerIfAbsent(id, NetworkTimingsMetricsPlugin.class, () -> {
+                log.debug("Client [{}]: Registering [{}]", id, NetworkTimingsMetricsPlugin.class.getSimpleName());
+                return genericBeanDefinition(MicrometerPluginFactory.class)
+                        .setFactoryMethod("createNetworkTimings")
+                        .addConstructorArgValue(METER_REGISTRY_REF)
+                        .addConstructorArgValue(Tags.of(clientId(id))
+                                .and(tags(client.getMetrics().getTags())));
+            });
+
+            return Optional.of(pluginId);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Needs to be registered after the {@link NetworkTimingsMetricsPlugin}, in order to be applied around it.
+     */
+    private Optional<String> registerNetworkTimingsPlugin(final String id, final Client client) {
+        if (client.getMetrics().getEnabled()) {
+            final String pluginId = registry.registerIfAbsent(id, NetworkTimingsPlugin.class, () -> {
+                log.debug("Client [{}]: Registering [{}]", id, NetworkTimingsPlugin.class.getSimpleName());
+                return genericBeanDefinition(NetworkTimingsPlugin.class);
+            });
+
+            return Optional.of(pluginId);
+        }
+        return Optional.empty();
+    }
+
     private static Iterable<Tag> tags(final Map<String, String> tags) {
         return tags.entrySet().stream()
                 .map(e -> Tag.of(e.getKey(), e.getValue()))
@@ -428,11 +570,13 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
             final String pluginId = registry.registerIfAbsent(name(id, "RetryPolicy", FailsafePlugin.class), () -> {
                 var executorService = registry.find(name(id, "RetryPolicy", ExecutorService.class));
                 var executorServiceRef = executorService.map(Registry::ref).orElse(null);
+                var retryBudgetRef = registerRetryBudget(id, client).map(Registry::ref).orElse(null);
 
                 log.debug("Client [{}]: Registering [RetryPolicyFailsafePlugin]", id);
                 return genericBeanDefinition(FailsafePluginFactory.class)
                         .setFactoryMethod("createRetryFailsafePlugin")
                         .addConstructorArgValue(client)
+                        .addConstructorArgValue(retryBudgetRef)
                         .addConstructorArgValue(createTaskDecorators(id, client))
                         .addConstructorArgValue(executorServiceRef);
             });
@@ -441,6 +585,30 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         return Optional.empty();
     }
 
+    private Optional<String> registerRetryBudget(final String id, final Client client) {
+        final Budget budget = client.getRetry().getBudget();
+
+        if (budget.getEnabled()) {
+            final String budgetId = registry.registerIfAbsent(id, RetryBudget.class, () -> {
+                log.debug("Client [{}]: Registering [{}]", id, RetryBudget.class.getSimpleName());
+                return genericBeanDefinition(RetryBudget.class)
+                        .addConstructorArgValue(budget.getRatio())
+                        .addConstructorArgValue(budget.getMinRetriesPerSecond());
+            });
+
+            if (client.getMetrics().getEnabled()) {
+                registry.registerIfAbsent(id, RetryBudgetMetrics.class, () ->
+                        genericBeanDefinition(RetryBudgetMetrics.class)
+                                .addConstructorArgReference(budgetId)
+                                .addConstructorArgValue("http.client.retry-budget")
+                                .addConstructorArgValue(ImmutableList.of(clientId(id))));
+            }
+
+            return Optional.of(budgetId);
+        }
+        return Optional.empty();
+    }
+
     private Optional<String> registerAuthorizationPlugin(final String id, final Client client) {
         if (client.getAuth().getEnabled()) {
             final String pluginId = registry.registerIfAbsent(id, AuthorizationPlugin.class, () -> {
@@ -464,6 +632,7 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
                         return genericBeanDefinition(FailsafePluginFactory.class)
                                 .setFactoryMethod("createBackupRequestPlugin")
                                 .addConstructorArgValue(client)
+                                .addConstructorArgReference(registerBackupRequestListener(id, client))
                                 .addConstructorArgValue(createTaskDecorators(id, client))
                                 .addConstructorArgValue(executorServiceRef);
                     });
@@ -546,6 +715,20 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         });
     }
 
+    private String registerBackupRequestListener(final String id, final Client client) {
+        return registry.registerIfAbsent(id, BackupRequestListener.class, () -> {
+            if (client.getMetrics().getEnabled()) {
+                return genericBeanDefinition(MicrometerFailsafeFactory.class)
+                        .setFactoryMethod("createBackupRequestListener")
+                        .addConstructorArgValue(METER_REGISTRY_REF)
+                        .addConstructorArgValue(ImmutableList.of(clientId(id), clientName(id, client)));
+            } else {
+                return genericBeanDefinition(MicrometerFailsafeFactory.class)
+                        .setFactoryMethod("getDefaultBackupRequestListener");
+            }
+        });
+    }
+
     private Tag clientId(final String id) {
         return Tag.of("client_id", id);
     }
@@ -571,30 +754,59 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
 
             final String connectionManager = registerConnectionManager(id, client);
 
-            if (client.getMetrics().getEnabled()) {
-                registry.registerIfAbsent(id, HttpConnectionPoolMetrics.class, () ->
-                        genericBeanDefinition(HttpConnectionPoolMetrics.class)
-                                .addConstructorArgReference(connectionManager)
-                                .addConstructorArgValue("http.client.connections")
-                                .addConstructorArgValue(ImmutableList.of(clientId(id))));
-            }
-
             return genericBeanDefinition(HttpClientFactory.class)
                     .setFactoryMethod("createHttpClient")
                     .addConstructorArgValue(client)
                     .addConstructorArgValue(configureFirstRequestInterceptors(id, client))
                     .addConstructorArgReference(connectionManager)
+                    .addConstructorArgValue(createHttpConnectionPoolMetrics(id, client, connectionManager))
                     .addConstructorArgValue(registry.findRef(id, HttpClientCustomizer.class).orElse(null))
                     .addConstructorArgValue(findCacheStorageReference(id, client).orElse(null))
                     .setDestroyMethodName("close");
         });
     }
 
-    private String registerConnectionManager(final String id, final Client client) {
-        if(client.getSslBundleUsage().getEnabled() && client.getCertificatePinning().getEnabled()) {
-            throw new SslBundleUsageOrCertificatePinningException(id);
+    private Object createHttpConnectionPoolMetrics(final String id, final Client client,
+            final String connectionManager) {
+
+        if (client.getMetrics().getEnabled()) {
+            return ref(registry.registerIfAbsent(id, HttpConnectionPoolMetrics.class, () ->
+                    genericBeanDefinition(HttpConnectionPoolMetrics.class)
+                            .addConstructorArgReference(connectionManager)
+                            .addConstructorArgValue("http.client.connections")
+                            .addConstructorArgValue(ImmutableList.of(clientId(id)))));
         }
 
+        return null;
+    }
+
+    private String registerHttpAsyncClient(final String id, final Client client) {
+        checkSslBundleUsageOrCertificatePinning(id, client);
+
+        return registry.registerIfAbsent(id, HttpAsyncClient.class, () -> {
+            log.debug("Client [{}]: Registering HttpAsyncClient", id);
+
+            if (client.getSslBundleUsage().getEnabled()) {
+                return genericBeanDefinition(HttpClientFactory.class)
+                        .setFactoryMethod("createHttpAsyncClientWithSslBundle")
+                        .addConstructorArgValue(client)
+                        .addConstructorArgValue(configureFirstRequestInterceptors(id, client))
+                        .addConstructorArgValue(id)
+                        .addConstructorArgValue(SSL_BUNDLE_REGISTRY_REF)
+                        .setDestroyMethodName("close");
+            }
+
+            return genericBeanDefinition(HttpClientFactory.class)
+                    .setFactoryMethod("createHttpAsyncClient")
+                    .addConstructorArgValue(client)
+                    .addConstructorArgValue(configureFirstRequestInterceptors(id, client))
+                    .setDestroyMethodName("close");
+        });
+    }
+
+    private String registerConnectionManager(final String id, final Client client) {
+        checkSslBundleUsageOrCertificatePinning(id, client);
+
         if(client.getSslBundleUsage().getEnabled()) {
             return registry.registerIfAbsent(id, HttpClientConnectionManager.class, () ->
                 genericBeanDefinition(HttpClientFactory.class)
@@ -610,6 +822,12 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         }
     }
 
+    private static void checkSslBundleUsageOrCertificatePinning(final String id, final Client client) {
+        if (client.getSslBundleUsage().getEnabled() && client.getCertificatePinning().getEnabled()) {
+            throw new SslBundleUsageOrCertificatePinningException(id);
+        }
+    }
+
     private List<BeanMetadataElement> configureFirstRequestInterceptors(final String id, final Client client) {
         final List<BeanMetadataElement> interceptors = list();
 
@@ -622,7 +840,25 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
     }
 
     private Optional<BeanReference> findCacheStorageReference(final String id, final Client client) {
-        if (client.getCaching().getEnabled()) {
+        final Caching caching = client.getCaching();
+
+        if (caching.getEnabled() && caching.getMemoryMapped().getEnabled()) {
+            return Optional.of(ref(registry.registerIfAbsent(id, HttpCacheStorage.class, () -> {
+                log.debug("Client [{}]: Registering MappedHttpCacheStorage", id);
+
+                final MemoryMapped memoryMapped = caching.getMemoryMapped();
+                // segments can't be shared, every client gets its own subdirectory
+                @Nullable final Path directory = Optional.ofNullable(caching.getDirectory())
+                        .map(parent -> parent.resolve(id))
+                        .orElse(null);
+
+                return genericBeanDefinition(MappedHttpCacheStorage.class)
+                        .addConstructorArgValue(directory)
+                        .addConstructorArgValue(memoryMapped.getSegmentSize())
+                        .addConstructorArgValue(memoryMapped.getSegments())
+                        .setDestroyMethodName("close");
+            })));
+        } else if (caching.getEnabled()) {
             return registry.findRef(id, HttpCacheStorage.class);
         } else {
             return Optional.empty();
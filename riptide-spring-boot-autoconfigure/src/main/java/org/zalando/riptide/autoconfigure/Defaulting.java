@@ -6,17 +6,21 @@ import lombok.extern.slf4j.Slf4j;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Auth;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Caching;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Caching.Heuristic;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Caching.MemoryMapped;
 import org.zalando.riptide.autoconfigure.RiptideProperties.CertificatePinning;
 import org.zalando.riptide.autoconfigure.RiptideProperties.CertificatePinning.Keystore;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Chaos;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Chaos.ErrorResponses;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Chaos.Exceptions;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Chaos.Latency;
+import org.zalando.riptide.autoconfigure.RiptideProperties.ConcurrencyLimit;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Connections;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Logging;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Metrics;
+import org.zalando.riptide.autoconfigure.RiptideProperties.NonBlockingIo;
 import org.zalando.riptide.autoconfigure.RiptideProperties.RequestCompression;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Retry.Backoff;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Retry.Budget;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Soap;
 import org.zalando.riptide.autoconfigure.RiptideProperties.SslBundleUsage;
 import org.zalando.riptide.autoconfigure.RiptideProperties.StackTracePreservation;
@@ -57,7 +61,7 @@ final class Defaulting {
         final Connections connections = merge(
                 new Connections(null, null, null, null, null, max(
                         defaults.getConnections().getMaxTotal(),
-                        defaults.getConnections().getMaxPerRoute()), null),
+                        defaults.getConnections().getMaxPerRoute()), null, null, null),
                 defaults.getConnections());
 
         return new Defaults(
@@ -81,7 +85,9 @@ final class Defaulting {
                 defaults.getTelemetry(),
                 defaults.getChaos(),
                 defaults.getSoap(),
-                defaults.getSslBundleUsage()
+                defaults.getSslBundleUsage(),
+                defaults.getNonBlockingIo(),
+                defaults.getConcurrencyLimit()
         );
     }
 
@@ -124,7 +130,9 @@ final class Defaulting {
                 merge(base.getTelemetry(), defaults.getTelemetry(), Defaulting::merge),
                 merge(base.getChaos(), defaults.getChaos(), Defaulting::merge),
                 merge(base.getSoap(), defaults.getSoap(), Defaulting::merge),
-                merge(base.getSslBundleUsage(), defaults.getSslBundleUsage(), Defaulting::merge)
+                merge(base.getSslBundleUsage(), defaults.getSslBundleUsage(), Defaulting::merge),
+                merge(base.getNonBlockingIo(), defaults.getNonBlockingIo(), Defaulting::merge),
+                merge(base.getConcurrencyLimit(), defaults.getConcurrencyLimit(), Defaulting::merge)
         );
     }
 
@@ -139,13 +147,16 @@ final class Defaulting {
                 either(base.getTimeToLive(), defaults.getTimeToLive()),
                 maxPerRoute,
                 maxTotal,
-                either(base.getMode(), defaults.getMode())
+                either(base.getMode(), defaults.getMode()),
+                either(base.getDrainLimit(), defaults.getDrainLimit()),
+                either(base.getDrainTimeout(), defaults.getDrainTimeout())
         );
     }
 
     private static Threads merge(final Threads base, final Threads defaults) {
         return new Threads(
                 either(base.getEnabled(), defaults.getEnabled()),
+                either(base.getVirtual(), defaults.getVirtual()),
                 either(base.getMinSize(), defaults.getMinSize()),
                 either(base.getMaxSize(), defaults.getMaxSize()),
                 either(base.getKeepAlive(), defaults.getKeepAlive()),
@@ -204,7 +215,8 @@ final class Defaulting {
                 either(base.getMaxRetries(), defaults.getMaxRetries()),
                 either(base.getMaxDuration(), defaults.getMaxDuration()),
                 either(base.getJitterFactor(), defaults.getJitterFactor()),
-                either(base.getJitter(), defaults.getJitter())
+                either(base.getJitter(), defaults.getJitter()),
+                merge(base.getBudget(), defaults.getBudget(), Defaulting::merge)
         );
     }
 
@@ -217,6 +229,14 @@ final class Defaulting {
         );
     }
 
+    private static Budget merge(final Budget base, final Budget defaults) {
+        return new Budget(
+                either(base.getEnabled(), defaults.getEnabled()),
+                either(base.getRatio(), defaults.getRatio()),
+                either(base.getMinRetriesPerSecond(), defaults.getMinRetriesPerSecond())
+        );
+    }
+
     private static CircuitBreaker merge(final CircuitBreaker base, final CircuitBreaker defaults) {
         return new CircuitBreaker(
                 either(base.getEnabled(), defaults.getEnabled()),
@@ -230,7 +250,10 @@ final class Defaulting {
     private static BackupRequest merge(final BackupRequest base, final BackupRequest defaults) {
         return new BackupRequest(
                 either(base.getEnabled(), defaults.getEnabled()),
-                either(base.getDelay(), defaults.getDelay())
+                either(base.getDelay(), defaults.getDelay()),
+                either(base.getAdaptive(), defaults.getAdaptive()),
+                either(base.getPercentile(), defaults.getPercentile()),
+                either(base.getMaxRatio(), defaults.getMaxRatio())
         );
     }
 
@@ -269,7 +292,8 @@ final class Defaulting {
                 either(base.getDirectory(), defaults.getDirectory()),
                 either(base.getMaxObjectSize(), defaults.getMaxObjectSize()),
                 either(base.getMaxCacheEntries(), defaults.getMaxCacheEntries()),
-                merge(base.getHeuristic(), defaults.getHeuristic(), Defaulting::merge)
+                merge(base.getHeuristic(), defaults.getHeuristic(), Defaulting::merge),
+                merge(base.getMemoryMapped(), defaults.getMemoryMapped(), Defaulting::merge)
         );
     }
 
@@ -281,6 +305,14 @@ final class Defaulting {
         );
     }
 
+    private static MemoryMapped merge(final MemoryMapped base, final MemoryMapped defaults) {
+        return new MemoryMapped(
+                either(base.getEnabled(), defaults.getEnabled()),
+                either(base.getSegmentSize(), defaults.getSegmentSize()),
+                either(base.getSegments(), defaults.getSegments())
+        );
+    }
+
     private static Tracing merge(final Tracing base, final Tracing defaults) {
         final boolean enabled = either(base.getEnabled(), defaults.getEnabled());
         final boolean propagateFlowId = either(base.getPropagateFlowId(), defaults.getPropagateFlowId());
@@ -352,6 +384,21 @@ final class Defaulting {
         );
     }
 
+    private static NonBlockingIo merge(final NonBlockingIo base, final NonBlockingIo defaults) {
+        return new NonBlockingIo(
+                either(base.getEnabled(), defaults.getEnabled()),
+                either(base.getBackend(), defaults.getBackend())
+        );
+    }
+
+    private static ConcurrencyLimit merge(final ConcurrencyLimit base, final ConcurrencyLimit defaults) {
+        return new ConcurrencyLimit(
+                either(base.getEnabled(), defaults.getEnabled()),
+                either(base.getInitialLimit(), defaults.getInitialLimit()),
+                either(base.getMaxLimit(), defaults.getMaxLimit())
+        );
+    }
+
     @SafeVarargs
     private static <T> T either(final T... options) {
         return Arrays.stream(options).filter(Objects::nonNull).findFirst().orElse(null);
@@ -11,13 +11,17 @@ import org.zalando.riptide.Plugin;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Client;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Retry;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Retry.Backoff;
+import org.zalando.riptide.failsafe.AdaptiveBackupRequest;
 import org.zalando.riptide.failsafe.BackupRequest;
+import org.zalando.riptide.failsafe.BackupRequestListener;
 import org.zalando.riptide.failsafe.CircuitBreakerListener;
 import org.zalando.riptide.failsafe.CompositeDelayFunction;
 import org.zalando.riptide.failsafe.FailsafePlugin;
 import org.zalando.riptide.failsafe.RateLimitResetDelayFunction;
 import org.zalando.riptide.failsafe.RequestPolicies;
+import org.zalando.riptide.failsafe.RequestPolicy;
 import org.zalando.riptide.failsafe.RetryAfterDelayFunction;
+import org.zalando.riptide.failsafe.RetryBudget;
 import org.zalando.riptide.failsafe.RetryException;
 import org.zalando.riptide.failsafe.RetryRequestPolicy;
 import org.zalando.riptide.failsafe.TaskDecorator;
@@ -87,6 +91,7 @@ final class FailsafePluginFactory {
 
     public static Plugin createRetryFailsafePlugin(
             final Client client,
+            @Nullable final RetryBudget retryBudget,
             final List<TaskDecorator> decorators,
             @Nullable final ExecutorService executorService) {
 
@@ -102,12 +107,14 @@ final class FailsafePluginFactory {
                             .build())
                             .withPredicate(alwaysTrue()))
                     .withPolicy(new RetryRequestPolicy(getRetryPolicyBuilder(client).handle(RetryException.class).build()))
-                    .withDecorator(composite(decorators));
+                    .withDecorator(composite(decorators))
+                    .withRetryBudget(retryBudget);
         } else {
             return new FailsafePlugin()
                     .withExecutor(executorService)
                     .withPolicy(new RetryRequestPolicy(getRetryPolicyBuilder(client).handle(RetryException.class).build()))
-                    .withDecorator(composite(decorators));
+                    .withDecorator(composite(decorators))
+                    .withRetryBudget(retryBudget);
         }
     }
 
@@ -153,16 +160,29 @@ final class FailsafePluginFactory {
 
     public static Plugin createBackupRequestPlugin(
             final Client client,
+            final BackupRequestListener listener,
             final List<TaskDecorator> decorators,
             @Nullable final ExecutorService executorService) {
 
-        final TimeSpan delay = client.getBackupRequest().getDelay();
+        final RiptideProperties.BackupRequest config = client.getBackupRequest();
+        final TimeSpan delay = config.getDelay();
+
+        final RequestPolicy policy;
+
+        if (config.getAdaptive()) {
+            policy = new AdaptiveBackupRequest(delay.toDuration())
+                    .withPercentile(config.getPercentile())
+                    .withMaxBackupRatio(config.getMaxRatio())
+                    .withListener(listener);
+        } else {
+            policy = RequestPolicies.of(
+                    new BackupRequest<>(delay.getAmount(), delay.getUnit(), listener),
+                    new IdempotencyPredicate());
+        }
 
         return new FailsafePlugin()
                 .withExecutor(executorService)
-                .withPolicy(RequestPolicies.of(
-                        new BackupRequest<>(delay.getAmount(), delay.getUnit()),
-                        new IdempotencyPredicate()))
+                .withPolicy(policy)
                 .withDecorator(composite(decorators));
     }
 
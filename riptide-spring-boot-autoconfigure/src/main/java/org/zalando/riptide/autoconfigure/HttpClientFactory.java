@@ -5,19 +5,28 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.hc.client5.http.cache.HttpCacheStorage;
 import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
 import org.apache.hc.client5.http.impl.cache.CacheConfig;
 import org.apache.hc.client5.http.impl.cache.CachingHttpClientBuilder;
 import org.apache.hc.client5.http.impl.cache.CachingHttpClients;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
 import org.apache.hc.client5.http.io.HttpClientConnectionManager;
 import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
 import org.apache.hc.client5.http.socket.PlainConnectionSocketFactory;
+import org.apache.hc.client5.http.ssl.ClientTlsStrategyBuilder;
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
 import org.apache.hc.core5.http.HttpRequestInterceptor;
 import org.apache.hc.core5.http.config.RegistryBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
 import org.apache.hc.core5.ssl.SSLContexts;
+import org.apache.hc.core5.util.TimeValue;
 import org.springframework.boot.ssl.SslBundles;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Caching;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Caching.Heuristic;
@@ -26,6 +35,10 @@ import org.zalando.riptide.autoconfigure.RiptideProperties.CertificatePinning.Ke
 import org.zalando.riptide.autoconfigure.RiptideProperties.Client;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Connections;
 import org.zalando.riptide.autoconfigure.RiptideProperties.SslBundleUsage;
+import org.zalando.riptide.httpclient.DrainPolicy;
+import org.zalando.riptide.httpclient.TrackingDnsResolver;
+import org.zalando.riptide.httpclient.TrackingHttpClientConnectionManager;
+import org.zalando.riptide.httpclient.TrackingSSLConnectionSocketFactory;
 
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLContext;
@@ -51,29 +64,34 @@ final class HttpClientFactory {
     public static HttpClientConnectionManager createHttpClientConnectionManager(final Client client)
             throws GeneralSecurityException, IOException {
 
-        final Connections connections = client.getConnections();
-
-        final PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager(
-                RegistryBuilder.<ConnectionSocketFactory>create()
-                        .register("http", PlainConnectionSocketFactory.getSocketFactory())
-                        .register("https", new SSLConnectionSocketFactory(createSSLContext(client)))
-                        .build());
-
-        manager.setMaxTotal(connections.getMaxTotal());
-        manager.setDefaultMaxPerRoute(connections.getMaxPerRoute());
-
-        return manager;
+        return createPoolingHttpClientConnectionManager(client, createSSLContext(client));
     }
 
     public static HttpClientConnectionManager createHttpClientConnectionManagerWithSslBundle(final Client client, final String clientId, final SslBundles sslBundles) {
+        return createPoolingHttpClientConnectionManager(client, createSslContextFromSslBundle(client, clientId, sslBundles));
+    }
+
+    private static HttpClientConnectionManager createPoolingHttpClientConnectionManager(
+            final Client client, final SSLContext sslContext) {
 
         final Connections connections = client.getConnections();
 
+        // network timings of DNS lookups and TLS handshakes are only recorded if they are reported
+        final boolean tracked = client.getMetrics().getEnabled();
+
         final PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager(
-            RegistryBuilder.<ConnectionSocketFactory>create()
-                .register("http", PlainConnectionSocketFactory.getSocketFactory())
-                .register("https", new SSLConnectionSocketFactory(createSslContextFromSslBundle(client, clientId, sslBundles)))
-                .build());
+                RegistryBuilder.<ConnectionSocketFactory>create()
+                        .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                        .register("https", tracked ?
+                                new TrackingSSLConnectionSocketFactory(sslContext) :
+                                new SSLConnectionSocketFactory(sslContext))
+                        .build(),
+                PoolConcurrencyPolicy.STRICT,
+                PoolReusePolicy.LIFO,
+                TimeValue.NEG_ONE_MILLISECOND,
+                null,
+                tracked ? new TrackingDnsResolver() : null,
+                null);
 
         manager.setMaxTotal(connections.getMaxTotal());
         manager.setDefaultMaxPerRoute(connections.getMaxPerRoute());
@@ -84,6 +102,7 @@ final class HttpClientFactory {
     public static CloseableHttpClient createHttpClient(final Client client,
                                                        final List<HttpRequestInterceptor> firstRequestInterceptors,
                                                        final PoolingHttpClientConnectionManager connectionManager,
+                                                       @Nullable final TrackingHttpClientConnectionManager.Listener listener,
                                                        @Nullable final HttpClientCustomizer customizer,
                                                        @Nullable final Object cacheStorage) {
 
@@ -107,8 +126,15 @@ final class HttpClientFactory {
                 .setConnectionRequestTimeout(connections.getLeaseRequestTimeout().toTimeout())
                 .build();
 
-        builder.setConnectionManager(connectionManager)
-                .setDefaultRequestConfig(reqConfig)
+        if (listener == null) {
+            builder.setConnectionManager(connectionManager);
+        } else {
+            // evicting expired connections through the tracking manager keeps its idle connection counts in sync
+            builder.setConnectionManager(new TrackingHttpClientConnectionManager(connectionManager, listener))
+                    .evictExpiredConnections();
+        }
+
+        builder.setDefaultRequestConfig(reqConfig)
                 .disableAutomaticRetries();
 
         Optional.ofNullable(customizer).ifPresent(customize(builder));
@@ -116,6 +142,72 @@ final class HttpClientFactory {
         return builder.build();
     }
 
+    public static DrainPolicy createDrainPolicy(final Client client,
+                                                @Nullable final DrainPolicy.Listener listener) {
+
+        final Connections connections = client.getConnections();
+        final DrainPolicy policy = DrainPolicy.bounded(
+                connections.getDrainLimit(), connections.getDrainTimeout().toDuration());
+
+        return listener == null ? policy : policy.withListener(listener);
+    }
+
+    public static CloseableHttpAsyncClient createHttpAsyncClient(final Client client,
+                                                                 final List<HttpRequestInterceptor> firstRequestInterceptors)
+            throws GeneralSecurityException, IOException {
+
+        return createPoolingHttpAsyncClient(client, firstRequestInterceptors, createSSLContext(client));
+    }
+
+    public static CloseableHttpAsyncClient createHttpAsyncClientWithSslBundle(final Client client,
+                                                                              final List<HttpRequestInterceptor> firstRequestInterceptors,
+                                                                              final String clientId,
+                                                                              final SslBundles sslBundles) {
+
+        return createPoolingHttpAsyncClient(client, firstRequestInterceptors,
+                createSslContextFromSslBundle(client, clientId, sslBundles));
+    }
+
+    private static CloseableHttpAsyncClient createPoolingHttpAsyncClient(final Client client,
+                                                                         final List<HttpRequestInterceptor> firstRequestInterceptors,
+                                                                         final SSLContext sslContext) {
+
+        // Apache's async cache needs a different storage type, there is no way to share the configured one
+        if (client.getCaching().getEnabled()) {
+            throw new IllegalStateException("Caching is not supported in combination with non-blocking IO");
+        }
+
+        final Connections connections = client.getConnections();
+
+        final ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(connections.getConnectTimeout().toTimeout())
+                .setSocketTimeout(connections.getSocketTimeout().toTimeout())
+                .setTimeToLive(connections.getTimeToLive().toTimeValue())
+                .build();
+
+        final PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setTlsStrategy(ClientTlsStrategyBuilder.create()
+                        .setSslContext(sslContext)
+                        .build())
+                .setMaxConnTotal(connections.getMaxTotal())
+                .setMaxConnPerRoute(connections.getMaxPerRoute())
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+
+        final HttpAsyncClientBuilder builder = HttpAsyncClients.custom();
+
+        firstRequestInterceptors.forEach(builder::addRequestInterceptorFirst);
+
+        final RequestConfig reqConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(connections.getLeaseRequestTimeout().toTimeout())
+                .build();
+
+        return builder.setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(reqConfig)
+                .disableAutomaticRetries()
+                .build();
+    }
+
     private static HttpClientBuilder configureCaching(final Caching caching,
                                                       @Nullable final Object cacheStorage) {
         final Heuristic heuristic = caching.getHeuristic();
@@ -135,13 +227,15 @@ final class HttpClientFactory {
         CachingHttpClientBuilder builder = CachingHttpClients.custom()
                 .setCacheConfig(config.build())
                 .setHttpCacheStorage((HttpCacheStorage) cacheStorage)
+                // memory-mapped storage uses the directory itself, entries are kept on the heap in between
                 .setCacheDir(Optional.ofNullable(caching.getDirectory())
+                        .filter(directory -> !caching.getMemoryMapped().getEnabled())
                         .map(Path::toFile)
                         .orElse(null));
         return HttpClientBuilder.class.cast(builder);
     }
 
-    private static SSLContext createSSLContext(final Client client) throws GeneralSecurityException, IOException {
+    static SSLContext createSSLContext(final Client client) throws GeneralSecurityException, IOException {
         final CertificatePinning pinning = client.getCertificatePinning();
 
         if (pinning.getEnabled()) {
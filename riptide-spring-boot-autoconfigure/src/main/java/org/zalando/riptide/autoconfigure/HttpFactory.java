@@ -2,6 +2,7 @@ package org.zalando.riptide.autoconfigure;
 
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.zalando.riptide.AsyncClient;
 import org.zalando.riptide.Http;
 import org.zalando.riptide.Http.RequestFactoryStage;
 import org.zalando.riptide.Plugin;
@@ -36,6 +37,23 @@ final class HttpFactory {
                 .build();
     }
 
+    public static Http createNonBlocking(
+            @Nullable final Executor executor,
+            final AsyncClient client,
+            final BaseURL baseUrl,
+            final UrlResolution urlResolution,
+            final List<HttpMessageConverter<?>> converters,
+            final List<Plugin> plugins) {
+
+        return configure(executor)
+                .asyncClient(client)
+                .baseUrl(baseUrl)
+                .urlResolution(urlResolution)
+                .converters(converters)
+                .plugins(plugins)
+                .build();
+    }
+
     private static RequestFactoryStage configure(
             @Nullable final Executor executor) {
 
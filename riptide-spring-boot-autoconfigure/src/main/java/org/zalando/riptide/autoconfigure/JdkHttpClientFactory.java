@@ -0,0 +1,42 @@
+package org.zalando.riptide.autoconfigure;
+
+import org.springframework.boot.ssl.SslBundles;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Client;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.security.GeneralSecurityException;
+
+import static java.net.http.HttpClient.Version.HTTP_2;
+
+@SuppressWarnings("unused")
+final class JdkHttpClientFactory {
+
+    private JdkHttpClientFactory() {
+
+    }
+
+    public static HttpClient createHttpClient(final Client client) throws GeneralSecurityException, IOException {
+        return createHttp2Client(client, HttpClientFactory.createSSLContext(client));
+    }
+
+    public static HttpClient createHttpClientWithSslBundle(final Client client, final String clientId,
+            final SslBundles sslBundles) {
+        return createHttp2Client(client, HttpClientFactory.createSslContextFromSslBundle(client, clientId, sslBundles));
+    }
+
+    private static HttpClient createHttp2Client(final Client client, final SSLContext sslContext) {
+        // the JDK's client has no cache
+        if (client.getCaching().getEnabled()) {
+            throw new IllegalStateException("Caching is not supported in combination with non-blocking IO");
+        }
+
+        return HttpClient.newBuilder()
+                .version(HTTP_2)
+                .connectTimeout(client.getConnections().getConnectTimeout().toDuration())
+                .sslContext(sslContext)
+                .build();
+    }
+
+}
@@ -0,0 +1,523 @@
+package org.zalando.riptide.autoconfigure;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.cache.ResourceIOException;
+import org.apache.hc.client5.http.impl.cache.AbstractSerializingCacheStorage;
+import org.apache.hc.client5.http.impl.cache.HttpByteArrayCacheEntrySerializer;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Stores cache entries in a small number of memory-mapped segment files, instead of one file per entry. Entries are
+ * appended to the most recent segment and found via an in-memory index, i.e. reading an entry neither opens a file
+ * nor performs any I/O if the segment is in the page cache.
+ *
+ * Every record consists of the length of its key, the length of its value (or -1 for a deleted entry), the key and
+ * the value. The key length is written last, so that a partially written record marks the end of a segment.
+ *
+ * Once the maximum number of segments is reached, the oldest segment is dropped and its file is deleted. If at most
+ * half of it is still live, i.e. most of its entries have been overwritten or deleted, its live entries are copied
+ * into the newest segment as far as they fit. Otherwise they are evicted, oldest first, since copying them would
+ * leave hardly any room in the newest segment and cause it to roll again right away. Every segment keeps track of the
+ * keys that live in it, so that neither of this needs to scan the whole index. The index is rebuilt from all
+ * segments, oldest first, on startup.
+ *
+ * The number of entries is only bounded by the number and size of segments, i.e. {@code max-cache-entries} doesn't
+ * apply.
+ *
+ * A directory can only be used by a single storage at a time, which is enforced by an exclusive lock on a
+ * {@code lock} file inside of it.
+ */
+@Slf4j
+final class MappedHttpCacheStorage extends AbstractSerializingCacheStorage<byte[], MappedHttpCacheStorage.Location>
+        implements Closeable {
+
+    private static final int MAX_UPDATE_RETRIES = 1;
+    private static final int HEADER = 2 * Integer.BYTES;
+    private static final int DELETED = -1;
+    private static final Pattern SEGMENT = Pattern.compile("segment-(\\d+)\\.bin");
+
+    /**
+     * Segments with more live bytes than this fraction of their capacity are evicted rather than copied.
+     */
+    private static final double MAX_LIVE_RATIO_TO_COPY = 0.5;
+
+    private final ConcurrentMap<String, Location> index = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // guarded by lock, oldest first
+    private final Deque<Segment> segments = new ArrayDeque<>();
+
+    private final Path directory;
+    private final FileLock directoryLock;
+    private final int segmentSize;
+    private final int maxSegments;
+
+    // guarded by lock
+    private long nextId;
+
+    // guarded by lock
+    private long rolls;
+
+    // guarded by lock
+    private long copies;
+
+    MappedHttpCacheStorage(
+            final Path directory,
+            final int segmentSize,
+            final int maxSegments) throws IOException {
+
+        super(MAX_UPDATE_RETRIES, HttpByteArrayCacheEntrySerializer.INSTANCE);
+
+        this.directory = Objects.requireNonNull(directory, "Memory-mapped cache storage requires a directory");
+
+        if (segmentSize <= HEADER) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+
+        if (maxSegments < 2) {
+            throw new IllegalArgumentException("At least two segments are required: " + maxSegments);
+        }
+
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+
+        Files.createDirectories(directory);
+        this.directoryLock = lock(directory);
+
+        try {
+            recover();
+        } catch (final IOException e) {
+            directoryLock.channel().close();
+            throw e;
+        }
+    }
+
+    private static FileLock lock(final Path directory) throws IOException {
+        final FileChannel channel = FileChannel.open(directory.resolve("lock"), CREATE, WRITE);
+
+        @Nullable FileLock lock;
+
+        try {
+            lock = channel.tryLock();
+        } catch (final OverlappingFileLockException e) {
+            lock = null;
+        }
+
+        if (lock == null) {
+            channel.close();
+            throw new IllegalStateException("Cache directory [" + directory + "] is already in use");
+        }
+
+        return lock;
+    }
+
+    private void recover() throws IOException {
+        final List<Path> paths;
+
+        try (final Stream<Path> files = Files.list(directory)) {
+            paths = files
+                    .filter(path -> SEGMENT.matcher(path.getFileName().toString()).matches())
+                    .sorted()
+                    .collect(toList());
+        }
+
+        for (final Path path : paths) {
+            final Matcher matcher = SEGMENT.matcher(path.getFileName().toString());
+            matcher.matches();
+            final long id = Long.parseLong(matcher.group(1));
+
+            final Segment segment = Segment.open(path, segmentSize);
+            segments.addLast(segment);
+            nextId = id + 1;
+            replay(segment);
+        }
+
+        if (segments.isEmpty()) {
+            segments.addLast(create());
+        }
+
+        log.debug("Recovered {} cache entries from {} segment(s) in [{}]", index.size(), segments.size(), directory);
+    }
+
+    private void replay(final Segment segment) {
+        final MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+
+        while (position + HEADER <= buffer.capacity()) {
+            final int keyLength = buffer.getInt(position);
+            final int valueLength = buffer.getInt(position + Integer.BYTES);
+            final long end = (long) position + HEADER + keyLength + Math.max(0, valueLength);
+
+            if (keyLength <= 0 || valueLength < DELETED || end > buffer.capacity()) {
+                break;
+            }
+
+            final String key = new String(read(buffer, position + HEADER, keyLength), UTF_8);
+
+            if (valueLength == DELETED) {
+                unindex(key);
+            } else {
+                index(key, new Location(segment, position + HEADER + keyLength, valueLength));
+            }
+
+            position = (int) end;
+        }
+
+        segment.position = position;
+    }
+
+    @Override
+    protected String digestToStorageKey(final String key) {
+        return key;
+    }
+
+    @Override
+    protected void store(final String storageKey, final byte[] storageObject) throws ResourceIOException {
+        lock.lock();
+        try {
+            put(storageKey, storageObject);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Nullable
+    @Override
+    protected byte[] restore(final String storageKey) {
+        @Nullable final Location location = index.get(storageKey);
+        return location == null ? null : location.read();
+    }
+
+    @Nullable
+    @Override
+    protected Location getForUpdateCAS(final String storageKey) {
+        return index.get(storageKey);
+    }
+
+    @Override
+    protected byte[] getStorageObject(final Location location) {
+        return location.read();
+    }
+
+    @Override
+    protected boolean updateCAS(
+            final String storageKey,
+            final Location location,
+            final byte[] storageObject) throws ResourceIOException {
+
+        lock.lock();
+        try {
+            if (index.get(storageKey) != location) {
+                return false;
+            }
+
+            put(storageKey, storageObject);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected void delete(final String storageKey) throws ResourceIOException {
+        lock.lock();
+        try {
+            if (unindex(storageKey)) {
+                append(key(storageKey), null);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected Map<String, byte[]> bulkRestore(final Collection<String> storageKeys) {
+        final Map<String, byte[]> result = new HashMap<>();
+
+        for (final String storageKey : storageKeys) {
+            @Nullable final byte[] storageObject = restore(storageKey);
+
+            if (storageObject != null) {
+                result.put(storageKey, storageObject);
+            }
+        }
+
+        return result;
+    }
+
+    // guarded by lock
+    private void put(final String storageKey, final byte[] storageObject) throws ResourceIOException {
+        @Nullable final Location location = append(key(storageKey), storageObject);
+
+        if (location == null) {
+            log.debug("Cache entry [{}] exceeds segment size of {} bytes, not storing", storageKey, segmentSize);
+            delete(storageKey);
+        } else {
+            index(storageKey, location);
+        }
+    }
+
+    // guarded by lock
+    private void index(final String storageKey, final Location location) {
+        unlink(storageKey, index.put(storageKey, location));
+        location.segment.keys.add(storageKey);
+        location.segment.live += size(storageKey, location);
+    }
+
+    // guarded by lock
+    private boolean unindex(final String storageKey) {
+        @Nullable final Location location = index.remove(storageKey);
+        unlink(storageKey, location);
+        return location != null;
+    }
+
+    // guarded by lock
+    private static void unlink(final String storageKey, @Nullable final Location location) {
+        if (location != null) {
+            location.segment.keys.remove(storageKey);
+            location.segment.live -= size(storageKey, location);
+        }
+    }
+
+    // guarded by lock
+    @Nullable
+    private Location append(final byte[] key, @Nullable final byte[] value) throws ResourceIOException {
+        final int valueLength = value == null ? 0 : value.length;
+        final long size = (long) HEADER + key.length + valueLength;
+
+        if (size > segmentSize) {
+            return null;
+        }
+
+        Segment segment = segments.getLast();
+
+        if (segment.remaining() < size) {
+            segment = roll((int) size);
+        }
+
+        final int position = segment.position;
+        final MappedByteBuffer buffer = segment.buffer;
+
+        buffer.put(position + HEADER, key);
+
+        if (value != null) {
+            buffer.put(position + HEADER + key.length, value);
+        }
+
+        buffer.putInt(position + Integer.BYTES, value == null ? DELETED : value.length);
+        // commits the record
+        buffer.putInt(position, key.length);
+
+        segment.position = position + (int) size;
+
+        return value == null ? null : new Location(segment, position + HEADER + key.length, value.length);
+    }
+
+    /**
+     * Starts a new segment, dropping the oldest one if necessary.
+     *
+     * @param reserved the number of bytes that need to remain available in the new segment
+     */
+    // guarded by lock
+    private Segment roll(final int reserved) throws ResourceIOException {
+        final Segment segment;
+
+        try {
+            segment = create();
+        } catch (final IOException e) {
+            throw new ResourceIOException("Unable to create cache segment", e);
+        }
+
+        segments.addLast(segment);
+        rolls++;
+
+        if (segments.size() > maxSegments) {
+            compact(segments.removeFirst(), segment, reserved);
+        }
+
+        return segment;
+    }
+
+    // guarded by lock
+    private void compact(final Segment oldest, final Segment target, final int reserved) {
+        final boolean copy = oldest.live <= oldest.buffer.capacity() * MAX_LIVE_RATIO_TO_COPY;
+        int copied = 0;
+        int evicted = 0;
+
+        // the oldest segment is dropped as a whole, i.e. its keys don't need to be unlinked one by one
+        for (final String storageKey : oldest.keys) {
+            final Location location = index.get(storageKey);
+            final byte[] key = key(storageKey);
+            final int size = HEADER + key.length + location.length;
+
+            if (copy && target.remaining() - reserved >= size) {
+                final int position = target.position;
+                final MappedByteBuffer buffer = target.buffer;
+                buffer.put(position + HEADER, key);
+                buffer.put(position + HEADER + key.length, location.read());
+                buffer.putInt(position + Integer.BYTES, location.length);
+                buffer.putInt(position, key.length);
+                target.position = position + size;
+
+                index.put(storageKey, new Location(target, position + HEADER + key.length, location.length));
+                target.keys.add(storageKey);
+                target.live += size;
+                copied++;
+            } else {
+                index.remove(storageKey);
+                evicted++;
+            }
+        }
+
+        copies += copied;
+
+        log.debug("Dropped cache segment [{}]: {} entries copied, {} evicted", oldest.path, copied, evicted);
+        oldest.delete();
+    }
+
+    private Segment create() throws IOException {
+        return Segment.open(directory.resolve(String.format("segment-%016d.bin", nextId++)), segmentSize);
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            for (final Segment segment : segments) {
+                segment.close();
+            }
+        } finally {
+            directoryLock.channel().close();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The number of segments that have been started since this storage was opened.
+     */
+    long getRolls() {
+        lock.lock();
+        try {
+            return rolls;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The number of entries that have been copied out of dropped segments since this storage was opened.
+     */
+    long getCopies() {
+        lock.lock();
+        try {
+            return copies;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int size(final String storageKey, final Location location) {
+        return HEADER + key(storageKey).length + location.length;
+    }
+
+    private static byte[] key(final String storageKey) {
+        return storageKey.getBytes(UTF_8);
+    }
+
+    private static byte[] read(final MappedByteBuffer buffer, final int offset, final int length) {
+        final byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return bytes;
+    }
+
+    @AllArgsConstructor
+    static final class Location {
+
+        private final Segment segment;
+        private final int offset;
+        private final int length;
+
+        byte[] read() {
+            return MappedHttpCacheStorage.read(segment.buffer, offset, length);
+        }
+
+    }
+
+    @AllArgsConstructor
+    private static final class Segment {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        // guarded by lock, the keys whose current entry lives in this segment
+        private final Set<String> keys = new HashSet<>();
+
+        // guarded by lock
+        private int position;
+
+        // guarded by lock, the number of bytes of current entries in this segment
+        private long live;
+
+        static Segment open(final Path path, final int size) throws IOException {
+            final FileChannel channel = FileChannel.open(path, CREATE, READ, WRITE);
+            final long capacity = channel.size() == 0 ? size : Math.min(channel.size(), Integer.MAX_VALUE);
+            return new Segment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity), 0, 0);
+        }
+
+        int remaining() {
+            return buffer.capacity() - position;
+        }
+
+        void close() throws IOException {
+            buffer.force();
+            channel.close();
+        }
+
+        /**
+         * The mapping stays valid until it's garbage collected, i.e. concurrent readers are not affected.
+         */
+        void delete() {
+            try {
+                channel.close();
+                Files.delete(path);
+            } catch (final IOException e) {
+                log.warn("Unable to delete cache segment [{}]", path, e);
+            }
+        }
+
+    }
+
+}
@@ -3,7 +3,9 @@ package org.zalando.riptide.autoconfigure;
 import com.google.common.collect.ImmutableList;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import org.zalando.riptide.failsafe.BackupRequestListener;
 import org.zalando.riptide.failsafe.CircuitBreakerListener;
+import org.zalando.riptide.failsafe.metrics.MetricsBackupRequestListener;
 import org.zalando.riptide.failsafe.metrics.MetricsCircuitBreakerListener;
 
 final class MicrometerFailsafeFactory {
@@ -21,4 +23,13 @@ final class MicrometerFailsafeFactory {
         return CircuitBreakerListener.DEFAULT;
     }
 
+    public static BackupRequestListener createBackupRequestListener(final MeterRegistry registry,
+            final ImmutableList<Tag> defaultTags) {
+        return new MetricsBackupRequestListener(registry).withDefaultTags(defaultTags);
+    }
+
+    public static BackupRequestListener getDefaultBackupRequestListener() {
+        return BackupRequestListener.DEFAULT;
+    }
+
 }
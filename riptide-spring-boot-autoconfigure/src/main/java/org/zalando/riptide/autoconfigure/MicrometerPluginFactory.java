@@ -4,6 +4,7 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import org.zalando.riptide.Plugin;
 import org.zalando.riptide.micrometer.MicrometerPlugin;
+import org.zalando.riptide.micrometer.NetworkTimingsMetricsPlugin;
 import org.zalando.riptide.micrometer.tag.TagGenerator;
 
 import java.util.Collection;
@@ -24,4 +25,12 @@ final class MicrometerPluginFactory {
                 .withAdditionalTagGenerators(generators);
     }
 
+    public static Plugin createNetworkTimings(
+            final MeterRegistry registry,
+            final Iterable<Tag> tags) {
+
+        return new NetworkTimingsMetricsPlugin(registry)
+                .withDefaultTags(tags);
+    }
+
 }
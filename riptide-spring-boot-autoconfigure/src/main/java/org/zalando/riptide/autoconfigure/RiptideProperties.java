@@ -11,10 +11,12 @@ import org.springframework.boot.context.properties.NestedConfigurationProperty;
 import org.springframework.stereotype.Component;
 import org.zalando.riptide.UrlResolution;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Caching.Heuristic;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Caching.MemoryMapped;
 import org.zalando.riptide.autoconfigure.RiptideProperties.CertificatePinning.Keystore;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Chaos.ErrorResponses;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Chaos.Exceptions;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Chaos.Latency;
+import org.zalando.riptide.autoconfigure.RiptideProperties.NonBlockingIo.Backend;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Retry.Backoff;
 import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory.Mode;
 
@@ -27,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 
 import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apiguardian.api.API.Status.INTERNAL;
@@ -64,12 +67,15 @@ public final class RiptideProperties {
                 TimeSpan.of(30, SECONDS),
                 20,
                 20,
-                Mode.STREAMING
+                Mode.STREAMING,
+                64 * 1024,
+                TimeSpan.of(100, MILLISECONDS)
         );
 
         @NestedConfigurationProperty
         private Threads threads = new Threads(
                 true,
+                false,
                 1,
                 null,
                 TimeSpan.of(1, MINUTES),
@@ -97,13 +103,14 @@ public final class RiptideProperties {
 
         @NestedConfigurationProperty
         private Retry retry = new Retry(false, null,
-                new Backoff(false, null, null, null), -1, TimeSpan.of(5, SECONDS), null, null);
+                new Backoff(false, null, null, null), -1, TimeSpan.of(5, SECONDS), null, null,
+                new Budget(false, 0.2, 10));
 
         @NestedConfigurationProperty
         private CircuitBreaker circuitBreaker = new CircuitBreaker(false, null, null, TimeSpan.of(0, SECONDS), null);
 
         @NestedConfigurationProperty
-        private BackupRequest backupRequest = new BackupRequest(false, null);
+        private BackupRequest backupRequest = new BackupRequest(false, null, false, 0.95, 0.1);
 
         @NestedConfigurationProperty
         private Timeouts timeouts = new Timeouts(false, null);
@@ -125,7 +132,8 @@ public final class RiptideProperties {
                         false,
                         DEFAULT_HEURISTIC_COEFFICIENT,
                         TimeSpan.of(DEFAULT_HEURISTIC_LIFETIME.toSeconds(), SECONDS)
-                )
+                ),
+                new MemoryMapped(false, 64 * 1024 * 1024, 8)
         );
 
         @NestedConfigurationProperty
@@ -147,6 +155,12 @@ public final class RiptideProperties {
         @NestedConfigurationProperty
         private SslBundleUsage sslBundleUsage = new SslBundleUsage(false, null);
 
+        @NestedConfigurationProperty
+        private NonBlockingIo nonBlockingIo = new NonBlockingIo(false, Backend.APACHE);
+
+        @NestedConfigurationProperty
+        private ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit(false, 20, 200);
+
     }
 
     @Getter
@@ -220,6 +234,12 @@ public final class RiptideProperties {
         @NestedConfigurationProperty
         private SslBundleUsage sslBundleUsage;
 
+        @NestedConfigurationProperty
+        private NonBlockingIo nonBlockingIo;
+
+        @NestedConfigurationProperty
+        private ConcurrencyLimit concurrencyLimit;
+
     }
 
     @Getter
@@ -234,6 +254,8 @@ public final class RiptideProperties {
         private Integer maxPerRoute;
         private Integer maxTotal;
         private Mode mode;
+        private Integer drainLimit;
+        private TimeSpan drainTimeout;
     }
 
     @Getter
@@ -242,6 +264,7 @@ public final class RiptideProperties {
     @AllArgsConstructor
     public static final class Threads {
         private Boolean enabled;
+        private Boolean virtual;
         private Integer minSize;
         private Integer maxSize;
         private TimeSpan keepAlive;
@@ -306,6 +329,7 @@ public final class RiptideProperties {
         private TimeSpan maxDuration;
         private Double jitterFactor;
         private TimeSpan jitter;
+        private Budget budget;
 
         @Getter
         @Setter
@@ -317,6 +341,16 @@ public final class RiptideProperties {
             private TimeSpan maxDelay;
             private Double delayFactor;
         }
+
+        @Getter
+        @Setter
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static final class Budget {
+            private Boolean enabled;
+            private Double ratio;
+            private Integer minRetriesPerSecond;
+        }
     }
 
     @Getter
@@ -338,6 +372,9 @@ public final class RiptideProperties {
     public static final class BackupRequest {
         private Boolean enabled;
         private TimeSpan delay;
+        private Boolean adaptive;
+        private Double percentile;
+        private Double maxRatio;
     }
 
     @Getter
@@ -386,6 +423,7 @@ public final class RiptideProperties {
         private Integer maxObjectSize;
         private Integer maxCacheEntries;
         private Heuristic heuristic;
+        private MemoryMapped memoryMapped;
 
         @Getter
         @Setter
@@ -396,6 +434,16 @@ public final class RiptideProperties {
             private Float coefficient;
             private TimeSpan defaultLifeTime;
         }
+
+        @Getter
+        @Setter
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static final class MemoryMapped {
+            private Boolean enabled;
+            private Integer segmentSize;
+            private Integer segments;
+        }
     }
 
     @Getter
@@ -475,4 +523,27 @@ public final class RiptideProperties {
         private String sslBundleId;
     }
 
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static final class NonBlockingIo {
+        private Boolean enabled;
+        private Backend backend;
+
+        public enum Backend {
+            APACHE, JDK
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static final class ConcurrencyLimit {
+        private Boolean enabled;
+        private Integer initialLimit;
+        private Integer maxLimit;
+    }
+
 }
@@ -4,7 +4,7 @@ import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Threads;
 import org.zalando.riptide.concurrent.ThreadPoolExecutors;
 
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ExecutorService;
 
 import static org.zalando.riptide.concurrent.ThreadPoolExecutors.builder;
 
@@ -15,15 +15,37 @@ final class ThreadPoolFactory {
 
     }
 
-    public static ThreadPoolExecutor create(
+    public static ExecutorService create(
             final String id,
             final Threads threads) {
 
+        if (threads.getVirtual()) {
+            return configureVirtual(threads)
+                    .threadNamePrefix("http-" + id + "-")
+                    .build();
+        }
+
         return configure(threads)
                 .threadFactory(new CustomizableThreadFactory("http-" + id + "-"))
                 .build();
     }
 
+    private static ThreadPoolExecutors.VirtualThreadFactory configureVirtual(final Threads threads) {
+        final int maxSize = threads.getMaxSize();
+        final int queueSize = threads.getQueueSize();
+
+        // the semaphore takes the role of the pool, there are no idle threads to keep alive
+        if (queueSize == 0) {
+            return builder()
+                    .virtualThreads(maxSize)
+                    .withoutQueue();
+        } else {
+            return builder()
+                    .virtualThreads(maxSize)
+                    .boundedQueue(queueSize);
+        }
+    }
+
     private static ThreadPoolExecutors.Threads configure(final Threads threads) {
         final int minSize = threads.getMinSize();
         final int maxSize = threads.getMaxSize();
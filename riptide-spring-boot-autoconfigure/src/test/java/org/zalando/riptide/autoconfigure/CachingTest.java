@@ -19,6 +19,11 @@ import org.springframework.test.context.ActiveProfiles;
 import org.zalando.logbook.autoconfigure.LogbookAutoConfiguration;
 import org.zalando.riptide.Http;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
 import static org.zalando.riptide.PassRoute.pass;
 import static org.zalando.riptide.autoconfigure.MockWebServerUtil.getBaseUrl;
@@ -59,6 +64,22 @@ final class CachingTest {
     @Qualifier("heuristic")
     private Http heuristic;
 
+    @Autowired
+    @Qualifier("mapped")
+    private Http mapped;
+
+    @Autowired
+    @Qualifier("mappedHttpCacheStorage")
+    private HttpCacheStorage mappedStorage;
+
+    @Autowired
+    @Qualifier("archive")
+    private Http archive;
+
+    @Autowired
+    @Qualifier("archiveHttpCacheStorage")
+    private HttpCacheStorage archiveStorage;
+
     @SneakyThrows
     @AfterEach
     void tearDown() {
@@ -169,4 +190,36 @@ final class CachingTest {
         MockWebServerUtil.verify(server, 1, "/");
     }
 
+    @Test
+    void shouldCacheInMemoryMappedStorage() {
+        server.enqueue(textMockResponse("Hello")
+                .setHeader("Cache-Control", "max-age=300")
+        );
+
+        mapped.get(getBaseUrl(server)).call(pass()).join();
+        mapped.get(getBaseUrl(server)).call(pass()).join();
+
+        MockWebServerUtil.verify(server, 1, "/");
+        assertThat(mappedStorage, is(instanceOf(MappedHttpCacheStorage.class)));
+    }
+
+    @Test
+    void shouldUseSeparateMemoryMappedStoragesForClientsSharingDirectory() {
+        server.enqueue(textMockResponse("Hello")
+                .setHeader("Cache-Control", "max-age=300")
+        );
+        server.enqueue(textMockResponse("World")
+                .setHeader("Cache-Control", "max-age=300")
+        );
+
+        mapped.get(getBaseUrl(server) + "/mapped").call(pass()).join();
+        archive.get(getBaseUrl(server) + "/archive").call(pass()).join();
+        mapped.get(getBaseUrl(server) + "/mapped").call(pass()).join();
+        archive.get(getBaseUrl(server) + "/archive").call(pass()).join();
+
+        assertThat(server.getRequestCount(), is(2));
+        assertThat(archiveStorage, is(instanceOf(MappedHttpCacheStorage.class)));
+        assertThat(archiveStorage, is(not(sameInstance(mappedStorage))));
+    }
+
 }
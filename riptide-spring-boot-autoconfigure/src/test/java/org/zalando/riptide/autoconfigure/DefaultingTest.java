@@ -2,6 +2,7 @@ package org.zalando.riptide.autoconfigure;
 
 import org.junit.jupiter.api.Test;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Caching.Heuristic;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Caching.MemoryMapped;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Client;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Connections;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Defaults;
@@ -57,7 +58,7 @@ final class DefaultingTest {
     void shouldNotOverwriteProvidedDefaultThreadsMaxSizeWithConnectionsMaxTotal() {
         final RiptideProperties properties = new RiptideProperties();
         final Defaults defaults = new Defaults();
-        defaults.setThreads(new Threads(true, null, 10, null, null));
+        defaults.setThreads(new Threads(true, null, null, 10, null, null));
         properties.setDefaults(defaults);
         final RiptideProperties actual = Defaulting.withDefaults(properties);
 
@@ -106,9 +107,11 @@ final class DefaultingTest {
     void shouldMergeCaching() {
         final Caching actual = Defaulting.merge(
                 new Caching(false, true, null, 4096, 100,
-                        new Heuristic(Boolean.FALSE, 0.1f, null)),
+                        new Heuristic(Boolean.FALSE, 0.1f, null),
+                        new MemoryMapped(true, null, 4)),
                 new Caching(true, false, Paths.get("/var/cache/http"), 8192, 1000,
-                        new Heuristic(true, 0.25f, TimeSpan.of(1, HOURS))));
+                        new Heuristic(true, 0.25f, TimeSpan.of(1, HOURS)),
+                        new MemoryMapped(false, 1024, 8)));
 
         assertThat(actual.getEnabled(), is(false));
         assertThat(actual.getShared(), is(true));
@@ -118,6 +121,9 @@ final class DefaultingTest {
         assertThat(actual.getHeuristic().getEnabled(), is(false));
         assertThat(actual.getHeuristic().getCoefficient(), is(0.1f));
         assertThat(actual.getHeuristic().getDefaultLifeTime(), hasToString("1 hours"));
+        assertThat(actual.getMemoryMapped().getEnabled(), is(true));
+        assertThat(actual.getMemoryMapped().getSegmentSize(), is(1024));
+        assertThat(actual.getMemoryMapped().getSegments(), is(4));
     }
 
 }
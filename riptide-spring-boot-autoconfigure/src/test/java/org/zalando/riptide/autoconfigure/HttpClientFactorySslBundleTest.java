@@ -1,11 +1,13 @@
 package org.zalando.riptide.autoconfigure;
 
+import static java.util.Collections.emptyList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
+import static org.zalando.riptide.autoconfigure.HttpClientFactory.createHttpAsyncClientWithSslBundle;
 import static org.zalando.riptide.autoconfigure.HttpClientFactory.createHttpClientConnectionManagerWithSslBundle;
 import static org.zalando.riptide.autoconfigure.HttpClientFactory.createSslContextFromSslBundle;
 
@@ -56,6 +58,36 @@ public class HttpClientFactorySslBundleTest {
     assertThat(exception.getMessage(), containsString("'configured-bundle-id'"));
   }
 
+  @Test
+  void shouldFailWithoutSslBundleForNonBlockingIo() {
+    final RiptideProperties.Client client = new RiptideProperties.Client();
+    client.setSslBundleUsage(new SslBundleUsage(true, null));
+
+    final NoSuchSslBundleException exception = assertThrows(
+        NoSuchSslBundleException.class,
+        () -> createHttpAsyncClientWithSslBundle(
+            withDefaults(client), emptyList(), "example", new DefaultSslBundleRegistry()
+        )
+    );
+
+    assertThat(exception.getMessage(), containsString("'example'"));
+  }
+
+  @Test
+  void shouldFailWithoutSslBundleForJdkBackend() {
+    final RiptideProperties.Client client = new RiptideProperties.Client();
+    client.setSslBundleUsage(new SslBundleUsage(true, null));
+
+    final NoSuchSslBundleException exception = assertThrows(
+        NoSuchSslBundleException.class,
+        () -> JdkHttpClientFactory.createHttpClientWithSslBundle(
+            withDefaults(client), "example", new DefaultSslBundleRegistry()
+        )
+    );
+
+    assertThat(exception.getMessage(), containsString("'example'"));
+  }
+
   @Test
   void shouldCreateMockedSslContext() {
     SslBundle sslBundle = Mockito.mock(SslBundle.class);
@@ -104,7 +136,7 @@ public class HttpClientFactorySslBundleTest {
     final RiptideProperties props = new RiptideProperties();
     final RiptideProperties.Client client = new RiptideProperties.Client();
 
-    client.setThreads(new Threads(false, 0,0, null, 0));
+    client.setThreads(new Threads(false, false, 0,0, null, 0));
     client.setSslBundleUsage(new SslBundleUsage(true, null));
     client.setCertificatePinning(new CertificatePinning(true, null));
 
@@ -1,16 +1,28 @@
 package org.zalando.riptide.autoconfigure;
 
 import com.google.common.collect.ImmutableMap;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
+import org.apache.hc.core5.http.config.Lookup;
 import org.junit.jupiter.api.Test;
 import org.zalando.riptide.autoconfigure.RiptideProperties.CertificatePinning;
 import org.zalando.riptide.autoconfigure.RiptideProperties.CertificatePinning.Keystore;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Defaults;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Metrics;
+import org.zalando.riptide.httpclient.TrackingDnsResolver;
+import org.zalando.riptide.httpclient.TrackingSSLConnectionSocketFactory;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.lang.reflect.Field;
 
+import static java.util.Collections.emptyList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 final class HttpClientFactoryTest {
@@ -41,6 +53,72 @@ final class HttpClientFactoryTest {
         HttpClientFactory.createHttpClientConnectionManager(withDefaults(client)));
     }
 
+    @Test
+    void shouldTrackNetworkTimingsIfMetricsAreEnabled() throws Exception {
+        final RiptideProperties.Client client = new RiptideProperties.Client();
+        client.setMetrics(new Metrics(true, null));
+
+        final Object operator = field(
+                HttpClientFactory.createHttpClientConnectionManager(withDefaults(client)), "connectionOperator");
+
+        assertThat(field(operator, "dnsResolver"), is(instanceOf(TrackingDnsResolver.class)));
+        assertThat(registry(operator).lookup("https"), is(instanceOf(TrackingSSLConnectionSocketFactory.class)));
+    }
+
+    @Test
+    void shouldNotTrackNetworkTimingsIfMetricsAreDisabled() throws Exception {
+        final RiptideProperties.Client client = new RiptideProperties.Client();
+        client.setMetrics(new Metrics(false, null));
+
+        final Object operator = field(
+                HttpClientFactory.createHttpClientConnectionManager(withDefaults(client)), "connectionOperator");
+
+        assertThat(field(operator, "dnsResolver"), is(not(instanceOf(TrackingDnsResolver.class))));
+        assertThat(registry(operator).lookup("https"), is(not(instanceOf(TrackingSSLConnectionSocketFactory.class))));
+    }
+
+    @Test
+    void shouldRejectCachingWithNonBlockingIo() {
+        final RiptideProperties.Client client = withDefaults(new RiptideProperties.Client());
+        client.getCaching().setEnabled(true);
+
+        final IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                HttpClientFactory.createHttpAsyncClient(client, emptyList()));
+
+        assertThat(exception.getMessage(), containsString("Caching"));
+    }
+
+    @Test
+    void shouldRejectCachingWithJdkBackend() {
+        final RiptideProperties.Client client = withDefaults(new RiptideProperties.Client());
+        client.getCaching().setEnabled(true);
+
+        final IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                JdkHttpClientFactory.createHttpClient(client));
+
+        assertThat(exception.getMessage(), containsString("Caching"));
+    }
+
+    @Test
+    void shouldCreateHttpAsyncClient() throws Exception {
+        try (final CloseableHttpAsyncClient client = HttpClientFactory.createHttpAsyncClient(
+                withDefaults(new RiptideProperties.Client()), emptyList())) {
+
+            assertThat(client, is(notNullValue()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Lookup<ConnectionSocketFactory> registry(final Object operator) throws Exception {
+        return (Lookup<ConnectionSocketFactory>) field(operator, "socketFactoryRegistry");
+    }
+
+    private static Object field(final Object target, final String name) throws Exception {
+        final Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+
     private RiptideProperties.Client withDefaults(final RiptideProperties.Client client) {
         final RiptideProperties properties = Defaulting.withDefaults(
                 new RiptideProperties(new Defaults(), ImmutableMap.of("example", client)));
@@ -0,0 +1,326 @@
+package org.zalando.riptide.autoconfigure;
+
+import org.apache.hc.client5.http.cache.ResourceIOException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class MappedHttpCacheStorageTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldStoreAndRestore() throws IOException {
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            unit.store("a", value('1', 16));
+
+            assertThat(unit.restore("a"), is(value('1', 16)));
+            assertThat(unit.restore("b"), is(nullValue()));
+        }
+    }
+
+    @Test
+    void shouldUseKeyAsStorageKey() throws IOException {
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            assertThat(unit.digestToStorageKey("https://www.example.org/"), is("https://www.example.org/"));
+        }
+    }
+
+    @Test
+    void shouldRestoreInBulk() throws IOException {
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            unit.store("a", value('1', 16));
+
+            final var actual = unit.bulkRestore(List.of("a", "b"));
+
+            assertThat(actual, is(aMapWithSize(1)));
+            assertThat(actual, hasKey("a"));
+        }
+    }
+
+    @Test
+    void shouldOverwrite() throws IOException {
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            unit.store("a", value('1', 16));
+            unit.store("a", value('2', 16));
+
+            assertThat(unit.restore("a"), is(value('2', 16)));
+        }
+    }
+
+    @Test
+    void shouldDelete() throws IOException {
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            unit.store("a", value('1', 16));
+            unit.delete("a");
+            unit.delete("b");
+
+            assertThat(unit.restore("a"), is(nullValue()));
+        }
+
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            assertThat(unit.restore("a"), is(nullValue()));
+        }
+    }
+
+    @Test
+    void shouldSurviveRestart() throws IOException {
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            unit.store("a", value('1', 16));
+            unit.store("b", value('2', 16));
+            unit.store("c", value('3', 16));
+        }
+
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            assertThat(unit.restore("a"), is(value('1', 16)));
+            assertThat(unit.restore("b"), is(value('2', 16)));
+            assertThat(unit.restore("c"), is(value('3', 16)));
+
+            unit.store("d", value('4', 16));
+            assertThat(unit.restore("d"), is(value('4', 16)));
+        }
+    }
+
+    @Test
+    void shouldReplayFullSegment() throws IOException {
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            unit.store("a", value('1', 55));
+        }
+
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            assertThat(unit.restore("a"), is(value('1', 55)));
+        }
+    }
+
+    @Test
+    void shouldUpdateIfUnchanged() throws IOException {
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            unit.store("a", value('1', 16));
+
+            final MappedHttpCacheStorage.Location location = unit.getForUpdateCAS("a");
+            assertThat(unit.getStorageObject(location), is(value('1', 16)));
+
+            assertThat(unit.updateCAS("a", location, value('2', 16)), is(true));
+            assertThat(unit.updateCAS("a", location, value('3', 16)), is(false));
+            assertThat(unit.restore("a"), is(value('2', 16)));
+        }
+    }
+
+    @Test
+    void shouldCompactOldestSegment() throws IOException {
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            unit.store("a", value('1', 16));
+            unit.store("b", value('2', 16));
+            unit.store("c", value('3', 16));
+            unit.store("a", value('4', 16));
+            unit.store("d", value('5', 16));
+
+            assertThat(segments(), hasSize(2));
+            assertThat(unit.restore("a"), is(value('4', 16)));
+            assertThat(unit.restore("b"), is(value('2', 16)));
+            assertThat(unit.restore("c"), is(value('3', 16)));
+            assertThat(unit.restore("d"), is(value('5', 16)));
+            assertThat(unit.getRolls(), is(2L));
+            assertThat(unit.getCopies(), is(1L));
+        }
+
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            assertThat(unit.restore("a"), is(value('4', 16)));
+            assertThat(unit.restore("b"), is(value('2', 16)));
+            assertThat(unit.restore("c"), is(value('3', 16)));
+            assertThat(unit.restore("d"), is(value('5', 16)));
+        }
+    }
+
+    @Test
+    void shouldEvictMostlyLiveSegment() throws IOException {
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            unit.store("a", value('1', 40));
+            unit.store("b", value('2', 40));
+            unit.store("c", value('3', 40));
+
+            assertThat(segments(), hasSize(2));
+            assertThat(unit.restore("a"), is(nullValue()));
+            assertThat(unit.restore("b"), is(value('2', 40)));
+            assertThat(unit.restore("c"), is(value('3', 40)));
+            assertThat(unit.getCopies(), is(0L));
+        }
+    }
+
+    @Test
+    void shouldEvictEntriesThatDontFitDuringCompaction() throws IOException {
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            unit.store("a", value('1', 16));
+            unit.store("b", value('2', 50));
+            unit.store("c", value('3', 50));
+
+            assertThat(segments(), hasSize(2));
+            assertThat(unit.restore("a"), is(nullValue()));
+            assertThat(unit.restore("b"), is(value('2', 50)));
+            assertThat(unit.restore("c"), is(value('3', 50)));
+            assertThat(unit.getCopies(), is(0L));
+        }
+    }
+
+    @Test
+    void shouldRollOncePerSegmentWithoutCopyingIfFull() throws IOException {
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            // 26 bytes per record, i.e. two per segment and ten segments worth of entries in total
+            for (int i = 0; i < 20; i++) {
+                unit.store(String.format("%02d", i), value('1', 16));
+            }
+
+            assertThat(unit.getRolls(), is(9L));
+            assertThat(unit.getCopies(), is(0L));
+            assertThat(segments(), hasSize(2));
+            assertThat(unit.restore("00"), is(nullValue()));
+            assertThat(unit.restore("15"), is(nullValue()));
+            assertThat(unit.restore("16"), is(value('1', 16)));
+            assertThat(unit.restore("19"), is(value('1', 16)));
+        }
+    }
+
+    @Test
+    void shouldNotStoreEntriesLargerThanSegment() throws IOException {
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            unit.store("a", value('1', 16));
+            unit.store("a", value('2', 100));
+
+            assertThat(unit.restore("a"), is(nullValue()));
+        }
+
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            assertThat(unit.restore("a"), is(nullValue()));
+        }
+    }
+
+    @Test
+    void shouldStopReplayingAtCorruptRecords() throws IOException {
+        Files.write(directory.resolve("README"), new byte[0]);
+        Files.write(directory.resolve("segment-0000000000000000.bin"), ByteBuffer.allocate(64)
+                .putInt(1).putInt(2).put("a".getBytes(UTF_8)).put(value('1', 2))
+                .putInt(1).putInt(-5)
+                .array());
+        Files.write(directory.resolve("segment-0000000000000001.bin"), ByteBuffer.allocate(64)
+                .putInt(1000).putInt(2)
+                .array());
+
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            assertThat(unit.restore("a"), is(value('1', 2)));
+
+            unit.store("b", value('2', 16));
+            assertThat(unit.restore("b"), is(value('2', 16)));
+        }
+
+        assertThat(segments(), contains(
+                "segment-0000000000000000.bin",
+                "segment-0000000000000001.bin"));
+    }
+
+    @Test
+    void shouldTolerateMissingSegmentDuringCompaction() throws IOException {
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            unit.store("a", value('1', 40));
+            unit.store("b", value('2', 40));
+
+            Files.delete(directory.resolve("segment-0000000000000000.bin"));
+
+            unit.store("c", value('3', 40));
+            assertThat(unit.restore("c"), is(value('3', 40)));
+        }
+    }
+
+    @Test
+    void shouldFailIfSegmentCannotBeCreated() throws IOException {
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            unit.store("a", value('1', 40));
+
+            for (final String segment : segments()) {
+                Files.delete(directory.resolve(segment));
+            }
+            Files.delete(directory.resolve("lock"));
+            Files.delete(directory);
+
+            assertThrows(ResourceIOException.class, () -> unit.store("b", value('2', 40)));
+        }
+    }
+
+    @Test
+    void shouldRejectDirectoryInUse() throws IOException {
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            unit.store("a", value('1', 16));
+
+            assertThrows(IllegalStateException.class, () -> new MappedHttpCacheStorage(directory, 64, 2));
+            assertThat(unit.restore("a"), is(value('1', 16)));
+        }
+
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            assertThat(unit.restore("a"), is(value('1', 16)));
+        }
+    }
+
+    @Test
+    void shouldReleaseDirectoryIfRecoveryFails() throws IOException {
+        Files.createDirectory(directory.resolve("segment-0000000000000000.bin"));
+
+        assertThrows(IOException.class, () -> new MappedHttpCacheStorage(directory, 64, 2));
+
+        Files.delete(directory.resolve("segment-0000000000000000.bin"));
+
+        try (final MappedHttpCacheStorage unit = new MappedHttpCacheStorage(directory, 64, 2)) {
+            unit.store("a", value('1', 16));
+            assertThat(unit.restore("a"), is(value('1', 16)));
+        }
+    }
+
+    @Test
+    void shouldRejectMissingDirectory() {
+        assertThrows(NullPointerException.class, () -> new MappedHttpCacheStorage(null, 64, 2));
+    }
+
+    @Test
+    void shouldRejectTooSmallSegments() {
+        assertThrows(IllegalArgumentException.class, () -> new MappedHttpCacheStorage(directory, 8, 2));
+    }
+
+    @Test
+    void shouldRejectSingleSegment() {
+        assertThrows(IllegalArgumentException.class, () -> new MappedHttpCacheStorage(directory, 64, 1));
+    }
+
+    private List<String> segments() throws IOException {
+        try (final Stream<Path> files = Files.list(directory)) {
+            return files
+                    .map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("segment-"))
+                    .sorted()
+                    .collect(toList());
+        }
+    }
+
+    private static byte[] value(final char c, final int length) {
+        final byte[] value = new byte[length];
+        Arrays.fill(value, (byte) c);
+        return value;
+    }
+
+}
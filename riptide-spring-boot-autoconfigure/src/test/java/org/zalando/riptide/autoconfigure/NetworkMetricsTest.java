@@ -1,11 +1,13 @@
 package org.zalando.riptide.autoconfigure;
 
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.test.context.ActiveProfiles;
 import org.zalando.riptide.Http;
 
@@ -64,12 +66,48 @@ final class NetworkMetricsTest {
         verify("http.client.connections.queued", 0.0);
     }
 
+    @Test
+    void shouldRecordRoutes() {
+        foo.get("https://example.org").call(call(response -> {
+            verifyRoute("leased", 1.0);
+            verifyRoute("queued", 0.0);
+            response.close();
+        })).join();
+
+        verifyRoute("leased", 0.0);
+        verifyRoute("queued", 0.0);
+    }
+
+    @Test
+    void shouldRecordConnectionReuse() {
+        final double reused = counter("http.client.connections.reused").count();
+        final double discarded = counter("http.client.connections.discarded").count();
+
+        foo.get("https://example.org").call(call(ClientHttpResponse::close)).join();
+
+        assertThat(counter("http.client.connections.reused").count()
+                + counter("http.client.connections.discarded").count(), is(reused + discarded + 1));
+    }
+
     private void verify(final String name, final double value) {
         assertThat(gauge(name).value(), is(value));
     }
 
+    private void verifyRoute(final String name, final double value) {
+        final Gauge gauge = registry.find("http.client.connections.route." + name)
+                .tag("client_id", "foo")
+                .tag("route", "https://example.org:443")
+                .gauge();
+
+        assertThat(gauge.value(), is(value));
+    }
+
     private Gauge gauge(final String name) {
         return registry.find(name).tag("client_id", "foo").gauge();
     }
 
+    private FunctionCounter counter(final String name) {
+        return registry.find(name).tag("client_id", "foo").functionCounter();
+    }
+
 }
@@ -0,0 +1,116 @@
+package org.zalando.riptide.autoconfigure;
+
+import lombok.SneakyThrows;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ActiveProfiles;
+import org.zalando.logbook.autoconfigure.LogbookAutoConfiguration;
+import org.zalando.riptide.AsyncClient;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.Route;
+import org.zalando.riptide.httpclient.async.ApacheAsyncClient;
+import org.zalando.riptide.jdk.JdkAsyncClient;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+import static org.zalando.riptide.PassRoute.pass;
+import static org.zalando.riptide.autoconfigure.MockWebServerUtil.getBaseUrl;
+import static org.zalando.riptide.autoconfigure.MockWebServerUtil.textMockResponse;
+
+@SpringBootTest(webEnvironment = NONE)
+@ActiveProfiles("non-blocking-io")
+final class NonBlockingIoTest {
+
+    @Configuration
+    @ImportAutoConfiguration({
+            RiptideAutoConfiguration.class,
+            JacksonAutoConfiguration.class,
+            LogbookAutoConfiguration.class,
+            OpenTracingFlowIdAutoConfiguration.class,
+            MetricsTestAutoConfiguration.class,
+    })
+    public static class TestConfiguration {
+
+    }
+
+    private final MockWebServer server = new MockWebServer();
+
+    @Autowired
+    @Qualifier("non-blocking")
+    private Http http;
+
+    @Autowired
+    @Qualifier("non-blocking")
+    private AsyncClient client;
+
+    @Autowired
+    @Qualifier("pooled")
+    private Http pooledHttp;
+
+    @Autowired
+    @Qualifier("jdk")
+    private Http jdkHttp;
+
+    @Autowired
+    @Qualifier("jdk")
+    private AsyncClient jdkClient;
+
+    @SneakyThrows
+    @AfterEach
+    void tearDown() {
+        server.shutdown();
+    }
+
+    @Test
+    void shouldUseAsyncClient() {
+        assertThat(client, is(instanceOf(ApacheAsyncClient.class)));
+        assertThat(jdkClient, is(instanceOf(JdkAsyncClient.class)));
+    }
+
+    @Test
+    void shouldExecuteRequest() {
+        server.enqueue(textMockResponse("Hello"));
+
+        http.get(getBaseUrl(server)).call(pass()).join();
+
+        MockWebServerUtil.verify(server, 1, "/");
+    }
+
+    @Test
+    void shouldExecuteRequestWithThreadPool() {
+        server.enqueue(textMockResponse("Hello"));
+
+        final AtomicReference<String> thread = new AtomicReference<>();
+
+        pooledHttp.get(getBaseUrl(server))
+                .call(Route.call(String.class, body ->
+                        thread.set(Thread.currentThread().getName())))
+                .join();
+
+        // routes may read streamed bodies and must therefore run on the client's thread pool
+        assertThat(thread.get(), startsWith("http-pooled-"));
+        MockWebServerUtil.verify(server, 1, "/");
+    }
+
+    @Test
+    void shouldExecuteRequestWithJdkClient() {
+        server.enqueue(textMockResponse("Hello"));
+
+        jdkHttp.get(getBaseUrl(server)).call(pass()).join();
+
+        MockWebServerUtil.verify(server, 1, "/");
+    }
+
+}
@@ -1,5 +1,6 @@
 package org.zalando.riptide.autoconfigure;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -12,9 +13,14 @@ import org.springframework.test.context.TestPropertySource;
 import org.zalando.riptide.Http;
 import org.zalando.riptide.OriginalStackTracePlugin;
 import org.zalando.riptide.Plugin;
+import org.zalando.riptide.concurrent.ConcurrencyLimitPlugin;
+import org.zalando.riptide.failsafe.AdaptiveBackupRequest;
 import org.zalando.riptide.failsafe.FailsafePlugin;
+import org.zalando.riptide.failsafe.RetryBudget;
+import org.zalando.riptide.httpclient.NetworkTimingsPlugin;
 import org.zalando.riptide.logbook.LogbookPlugin;
 import org.zalando.riptide.micrometer.MicrometerPlugin;
+import org.zalando.riptide.micrometer.NetworkTimingsMetricsPlugin;
 import org.zalando.riptide.opentelemetry.OpenTelemetryPlugin;
 import org.zalando.riptide.opentracing.OpenTracingPlugin;
 
@@ -26,11 +32,16 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
 
 @SpringBootTest(classes = PluginTest.TestConfiguration.class, webEnvironment = NONE)
 @TestPropertySource(properties = {
         "riptide.clients.bar.transient-fault-detection.enabled: true",
+        "riptide.clients.github.concurrency-limit.enabled: true",
+        "riptide.clients.github.concurrency-limit.initial-limit: 5",
+        "riptide.clients.baz.backup-request.adaptive: true",
+        "riptide.clients.foo.retry.budget.enabled: true",
 })
 @Component
 final class PluginTest {
@@ -70,6 +81,9 @@ final class PluginTest {
     @Qualifier("example")
     private Http example;
 
+    @Autowired
+    private SimpleMeterRegistry registry;
+
     @Test
     void shouldUseFailsafePlugin() throws Exception {
         assertThat(getPlugins(foo), contains(asList(
@@ -77,10 +91,24 @@ final class PluginTest {
                 instanceOf(Plugin.class), // internal plugin
                 instanceOf(Plugin.class), // internal plugin
                 instanceOf(MicrometerPlugin.class),
+                instanceOf(NetworkTimingsMetricsPlugin.class),
+                instanceOf(NetworkTimingsPlugin.class),
                 instanceOf(OpenTracingPlugin.class),
                 instanceOf(FailsafePlugin.class))));
     }
 
+    @Test
+    void shouldUseRetryBudget() throws Exception {
+        final Plugin plugin = getPlugins(foo).get(7);
+
+        final Field field = plugin.getClass().getDeclaredField("retryBudget");
+        field.setAccessible(true);
+
+        assertThat(field.get(plugin), instanceOf(RetryBudget.class));
+        assertThat(registry.find("http.client.retry-budget.remaining").tag("client_id", "foo").gauge().value(),
+                is(0.0));
+    }
+
     @Test
     void shouldUseBackupRequestPlugin() throws Exception {
         assertThat(getPlugins(baz), contains(asList(
@@ -88,10 +116,22 @@ final class PluginTest {
                 instanceOf(Plugin.class), // internal plugin
                 instanceOf(Plugin.class), // internal plugin
                 instanceOf(MicrometerPlugin.class),
+                instanceOf(NetworkTimingsMetricsPlugin.class),
+                instanceOf(NetworkTimingsPlugin.class),
                 instanceOf(FailsafePlugin.class), // backup requests
                 instanceOf(FailsafePlugin.class)))); // timeouts
     }
 
+    @Test
+    void shouldUseAdaptiveBackupRequest() throws Exception {
+        final Plugin plugin = getPlugins(baz).get(6);
+
+        final Field field = plugin.getClass().getDeclaredField("policies");
+        field.setAccessible(true);
+
+        assertThat((Iterable<?>) field.get(plugin), contains(instanceOf(AdaptiveBackupRequest.class)));
+    }
+
     @Test
     void shouldUseOriginalStackTracePlugin() throws Exception {
         assertThat(getPlugins(example), contains(asList(
@@ -99,6 +139,8 @@ final class PluginTest {
                 instanceOf(Plugin.class), // internal plugin
                 instanceOf(Plugin.class), // internal plugin
                 instanceOf(MicrometerPlugin.class),
+                instanceOf(NetworkTimingsMetricsPlugin.class),
+                instanceOf(NetworkTimingsPlugin.class),
                 instanceOf(LogbookPlugin.class),
                 instanceOf(OpenTracingPlugin.class),
                 instanceOf(OriginalStackTracePlugin.class))));
@@ -109,6 +151,13 @@ final class PluginTest {
         assertThat(getPlugins(github), hasItem(instanceOf(OpenTelemetryPlugin.class)));
     }
 
+    @Test
+    void shouldUseConcurrencyLimitPlugin() throws Exception {
+        assertThat(getPlugins(github), hasItem(instanceOf(ConcurrencyLimitPlugin.class)));
+        assertThat(registry.find("http.client.concurrency.limit").tag("client_id", "github").gauge().value(),
+                is(5.0));
+    }
+
     private List<Plugin> getPlugins(final Http http) throws Exception {
         final Field field = http.getClass().getDeclaredField("plugin");
         field.setAccessible(true);
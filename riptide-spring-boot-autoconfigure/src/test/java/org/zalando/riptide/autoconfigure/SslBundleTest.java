@@ -19,9 +19,23 @@ public class SslBundleTest {
   @Qualifier("ssl-bundle-test")
   private Http sslBundleHttp;
 
+  @Autowired
+  @Qualifier("ssl-bundle-non-blocking-test")
+  private Http nonBlockingSslBundleHttp;
+
+  @Autowired
+  @Qualifier("ssl-bundle-jdk-test")
+  private Http jdkSslBundleHttp;
+
   @Test
   void shouldAutowireHttp() {
     assertThat(sslBundleHttp, is(notNullValue()));
   }
 
+  @Test
+  void shouldAutowireNonBlockingHttp() {
+    assertThat(nonBlockingSslBundleHttp, is(notNullValue()));
+    assertThat(jdkSslBundleHttp, is(notNullValue()));
+  }
+
 }
@@ -0,0 +1,57 @@
+package org.zalando.riptide.autoconfigure;
+
+import org.junit.jupiter.api.Test;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Threads;
+import org.zalando.riptide.concurrent.VirtualThreadExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class ThreadPoolFactoryTest {
+
+    @Test
+    void shouldCreatePlatformThreadPool() {
+        final ExecutorService executor = ThreadPoolFactory.create("example",
+                new Threads(true, false, 1, 4, TimeSpan.of(1, MINUTES), 0));
+
+        assertThat(executor, is(instanceOf(ThreadPoolExecutor.class)));
+        assertThat(((ThreadPoolExecutor) executor).getMaximumPoolSize(), is(4));
+
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldCreateVirtualThreadExecutorWithoutQueue() {
+        verifyVirtual(new Threads(true, true, 1, 4, TimeSpan.of(1, MINUTES), 0), 0);
+    }
+
+    @Test
+    void shouldCreateVirtualThreadExecutorWithQueue() {
+        verifyVirtual(new Threads(true, true, 1, 4, TimeSpan.of(1, MINUTES), 10), 10);
+    }
+
+    private void verifyVirtual(final Threads threads, final int queueSize) {
+        if (Runtime.version().feature() < 21) {
+            assertThrows(UnsupportedOperationException.class, () ->
+                    ThreadPoolFactory.create("example", threads));
+            return;
+        }
+
+        final ExecutorService executor = ThreadPoolFactory.create("example", threads);
+
+        assertThat(executor, is(instanceOf(VirtualThreadExecutor.class)));
+
+        final VirtualThreadExecutor virtual = (VirtualThreadExecutor) executor;
+        assertThat(virtual.getMaximumConcurrency(), is(4));
+        assertThat(virtual.getMaximumQueueSize(), is(queueSize));
+
+        executor.shutdown();
+    }
+
+}
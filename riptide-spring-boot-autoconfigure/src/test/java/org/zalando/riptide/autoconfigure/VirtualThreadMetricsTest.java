@@ -0,0 +1,73 @@
+package org.zalando.riptide.autoconfigure;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ActiveProfiles;
+import org.zalando.logbook.autoconfigure.LogbookAutoConfiguration;
+import org.zalando.riptide.concurrent.ThreadPoolExecutors;
+import org.zalando.riptide.micrometer.ThreadPoolMetrics;
+import org.zalando.riptide.micrometer.VirtualThreadPoolMetrics;
+
+import java.util.concurrent.ExecutorService;
+
+import static java.util.concurrent.Executors.defaultThreadFactory;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+@SpringBootTest(webEnvironment = NONE)
+@ActiveProfiles("virtual-threads")
+final class VirtualThreadMetricsTest {
+
+    @Configuration
+    @ImportAutoConfiguration({
+            RiptideAutoConfiguration.class,
+            JacksonAutoConfiguration.class,
+            LogbookAutoConfiguration.class,
+            OpenTracingFlowIdAutoConfiguration.class,
+            MetricsTestAutoConfiguration.class,
+    })
+    public static class TestConfiguration {
+
+        // platform threads, so that the test doesn't depend on Java 21
+        @Bean(destroyMethod = "shutdown")
+        public ExecutorService virtualExecutorService() {
+            return ThreadPoolExecutors.builder()
+                    .virtualThreads(2)
+                    .withoutQueue()
+                    .threadFactory(defaultThreadFactory())
+                    .build();
+        }
+
+    }
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private SimpleMeterRegistry registry;
+
+    @Test
+    void shouldRecordVirtualThreadExecutor() {
+        assertThat(context.getBeansOfType(VirtualThreadPoolMetrics.class), is(aMapWithSize(1)));
+        assertThat(context.getBeansOfType(ThreadPoolMetrics.class), is(anEmptyMap()));
+
+        assertThat(gauge("http.client.threads.max").value(), is(2.0));
+        assertThat(gauge("http.client.threads.available").value(), is(2.0));
+    }
+
+    private Gauge gauge(final String name) {
+        return registry.find(name).tag("client_id", "virtual").gauge();
+    }
+
+}